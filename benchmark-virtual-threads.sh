@@ -0,0 +1,117 @@
+#!/bin/bash
+
+# Virtual Thread Benchmark
+# Runs performance-test-v2.sh against the service with platform threads and with
+# virtual threads (spring.threads.virtual.enabled), then prints both results side by side.
+#
+# Uses docker compose to restart the solace-service container in each mode.
+
+set -e
+
+# Colors
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+CYAN='\033[0;36m'
+NC='\033[0m'
+
+BASE_URL="${BASE_URL:-http://localhost:8091}"
+TARGET_MESSAGES="${TARGET_MESSAGES:-10000}"
+TARGET_TIME="${TARGET_TIME:-60}"
+PARALLEL_JOBS="${PARALLEL_JOBS:-200}"
+STARTUP_TIMEOUT="${STARTUP_TIMEOUT:-120}"
+RESULTS_DIR="performance-results"
+SUMMARY_FILE="${RESULTS_DIR}/virtual_threads_$(date +%Y%m%d_%H%M%S).txt"
+
+mkdir -p "$RESULTS_DIR"
+
+echo -e "${YELLOW}"
+cat << "EOF"
+╔═══════════════════════════════════════════════════════════════╗
+║                                                               ║
+║     PLATFORM vs VIRTUAL THREADS BENCHMARK                     ║
+║                                                               ║
+╚═══════════════════════════════════════════════════════════════╝
+EOF
+echo -e "${NC}"
+echo -e "${CYAN}Configuration:${NC}"
+echo "  Target URL: $BASE_URL"
+echo "  Messages: $TARGET_MESSAGES"
+echo "  Time: ${TARGET_TIME}s"
+echo "  Parallel Jobs: $PARALLEL_JOBS"
+echo ""
+
+wait_for_service() {
+    local elapsed=0
+    echo -n "Waiting for service"
+    until curl -s -f "${BASE_URL}/actuator/health" > /dev/null 2>&1; do
+        if [ $elapsed -ge $STARTUP_TIMEOUT ]; then
+            echo -e " ${RED}✗ not available after ${STARTUP_TIMEOUT}s${NC}"
+            exit 1
+        fi
+        echo -n "."
+        sleep 2
+        elapsed=$((elapsed + 2))
+    done
+    echo -e " ${GREEN}✓${NC}"
+}
+
+# Run one mode and print "<throughput> <p50> <p95> <p99> <success rate>"
+run_mode() {
+    local virtual=$1
+
+    VIRTUAL_THREADS_ENABLED=$virtual docker compose up -d --force-recreate --no-deps solace-service > /dev/null
+    wait_for_service >&2
+
+    # Warm-up so JIT compilation and connection setup do not skew the measured run
+    TARGET_MESSAGES=1000 TARGET_TIME=10 PARALLEL_JOBS=$PARALLEL_JOBS BASE_URL=$BASE_URL \
+        ./performance-test-v2.sh > /dev/null 2>&1 || true
+
+    TARGET_MESSAGES=$TARGET_MESSAGES TARGET_TIME=$TARGET_TIME PARALLEL_JOBS=$PARALLEL_JOBS BASE_URL=$BASE_URL \
+        ./performance-test-v2.sh > /dev/null 2>&1
+
+    local results
+    results=$(ls -t perf_results_*.txt | head -1)
+    local throughput p50 p95 p99 success
+    throughput=$(grep "^Throughput:" "$results" | awk '{print $2}')
+    p50=$(grep "P50:" "$results" | awk '{print $2}')
+    p95=$(grep "P95:" "$results" | awk '{print $2}')
+    p99=$(grep "P99:" "$results" | awk '{print $2}')
+    success=$(grep "^Success Rate:" "$results" | awk '{print $3}')
+    echo "$throughput $p50 $p95 $p99 $success"
+}
+
+chmod +x performance-test-v2.sh
+
+echo -e "${BLUE}Running with platform threads...${NC}"
+read -r PT_TPS PT_P50 PT_P95 PT_P99 PT_SUCCESS <<< "$(run_mode false)"
+
+echo -e "${BLUE}Running with virtual threads...${NC}"
+read -r VT_TPS VT_P50 VT_P95 VT_P99 VT_SUCCESS <<< "$(run_mode true)"
+
+# Collect pinning diagnostics from the virtual-thread run
+PINNED=$(curl -s "${BASE_URL}/actuator/metrics/jvm.virtual_threads.pinned" \
+    | grep -o '"value":[0-9.]*' | head -1 | cut -d: -f2)
+
+# Restore the default mode
+VIRTUAL_THREADS_ENABLED=false docker compose up -d --force-recreate --no-deps solace-service > /dev/null
+
+{
+    echo "Platform vs Virtual Threads Benchmark"
+    echo "====================================="
+    echo "Timestamp: $(date)"
+    echo "Messages: $TARGET_MESSAGES  Time: ${TARGET_TIME}s  Parallel Jobs: $PARALLEL_JOBS"
+    echo ""
+    printf "%-16s %14s %14s\n" "Metric" "Platform" "Virtual"
+    printf "%-16s %14s %14s\n" "Throughput" "${PT_TPS} msg/s" "${VT_TPS} msg/s"
+    printf "%-16s %14s %14s\n" "P50" "$PT_P50" "$VT_P50"
+    printf "%-16s %14s %14s\n" "P95" "$PT_P95" "$VT_P95"
+    printf "%-16s %14s %14s\n" "P99" "$PT_P99" "$VT_P99"
+    printf "%-16s %14s %14s\n" "Success Rate" "$PT_SUCCESS" "$VT_SUCCESS"
+    echo ""
+    echo "Pinned virtual thread events: ${PINNED:-0}"
+    echo "(see jvm.virtual_threads.pinned by source tag and the application log for stacks)"
+} | tee "$SUMMARY_FILE"
+
+echo -e "\n${YELLOW}Summary saved to: $SUMMARY_FILE${NC}"
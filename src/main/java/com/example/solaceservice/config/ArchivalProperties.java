@@ -0,0 +1,80 @@
+package com.example.solaceservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the write-behind message archival pipeline.
+ *
+ * <p>Published messages are queued in memory and written to Azure Blob Storage by a fixed
+ * number of workers. The queue is bounded; the overflow policy decides what happens when it
+ * is full.</p>
+ *
+ * <h3>Configuration Example:</h3>
+ * <pre>
+ * azure:
+ *   storage:
+ *     archival:
+ *       queue-capacity: 10000
+ *       workers: 4
+ *       overflow-policy: SPILL
+ *       block-timeout-ms: 500
+ *       spill-directory: /var/lib/solace-service/archival-spill
+ *       shutdown-timeout-ms: 30000
+ * </pre>
+ *
+ * <h3>Overflow Policies:</h3>
+ * <ul>
+ *   <li>DROP - discard the message (counted in {@code archival.dropped})</li>
+ *   <li>BLOCK - wait up to {@code blockTimeoutMs} for space, then discard</li>
+ *   <li>SPILL - append the message to a local spill file; it is replayed once the queue drains</li>
+ * </ul>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "azure.storage.archival")
+@Data
+public class ArchivalProperties {
+
+    /**
+     * Maximum number of messages waiting to be archived.
+     * Default: 10000
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * Number of worker threads writing to Azure Blob Storage.
+     * Default: 4
+     */
+    private int workers = 4;
+
+    /**
+     * What to do when the queue is full.
+     * Default: BLOCK
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    /**
+     * Maximum time a publisher waits for queue space with the BLOCK policy.
+     * Default: 500ms
+     */
+    private long blockTimeoutMs = 500;
+
+    /**
+     * Directory for spill files (SPILL policy, and messages left in the queue at shutdown).
+     * Default: ${java.io.tmpdir}/solace-archival-spill
+     */
+    private String spillDirectory = System.getProperty("java.io.tmpdir") + "/solace-archival-spill";
+
+    /**
+     * Maximum time to flush the queue on shutdown before the rest is spilled (or lost).
+     * Default: 30000ms
+     */
+    private long shutdownTimeoutMs = 30000;
+
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK,
+        SPILL
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.solaceservice.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -12,6 +16,7 @@ import java.util.concurrent.Executor;
 public class AsyncConfig {
 
     @Bean(name = "messageTaskExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
     public Executor messageTaskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(50);          // Minimum threads
@@ -23,5 +28,49 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
-}
 
+    /**
+     * One virtual thread per task (spring.threads.virtual.enabled=true).
+     * Tasks blocked on Azure Storage I/O no longer hold a platform thread; the concurrency
+     * limit replaces the pool size as the bound on parallel storage calls.
+     */
+    @Bean(name = "messageTaskExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualMessageTaskExecutor(VirtualThreadProperties properties) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("msg-async-vt-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(properties.getAsyncConcurrencyLimit());
+        executor.setTaskTerminationTimeout(60_000);  // Wait for running tasks on shutdown
+        return executor;
+    }
+
+    /**
+     * Runs the Solace sends of POST /api/messages/async so request threads are released
+     * while the publish is in flight. Sized to the publisher session cache: each thread
+     * holds one cached session while it sends.
+     */
+    @Bean(name = "publishTaskExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Executor publishTaskExecutor(@Value("${solace.async.publish-threads:20}") int publishThreads,
+                                        @Value("${solace.async.max-in-flight:10000}") int maxInFlight) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(publishThreads);
+        executor.setMaxPoolSize(publishThreads);
+        executor.setQueueCapacity(maxInFlight);  // In-flight limit is enforced by the controller
+        executor.setThreadNamePrefix("msg-publish-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "publishTaskExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualPublishTaskExecutor(@Value("${solace.async.publish-threads:20}") int publishThreads) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("msg-publish-vt-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(publishThreads);  // One cached publisher session per concurrent send
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.solaceservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for batched consumption of transformation requests.
+ *
+ * <p>Instead of the message listener, a consumer loop receives up to {@code max-messages}
+ * messages (or what arrived within {@code max-wait-ms} of the first one), transforms them in
+ * parallel and publishes all outputs in the same transacted session that consumed the inputs. A
+ * single commit then publishes the outputs and acknowledges the inputs atomically; on any publish
+ * or commit failure the session is rolled back and the whole batch is redelivered, so no message
+ * is lost or published twice.</p>
+ *
+ * <p>{@code max-messages} must not exceed the broker's maximum number of messages per
+ * transaction.</p>
+ *
+ * <h3>Configuration Example:</h3>
+ * <pre>
+ * transformation:
+ *   batch:
+ *     enabled: true
+ *     max-messages: 100
+ *     max-wait-ms: 20
+ *     parallelism: 8
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "transformation.batch")
+@Data
+public class BatchConsumerProperties {
+
+    /**
+     * Enable/disable batched consumption (replaces the transformation message listener).
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of messages consumed and committed as one batch.
+     * Default: 100
+     */
+    private int maxMessages = 100;
+
+    /**
+     * Maximum time to wait for further messages once the first message of a batch arrived.
+     * Default: 20ms
+     */
+    private long maxWaitMs = 20;
+
+    /**
+     * Time an idle consumer waits for the first message of a batch before checking for shutdown.
+     * Default: 1000ms
+     */
+    private long receiveTimeoutMs = 1000;
+
+    /**
+     * Number of messages of a batch transformed in parallel (0 = available processors).
+     * Default: 0
+     */
+    private int parallelism = 0;
+
+    /**
+     * Delay before reconnecting after the consumer connection failed.
+     * Default: 5000ms
+     */
+    private long reconnectIntervalMs = 5000;
+
+    public int resolveParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+}
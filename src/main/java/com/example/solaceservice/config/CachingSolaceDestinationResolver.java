@@ -0,0 +1,128 @@
+package com.example.solaceservice.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.Session;
+import org.springframework.jms.support.destination.CachingDestinationResolver;
+import org.springframework.jms.support.destination.DestinationResolver;
+import org.springframework.jms.support.destination.DynamicDestinationResolver;
+import org.springframework.lang.Nullable;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Destination resolver that caches resolved queues and topics by name.
+ *
+ * <p>Solace destinations are plain value objects that are valid across sessions, so a
+ * destination only has to be resolved once per name instead of on every send.</p>
+ *
+ * <p>Queue and topic names come from client requests, so each cache holds at most
+ * {@code maxEntries} destinations. When a cache is full, an arbitrary entry is evicted for the new
+ * one; an evicted destination that is still in use is resolved again on its next send.</p>
+ */
+public class CachingSolaceDestinationResolver implements CachingDestinationResolver, MeterBinder {
+
+    static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final DestinationResolver targetResolver;
+    private final int maxEntries;
+
+    private final Map<String, Destination> queueCache = new ConcurrentHashMap<>();
+    private final Map<String, Destination> topicCache = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingSolaceDestinationResolver() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public CachingSolaceDestinationResolver(int maxEntries) {
+        this(new DynamicDestinationResolver(), maxEntries);
+    }
+
+    public CachingSolaceDestinationResolver(DestinationResolver targetResolver, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Destination cache size must be at least 1, was " + maxEntries);
+        }
+        this.targetResolver = targetResolver;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public Destination resolveDestinationName(@Nullable Session session, String destinationName, boolean pubSubDomain)
+            throws JMSException {
+        Map<String, Destination> cache = pubSubDomain ? topicCache : queueCache;
+
+        Destination destination = cache.get(destinationName);
+        if (destination != null) {
+            hits.increment();
+            return destination;
+        }
+
+        misses.increment();
+        destination = targetResolver.resolveDestinationName(session, destinationName, pubSubDomain);
+        if (cache.size() >= maxEntries) {
+            evictOne(cache);
+        }
+        cache.put(destinationName, destination);
+        return destination;
+    }
+
+    private void evictOne(Map<String, Destination> cache) {
+        Iterator<String> names = cache.keySet().iterator();
+        if (names.hasNext()) {
+            names.next();
+            names.remove();
+            evictions.increment();
+        }
+    }
+
+    @Override
+    public void removeFromCache(String destinationName) {
+        queueCache.remove(destinationName);
+        topicCache.remove(destinationName);
+    }
+
+    @Override
+    public void clearCache() {
+        queueCache.clear();
+        topicCache.clear();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int getCacheSize() {
+        return queueCache.size() + topicCache.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("solace.destination.cache.hits", this, CachingSolaceDestinationResolver::getHits)
+                .register(registry);
+        FunctionCounter.builder("solace.destination.cache.misses", this, CachingSolaceDestinationResolver::getMisses)
+                .register(registry);
+        FunctionCounter.builder("solace.destination.cache.evictions", this, CachingSolaceDestinationResolver::getEvictions)
+                .register(registry);
+        Gauge.builder("solace.destination.cache.size", this, CachingSolaceDestinationResolver::getCacheSize)
+                .register(registry);
+    }
+}
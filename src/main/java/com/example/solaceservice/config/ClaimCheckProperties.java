@@ -0,0 +1,49 @@
+package com.example.solaceservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for claim-check publishing of large payloads.
+ *
+ * <p>Payloads above the threshold (MT940 statements, camt.053, ...) are uploaded to Azure Blob
+ * Storage and only a small reference message is published. Consumers fetch the payload from the
+ * blob transparently. Requires {@code azure.storage.enabled=true}.</p>
+ *
+ * <p>Claim-check blobs ({@code claim-<messageId>.bin}) are not deleted by the consumers, because
+ * several subscribers may read them; expire them with a storage lifecycle rule on the
+ * {@code claim-} prefix.</p>
+ *
+ * <h3>Configuration Example:</h3>
+ * <pre>
+ * solace:
+ *   claim-check:
+ *     enabled: true
+ *     threshold-bytes: 262144
+ *     prefetch-threads: 8
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "solace.claim-check")
+@Data
+public class ClaimCheckProperties {
+
+    /**
+     * Enable/disable claim-check publishing and resolution.
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Payload size above which the payload is stored in a blob instead of the message.
+     * Default: 262144 (256KB)
+     */
+    private int thresholdBytes = 262_144;
+
+    /**
+     * Threads downloading claim-check payloads for consumers (ignored with virtual threads).
+     * Default: 8
+     */
+    private int prefetchThreads = 8;
+}
@@ -0,0 +1,105 @@
+package com.example.solaceservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the adaptive concurrency limit on the message ingest endpoints.
+ *
+ * <p>Requests to {@code /api/messages/**} beyond the current limit are rejected immediately with
+ * 429 and a {@code Retry-After} header. The limit adapts to the observed request latency, which
+ * is dominated by the Solace send.</p>
+ *
+ * <h3>Configuration Example:</h3>
+ * <pre>
+ * solace:
+ *   ingest:
+ *     concurrency-limit:
+ *       enabled: true
+ *       algorithm: GRADIENT
+ *       initial-limit: 100
+ *       min-limit: 10
+ *       max-limit: 1000
+ *       retry-after-seconds: 1
+ * </pre>
+ *
+ * <h3>Algorithms:</h3>
+ * <ul>
+ *   <li>GRADIENT - compares the latest latency with its long-term average; the limit grows
+ *       while latency is stable and shrinks in proportion when latency rises (queueing)</li>
+ *   <li>AIMD - additive increase while latency stays below {@code latency-threshold-ms},
+ *       multiplicative decrease by {@code backoff-ratio} above it</li>
+ * </ul>
+ * <p>With both algorithms a failed request (5xx) shrinks the limit by {@code backoff-ratio}.</p>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "solace.ingest.concurrency-limit")
+@Data
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Enable/disable the adaptive concurrency limit.
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Limit algorithm.
+     * Default: GRADIENT
+     */
+    private Algorithm algorithm = Algorithm.GRADIENT;
+
+    /**
+     * Limit at startup.
+     * Default: 100
+     */
+    private int initialLimit = 100;
+
+    /**
+     * Lower bound of the limit.
+     * Default: 10
+     */
+    private int minLimit = 10;
+
+    /**
+     * Upper bound of the limit (keep at or below server.tomcat.threads.max for the blocking endpoints).
+     * Default: 1000
+     */
+    private int maxLimit = 1000;
+
+    /**
+     * Factor applied to the limit on a failed request, and by AIMD on a slow one.
+     * Default: 0.9
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * AIMD: latency above which the limit is decreased.
+     * Default: 200ms
+     */
+    private long latencyThresholdMs = 200;
+
+    /**
+     * GRADIENT: latency increase over the long-term average that is tolerated before the limit shrinks.
+     * Default: 1.5
+     */
+    private double tolerance = 1.5;
+
+    /**
+     * GRADIENT: weight of each new limit estimate (0-1).
+     * Default: 0.2
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Value of the Retry-After header on rejected requests.
+     * Default: 1s
+     */
+    private int retryAfterSeconds = 1;
+
+    public enum Algorithm {
+        GRADIENT,
+        AIMD
+    }
+}
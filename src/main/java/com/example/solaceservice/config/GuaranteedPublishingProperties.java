@@ -0,0 +1,64 @@
+package com.example.solaceservice.config;
+
+import com.example.solaceservice.model.PublishQos;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for guaranteed (persistent) publishing.
+ *
+ * <p>Guaranteed messages are sent asynchronously and acknowledged by the broker through a
+ * {@code CompletionListener}. Up to {@code ackWindowSize} messages may be awaiting their
+ * acknowledgement at once; further sends wait for a free slot.</p>
+ *
+ * <h3>Configuration Example:</h3>
+ * <pre>
+ * solace:
+ *   guaranteed:
+ *     enabled: true
+ *     default-qos: DIRECT
+ *     direct-non-persistent: false
+ *     ack-window-size: 256
+ *     ack-timeout-ms: 5000
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "solace.guaranteed")
+@Data
+public class GuaranteedPublishingProperties {
+
+    /**
+     * Enable/disable guaranteed publishing.
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * QoS used when a MessageRequest does not specify one.
+     * Default: DIRECT
+     */
+    private PublishQos defaultQos = PublishQos.DIRECT;
+
+    /**
+     * Send DIRECT messages non-persistent. This applies to every send through the shared
+     * JmsTemplate: DIRECT publishes, transformation outputs (also pipelined), retries and dead
+     * letters, which a broker restart can then lose. Guaranteed publishes and the outputs of
+     * batched consumption stay persistent. When off, every send uses the JMS default delivery
+     * mode (persistent).
+     * Default: false
+     */
+    private boolean directNonPersistent = false;
+
+    /**
+     * Maximum number of messages awaiting broker acknowledgement.
+     * Default: 256
+     */
+    private int ackWindowSize = 256;
+
+    /**
+     * Time to wait for a broker acknowledgement (and for a free window slot) in milliseconds.
+     * Default: 5000ms
+     */
+    private long ackTimeoutMs = 5000;
+}
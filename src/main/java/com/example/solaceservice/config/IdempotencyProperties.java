@@ -0,0 +1,66 @@
+package com.example.solaceservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for idempotent message ingestion.
+ *
+ * <p>Responses of POST /api/messages and /api/messages/async are remembered by idempotency key
+ * (the {@code Idempotency-Key} header, or the message correlationId). A retried request with the
+ * same key receives the original response instead of publishing the message again. Items of
+ * /api/messages/batch and /api/messages/stream are keyed by their correlationId only.</p>
+ *
+ * <h3>Configuration Example:</h3>
+ * <pre>
+ * solace:
+ *   idempotency:
+ *     enabled: true
+ *     ttl-ms: 600000
+ *     max-entries: 1000000
+ *     segments: 64
+ *     use-correlation-id: true
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "solace.idempotency")
+@Data
+public class IdempotencyProperties {
+
+    /**
+     * Enable/disable idempotent ingestion.
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Request header carrying the idempotency key.
+     * Default: Idempotency-Key
+     */
+    private String keyHeader = "Idempotency-Key";
+
+    /**
+     * Use the correlationId as key when the request has no idempotency key header.
+     * Default: true
+     */
+    private boolean useCorrelationId = true;
+
+    /**
+     * How long a response is remembered in milliseconds (should cover the clients' retry window).
+     * Default: 600000ms (10 minutes)
+     */
+    private long ttlMs = 600_000;
+
+    /**
+     * Maximum number of remembered responses; the least recently used are evicted beyond it.
+     * Default: 1000000 (roughly 150MB of heap)
+     */
+    private int maxEntries = 1_000_000;
+
+    /**
+     * Number of independently locked cache segments.
+     * Default: 64
+     */
+    private int segments = 64;
+}
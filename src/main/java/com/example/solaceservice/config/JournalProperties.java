@@ -0,0 +1,98 @@
+package com.example.solaceservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the local store-and-forward publish journal.
+ *
+ * <p>Accepted messages are appended to memory-mapped journal segments on local disk and
+ * forwarded to Solace by a background drainer, in journal order.</p>
+ *
+ * <h3>Configuration Example:</h3>
+ * <pre>
+ * solace:
+ *   journal:
+ *     enabled: true
+ *     mode: ON_FAILURE
+ *     directory: /var/lib/solace-service/journal
+ *     segment-size-bytes: 67108864
+ *     max-segments: 64
+ *     drain-batch-size: 500
+ *     retry-backoff-ms: 1000
+ *     max-forward-attempts: 10
+ * </pre>
+ *
+ * <h3>Modes:</h3>
+ * <ul>
+ *   <li>ON_FAILURE - publish directly; journal only when the send fails (and while a backlog
+ *       exists, so later messages cannot overtake journaled ones)</li>
+ *   <li>ALWAYS - every message is journaled and published by the drainer</li>
+ * </ul>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "solace.journal")
+@Data
+public class JournalProperties {
+
+    /**
+     * Enable/disable the publish journal.
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * When messages are journaled.
+     * Default: ON_FAILURE
+     */
+    private Mode mode = Mode.ON_FAILURE;
+
+    /**
+     * Directory holding journal segments and the drain checkpoint.
+     * Default: ${java.io.tmpdir}/solace-journal
+     */
+    private String directory = System.getProperty("java.io.tmpdir") + "/solace-journal";
+
+    /**
+     * Size of one memory-mapped journal segment in bytes.
+     * Default: 64MB
+     */
+    private int segmentSizeBytes = 64 * 1024 * 1024;
+
+    /**
+     * Maximum number of segments on disk; appends are rejected when the journal is full.
+     * Default: 64 (4GB with the default segment size)
+     */
+    private int maxSegments = 64;
+
+    /**
+     * Force appended records to the storage device (survives power loss, not only process crashes).
+     * Default: false
+     */
+    private boolean forceOnAppend = false;
+
+    /**
+     * Maximum number of journaled messages forwarded through one JMS session.
+     * Default: 500
+     */
+    private int drainBatchSize = 500;
+
+    /**
+     * Initial wait after a failed forward attempt; doubled per consecutive failure up to 30s.
+     * Default: 1000ms
+     */
+    private long retryBackoffMs = 1000;
+
+    /**
+     * Failed forward attempts of the same message, with the broker reachable, before it is moved
+     * to the dead-letter file. Messages failing for a reason other than the broker are moved at once.
+     * Default: 10
+     */
+    private int maxForwardAttempts = 10;
+
+    public enum Mode {
+        ON_FAILURE,
+        ALWAYS
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.solaceservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for backlog-driven scaling of the JMS listener containers.
+ *
+ * <p>Every {@code interval-ms} the backlog of each consumed queue is estimated by browsing it (up
+ * to {@code browse-limit} messages) and the consumer count of its listener container is set from
+ * the backlog and the mean listener latency over the interval:</p>
+ * <pre>
+ * consumers = ceil(backlog × latency / target-drain-ms)        (backlog / backlog-per-consumer
+ *                                                               while no latency was observed)
+ * </pre>
+ * <p>bounded by {@code min-consumers..max-consumers}. Consumers are added at once and removed at
+ * most {@code scale-down-step} per interval. While the latency is above {@code max-latency-ms} the
+ * downstream is saturated and no consumers are added. The backlog is also published as the
+ * {@code solace.queue.backlog} gauge for external autoscalers (HPA, KEDA).</p>
+ *
+ * <p>The transformation input queue is not scaled with key-ordered parallel consumption
+ * ({@code transformation.parallel}), which relies on a single consumer.</p>
+ *
+ * <h3>Configuration Example:</h3>
+ * <pre>
+ * solace:
+ *   listener:
+ *     autoscaling:
+ *       enabled: true
+ *       min-consumers: 2
+ *       max-consumers: 32
+ *       target-drain-ms: 10000
+ *       excluded-queues:
+ *         - swift/transformation/dead-letter
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "solace.listener.autoscaling")
+@Data
+public class ListenerAutoscalingProperties {
+
+    /**
+     * Enable/disable backlog sampling and listener scaling.
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Interval between backlog samples and scaling decisions.
+     * Default: 10000ms
+     */
+    private long intervalMs = 10_000;
+
+    /**
+     * Lower bound of the consumers per listener container.
+     * Default: 1
+     */
+    private int minConsumers = 1;
+
+    /**
+     * Upper bound of the consumers per listener container.
+     * Default: 16
+     */
+    private int maxConsumers = 16;
+
+    /**
+     * Time in which the consumers of a pod should be able to work off the current backlog.
+     * Default: 30000ms
+     */
+    private long targetDrainMs = 30_000;
+
+    /**
+     * Backlog per consumer, used while no listener latency has been observed.
+     * Default: 100
+     */
+    private int backlogPerConsumer = 100;
+
+    /**
+     * Mean listener latency above which no consumers are added.
+     * Default: 2000ms
+     */
+    private long maxLatencyMs = 2_000;
+
+    /**
+     * Maximum consumers removed per interval.
+     * Default: 1
+     */
+    private int scaleDownStep = 1;
+
+    /**
+     * Messages counted per queue browse; a larger backlog is reported as this value. Every pod
+     * browses every interval, so keep it close to the backlog that max-consumers can work off.
+     * Default: 2000
+     */
+    private int browseLimit = 2_000;
+
+    /**
+     * Queues whose backlog is reported but whose consumer count is left unchanged
+     * (e.g. exclusive queues).
+     * Default: none
+     */
+    private List<String> excludedQueues = new ArrayList<>();
+}
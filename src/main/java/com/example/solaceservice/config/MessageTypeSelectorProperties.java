@@ -0,0 +1,122 @@
+package com.example.solaceservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Configuration properties for consuming the transformation input queue with one listener per
+ * group of message types.
+ *
+ * <p>Publishers stamp the {@code messageType} property (the request's type, or the type detected
+ * from the SWIFT header). Each route consumes the input queue with a broker-side selector on that
+ * property and has its own consumer count and threads, so slow statement traffic (MT940) cannot
+ * occupy the consumers of payment traffic (MT103). A default listener takes every message no route
+ * selects, including messages without the property.</p>
+ *
+ * <p>Needs the JMS transport. Each route has a fixed consumer range, so the listener autoscaler
+ * leaves these listeners alone. With key-ordered consumption, order is kept per route only.</p>
+ *
+ * <h3>Configuration Example:</h3>
+ * <pre>
+ * transformation:
+ *   selectors:
+ *     enabled: true
+ *     default-concurrency: 1-4
+ *     routes:
+ *       - name: payments
+ *         message-types: [MT103, MT202]
+ *         concurrency: 4-16
+ *       - name: statements
+ *         message-types: [MT940, MT950]
+ *         concurrency: 1-2
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "transformation.selectors")
+@Data
+public class MessageTypeSelectorProperties {
+
+    /**
+     * Message property carrying the message type.
+     */
+    public static final String MESSAGE_TYPE_PROPERTY = "messageType";
+
+    /**
+     * Enable/disable per-type listeners on the transformation input queue.
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Consumers of the default listener, as "min-max" or a fixed count.
+     * Default: 1-4
+     */
+    private String defaultConcurrency = "1-4";
+
+    /**
+     * Listeners for groups of message types.
+     * Default: none
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    /**
+     * Selector of the default listener: messages without a type or with a type no route selects.
+     */
+    public String defaultSelector() {
+        Set<String> routed = routes.stream()
+                .flatMap(route -> route.getMessageTypes().stream())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (routed.isEmpty()) {
+            return null;
+        }
+        return MESSAGE_TYPE_PROPERTY + " IS NULL OR " + MESSAGE_TYPE_PROPERTY + " NOT IN (" + literals(routed) + ")";
+    }
+
+    private static String literals(Iterable<String> values) {
+        StringBuilder literals = new StringBuilder();
+        for (String value : values) {
+            if (!literals.isEmpty()) {
+                literals.append(", ");
+            }
+            literals.append('\'').append(value.replace("'", "''")).append('\'');
+        }
+        return literals.toString();
+    }
+
+    @Data
+    public static class Route {
+
+        /**
+         * Route name, used in thread names and logs.
+         */
+        private String name;
+
+        /**
+         * Message types consumed by this listener (e.g. MT940, MT950).
+         */
+        private List<String> messageTypes = new ArrayList<>();
+
+        /**
+         * Consumers of this listener, as "min-max" or a fixed count.
+         * Default: 1-4
+         */
+        private String concurrency = "1-4";
+
+        /**
+         * Selector on the message type property.
+         */
+        public String selector() {
+            if (messageTypes.isEmpty()) {
+                throw new IllegalStateException("Message type route " + name + " has no message types");
+            }
+            return MESSAGE_TYPE_PROPERTY + " IN (" + literals(messageTypes) + ")";
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.solaceservice.config;
+
+import com.example.solaceservice.config.PartitionKeyProperties.Source;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for key-ordered parallel consumption of transformation requests.
+ *
+ * <p>The listener thread hands each message to one of {@code workers} single-threaded workers,
+ * chosen by a hash of the message key. Messages with the same key are processed one after the
+ * other in arrival order, while different keys are processed in parallel on all workers.</p>
+ *
+ * <p>The key is the partition key set by the publisher ({@code JMSXGroupID}, see
+ * {@code solace.partition-key}) if present, otherwise the first of {@code key-sources} that yields
+ * a value, otherwise the message ID (no ordering).</p>
+ *
+ * <p>Messages complete out of order, so each one is acknowledged individually when its worker is
+ * done (Solace {@code SOL_CLIENT_ACKNOWLEDGE}). Messages still queued at a worker when the pod
+ * stops are not acknowledged and are redelivered.</p>
+ *
+ * <h3>Configuration Example:</h3>
+ * <pre>
+ * transformation:
+ *   parallel:
+ *     enabled: true
+ *     workers: 8
+ *     queue-capacity: 256
+ *     key-sources: UETR,SWIFT_REFERENCE,CORRELATION_ID
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "transformation.parallel")
+@Data
+public class ParallelConsumerProperties {
+
+    /**
+     * Enable/disable key-ordered parallel consumption.
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of workers; 0 uses one worker per available processor.
+     * Default: 0
+     */
+    private int workers = 0;
+
+    /**
+     * Messages queued per worker; the listener blocks while the worker queue of a key is full.
+     * Default: 256
+     */
+    private int queueCapacity = 256;
+
+    /**
+     * Key sources used when the message carries no partition key, tried in order.
+     * Default: CORRELATION_ID
+     */
+    private List<Source> keySources = new ArrayList<>(List.of(Source.CORRELATION_ID));
+
+    /**
+     * Maximum number of payload characters searched for SWIFT key fields.
+     * Default: 4096
+     */
+    private int maxScanLength = 4096;
+
+    public int resolveWorkers() {
+        return workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.solaceservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for partition keys on published messages.
+ *
+ * <p>Solace partitioned queues deliver all messages with the same partition key to the same
+ * consumer flow, in order, while different keys are spread across the consumers bound to the
+ * queue. Setting a key per payment chain lets consumers scale across pods without losing the
+ * per-chain ordering.</p>
+ *
+ * <p>The key sources are tried in order until one yields a value; a message without any key is
+ * published unkeyed (the broker assigns it to a partition of its own choosing).</p>
+ *
+ * <h3>Configuration Example:</h3>
+ * <pre>
+ * solace:
+ *   partition-key:
+ *     enabled: true
+ *     sources: UETR,SWIFT_REFERENCE,CORRELATION_ID
+ *     property-name: JMSXGroupID
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "solace.partition-key")
+@Data
+public class PartitionKeyProperties {
+
+    /**
+     * Enable/disable partition keys on published messages.
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Key sources, tried in order until one yields a value.
+     * Default: CORRELATION_ID
+     */
+    private List<Source> sources = new ArrayList<>(List.of(Source.CORRELATION_ID));
+
+    /**
+     * Message property carrying the key. Solace JMS maps JMSXGroupID to the partition key of
+     * partitioned queues.
+     * Default: JMSXGroupID
+     */
+    private String propertyName = "JMSXGroupID";
+
+    /**
+     * Maximum number of payload characters searched for SWIFT fields (the header and the
+     * reference fields are at the start of the message).
+     * Default: 4096
+     */
+    private int maxScanLength = 4096;
+
+    public enum Source {
+        /** JMS correlationId of the message */
+        CORRELATION_ID,
+        /** SWIFT field :20: (sender's / transaction reference) */
+        SWIFT_REFERENCE,
+        /** SWIFT gpi UETR, field 121 of the user header block {3:} */
+        UETR
+    }
+}
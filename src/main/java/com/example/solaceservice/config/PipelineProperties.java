@@ -0,0 +1,100 @@
+package com.example.solaceservice.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the staged transformation pipeline.
+ *
+ * <p>The transformation listener only hands messages to the pipeline. Four stages, each with its
+ * own threads, connected by bounded buffers, do the work:</p>
+ * <pre>
+ * listener → [parse] → [transform] → [publish] → [store]
+ *            read body,  transform    publish output,   encrypt and store
+ *            claim-check               acknowledge input record, retries
+ * </pre>
+ *
+ * <p>Each stage thread takes up to {@code batch-size} items from its buffer at a time (the publish
+ * stage sends a batch through one session and producer). A full buffer blocks the stage that feeds
+ * it, so the listener stops consuming instead of buffering without bound. Inputs are acknowledged
+ * individually once their output is published; storage runs afterwards on its own threads, so slow
+ * storage is absorbed by the store buffer rather than holding back transform and publish.</p>
+ *
+ * <p>Messages are transformed concurrently and may be published out of order; use
+ * {@code transformation.parallel} where per-key order matters.</p>
+ *
+ * <h3>Configuration Example:</h3>
+ * <pre>
+ * transformation:
+ *   pipeline:
+ *     enabled: true
+ *     transform:
+ *       threads: 8
+ *     store:
+ *       threads: 16
+ *       capacity: 8192
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "transformation.pipeline")
+@Data
+public class PipelineProperties {
+
+    /**
+     * Enable/disable the staged pipeline.
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Parse stage: reads message bodies, resolves claim-checks and detects message types.
+     * Default: 2 threads, capacity 1024, batch size 16
+     */
+    private Stage parse = new Stage(2, 1024, 16);
+
+    /**
+     * Transform stage (threads 0 = available processors).
+     * Default: 0 threads, capacity 1024, batch size 16
+     */
+    private Stage transform = new Stage(0, 1024, 16);
+
+    /**
+     * Publish stage: publishes outputs and acknowledges inputs.
+     * Default: 2 threads, capacity 1024, batch size 64
+     */
+    private Stage publish = new Stage(2, 1024, 64);
+
+    /**
+     * Store stage: encrypts and stores records, records metrics and schedules retries.
+     * Default: 8 threads, capacity 4096, batch size 32
+     */
+    private Stage store = new Stage(8, 4096, 32);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stage {
+
+        /**
+         * Threads of the stage (0 = available processors).
+         */
+        private int threads;
+
+        /**
+         * Items buffered in front of the stage before the previous stage blocks.
+         */
+        private int capacity;
+
+        /**
+         * Maximum items a stage thread takes from its buffer at a time.
+         */
+        private int batchSize;
+
+        public int resolveThreads() {
+            return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.solaceservice.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Session;
+import org.springframework.jms.connection.CachingConnectionFactory;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caching connection factory for Solace publishing with pool statistics.
+ *
+ * <p>Shares a single connection and caches sessions and per-destination producers
+ * (see {@link CachingConnectionFactory}). Session requests served from the cache are
+ * counted as hits, requests that had to open a new physical session as misses.</p>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>solace.pool.session.requests - sessions handed out</li>
+ *   <li>solace.pool.session.hits / misses - served from cache / newly created</li>
+ *   <li>solace.pool.sessions.created - physical sessions opened (pool occupancy)</li>
+ *   <li>solace.pool.session.cache.size - configured cache size</li>
+ *   <li>solace.pool.connections.created - physical connections opened</li>
+ *   <li>solace.pool.connections.resets - connection resets (reconnects)</li>
+ * </ul>
+ */
+public class PooledSolaceConnectionFactory extends CachingConnectionFactory implements MeterBinder {
+
+    private final LongAdder sessionRequests = new LongAdder();
+    private final LongAdder sessionsCreated = new LongAdder();
+    private final LongAdder connectionsCreated = new LongAdder();
+    private final LongAdder connectionResets = new LongAdder();
+
+    public PooledSolaceConnectionFactory(ConnectionFactory targetConnectionFactory) {
+        super(targetConnectionFactory);
+    }
+
+    @Override
+    protected Session getSession(Connection con, Integer mode) throws JMSException {
+        sessionRequests.increment();
+        return super.getSession(con, mode);
+    }
+
+    @Override
+    protected Session createSession(Connection con, Integer mode) throws JMSException {
+        sessionsCreated.increment();
+        return super.createSession(con, mode);
+    }
+
+    @Override
+    protected Connection doCreateConnection() throws JMSException {
+        connectionsCreated.increment();
+        return super.doCreateConnection();
+    }
+
+    @Override
+    public void resetConnection() {
+        connectionResets.increment();
+        super.resetConnection();
+    }
+
+    public long getSessionRequests() {
+        return sessionRequests.sum();
+    }
+
+    public long getSessionHits() {
+        return Math.max(0, sessionRequests.sum() - sessionsCreated.sum());
+    }
+
+    public long getSessionMisses() {
+        return sessionsCreated.sum();
+    }
+
+    public long getConnectionsCreated() {
+        return connectionsCreated.sum();
+    }
+
+    public long getConnectionResets() {
+        return connectionResets.sum();
+    }
+
+    /**
+     * Session cache hit rate as percentage (0-100).
+     */
+    public double getSessionHitRate() {
+        long requests = sessionRequests.sum();
+        return requests == 0 ? 0.0 : (getSessionHits() * 100.0) / requests;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("solace.pool.session.requests", this, PooledSolaceConnectionFactory::getSessionRequests)
+                .register(registry);
+        FunctionCounter.builder("solace.pool.session.hits", this, PooledSolaceConnectionFactory::getSessionHits)
+                .register(registry);
+        FunctionCounter.builder("solace.pool.session.misses", this, PooledSolaceConnectionFactory::getSessionMisses)
+                .register(registry);
+        Gauge.builder("solace.pool.sessions.created", this, PooledSolaceConnectionFactory::getSessionMisses)
+                .register(registry);
+        Gauge.builder("solace.pool.session.cache.size", this, factory -> factory.getSessionCacheSize())
+                .register(registry);
+        Gauge.builder("solace.pool.session.hit_rate", this, PooledSolaceConnectionFactory::getSessionHitRate)
+                .register(registry);
+        FunctionCounter.builder("solace.pool.connections.created", this, PooledSolaceConnectionFactory::getConnectionsCreated)
+                .register(registry);
+        FunctionCounter.builder("solace.pool.connections.resets", this, PooledSolaceConnectionFactory::getConnectionResets)
+                .register(registry);
+    }
+}
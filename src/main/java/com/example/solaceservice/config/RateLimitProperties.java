@@ -0,0 +1,98 @@
+package com.example.solaceservice.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for per-client rate limiting on the message ingest endpoints.
+ *
+ * <p>Each client (identified by {@code client-header}) gets its own token bucket: a sustained
+ * rate plus a burst allowance. Clients without an entry under {@code clients} use the default
+ * limit. Limits can also be changed at runtime through {@code /api/rate-limits}.</p>
+ *
+ * <h3>Configuration Example:</h3>
+ * <pre>
+ * solace:
+ *   ingest:
+ *     rate-limit:
+ *       enabled: true
+ *       client-header: X-Client-Id
+ *       default-limit:
+ *         rate-per-second: 1000
+ *         burst: 2000
+ *       clients:
+ *         payments-gateway:
+ *           rate-per-second: 5000
+ *           burst: 10000
+ *         batch-importer:
+ *           rate-per-second: 200
+ *           burst: 200
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "solace.ingest.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    /**
+     * Enable/disable per-client rate limiting.
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Request header identifying the client (e.g. an API key header). Requests without it
+     * share the bucket of the {@code anonymous} client.
+     * Default: X-Client-Id
+     */
+    private String clientHeader = "X-Client-Id";
+
+    /**
+     * Limit for clients without an explicit entry.
+     * Default: 1000/s, burst 2000
+     */
+    private Limit defaultLimit = new Limit(1000, 2000);
+
+    /**
+     * Limits per client ID.
+     * Default: empty
+     */
+    private Map<String, Limit> clients = new HashMap<>();
+
+    /**
+     * Maximum number of clients tracked individually; further unknown clients share one bucket
+     * while no tracked client is idle (bounds memory and metric cardinality when client IDs are
+     * arbitrary).
+     * Default: 1000
+     */
+    private int maxTrackedClients = 1000;
+
+    /**
+     * Time without requests after which a tracked client whose bucket is full again gives up its
+     * slot to a new client. It starts again with a full burst, as it would have anyway.
+     * Default: 300000ms (5 minutes)
+     */
+    private long idleTimeoutMs = 300_000;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        /**
+         * Sustained number of requests per second.
+         */
+        private double ratePerSecond;
+
+        /**
+         * Number of requests that may arrive at once after an idle period.
+         */
+        private int burst;
+    }
+}
@@ -1,13 +1,22 @@
 package com.example.solaceservice.config;
 
+import com.example.solaceservice.transport.JmsMessageTransport;
 import com.solacesystems.jms.SolConnectionFactory;
 import com.solacesystems.jms.SolJmsUtility;
+import com.solacesystems.jms.SupportedProperty;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.jms.annotation.EnableJms;
 import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
 import org.springframework.jms.core.JmsTemplate;
 
 import jakarta.jms.ConnectionFactory;
@@ -30,6 +39,7 @@ public class SolaceConfig {
     private String vpnName;
 
     @Bean
+    @Primary
     public ConnectionFactory connectionFactory() throws Exception {
         SolConnectionFactory solConnectionFactory = SolJmsUtility.createConnectionFactory();
         solConnectionFactory.setHost(host);
@@ -42,20 +52,136 @@ public class SolaceConfig {
         return solConnectionFactory;
     }
 
+    /**
+     * Pooled connection factory used for publishing (shared connection, cached sessions and producers).
+     * Listener containers keep using the raw connection factory and manage their own resources.
+     */
     @Bean
-    public JmsTemplate jmsTemplate(ConnectionFactory connectionFactory) {
-        JmsTemplate jmsTemplate = new JmsTemplate(connectionFactory);
+    @ConditionalOnProperty(name = "solace.connection-pool.enabled", havingValue = "true", matchIfMissing = true)
+    public PooledSolaceConnectionFactory publisherConnectionFactory(ConnectionFactory connectionFactory,
+                                                                    SolaceConnectionPoolProperties poolProperties) {
+        PooledSolaceConnectionFactory pooledConnectionFactory = new PooledSolaceConnectionFactory(connectionFactory);
+        pooledConnectionFactory.setSessionCacheSize(poolProperties.getSessionCacheSize());
+        pooledConnectionFactory.setCacheProducers(poolProperties.isCacheProducers());
+        pooledConnectionFactory.setCacheConsumers(false);
+        pooledConnectionFactory.setReconnectOnException(poolProperties.isReconnectOnException());
+        return pooledConnectionFactory;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "solace.connection-pool.cache-destinations", havingValue = "true", matchIfMissing = true)
+    public CachingSolaceDestinationResolver destinationResolver(SolaceConnectionPoolProperties poolProperties) {
+        return new CachingSolaceDestinationResolver(poolProperties.getDestinationCacheSize());
+    }
+
+    @Bean
+    public SolaceConnectionHealthIndicator solacePublisherHealthIndicator(
+            ObjectProvider<PooledSolaceConnectionFactory> publisherConnectionFactory,
+            ConnectionFactory connectionFactory) {
+        return new SolaceConnectionHealthIndicator(publisherConnectionFactory.getIfAvailable(), connectionFactory);
+    }
+
+    @Bean
+    public JmsTemplate jmsTemplate(ConnectionFactory connectionFactory,
+                                   ObjectProvider<PooledSolaceConnectionFactory> publisherConnectionFactory,
+                                   ObjectProvider<CachingSolaceDestinationResolver> destinationResolver,
+                                   GuaranteedPublishingProperties guaranteedProperties) {
+        PooledSolaceConnectionFactory pooledConnectionFactory = publisherConnectionFactory.getIfAvailable();
+        JmsTemplate jmsTemplate = new JmsTemplate(pooledConnectionFactory != null ? pooledConnectionFactory : connectionFactory);
         jmsTemplate.setPubSubDomain(false); // Use queues (false = point-to-point)
-        jmsTemplate.setDeliveryPersistent(false); // Use direct messaging
+        if (guaranteedProperties.isDirectNonPersistent()) {
+            // Opt-in: every send through this template is non-persistent (JMS default: persistent)
+            jmsTemplate.setDeliveryPersistent(false);
+            jmsTemplate.setExplicitQosEnabled(true);
+        }
+        destinationResolver.ifAvailable(jmsTemplate::setDestinationResolver);
         return jmsTemplate;
     }
 
+    /**
+     * Messaging transport of the publishing, transformation, retry and dead-letter paths
+     * ({@code messaging.transport.type=JMS}, the default).
+     */
+    @Bean
+    @ConditionalOnProperty(name = "messaging.transport.type", havingValue = "JMS", matchIfMissing = true)
+    public JmsMessageTransport jmsMessageTransport(
+            JmsTemplate jmsTemplate,
+            JmsListenerEndpointRegistry listenerRegistry,
+            @Qualifier("jmsListenerContainerFactory") DefaultJmsListenerContainerFactory containerFactory) {
+        return new JmsMessageTransport(jmsTemplate, listenerRegistry, containerFactory);
+    }
+
     @Bean
-    public DefaultJmsListenerContainerFactory jmsListenerContainerFactory(ConnectionFactory connectionFactory) {
+    public DefaultJmsListenerContainerFactory jmsListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            ObjectProvider<CachingSolaceDestinationResolver> destinationResolver,
+            Environment environment) {
+        return listenerContainerFactory(connectionFactory, destinationResolver, environment);
+    }
+
+    /**
+     * New listener container factory with the common settings. Not a bean method: calling a bean
+     * method of this class returns the shared singleton, and the settings of the derived factories
+     * would leak into every listener.
+     */
+    private DefaultJmsListenerContainerFactory listenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            ObjectProvider<CachingSolaceDestinationResolver> destinationResolver,
+            Environment environment) {
         DefaultJmsListenerContainerFactory factory = new DefaultJmsListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory);
         factory.setPubSubDomain(false); // Use queues (false = point-to-point)
         factory.setSessionTransacted(false); // Disable transactions for direct transport
+        destinationResolver.ifAvailable(factory::setDestinationResolver);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // Run listener consumer loops on virtual threads (spring.threads.virtual.enabled=true)
+            SimpleAsyncTaskExecutor listenerExecutor = new SimpleAsyncTaskExecutor("jms-listener-vt-");
+            listenerExecutor.setVirtualThreads(true);
+            factory.setTaskExecutor(listenerExecutor);
+        }
+        return factory;
+    }
+
+    /**
+     * Listener container factory of the transformation listener. With key-ordered parallel
+     * consumption or the staged pipeline the listener returns before the message is processed, so
+     * messages are acknowledged individually once processed (Solace SOL_CLIENT_ACKNOWLEDGE) instead
+     * of automatically when the listener returns. With batched consumption the container is not
+     * started; BatchTransformationConsumer consumes the input queues instead.
+     */
+    @Bean
+    public DefaultJmsListenerContainerFactory transformationListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            ObjectProvider<CachingSolaceDestinationResolver> destinationResolver,
+            Environment environment,
+            ParallelConsumerProperties parallelProperties,
+            BatchConsumerProperties batchProperties,
+            PipelineProperties pipelineProperties) {
+        DefaultJmsListenerContainerFactory factory = listenerContainerFactory(connectionFactory, destinationResolver, environment);
+        factory.setAutoStartup(!batchProperties.isEnabled());
+        if (pipelineProperties.isEnabled()) {
+            factory.setSessionAcknowledgeMode(SupportedProperty.SOL_CLIENT_ACKNOWLEDGE);
+        } else if (parallelProperties.isEnabled()) {
+            factory.setSessionAcknowledgeMode(SupportedProperty.SOL_CLIENT_ACKNOWLEDGE);
+            factory.setConcurrency("1"); // One consumer flow feeds all workers, in queue order
+        }
+        return factory;
+    }
+
+    /**
+     * Listener container factory for direct topic subscribers
+     * ({@code @JmsListener(destination = "payments/MT103/>", containerFactory = "topicListenerContainerFactory")}).
+     * Durable consumers keep listening on queues that subscribe to the topics
+     * ({@code solace.topic-publishing.queue-subscriptions}).
+     */
+    @Bean
+    @ConditionalOnProperty(name = "solace.topic-publishing.enabled", havingValue = "true")
+    public DefaultJmsListenerContainerFactory topicListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            ObjectProvider<CachingSolaceDestinationResolver> destinationResolver,
+            Environment environment) {
+        DefaultJmsListenerContainerFactory factory = listenerContainerFactory(connectionFactory, destinationResolver, environment);
+        factory.setPubSubDomain(true); // Topics (true = publish/subscribe)
         return factory;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,59 @@
+package com.example.solaceservice.config;
+
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Health check for the Solace publishing connection.
+ *
+ * <p>Borrows a session from the publisher pool (or opens a connection when pooling is
+ * disabled). If the check fails, the pooled connection is reset so that the next send
+ * reconnects instead of reusing a broken connection.</p>
+ *
+ * <p>Exposed at /actuator/health as "solacePublisher".</p>
+ */
+@Slf4j
+public class SolaceConnectionHealthIndicator implements HealthIndicator {
+
+    private final PooledSolaceConnectionFactory pooledConnectionFactory;
+    private final ConnectionFactory connectionFactory;
+
+    public SolaceConnectionHealthIndicator(PooledSolaceConnectionFactory pooledConnectionFactory,
+                                           ConnectionFactory connectionFactory) {
+        this.pooledConnectionFactory = pooledConnectionFactory;
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public Health health() {
+        ConnectionFactory factory = pooledConnectionFactory != null ? pooledConnectionFactory : connectionFactory;
+
+        try (Connection connection = factory.createConnection();
+             Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE)) {
+
+            Health.Builder builder = Health.up().withDetail("pooled", pooledConnectionFactory != null);
+            if (pooledConnectionFactory != null) {
+                builder.withDetail("sessionCacheSize", pooledConnectionFactory.getSessionCacheSize())
+                        .withDetail("sessionRequests", pooledConnectionFactory.getSessionRequests())
+                        .withDetail("sessionHits", pooledConnectionFactory.getSessionHits())
+                        .withDetail("sessionsCreated", pooledConnectionFactory.getSessionMisses())
+                        .withDetail("connectionsCreated", pooledConnectionFactory.getConnectionsCreated())
+                        .withDetail("connectionResets", pooledConnectionFactory.getConnectionResets());
+            }
+            return builder.build();
+
+        } catch (Exception e) {
+            log.warn("Solace publisher health check failed: {}", e.getMessage());
+
+            if (pooledConnectionFactory != null) {
+                // Drop the shared connection and cached sessions; the next send reconnects
+                pooledConnectionFactory.resetConnection();
+            }
+            return Health.down(e).withDetail("pooled", pooledConnectionFactory != null).build();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.solaceservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the pooled Solace publishing layer.
+ *
+ * <p>Without pooling, every {@code JmsTemplate.send} opens and closes a connection,
+ * session and producer. The pool keeps one shared connection, caches sessions and
+ * per-destination producers, and caches resolved destinations.</p>
+ *
+ * <h3>Configuration Example:</h3>
+ * <pre>
+ * solace:
+ *   connection-pool:
+ *     enabled: true
+ *     session-cache-size: 20
+ *     cache-producers: true
+ *     reconnect-on-exception: true
+ *     cache-destinations: true
+ *     destination-cache-size: 1000
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "solace.connection-pool")
+@Data
+public class SolaceConnectionPoolProperties {
+
+    /**
+     * Enable/disable the pooled connection factory for publishing.
+     * Default: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of sessions kept in the cache (per acknowledge mode).
+     * Should be at least the number of threads publishing concurrently.
+     * Default: 20
+     */
+    private int sessionCacheSize = 20;
+
+    /**
+     * Cache a MessageProducer per destination within each cached session.
+     * Default: true
+     */
+    private boolean cacheProducers = true;
+
+    /**
+     * Reset the shared connection when the broker reports a connection failure,
+     * so the next send transparently reconnects.
+     * Default: true
+     */
+    private boolean reconnectOnException = true;
+
+    /**
+     * Cache resolved Destination objects by name.
+     * Default: true
+     */
+    private boolean cacheDestinations = true;
+
+    /**
+     * Maximum number of cached queue and of cached topic destinations. Topic names are built from
+     * request attributes, so the number of distinct names is up to the clients.
+     * Default: 1000
+     */
+    private int destinationCacheSize = 1000;
+}
@@ -0,0 +1,96 @@
+package com.example.solaceservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for topic (publish/subscribe) publishing.
+ *
+ * <p>Direct messages are published to a hierarchical topic built from the message attributes
+ * instead of a queue. The broker fans each message out to every subscriber, so N consumers
+ * receive it without the service sending N copies. Consumers that need durability attract the
+ * messages into their queues through topic subscriptions on the queue.</p>
+ *
+ * <h3>Topic Template:</h3>
+ * <p>Placeholders: {@code {topic}} ({@code solace.queue.topic}), {@code {type}} (messageType),
+ * {@code {destination}}, {@code {region}}. Each attribute fills exactly one topic level, so
+ * subscribers can filter with wildcards, e.g. {@code payments/MT103/*&#47;>} or
+ * {@code payments/*&#47;*&#47;eu-west}.</p>
+ *
+ * <h3>Configuration Example:</h3>
+ * <pre>
+ * solace:
+ *   queue:
+ *     topic: payments
+ *   topic-publishing:
+ *     enabled: true
+ *     template: "{topic}/{type}/{destination}/{region}"
+ *     region: westeurope
+ *     queue-subscriptions:
+ *       "[swift/mt103/inbound]": payments/MT103/>
+ *     semp:
+ *       url: https://broker:943
+ *       username: admin
+ *       password: secret
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "solace.topic-publishing")
+@Data
+public class TopicPublishingProperties {
+
+    /**
+     * Enable/disable topic publishing of direct messages (guaranteed messages keep using queues).
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Topic template; placeholders are replaced by the message attributes.
+     * Default: {topic}/{type}/{destination}/{region}
+     */
+    private String template = "{topic}/{type}/{destination}/{region}";
+
+    /**
+     * Region level used when the request does not name one (normally the deployment region).
+     * Default: default
+     */
+    private String region = "default";
+
+    /**
+     * Level used for a missing message type or destination.
+     * Default: default
+     */
+    private String defaultLevel = "default";
+
+    /**
+     * Topic subscriptions added to consumer queues at startup (queue name to topic subscriptions).
+     * Requires the SEMP settings; otherwise the subscriptions must be provisioned on the broker.
+     * Default: none
+     */
+    private Map<String, List<String>> queueSubscriptions = new LinkedHashMap<>();
+
+    /**
+     * SEMP v2 management API used to provision the queue subscriptions.
+     */
+    private Semp semp = new Semp();
+
+    @Data
+    public static class Semp {
+
+        /**
+         * Broker management URL, e.g. https://broker:943. Provisioning is skipped when empty.
+         * Default: none
+         */
+        private String url;
+
+        private String username;
+
+        private String password;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.solaceservice.config;
+
+import com.example.solaceservice.model.TransformationType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for routing transformation inputs by message type.
+ *
+ * <p>Without routing, every input is transformed with {@code transformation.transformation-type}.
+ * With routing, the detected input type selects a transformation, or a chain of transformations
+ * applied one after the other (each step's output is the next step's input). Types the SWIFT
+ * header does not reveal (ISO 20022) are taken from the {@code messageType} property set by the
+ * publisher. Inputs of a type without a route are stored as failed records; route {@code "*"}
+ * catches every other type.</p>
+ *
+ * <p>{@code input-queues} are consumed in addition to {@code transformation.input-queue}, with the
+ * same listener settings. With key-ordered or pipelined consumption, messages of all queues are
+ * processed by the same workers; batched consumption runs one consumer per queue.</p>
+ *
+ * <h3>Configuration Example:</h3>
+ * <pre>
+ * transformation:
+ *   routing:
+ *     enabled: true
+ *     input-queues:
+ *       - swift/mt940/inbound
+ *       - iso/pain001/inbound
+ *     routes:
+ *       MT103: [MT103_TO_MT202]
+ *       MT940: [MT940_TO_CAMT053]
+ *       "[pain.001]": [PAIN001_TO_MT103, MT103_TO_MT202]
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "transformation.routing")
+@Data
+public class TransformationRoutingProperties {
+
+    /**
+     * Enable/disable routing by input message type.
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Transformation chain per input message type ("*" = any other type).
+     * Default: none
+     */
+    private Map<String, List<TransformationType>> routes = new LinkedHashMap<>();
+
+    /**
+     * Queues consumed in addition to transformation.input-queue.
+     * Default: none
+     */
+    private List<String> inputQueues = new ArrayList<>();
+}
@@ -0,0 +1,84 @@
+package com.example.solaceservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the messaging transport under the publishing, transformation,
+ * retry and dead-letter paths.
+ *
+ * <p>{@code JMS} uses Solace. {@code IN_MEMORY} replaces the broker with in-process ring-buffer
+ * queues, so the service's own throughput and latency can be measured without a broker (see
+ * {@code ./gradlew benchmark}). Messages on the in-process transport are lost on restart and are
+ * not redelivered when a listener fails; it is meant for benchmarks and local runs only.</p>
+ *
+ * <h3>Configuration Example:</h3>
+ * <pre>
+ * messaging:
+ *   transport:
+ *     type: IN_MEMORY
+ *     in-memory:
+ *       capacity: 65536
+ *       consumers: 8
+ *       sink-destinations:
+ *         - swift/mt202/outbound
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "messaging.transport")
+@Data
+public class TransportProperties {
+
+    /**
+     * Transport implementation.
+     * Default: JMS
+     */
+    private Type type = Type.JMS;
+
+    /**
+     * In-process transport settings.
+     */
+    private InMemory inMemory = new InMemory();
+
+    public enum Type {
+        JMS,
+        IN_MEMORY
+    }
+
+    @Data
+    public static class InMemory {
+
+        /**
+         * Messages buffered per queue (rounded up to a power of two).
+         * Default: 65536
+         */
+        private int capacity = 65_536;
+
+        /**
+         * Consumer threads per subscription (0 = available processors).
+         * Default: 0
+         */
+        private int consumers = 0;
+
+        /**
+         * Time a send waits for room in a full queue before it fails.
+         * Default: 1000ms
+         */
+        private long sendTimeoutMs = 1_000;
+
+        /**
+         * Queues consumed by a discarding sink, for outputs that no listener in this service
+         * consumes (their delivery latency is still measured).
+         * Default: none
+         */
+        private List<String> sinkDestinations = new ArrayList<>();
+
+        public int resolveConsumers() {
+            return consumers > 0 ? consumers : Runtime.getRuntime().availableProcessors();
+        }
+    }
+}
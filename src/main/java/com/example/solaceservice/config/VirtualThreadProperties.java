@@ -0,0 +1,60 @@
+package com.example.solaceservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the virtual-thread execution mode.
+ *
+ * <p>The mode itself is switched with Spring Boot's {@code spring.threads.virtual.enabled}, which
+ * moves Tomcat request handling onto virtual threads. When it is on, the message task executor,
+ * the JMS listener containers and the transformation retry service use virtual threads as well.
+ * These properties tune the parts Spring Boot does not cover.</p>
+ *
+ * <h3>Configuration Example:</h3>
+ * <pre>
+ * spring:
+ *   threads:
+ *     virtual:
+ *       enabled: true
+ * virtual-threads:
+ *   async-concurrency-limit: 1000
+ *   pinning:
+ *     enabled: true
+ *     threshold-ms: 20
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "virtual-threads")
+@Data
+public class VirtualThreadProperties {
+
+    /**
+     * Maximum number of concurrent tasks on the virtual-thread message task executor.
+     * Bounds the fan-out to Azure Storage the same way the platform pool size did.
+     * Default: 1000 (-1 = unlimited)
+     */
+    private int asyncConcurrencyLimit = 1000;
+
+    /**
+     * Pinning diagnostics settings.
+     */
+    private Pinning pinning = new Pinning();
+
+    @Data
+    public static class Pinning {
+
+        /**
+         * Record {@code jdk.VirtualThreadPinned} events while running on virtual threads.
+         * Default: true
+         */
+        private boolean enabled = true;
+
+        /**
+         * Minimum time a virtual thread must stay pinned to its carrier before it is reported.
+         * Default: 20ms (the JDK default for the event)
+         */
+        private long thresholdMs = 20;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.solaceservice.controller;
+
+import com.example.solaceservice.model.MessageResponse;
+import com.example.solaceservice.service.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Load shedding in front of the message ingest endpoints ({@code /api/messages/**}).
+ *
+ * <p>Each request takes a slot from the {@link AdaptiveConcurrencyLimiter}. Without a free slot
+ * the request is answered at once with 429 Too Many Requests and a {@code Retry-After} header,
+ * before the body is read. The slot is released with the request latency when the response is
+ * complete, including requests processed asynchronously (POST /api/messages/async).</p>
+ *
+ * <p>Runs after the {@link RateLimitFilter}, so requests of a client over its rate limit never
+ * take a slot.</p>
+ */
+@Component
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(name = "solace.ingest.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String INGEST_PATH = "/api/messages";
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Whether the request publishes messages (POST /api/messages/**).
+     */
+    static boolean isIngestRequest(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return "POST".equals(request.getMethod())
+                && (path.equals(INGEST_PATH) || path.startsWith(INGEST_PATH + "/"));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !isIngestRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!limiter.tryAcquire()) {
+            log.debug("Rejected {} - concurrency limit {} reached", request.getRequestURI(), limiter.getLimit());
+            reject(response);
+            return;
+        }
+
+        Slot slot = new Slot(System.nanoTime());
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            slot.release(true);
+            throw e;
+        }
+
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    slot.release(response.getStatus() >= 500);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                    slot.release(true);
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                    slot.release(true);
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            slot.release(response.getStatus() >= 500);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(limiter.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new MessageResponse(null, "REJECTED", null, LocalDateTime.now()));
+    }
+
+    /**
+     * Releases the limiter slot of one request exactly once.
+     */
+    private class Slot {
+
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        Slot(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(System.nanoTime() - startNanos, failed);
+            }
+        }
+    }
+}
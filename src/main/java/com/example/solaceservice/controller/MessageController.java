@@ -2,17 +2,40 @@ package com.example.solaceservice.controller;
 
 import com.example.solaceservice.model.MessageRequest;
 import com.example.solaceservice.model.MessageResponse;
+import com.example.solaceservice.model.PublishQos;
+import com.example.solaceservice.service.IdempotencyCache;
 import com.example.solaceservice.service.MessageService;
 import com.example.solaceservice.service.MessageExclusionService;
+import com.example.solaceservice.util.MessageIds;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import jakarta.validation.Valid;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
 
 @RestController
 @RequestMapping("/api/messages")
@@ -20,18 +43,171 @@ import java.util.UUID;
 @Slf4j
 public class MessageController {
 
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final MessageService messageService;
     private final MessageExclusionService exclusionService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private IdempotencyCache idempotencyCache;
+
+    @Value("${solace.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${solace.stream.flush-interval:100}")
+    private int streamFlushInterval;
+
+    @Value("${solace.async.timeout-ms:5000}")
+    private long asyncTimeoutMs;
+
+    @Value("${solace.async.max-in-flight:10000}")
+    private int asyncMaxInFlight;
+
+    // Limits publishes in flight through POST /api/messages/async
+    private Semaphore asyncInFlight;
+
+    @PostConstruct
+    public void initialize() {
+        if (streamFlushInterval < 1) {
+            throw new IllegalStateException("solace.stream.flush-interval must be at least 1, was " + streamFlushInterval);
+        }
+        asyncInFlight = new Semaphore(asyncMaxInFlight);
+    }
 
     @PostMapping
-    public ResponseEntity<MessageResponse> sendMessage(@Valid @RequestBody MessageRequest request) {
+    public ResponseEntity<MessageResponse> sendMessage(@Valid @RequestBody MessageRequest request,
+                                                       HttpServletRequest httpRequest) {
         log.info("Received message request: {}", request);
 
-        String messageId = UUID.randomUUID().toString();
+        return publishMessage(request, request.getContent(), httpRequest);
+    }
+
+    /**
+     * Binary ingestion: the raw request body is published as a JMS BytesMessage and is never
+     * decoded into a String (except for exclusion checks while exclusion rules are active).
+     * Message attributes are passed as headers instead of JSON fields.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<MessageResponse> sendBinaryMessage(
+            @RequestBody byte[] payload,
+            @RequestHeader(value = "X-Destination", required = false) String destination,
+            @RequestHeader(value = "X-Correlation-Id", required = false) String correlationId,
+            @RequestHeader(value = "X-Qos", required = false) PublishQos qos,
+            @RequestHeader(value = "X-Message-Type", required = false) String messageType,
+            @RequestHeader(value = "X-Region", required = false) String region,
+            HttpServletRequest httpRequest) {
+        log.info("Received binary message request: {} bytes, destination: {}", payload.length, destination);
+
+        if (payload.length == 0) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        MessageRequest request = new MessageRequest();
+        request.setBinaryContent(payload);
+        request.setDestination(destination);
+        request.setCorrelationId(correlationId);
+        request.setQos(qos);
+        request.setMessageType(messageType);
+        request.setRegion(region);
+
+        String exclusionContent = exclusionService.hasActiveRules()
+            ? new String(payload, StandardCharsets.UTF_8) : null;
+        return publishMessage(request, exclusionContent, httpRequest);
+    }
+
+    /**
+     * Publish unless the request repeats an earlier one: with idempotency enabled, a request with a
+     * known idempotency key (header or correlationId) gets the original response and is not
+     * published again. Failed requests are not remembered, so their retries are published.
+     */
+    private ResponseEntity<MessageResponse> publishMessage(MessageRequest request, String exclusionContent,
+                                                           HttpServletRequest httpRequest) {
+        String idempotencyKey = idempotencyCache != null
+            ? idempotencyCache.resolveKey(httpRequest.getHeader(idempotencyCache.getKeyHeader()), request.getCorrelationId())
+            : null;
+        if (idempotencyKey == null) {
+            return publishNewMessage(request, exclusionContent);
+        }
+
+        MessageResponse original = idempotencyCache.reserve(idempotencyKey);
+        if (original != null) {
+            return replay(original);
+        }
+
+        ResponseEntity<MessageResponse> response;
+        try {
+            response = publishNewMessage(request, exclusionContent);
+        } catch (RuntimeException e) {
+            idempotencyCache.release(idempotencyKey);
+            throw e;
+        }
+
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            idempotencyCache.complete(idempotencyKey, response.getBody());
+        } else {
+            idempotencyCache.release(idempotencyKey);
+        }
+        return response;
+    }
+
+    /**
+     * Answer a duplicate request with the response of the original request.
+     */
+    private ResponseEntity<MessageResponse> replay(MessageResponse original) {
+        log.info("Duplicate request - returning original response for message {} ({})",
+            original.getMessageId(), original.getStatus());
+        HttpStatus status = switch (original.getStatus()) {
+            case IdempotencyCache.IN_PROGRESS -> HttpStatus.CONFLICT;
+            case "EXCLUDED" -> HttpStatus.ACCEPTED;
+            default -> HttpStatus.OK;
+        };
+        return ResponseEntity.status(status).header(IDEMPOTENT_REPLAYED_HEADER, "true").body(original);
+    }
+
+    /**
+     * Idempotency key of a batch or stream item: its correlationId. A single header cannot
+     * identify the messages of a batch or stream.
+     *
+     * @return Key, or null if the item is not idempotent
+     */
+    private String itemIdempotencyKey(MessageRequest request) {
+        return idempotencyCache != null ? idempotencyCache.resolveKey(null, request.getCorrelationId()) : null;
+    }
+
+    /**
+     * Whether a batch or stream request carries the idempotency key header, which is rejected there.
+     */
+    private boolean hasIdempotencyKeyHeader(HttpServletRequest httpRequest) {
+        if (idempotencyCache == null) {
+            return false;
+        }
+        String header = httpRequest.getHeader(idempotencyCache.getKeyHeader());
+        return header != null && !header.isBlank();
+    }
+
+    /**
+     * Remember the response of a reserved key, or forget the key if the publish failed so that a
+     * retry is published.
+     */
+    private void completeIdempotent(String key, MessageResponse response) {
+        if (key == null) {
+            return;
+        }
+        if (response == null || "FAILED".equals(response.getStatus()) || "REJECTED".equals(response.getStatus())) {
+            idempotencyCache.release(key);
+        } else {
+            idempotencyCache.complete(key, response);
+        }
+    }
+
+    private ResponseEntity<MessageResponse> publishNewMessage(MessageRequest request, String exclusionContent) {
+        String messageId = MessageIds.next();
 
         try {
             // Check if message should be excluded
-            boolean excluded = exclusionService.shouldExclude(request.getContent(), null);
+            boolean excluded = exclusionService.shouldExclude(exclusionContent, null);
             
             if (excluded) {
                 log.info("Message excluded by exclusion rules: {}", messageId);
@@ -47,11 +223,11 @@ public class MessageController {
                 return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
             }
 
-            messageService.sendMessage(request, messageId);
+            String status = messageService.sendMessage(request, messageId);
 
             MessageResponse response = new MessageResponse(
                 messageId,
-                "SENT",
+                status,
                 request.getDestination(),
                 LocalDateTime.now()
             );
@@ -71,8 +247,288 @@ public class MessageController {
         }
     }
 
+    /**
+     * Non-blocking variant of {@link #sendMessage(MessageRequest, HttpServletRequest)}, with the
+     * same idempotency handling.
+     *
+     * <p>The request thread is released as soon as the publish is handed off; the response is
+     * completed when the send (or, for guaranteed QoS, the broker acknowledgement) finishes.
+     * At most {@code solace.async.max-in-flight} publishes may be pending; further requests are
+     * rejected with 503. If the publish does not finish within {@code solace.async.timeout-ms},
+     * 202 Accepted with status PENDING is returned while the publish carries on.</p>
+     */
+    @PostMapping("/async")
+    public DeferredResult<ResponseEntity<MessageResponse>> sendMessageAsync(@Valid @RequestBody MessageRequest request,
+                                                                           HttpServletRequest httpRequest) {
+        log.info("Received async message request: {}", request);
+
+        String messageId = MessageIds.next();
+        DeferredResult<ResponseEntity<MessageResponse>> result = new DeferredResult<>(asyncTimeoutMs);
+
+        String idempotencyKey = idempotencyCache != null
+            ? idempotencyCache.resolveKey(httpRequest.getHeader(idempotencyCache.getKeyHeader()), request.getCorrelationId())
+            : null;
+        if (idempotencyKey != null) {
+            MessageResponse original = idempotencyCache.reserve(idempotencyKey);
+            if (original != null) {
+                result.setResult(replay(original));
+                return result;
+            }
+        }
+
+        result.onTimeout(() -> {
+            log.warn("Async publish of message {} did not complete within {}ms", messageId, asyncTimeoutMs);
+            result.setResult(ResponseEntity.status(HttpStatus.ACCEPTED).body(
+                new MessageResponse(messageId, "PENDING", request.getDestination(), LocalDateTime.now())));
+        });
+
+        boolean excluded;
+        try {
+            excluded = exclusionService.shouldExclude(request.getContent(), null);
+        } catch (RuntimeException e) {
+            completeIdempotent(idempotencyKey, null);
+            throw e;
+        }
+        if (excluded) {
+            log.info("Message excluded by exclusion rules: {}", messageId);
+            MessageResponse response = new MessageResponse(messageId, "EXCLUDED", request.getDestination(), LocalDateTime.now());
+            completeIdempotent(idempotencyKey, response);
+            result.setResult(ResponseEntity.status(HttpStatus.ACCEPTED).body(response));
+            return result;
+        }
+
+        if (!asyncInFlight.tryAcquire()) {
+            log.warn("Rejected async message {}: {} publishes already in flight", messageId, asyncMaxInFlight);
+            MessageResponse response = new MessageResponse(messageId, "REJECTED", request.getDestination(), LocalDateTime.now());
+            completeIdempotent(idempotencyKey, response);
+            result.setResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response));
+            return result;
+        }
+
+        CompletableFuture<String> publish;
+        try {
+            publish = messageService.sendMessageAsync(request, messageId);
+        } catch (Exception e) {
+            publish = CompletableFuture.failedFuture(e);
+        }
+
+        // A duplicate arriving before completion (also after a PENDING timeout) gets 409 IN_PROGRESS
+        publish.whenComplete((status, error) -> {
+            asyncInFlight.release();
+            if (error != null) {
+                log.error("Failed to send message", error);
+                MessageResponse response = new MessageResponse(messageId, "FAILED", request.getDestination(), LocalDateTime.now());
+                completeIdempotent(idempotencyKey, response);
+                result.setResult(ResponseEntity.internalServerError().body(response));
+            } else {
+                MessageResponse response = new MessageResponse(messageId, status, request.getDestination(), LocalDateTime.now());
+                completeIdempotent(idempotencyKey, response);
+                result.setResult(ResponseEntity.ok(response));
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Publish a batch of messages through a single session. With idempotency enabled, an item
+     * whose correlationId was seen before gets the original response instead of being published
+     * again; the idempotency key header is rejected, as it cannot identify the items.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<MessageResponse>> sendBatch(@RequestBody List<MessageRequest> requests,
+                                                           HttpServletRequest httpRequest) {
+        log.info("Received batch request with {} messages", requests.size());
+
+        if (requests.isEmpty() || requests.size() > maxBatchSize) {
+            log.warn("Rejected batch of {} messages (max batch size: {})", requests.size(), maxBatchSize);
+            return ResponseEntity.badRequest().build();
+        }
+        if (hasIdempotencyKeyHeader(httpRequest)) {
+            log.warn("Rejected batch with idempotency key header - items are keyed by correlationId");
+            return ResponseEntity.badRequest().build();
+        }
+
+        MessageResponse[] responses = new MessageResponse[requests.size()];
+        List<MessageRequest> toSend = new ArrayList<>(requests.size());
+        List<String> toSendIds = new ArrayList<>(requests.size());
+        List<Integer> toSendIndexes = new ArrayList<>(requests.size());
+        List<String> toSendKeys = new ArrayList<>(requests.size());
+
+        // Key reserved for the current item, until it is excluded or added to toSendKeys
+        String reservedKey = null;
+        try {
+            for (int i = 0; i < requests.size(); i++) {
+                MessageRequest request = requests.get(i);
+                String messageId = MessageIds.next();
+
+                if (request == null || request.getContent() == null || request.getContent().isBlank()) {
+                    responses[i] = new MessageResponse(messageId, "INVALID",
+                        request != null ? request.getDestination() : null, LocalDateTime.now());
+                    continue;
+                }
+
+                String idempotencyKey = itemIdempotencyKey(request);
+                MessageResponse original = idempotencyKey != null ? idempotencyCache.reserve(idempotencyKey) : null;
+                if (original != null) {
+                    log.info("Duplicate batch message - returning original response for message {} ({})",
+                        original.getMessageId(), original.getStatus());
+                    responses[i] = original;
+                    continue;
+                }
+
+                reservedKey = idempotencyKey;
+                if (exclusionService.shouldExclude(request.getContent(), null)) {
+                    log.info("Batch message excluded by exclusion rules: {}", messageId);
+                    responses[i] = new MessageResponse(messageId, "EXCLUDED", request.getDestination(), LocalDateTime.now());
+                    completeIdempotent(idempotencyKey, responses[i]);
+                } else {
+                    toSend.add(request);
+                    toSendIds.add(messageId);
+                    toSendIndexes.add(i);
+                    toSendKeys.add(idempotencyKey);
+                }
+                reservedKey = null;
+            }
+        } catch (RuntimeException e) {
+            // Otherwise retries of these items get IN_PROGRESS until the reservations expire
+            completeIdempotent(reservedKey, null);
+            toSendKeys.forEach(key -> completeIdempotent(key, null));
+            throw e;
+        }
+
+        if (!toSend.isEmpty()) {
+            List<String> statuses;
+            try {
+                statuses = messageService.sendBatch(toSend, toSendIds);
+            } catch (RuntimeException e) {
+                toSendKeys.forEach(key -> completeIdempotent(key, null));
+                throw e;
+            }
+            for (int j = 0; j < toSend.size(); j++) {
+                responses[toSendIndexes.get(j)] = new MessageResponse(
+                    toSendIds.get(j),
+                    statuses.get(j),
+                    toSend.get(j).getDestination(),
+                    LocalDateTime.now()
+                );
+                completeIdempotent(toSendKeys.get(j), responses[toSendIndexes.get(j)]);
+            }
+        }
+
+        return ResponseEntity.ok(Arrays.asList(responses));
+    }
+
+    /**
+     * Streaming ingestion of newline-delimited JSON (one MessageRequest per line).
+     *
+     * <p>The request body is read incrementally and each line is published as soon as it
+     * is parsed, through a single Solace session. The next line is only read after the
+     * previous publish was handed to the broker (direct send completed, or a slot in the
+     * guaranteed ack window obtained), so a slow broker pauses the read and TCP flow control
+     * pushes back on the client. One MessageResponse line is streamed back per non-blank
+     * input line, in input order.</p>
+     *
+     * <p>With idempotency enabled, a line whose correlationId was seen before gets the original
+     * response instead of being published again; the idempotency key header is rejected, as it
+     * cannot identify the lines.</p>
+     */
+    @PostMapping(value = "/stream", consumes = NDJSON_MEDIA_TYPE, produces = NDJSON_MEDIA_TYPE)
+    public void streamMessages(HttpServletRequest httpRequest, HttpServletResponse httpResponse) throws IOException {
+        log.info("Received streaming ingestion request");
+
+        if (hasIdempotencyKeyHeader(httpRequest)) {
+            log.warn("Rejected stream with idempotency key header - lines are keyed by correlationId");
+            httpResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+
+        httpResponse.setContentType(NDJSON_MEDIA_TYPE);
+        httpResponse.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        BufferedReader reader = new BufferedReader(
+            new InputStreamReader(httpRequest.getInputStream(), StandardCharsets.UTF_8));
+        OutputStream out = httpResponse.getOutputStream();
+        long[] lineCount = {0};
+
+        // Results not yet written, in input order (guaranteed sends complete on broker ack)
+        Deque<CompletableFuture<MessageResponse>> pending = new ArrayDeque<>();
+
+        messageService.streamMessages(publisher -> {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                pending.addLast(publishStreamLine(line, publisher));
+                while (!pending.isEmpty() && pending.peekFirst().isDone()) {
+                    writeStreamResult(out, pending.removeFirst().join());
+                }
+
+                if (++lineCount[0] % streamFlushInterval == 0) {
+                    out.flush();
+                }
+            }
+
+            while (!pending.isEmpty()) {
+                writeStreamResult(out, pending.removeFirst().join());
+            }
+        });
+
+        out.flush();
+        log.info("Streaming ingestion completed: {} messages processed", lineCount[0]);
+    }
+
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Service is running");
     }
-}
\ No newline at end of file
+
+    private CompletableFuture<MessageResponse> publishStreamLine(String line, MessageService.SessionPublisher publisher) {
+        String messageId = MessageIds.next();
+
+        MessageRequest request;
+        try {
+            request = objectMapper.readValue(line, MessageRequest.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unparseable stream line for message {}: {}", messageId, e.getOriginalMessage());
+            return CompletableFuture.completedFuture(
+                new MessageResponse(messageId, "INVALID", null, LocalDateTime.now()));
+        }
+
+        if (request.getContent() == null || request.getContent().isBlank()) {
+            return CompletableFuture.completedFuture(
+                new MessageResponse(messageId, "INVALID", request.getDestination(), LocalDateTime.now()));
+        }
+
+        String idempotencyKey = itemIdempotencyKey(request);
+        MessageResponse original = idempotencyKey != null ? idempotencyCache.reserve(idempotencyKey) : null;
+        if (original != null) {
+            log.info("Duplicate streamed message - returning original response for message {} ({})",
+                original.getMessageId(), original.getStatus());
+            return CompletableFuture.completedFuture(original);
+        }
+
+        CompletableFuture<MessageResponse> response;
+        try {
+            if (exclusionService.shouldExclude(request.getContent(), null)) {
+                log.info("Streamed message excluded by exclusion rules: {}", messageId);
+                response = CompletableFuture.completedFuture(
+                    new MessageResponse(messageId, "EXCLUDED", request.getDestination(), LocalDateTime.now()));
+            } else {
+                response = publisher.send(request, messageId)
+                    .thenApply(status -> new MessageResponse(messageId, status, request.getDestination(), LocalDateTime.now()));
+            }
+        } catch (RuntimeException e) {
+            completeIdempotent(idempotencyKey, null);
+            throw e;
+        }
+        return response.whenComplete((result, error) -> completeIdempotent(idempotencyKey, error == null ? result : null));
+    }
+
+    private void writeStreamResult(OutputStream out, MessageResponse response) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(response));
+        out.write('\n');
+    }
+}
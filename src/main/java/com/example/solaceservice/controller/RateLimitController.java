@@ -0,0 +1,78 @@
+package com.example.solaceservice.controller;
+
+import com.example.solaceservice.config.RateLimitProperties;
+import com.example.solaceservice.model.ClientRateLimit;
+import com.example.solaceservice.service.ClientRateLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST API for viewing and changing per-client rate limits at runtime
+ */
+@RestController
+@RequestMapping("/api/rate-limits")
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "solace.ingest.rate-limit.enabled", havingValue = "true")
+public class RateLimitController {
+
+    private final ClientRateLimiter rateLimiter;
+
+    /**
+     * Get the limits and admitted/rejected counters of all known clients
+     */
+    @GetMapping
+    public ResponseEntity<List<ClientRateLimit>> getClients() {
+        return ResponseEntity.ok(rateLimiter.getClients());
+    }
+
+    /**
+     * Get the limit of clients without their own limit
+     */
+    @GetMapping("/default")
+    public ResponseEntity<RateLimitProperties.Limit> getDefaultLimit() {
+        return ResponseEntity.ok(rateLimiter.getDefaultLimit());
+    }
+
+    /**
+     * Replace the default limit
+     */
+    @PutMapping("/default")
+    public ResponseEntity<RateLimitProperties.Limit> setDefaultLimit(@RequestBody RateLimitProperties.Limit limit) {
+        try {
+            rateLimiter.setDefaultLimit(limit);
+            return ResponseEntity.ok(limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Create or replace the limit of one client
+     */
+    @PutMapping("/clients/{clientId}")
+    public ResponseEntity<RateLimitProperties.Limit> setClientLimit(@PathVariable String clientId,
+                                                                    @RequestBody RateLimitProperties.Limit limit) {
+        try {
+            rateLimiter.setClientLimit(clientId, limit);
+            return ResponseEntity.ok(limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Remove the limit of one client (it falls back to the default limit)
+     */
+    @DeleteMapping("/clients/{clientId}")
+    public ResponseEntity<Void> removeClientLimit(@PathVariable String clientId) {
+        return rateLimiter.removeClientLimit(clientId)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -5,6 +5,7 @@ import com.example.solaceservice.model.MessageResponse;
 import com.example.solaceservice.model.StoredMessage;
 import com.example.solaceservice.service.AzureStorageService;
 import com.example.solaceservice.service.MessageService;
+import com.example.solaceservice.util.MessageIds;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -12,7 +13,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/storage")
@@ -72,13 +72,10 @@ public class StorageController {
             }
 
             // Create a new message request from the stored message
-            MessageRequest request = new MessageRequest();
-            request.setContent(storedMessage.getContent());
-            request.setDestination(storedMessage.getDestination());
-            request.setCorrelationId(storedMessage.getCorrelationId());
+            MessageRequest request = storedMessage.toRequest();
 
             // Generate new message ID for republishing
-            String newMessageId = UUID.randomUUID().toString();
+            String newMessageId = MessageIds.next();
 
             log.info("Republishing stored message {} with new ID: {}", messageId, newMessageId);
 
@@ -0,0 +1,313 @@
+package com.example.solaceservice.listener;
+
+import com.example.solaceservice.config.BatchConsumerProperties;
+import com.example.solaceservice.listener.MessageTransformationListener.Transformation;
+import com.example.solaceservice.model.TransformationRecord.ProcessingTimings;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Consumes transformation requests in batches through one transacted session per input queue.
+ *
+ * <p>Each batch is received, transformed in parallel, published to the output queue in the
+ * consuming session and committed once:</p>
+ * <ol>
+ *   <li>Receive up to {@code max-messages}, waiting at most {@code max-wait-ms} after the first</li>
+ *   <li>Transform all messages in parallel (outputs are published in receive order)</li>
+ *   <li>Publish the outputs in the same transacted session</li>
+ *   <li>Commit: outputs become visible and inputs are acknowledged atomically</li>
+ *   <li>Store records, record metrics and schedule retries</li>
+ * </ol>
+ *
+ * <p>If a claim-check download, a publish or the commit fails, the session is rolled back: the
+ * outputs are discarded and the inputs are redelivered, so a batch is never half published. The
+ * broker moves an input that keeps failing to its dead message queue once the queue's maximum
+ * redelivery count is reached. Side effects that cannot be
+ * rolled back (storage, retries) only run after the commit.</p>
+ *
+ * <p>Every queue of {@link MessageTransformationListener#inputQueues()} (the input queue and the
+ * routing input queues) has its own consumer thread and session; the transformation pool is shared.</p>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>{@code transformation.batch.size} - messages per batch</li>
+ *   <li>{@code transformation.batch.committed} - messages committed</li>
+ *   <li>{@code transformation.batch.rolled_back} - batches rolled back for redelivery</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = {"transformation.enabled", "transformation.batch.enabled"}, havingValue = "true")
+public class BatchTransformationConsumer {
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    @Autowired
+    private MessageTransformationListener transformationListener;
+
+    @Autowired
+    private BatchConsumerProperties properties;
+
+    @Autowired(required = false)
+    private ConnectionFactory connectionFactory;
+
+    @Autowired(required = false)
+    private Environment environment;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${transformation.output-queue:swift/mt202/outbound}")
+    private String outputQueue;
+
+    private ExecutorService transformExecutor;
+    private final List<Thread> consumerThreads = new ArrayList<>();
+    private volatile boolean running = false;
+
+    private final LongAdder committed = new LongAdder();
+    private final LongAdder rolledBack = new LongAdder();
+    private DistributionSummary batchSizeSummary;
+
+    @PostConstruct
+    public void start() {
+        if (connectionFactory == null) {
+            throw new IllegalStateException(
+                "Batched transformation consumption is enabled but no JMS ConnectionFactory is available. " +
+                "Check spring.jms.solace.enabled configuration."
+            );
+        }
+
+        boolean virtual = environment != null && Threading.VIRTUAL.isActive(environment);
+        transformExecutor = virtual
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("batch-transform-", 0).factory())
+                : Executors.newFixedThreadPool(properties.resolveParallelism(),
+                        Thread.ofPlatform().name("batch-transform-", 0).daemon().factory());
+
+        registerMetrics();
+
+        running = true;
+        List<String> inputQueues = transformationListener.inputQueues();
+        for (String queue : inputQueues) {
+            Thread consumerThread = (virtual ? Thread.ofVirtual() : Thread.ofPlatform())
+                    .name("batch-consumer-" + consumerThreads.size()).unstarted(() -> run(queue));
+            consumerThreads.add(consumerThread);
+            consumerThread.start();
+        }
+
+        log.info("Batched transformation consumption started - Queues: {}, Max messages: {}, Max wait: {}ms, Parallelism: {}",
+                inputQueues, properties.getMaxMessages(), properties.getMaxWaitMs(), properties.resolveParallelism());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+
+        // The current batches are committed or rolled back before the loops exit
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MS;
+        for (Thread consumerThread : consumerThreads) {
+            try {
+                consumerThread.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        consumerThreads.forEach(Thread::interrupt);
+        if (transformExecutor != null) {
+            transformExecutor.shutdownNow();
+        }
+    }
+
+    public long getCommitted() {
+        return committed.sum();
+    }
+
+    public long getRolledBack() {
+        return rolledBack.sum();
+    }
+
+    private void run(String inputQueue) {
+        while (running) {
+            // Closing the connection rolls back an uncommitted batch
+            try (Connection connection = connectionFactory.createConnection()) {
+                Session session = connection.createSession(true, Session.SESSION_TRANSACTED);
+                MessageConsumer consumer = session.createConsumer(session.createQueue(inputQueue));
+                MessageProducer producer = session.createProducer(session.createQueue(outputQueue));
+                // Guaranteed delivery, so the outputs are part of the transaction
+                producer.setDeliveryMode(DeliveryMode.PERSISTENT);
+                connection.start();
+
+                while (running) {
+                    List<Message> batch = receiveBatch(consumer);
+                    if (!batch.isEmpty()) {
+                        processBatch(session, producer, batch);
+                    }
+                }
+            } catch (JMSException e) {
+                if (!running) {
+                    return;
+                }
+                log.error("Batch consumer connection failed, reconnecting in {}ms", properties.getReconnectIntervalMs(), e);
+                try {
+                    Thread.sleep(properties.getReconnectIntervalMs());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Receive the next batch: waits up to receive-timeout-ms for the first message, then collects
+     * further messages until the batch is full or max-wait-ms has passed.
+     *
+     * @return Received messages (empty if the queue stayed idle)
+     */
+    List<Message> receiveBatch(MessageConsumer consumer) throws JMSException {
+        Message first = consumer.receive(properties.getReceiveTimeoutMs());
+        if (first == null) {
+            return List.of();
+        }
+
+        List<Message> batch = new ArrayList<>(properties.getMaxMessages());
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getMaxWaitMs());
+
+        while (batch.size() < properties.getMaxMessages()) {
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            // After the deadline, only messages already delivered to the consumer are added
+            Message next = remainingMs > 0 ? consumer.receive(remainingMs) : consumer.receiveNoWait();
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    /**
+     * Transform a batch, publish the outputs and commit.
+     *
+     * @throws JMSException if the batch was rolled back because of a JMS failure (the session is recreated)
+     */
+    void processBatch(Session session, MessageProducer producer, List<Message> batch) throws JMSException {
+        if (batchSizeSummary != null) {
+            batchSizeSummary.record(batch.size());
+        }
+
+        // Bodies and properties are read here (a session is single-threaded); transformations run in parallel
+        List<CompletableFuture<Transformation>> pending = new ArrayList<>(batch.size());
+        for (Message message : batch) {
+            pending.add(transform(message));
+        }
+
+        List<Transformation> transformations = new ArrayList<>(batch.size());
+        try {
+            for (CompletableFuture<Transformation> future : pending) {
+                // A failed claim-check download is thrown here and rolls the batch back
+                Transformation transformation = future.join();
+                if (transformation == null) {
+                    continue;
+                }
+                if (transformation.isPublishable()) {
+                    publish(session, producer, transformation);
+                }
+                transformations.add(transformation);
+            }
+            session.commit();
+        } catch (JMSException e) {
+            log.error("Failed to publish batch of {} messages, rolling back for redelivery", batch.size(), e);
+            rolledBack.increment();
+            rollback(session);
+            throw e;
+        } catch (RuntimeException e) {
+            // e.g. a claim-check download or upload failed; the session is still usable
+            log.error("Failed to publish batch of {} messages, rolling back for redelivery", batch.size(), e);
+            rolledBack.increment();
+            rollback(session);
+            return;
+        }
+        committed.add(batch.size());
+
+        for (Transformation transformation : transformations) {
+            transformationListener.complete(transformation);
+        }
+    }
+
+    private CompletableFuture<Transformation> transform(Message message) {
+        try {
+            return transformationListener.readInput(message)
+                    .thenApplyAsync(transformationListener::process, transformExecutor);
+        } catch (JMSException e) {
+            // Unreadable messages are consumed with the batch, as the message listener does
+            log.error("Failed to process JMS message", e);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void publish(Session session, MessageProducer producer, Transformation transformation) throws JMSException {
+        long publishStart = System.nanoTime();
+        String transformedMessage = transformation.result().getTransformedMessage();
+        boolean binary = transformation.input().binary();
+        String claimCheck = transformationListener.checkInOutput(transformation.record(), transformedMessage, binary);
+
+        producer.send(transformationListener.createOutputMessage(
+                session, transformation.record(), transformedMessage, claimCheck, binary));
+        transformation.record().setOutputQueue(outputQueue);
+        // Up to the send; the commit is shared by the whole batch
+        transformation.record().getTimings().record(ProcessingTimings.Stage.PUBLISH, System.nanoTime() - publishStart);
+    }
+
+    private void rollback(Session session) {
+        try {
+            JmsUtils.rollbackIfNecessary(session);
+        } catch (JMSException e) {
+            // The connection is recreated; the broker redelivers the batch either way
+            log.warn("Failed to roll back batch: {}", e.getMessage());
+        }
+    }
+
+    private void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+
+        batchSizeSummary = DistributionSummary.builder("transformation.batch.size")
+                .description("Messages per consumed batch")
+                .register(meterRegistry);
+        FunctionCounter.builder("transformation.batch.committed", committed, LongAdder::sum)
+                .description("Messages consumed and published in committed batches")
+                .register(meterRegistry);
+        FunctionCounter.builder("transformation.batch.rolled_back", rolledBack, LongAdder::sum)
+                .description("Batches rolled back for redelivery")
+                .register(meterRegistry);
+    }
+}
@@ -4,18 +4,17 @@ import com.example.solaceservice.model.StoredMessage;
 import com.example.solaceservice.model.TransformationRecord;
 import com.example.solaceservice.model.TransformationStatus;
 import com.example.solaceservice.service.AzureStorageService;
-import jakarta.jms.JMSException;
-import jakarta.jms.Message;
-import jakarta.jms.TextMessage;
+import com.example.solaceservice.transport.MessageTransport;
+import com.example.solaceservice.transport.TransportMessage;
+import com.example.solaceservice.util.MessageIds;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.jms.annotation.JmsListener;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 /**
  * Listener for dead-letter queue messages.
@@ -47,6 +46,12 @@ public class DeadLetterQueueListener {
     @Autowired(required = false)
     private AzureStorageService azureStorageService;
 
+    @Autowired(required = false)
+    private MessageTransport messageTransport;
+
+    @Value("${transformation.dead-letter-queue.queue-name:swift/transformation/dead-letter}")
+    private String queueName;
+
     @Value("${transformation.dead-letter-queue.store-messages:true}")
     private boolean storeMessages;
 
@@ -54,35 +59,42 @@ public class DeadLetterQueueListener {
     private volatile long dlqMessagesLastHour = 0;
     private volatile LocalDateTime lastResetTime = LocalDateTime.now();
 
+    @PostConstruct
+    public void subscribe() {
+        if (messageTransport == null) {
+            log.warn("Messaging transport not available - Solace is not configured. Queue {} is not consumed", queueName);
+            return;
+        }
+        messageTransport.subscribe(queueName, this::handleDeadLetterMessage);
+    }
+
     /**
      * Listen for messages on the dead-letter queue.
      *
-     * @param message JMS message from dead-letter queue
+     * @param message Message from dead-letter queue
      */
-    @JmsListener(destination = "${transformation.dead-letter-queue.queue-name:swift/transformation/dead-letter}")
-    public void handleDeadLetterMessage(Message message) {
+    public void handleDeadLetterMessage(TransportMessage message) {
         String messageId = null;
         String correlationId = null;
         String failureReason = null;
 
         try {
             // Extract message details
-            if (!(message instanceof TextMessage)) {
-                log.warn("Received non-text message in DLQ: {}", message.getClass().getSimpleName());
+            if (message.getText() == null) {
+                log.warn("Received non-text message in DLQ: {}", message.getMessageId());
                 return;
             }
 
-            TextMessage textMessage = (TextMessage) message;
-            String content = textMessage.getText();
-            messageId = textMessage.getJMSMessageID();
-            correlationId = textMessage.getJMSCorrelationID();
+            String content = message.getText();
+            messageId = message.getMessageId();
+            correlationId = message.getCorrelationId();
 
             // Extract metadata from message properties
-            String transformationType = getStringProperty(textMessage, "transformationType");
-            String transformationId = getStringProperty(textMessage, "transformationId");
-            failureReason = getStringProperty(textMessage, "failureReason");
-            String retryAttempts = getStringProperty(textMessage, "retryAttempts");
-            String originalStatus = getStringProperty(textMessage, "originalStatus");
+            String transformationType = message.getStringProperty("transformationType");
+            String transformationId = message.getStringProperty("transformationId");
+            failureReason = message.getStringProperty("failureReason");
+            String retryAttempts = message.getStringProperty("retryAttempts");
+            String originalStatus = message.getStringProperty("originalStatus");
 
             // Update metrics
             incrementDlqMetrics();
@@ -100,8 +112,6 @@ public class DeadLetterQueueListener {
             // Alert if DLQ rate is too high (future enhancement)
             checkDlqThresholds();
 
-        } catch (JMSException e) {
-            log.error("Failed to process dead-letter message", e);
         } catch (Exception e) {
             log.error("Unexpected error processing dead-letter message", e);
         }
@@ -116,7 +126,7 @@ public class DeadLetterQueueListener {
         try {
             // Create a stored message record for DLQ
             StoredMessage dlqMessage = new StoredMessage();
-            dlqMessage.setMessageId("dlq-" + UUID.randomUUID().toString());
+            dlqMessage.setMessageId("dlq-" + MessageIds.next());
             dlqMessage.setContent(content);
             dlqMessage.setCorrelationId(correlationId);
             dlqMessage.setTimestamp(LocalDateTime.now());
@@ -166,18 +176,6 @@ public class DeadLetterQueueListener {
         }
     }
 
-    /**
-     * Get string property from JMS message, returning null if not present.
-     */
-    private String getStringProperty(TextMessage message, String propertyName) {
-        try {
-            return message.getStringProperty(propertyName);
-        } catch (JMSException e) {
-            log.debug("Property {} not found in message", propertyName);
-            return null;
-        }
-    }
-
     /**
      * Get total number of DLQ messages since application start.
      */
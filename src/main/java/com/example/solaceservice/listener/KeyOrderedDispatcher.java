@@ -0,0 +1,259 @@
+package com.example.solaceservice.listener;
+
+import com.example.solaceservice.config.ParallelConsumerProperties;
+import com.example.solaceservice.config.PartitionKeyProperties.Source;
+import com.example.solaceservice.service.ClaimCheckService;
+import com.example.solaceservice.service.PartitionKeyResolver;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.jms.BytesMessage;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.TextMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fans consumed messages out to single-threaded workers by message key.
+ *
+ * <p>Each worker owns a bounded queue and processes its messages in arrival order, so messages
+ * with the same key never overtake each other, while messages with different keys use all
+ * workers. When a worker queue is full, {@link #dispatch(Message, MessageProcessor, FailureHandler)} blocks the
+ * listener thread, which stops the consumer flow instead of buffering without bound.</p>
+ *
+ * <p>Each message is acknowledged by its worker after processing, so with individual
+ * acknowledgement a crash only redelivers the messages that were not processed yet. A message
+ * whose processing throws is handed to the failure handler (the dead-letter queue) and then
+ * acknowledged: with client acknowledgement Solace does not redeliver an unacknowledged message
+ * while its flow is open, and it would hold a slot of the flow's unacknowledged window. If the
+ * handler fails too, the message stays unacknowledged until the flow is closed.</p>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>{@code transformation.parallel.queue.depth} - messages waiting, tagged by worker</li>
+ *   <li>{@code transformation.parallel.processed|failed} - message counters</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "transformation.parallel.enabled", havingValue = "true")
+public class KeyOrderedDispatcher {
+
+    /** Partition key set by publishers (see PartitionKeyResolver) */
+    static final String GROUP_ID_PROPERTY = "JMSXGroupID";
+
+    private static final long POLL_INTERVAL_MS = 200;
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    @Autowired
+    private ParallelConsumerProperties properties;
+
+    @Autowired(required = false)
+    private Environment environment;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final List<BlockingQueue<Task>> queues = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = false;
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        ThreadFactory workerFactory = environment != null && Threading.VIRTUAL.isActive(environment)
+                ? Thread.ofVirtual().name("consumer-worker-", 0).factory()
+                : Thread.ofPlatform().name("consumer-worker-", 0).factory();
+
+        int workerCount = properties.resolveWorkers();
+        for (int i = 0; i < workerCount; i++) {
+            BlockingQueue<Task> queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+            queues.add(queue);
+            Thread worker = workerFactory.newThread(() -> runWorker(queue));
+            workers.add(worker);
+            worker.start();
+        }
+
+        registerMetrics();
+
+        log.info("Key-ordered parallel consumption started - Workers: {}, Queue capacity: {}, Key sources: {}",
+                workerCount, properties.getQueueCapacity(), properties.getKeySources());
+    }
+
+    /**
+     * Queue a message for processing by the worker of its key.
+     * Blocks while that worker's queue is full.
+     *
+     * @param message        Consumed message, acknowledged after processing
+     * @param processor      Processing of the message
+     * @param failureHandler Called when processing throws
+     */
+    public void dispatch(Message message, MessageProcessor processor, FailureHandler failureHandler)
+            throws JMSException, InterruptedException {
+        if (!running) {
+            // Not acknowledged: redelivered once the stopping consumer closes its flow
+            throw new IllegalStateException("Key-ordered dispatcher is shut down");
+        }
+        queueFor(keyOf(message)).put(new Task(message, processor, failureHandler));
+    }
+
+    /**
+     * Key of a message: the publisher's partition key, else the configured key sources, else the
+     * message ID.
+     */
+    String keyOf(Message message) throws JMSException {
+        String groupId = message.getStringProperty(GROUP_ID_PROPERTY);
+        if (groupId != null && !groupId.isEmpty()) {
+            return groupId;
+        }
+
+        String key = PartitionKeyResolver.resolve(properties.getKeySources(), message.getJMSCorrelationID(),
+                scannableContent(message), properties.getMaxScanLength());
+        return key != null ? key : String.valueOf(message.getJMSMessageID());
+    }
+
+    public long getProcessed() {
+        return processed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+
+        // Workers finish what is queued before they exit; anything left is redelivered
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MS;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.forEach(Thread::interrupt);
+    }
+
+    private BlockingQueue<Task> queueFor(String key) {
+        return queues.get(Math.floorMod(key.hashCode(), queues.size()));
+    }
+
+    /**
+     * Leading payload characters searched by the SWIFT key sources (null when not needed).
+     */
+    private String scannableContent(Message message) throws JMSException {
+        boolean needsPayload = properties.getKeySources().stream()
+                .anyMatch(source -> source != Source.CORRELATION_ID);
+        if (!needsPayload || ClaimCheckService.isClaimCheck(message)) {
+            return null;
+        }
+        if (message instanceof TextMessage textMessage) {
+            return textMessage.getText();
+        }
+        if (message instanceof BytesMessage bytesMessage) {
+            byte[] head = new byte[(int) Math.min(bytesMessage.getBodyLength(), properties.getMaxScanLength())];
+            bytesMessage.readBytes(head);
+            bytesMessage.reset(); // The worker reads the body from the start
+            return new String(head, StandardCharsets.ISO_8859_1);
+        }
+        return null;
+    }
+
+    private void runWorker(BlockingQueue<Task> queue) {
+        while (running || !queue.isEmpty()) {
+            Task task;
+            try {
+                task = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (task == null) {
+                continue;
+            }
+
+            try {
+                task.processor().process(task.message());
+                processed.increment();
+            } catch (Exception e) {
+                log.error("Unexpected error processing message on worker {}", Thread.currentThread().getName(), e);
+                failed.increment();
+                if (!task.failureHandler().handle(task.message(), e)) {
+                    // Stays in the unacknowledged window until the flow is closed, then redelivered
+                    continue;
+                }
+            }
+
+            try {
+                // Processing errors are handled (stored, retried, dead-lettered) by the processor or
+                // the failure handler
+                task.message().acknowledge();
+            } catch (JMSException e) {
+                log.warn("Failed to acknowledge message: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+
+        for (int i = 0; i < queues.size(); i++) {
+            Gauge.builder("transformation.parallel.queue.depth", queues.get(i), BlockingQueue::size)
+                    .description("Messages waiting for a consumer worker")
+                    .tag("worker", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+        FunctionCounter.builder("transformation.parallel.processed", processed, LongAdder::sum)
+                .description("Messages processed by consumer workers")
+                .register(meterRegistry);
+        FunctionCounter.builder("transformation.parallel.failed", failed, LongAdder::sum)
+                .description("Messages whose processing failed unexpectedly on a consumer worker")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Processing of one message on a worker thread.
+     */
+    @FunctionalInterface
+    public interface MessageProcessor {
+        void process(Message message) throws Exception;
+    }
+
+    /**
+     * Handling of a message whose processing threw.
+     */
+    @FunctionalInterface
+    public interface FailureHandler {
+        /**
+         * @return true if the message was handed off (e.g. to a dead-letter queue) and can be acknowledged
+         */
+        boolean handle(Message message, Exception error);
+    }
+
+    private record Task(Message message, MessageProcessor processor, FailureHandler failureHandler) {
+    }
+}
@@ -0,0 +1,328 @@
+package com.example.solaceservice.listener;
+
+import com.example.solaceservice.config.ListenerAutoscalingProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageListener;
+import jakarta.jms.QueueBrowser;
+import jakarta.jms.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.listener.MessageListenerContainer;
+import org.springframework.jms.listener.SessionAwareMessageListener;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scales the consumer count of the queue listener containers with the queue backlog and
+ * publishes the backlog for external autoscalers (see {@link ListenerAutoscalingProperties}).
+ *
+ * <p>The listener of each container is wrapped to measure its latency. On every interval the
+ * backlog of each queue is counted with a {@link QueueBrowser} and the container's consumer count
+ * is set to the computed target. The container adds consumers as messages arrive, up to the target,
+ * and retires consumers above the target once they finish their current message. Topic
+ * subscribers and stopped containers (e.g. with batched transformation consumption) are not
+ * scaled; their queue backlog is still reported. The transformation input queue is not scaled
+ * with key-ordered consumption or the staged pipeline either: its listener returns once the
+ * message is handed to the workers, so its latency says nothing about processing. Listeners with a
+ * message selector (per-type transformation listeners) are left out.</p>
+ *
+ * <h3>Metrics (tagged by queue):</h3>
+ * <ul>
+ *   <li>{@code solace.queue.backlog} - messages waiting on the queue (capped at browse-limit)</li>
+ *   <li>{@code solace.listener.consumers} - target consumer count of the listener container</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "solace.listener.autoscaling.enabled", havingValue = "true")
+public class ListenerAutoscaler {
+
+    @Autowired
+    private ListenerAutoscalingProperties properties;
+
+    @Autowired(required = false)
+    private JmsListenerEndpointRegistry listenerRegistry;
+
+    @Autowired(required = false)
+    private ConnectionFactory connectionFactory;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${transformation.parallel.enabled:false}")
+    private boolean keyOrderedConsumption;
+
+    @Value("${transformation.pipeline.enabled:false}")
+    private boolean pipelinedConsumption;
+
+    @Value("${transformation.input-queue:swift/mt103/inbound}")
+    private String transformationInputQueue;
+
+    private final Map<String, ScaledQueue> queues = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    // Used by the scheduler thread only
+    private Connection browseConnection;
+    private Session browseSession;
+
+    @PostConstruct
+    public void start() {
+        if (connectionFactory == null || listenerRegistry == null) {
+            throw new IllegalStateException(
+                "Listener autoscaling is enabled but no JMS ConnectionFactory or listener registry is available. " +
+                "Check spring.jms.solace.enabled configuration."
+            );
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("listener-autoscaler").daemon(true).factory());
+        scheduler.scheduleWithFixedDelay(this::scaleSafely,
+                properties.getIntervalMs(), properties.getIntervalMs(), TimeUnit.MILLISECONDS);
+
+        log.info("Listener autoscaling enabled - Consumers: {}-{}, Target drain: {}ms, Interval: {}ms",
+                properties.getMinConsumers(), properties.getMaxConsumers(),
+                properties.getTargetDrainMs(), properties.getIntervalMs());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        closeBrowseSession();
+    }
+
+    /**
+     * Last backlog counted on a queue.
+     *
+     * @return Messages waiting (capped at browse-limit), or -1 if the queue is not consumed here
+     */
+    public long getBacklog(String queueName) {
+        ScaledQueue queue = queues.get(queueName);
+        return queue != null ? queue.backlog : -1;
+    }
+
+    private void scaleSafely() {
+        try {
+            scale();
+        } catch (RuntimeException e) {
+            // Keep the schedule alive
+            log.error("Listener autoscaling failed", e);
+        }
+    }
+
+    /**
+     * Count the backlog of every consumed queue and adjust the consumer counts.
+     */
+    void scale() {
+        discoverContainers();
+
+        for (ScaledQueue queue : queues.values()) {
+            try {
+                queue.backlog = countBacklog(browseSession(), queue.name);
+            } catch (JMSException e) {
+                // The session is recreated on the next interval; consumer counts stay as they are
+                log.warn("Failed to browse queue {}: {}", queue.name, e.getMessage());
+                closeBrowseSession();
+                return;
+            }
+
+            double latencyMs = queue.takeMeanLatencyMs();
+            DefaultMessageListenerContainer container = queue.container;
+            if (!queue.scalable || !container.isRunning()) {
+                continue;
+            }
+
+            int current = container.getConcurrentConsumers();
+            int desired = desiredConsumers(current, queue.backlog, latencyMs);
+            if (desired != current) {
+                container.setConcurrentConsumers(desired);
+                container.setMaxConcurrentConsumers(desired);
+                log.info("Scaled listener on {} from {} to {} consumers - Backlog: {}, Latency: {}ms",
+                        queue.name, current, desired, queue.backlog, String.format("%.1f", latencyMs));
+            }
+        }
+    }
+
+    /**
+     * Consumer count for a queue: enough consumers to work off the backlog within target-drain-ms
+     * at the observed latency, within min-consumers..max-consumers.
+     *
+     * @param current   Current consumer count
+     * @param backlog   Messages waiting on the queue
+     * @param latencyMs Mean listener latency over the interval (0 if no message was processed)
+     */
+    int desiredConsumers(int current, long backlog, double latencyMs) {
+        long needed = latencyMs > 0
+                ? (long) Math.ceil(backlog * latencyMs / properties.getTargetDrainMs())
+                : (backlog + properties.getBacklogPerConsumer() - 1) / properties.getBacklogPerConsumer();
+        int desired = clamp(needed);
+
+        if (desired > current && latencyMs > properties.getMaxLatencyMs()) {
+            // Downstream is saturated: more consumers add load, not throughput
+            return clamp(current);
+        }
+        if (desired < current) {
+            // Shrink gradually, the backlog may be a lull between bursts
+            return Math.max(desired, current - properties.getScaleDownStep());
+        }
+        return desired;
+    }
+
+    /**
+     * Count the messages on a queue, up to browse-limit.
+     */
+    long countBacklog(Session session, String queueName) throws JMSException {
+        QueueBrowser browser = session.createBrowser(session.createQueue(queueName));
+        try {
+            Enumeration<?> messages = browser.getEnumeration();
+            long count = 0;
+            while (count < properties.getBrowseLimit() && messages.hasMoreElements()) {
+                messages.nextElement();
+                count++;
+            }
+            return count;
+        } finally {
+            JmsUtils.closeQueueBrowser(browser);
+        }
+    }
+
+    private int clamp(long consumers) {
+        return (int) Math.max(properties.getMinConsumers(), Math.min(properties.getMaxConsumers(), consumers));
+    }
+
+    private void discoverContainers() {
+        // Containers are registered after this bean is initialized
+        for (MessageListenerContainer candidate : listenerRegistry.getListenerContainers()) {
+            if (!(candidate instanceof DefaultMessageListenerContainer container)
+                    || container.isPubSubDomain() || container.getDestinationName() == null
+                    || container.getMessageSelector() != null) {
+                // Per-type listeners share their queue and have fixed consumer ranges
+                continue;
+            }
+            queues.computeIfAbsent(container.getDestinationName(), name -> register(name, container));
+        }
+    }
+
+    /**
+     * Whether the listener of the queue only hands messages to the key-ordered dispatcher or
+     * pipeline workers, which run with their own fixed thread counts.
+     */
+    private boolean isHandedOffToWorkers(String name) {
+        return (keyOrderedConsumption || pipelinedConsumption) && name.equals(transformationInputQueue);
+    }
+
+    private ScaledQueue register(String name, DefaultMessageListenerContainer container) {
+        boolean scalable = !properties.getExcludedQueues().contains(name) && !isHandedOffToWorkers(name);
+        ScaledQueue queue = new ScaledQueue(name, container, scalable);
+        container.setMessageListener(new TimedMessageListener(container.getMessageListener(), queue));
+
+        if (meterRegistry != null) {
+            Gauge.builder("solace.queue.backlog", queue, q -> q.backlog)
+                    .description("Messages waiting on a consumed queue")
+                    .tag("queue", name)
+                    .register(meterRegistry);
+            Gauge.builder("solace.listener.consumers", container, DefaultMessageListenerContainer::getConcurrentConsumers)
+                    .description("Target consumer count of a queue listener container")
+                    .tag("queue", name)
+                    .register(meterRegistry);
+        }
+
+        log.info("Listener on {} registered for backlog sampling - Scaled: {}", name, scalable);
+        return queue;
+    }
+
+    private Session browseSession() throws JMSException {
+        if (browseSession == null) {
+            browseConnection = connectionFactory.createConnection();
+            browseSession = browseConnection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            browseConnection.start();
+        }
+        return browseSession;
+    }
+
+    private void closeBrowseSession() {
+        JmsUtils.closeSession(browseSession);
+        JmsUtils.closeConnection(browseConnection);
+        browseSession = null;
+        browseConnection = null;
+    }
+
+    /**
+     * A consumed queue with its listener container and the listener latency since the last interval.
+     */
+    private static final class ScaledQueue {
+
+        private final String name;
+        private final DefaultMessageListenerContainer container;
+        private final boolean scalable;
+        private final LongAdder latencyNanos = new LongAdder();
+        private final LongAdder samples = new LongAdder();
+        private volatile long backlog;
+
+        ScaledQueue(String name, DefaultMessageListenerContainer container, boolean scalable) {
+            this.name = name;
+            this.container = container;
+            this.scalable = scalable;
+        }
+
+        void recordLatency(long nanos) {
+            latencyNanos.add(nanos);
+            samples.increment();
+        }
+
+        double takeMeanLatencyMs() {
+            long count = samples.sumThenReset();
+            long nanos = latencyNanos.sumThenReset();
+            return count > 0 ? nanos / 1_000_000.0 / count : 0;
+        }
+    }
+
+    /**
+     * Measures the latency of the container's listener.
+     */
+    private static final class TimedMessageListener implements SessionAwareMessageListener<Message> {
+
+        private final Object delegate;
+        private final ScaledQueue queue;
+
+        TimedMessageListener(Object delegate, ScaledQueue queue) {
+            this.delegate = delegate;
+            this.queue = queue;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onMessage(Message message, Session session) throws JMSException {
+            long start = System.nanoTime();
+            try {
+                if (delegate instanceof SessionAwareMessageListener<?> listener) {
+                    ((SessionAwareMessageListener<Message>) listener).onMessage(message, session);
+                } else {
+                    ((MessageListener) delegate).onMessage(message);
+                }
+            } finally {
+                queue.recordLatency(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -1,23 +1,45 @@
 package com.example.solaceservice.listener;
 
+import com.example.solaceservice.service.ClaimCheckService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.jms.annotation.JmsListener;
 import org.springframework.stereotype.Component;
 
+import jakarta.jms.BytesMessage;
 import jakarta.jms.JMSException;
 import jakarta.jms.Message;
 import jakarta.jms.TextMessage;
+import java.nio.ByteBuffer;
 
 @Component
 @Slf4j
 @ConditionalOnProperty(name = "spring.jms.solace.enabled", havingValue = "true", matchIfMissing = false)
 public class MessageListener {
 
+    @Autowired(required = false)
+    private ClaimCheckService claimCheckService;
+
     @JmsListener(destination = "${solace.queue.name}")
     public void receiveMessage(Message message) {
         try {
-            if (message instanceof TextMessage) {
+            if (claimCheckService != null && ClaimCheckService.isClaimCheck(message)) {
+                // Payload is in blob storage; resolve it and process it like an inline payload
+                ClaimCheckService.Payload payload = claimCheckService.prefetch(message).join();
+                String messageId = message.getJMSMessageID();
+                String correlationId = message.getJMSCorrelationID();
+
+                log.info("Received claim-checked message - ID: {}, Correlation ID: {}, Size: {} bytes",
+                         messageId, correlationId, payload.bytes().length);
+
+                if (payload.binary()) {
+                    processMessage(ByteBuffer.wrap(payload.bytes()).asReadOnlyBuffer(), messageId, correlationId);
+                } else {
+                    processMessage(payload.text(), messageId, correlationId);
+                }
+
+            } else if (message instanceof TextMessage) {
                 TextMessage textMessage = (TextMessage) message;
                 String content = textMessage.getText();
                 String messageId = textMessage.getJMSMessageID();
@@ -29,8 +51,20 @@ public class MessageListener {
                 // Process the message here
                 processMessage(content, messageId, correlationId);
 
+            } else if (message instanceof BytesMessage bytesMessage) {
+                // Binary payloads are handed on as bytes, never decoded into a String
+                byte[] payload = new byte[(int) bytesMessage.getBodyLength()];
+                bytesMessage.readBytes(payload);
+                String messageId = bytesMessage.getJMSMessageID();
+                String correlationId = bytesMessage.getJMSCorrelationID();
+
+                log.info("Received binary message - ID: {}, Correlation ID: {}, Size: {} bytes",
+                         messageId, correlationId, payload.length);
+
+                processMessage(ByteBuffer.wrap(payload).asReadOnlyBuffer(), messageId, correlationId);
+
             } else {
-                log.warn("Received non-text message: {}", message.getClass().getSimpleName());
+                log.warn("Received unsupported message type: {}", message.getClass().getSimpleName());
             }
         } catch (JMSException e) {
             log.error("Error processing message", e);
@@ -41,4 +75,9 @@ public class MessageListener {
         log.info("Processing message content: {}", content);
         // Add your business logic here
     }
+
+    private void processMessage(ByteBuffer payload, String messageId, String correlationId) {
+        log.info("Processing binary message content: {} bytes", payload.remaining());
+        // Add your business logic here
+    }
 }
\ No newline at end of file
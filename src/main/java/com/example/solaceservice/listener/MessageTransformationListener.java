@@ -1,27 +1,52 @@
 package com.example.solaceservice.listener;
 
+import com.example.solaceservice.config.MessageTypeSelectorProperties;
+import com.example.solaceservice.config.TransformationRoutingProperties;
 import com.example.solaceservice.model.*;
+import com.example.solaceservice.model.TransformationRecord.ProcessingTimings;
 import com.example.solaceservice.service.AzureStorageService;
+import com.example.solaceservice.service.ClaimCheckService;
+import com.example.solaceservice.service.PartitionKeyResolver;
 import com.example.solaceservice.service.SwiftTransformerService;
 import com.example.solaceservice.service.TransformationRetryService;
 import com.example.solaceservice.service.TransformationMetricsService;
+import com.example.solaceservice.transport.JmsMessageTransport;
+import com.example.solaceservice.transport.MessageTransport;
+import com.example.solaceservice.transport.TransportMessage;
+import jakarta.annotation.PostConstruct;
+import jakarta.jms.BytesMessage;
 import jakarta.jms.JMSException;
 import jakarta.jms.Message;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
 import jakarta.jms.TextMessage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.jms.annotation.JmsListener;
-import org.springframework.jms.core.JmsTemplate;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jms.config.JmsListenerContainerFactory;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.util.UUID;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Listener for consuming SWIFT messages from Solace queues and transforming them.
  *
+ * <p>The input queue is consumed through the configured {@link MessageTransport}. On the JMS
+ * transport the listener receives the JMS messages themselves, so key-ordered, pipelined and
+ * batched consumption and client acknowledgement apply; on the in-process transport every message
+ * is transformed on the consumer thread that received it.</p>
+ *
  * <p>This listener:</p>
  * <ol>
  *   <li>Consumes messages from configured input queue</li>
@@ -39,10 +64,14 @@ import java.util.UUID;
  *   transformation-type: MT103_TO_MT202
  * </pre>
  *
+ * <p>With {@code transformation.routing} the transformation is chosen per input message type and
+ * further input queues can be consumed (see {@link TransformationRoutingProperties}).</p>
+ *
  * <h3>Error Handling:</h3>
  * <ul>
  *   <li>Parse errors: Logged and message acknowledged (to prevent reprocessing)</li>
  *   <li>Transformation errors: Stored with error status, not published</li>
+ *   <li>Message types without a route: Stored with FAILED status, not published</li>
  *   <li>Publishing errors: Transformation stored, error logged</li>
  *   <li>Storage errors: Logged but don't fail the transformation</li>
  * </ul>
@@ -56,7 +85,14 @@ public class MessageTransformationListener {
     private SwiftTransformerService transformerService;
 
     @Autowired(required = false)
-    private JmsTemplate jmsTemplate;
+    private MessageTransport messageTransport;
+
+    @Autowired(required = false)
+    private JmsMessageTransport jmsTransport;
+
+    @Autowired(required = false)
+    @Qualifier("transformationListenerContainerFactory")
+    private JmsListenerContainerFactory<?> transformationListenerContainerFactory;
 
     @Autowired(required = false)
     private AzureStorageService azureStorageService;
@@ -67,6 +103,27 @@ public class MessageTransformationListener {
     @Autowired(required = false)
     private TransformationMetricsService metricsService;
 
+    @Autowired(required = false)
+    private PartitionKeyResolver partitionKeyResolver;
+
+    @Autowired(required = false)
+    private ClaimCheckService claimCheckService;
+
+    @Autowired(required = false)
+    private KeyOrderedDispatcher keyOrderedDispatcher;
+
+    @Autowired(required = false)
+    private TransformationPipeline transformationPipeline;
+
+    @Autowired(required = false)
+    private MessageTypeSelectorProperties selectorProperties;
+
+    @Autowired(required = false)
+    private TransformationRoutingProperties routingProperties;
+
+    @Autowired(required = false)
+    private Environment environment;
+
     @Value("${transformation.output-queue:swift/mt202/outbound}")
     private String outputQueue;
 
@@ -79,134 +136,488 @@ public class MessageTransformationListener {
     @Value("${transformation.store-results:true}")
     private boolean storeResults;
 
+    @Value("${transformation.dead-letter-queue.queue-name:swift/transformation/dead-letter}")
+    private String deadLetterQueue;
+
+    private TransformationRoutes routes;
+
+    @PostConstruct
+    public void subscribe() {
+        routes = createRoutes();
+
+        for (String queue : inputQueues()) {
+            subscribe(queue);
+        }
+    }
+
+    /**
+     * Queues consumed for transformation: the input queue and, with routing, the additional
+     * input queues.
+     */
+    List<String> inputQueues() {
+        List<String> queues = new ArrayList<>(List.of(inputQueue));
+        if (routingProperties != null && routingProperties.isEnabled()) {
+            queues.addAll(routingProperties.getInputQueues());
+        }
+        return queues;
+    }
+
+    private void subscribe(String queue) {
+        if (jmsTransport != null && transformationListenerContainerFactory != null) {
+            if (selectorProperties != null && selectorProperties.isEnabled()) {
+                subscribeByMessageType(queue);
+            } else {
+                jmsTransport.subscribe(queue, transformationListenerContainerFactory, this::handleTransformationRequest);
+            }
+        } else if (messageTransport != null) {
+            if (keyOrderedDispatcher != null || transformationPipeline != null) {
+                log.warn("Key-ordered and pipelined consumption need the JMS transport; " +
+                        "messages on {} are transformed by the transport consumers", queue);
+            }
+            messageTransport.subscribe(queue, message -> transformMessage(message, queue));
+        } else {
+            log.warn("Messaging transport not available - Solace is not configured. Queue {} is not consumed", queue);
+        }
+    }
+
+    /**
+     * Build the transformation lookup: the routing table, or the configured transformation type
+     * for every input.
+     */
+    private TransformationRoutes createRoutes() {
+        if (routingProperties != null && routingProperties.isEnabled()) {
+            if (routingProperties.getRoutes().isEmpty()) {
+                throw new IllegalStateException("Transformation routing is enabled but no routes are configured");
+            }
+            log.info("Transformation routing enabled - Routes: {}, Additional input queues: {}",
+                    routingProperties.getRoutes(), routingProperties.getInputQueues());
+            return TransformationRoutes.of(routingProperties.getRoutes());
+        }
+
+        try {
+            return TransformationRoutes.single(TransformationType.valueOf(transformationTypeStr));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalStateException("Invalid transformation type configured: " + transformationTypeStr, e);
+        }
+    }
+
+    /**
+     * Consume the input queue with one listener per route of message types and a default listener
+     * for the rest, each with its own consumers and threads.
+     */
+    private void subscribeByMessageType(String queue) {
+        if (keyOrderedDispatcher != null) {
+            log.warn("Per-type listeners with key-ordered consumption: one consumer per route feeds the workers; " +
+                    "key order is kept per route only");
+        }
+
+        boolean virtual = environment != null && Threading.VIRTUAL.isActive(environment);
+        for (MessageTypeSelectorProperties.Route route : selectorProperties.getRoutes()) {
+            subscribeSelected(queue, route.getName(), route.selector(), route.getConcurrency(), virtual);
+        }
+        subscribeSelected(queue, "default", selectorProperties.defaultSelector(),
+                selectorProperties.getDefaultConcurrency(), virtual);
+    }
+
+    private void subscribeSelected(String queue, String name, String selector, String concurrency, boolean virtual) {
+        if (keyOrderedDispatcher != null) {
+            // One consumer flow per route, in queue order
+            concurrency = "1";
+        }
+        SimpleAsyncTaskExecutor consumerExecutor = new SimpleAsyncTaskExecutor("transformation-" + name + "-");
+        consumerExecutor.setVirtualThreads(virtual);
+        jmsTransport.subscribe(queue, selector, concurrency, consumerExecutor,
+                transformationListenerContainerFactory, this::handleTransformationRequest);
+        log.info("Transformation listener {} on {} - Consumers: {}", name, queue, concurrency);
+    }
+
     /**
      * Listen for messages on the transformation input queue.
      *
+     * <p>With {@code transformation.parallel.enabled=true} the message is handed to the
+     * {@link KeyOrderedDispatcher} and transformed (and acknowledged) by the worker of its key.
+     * With {@code transformation.pipeline.enabled=true} it is handed to the
+     * {@link TransformationPipeline} instead.</p>
+     *
+     * @param message JMS message from Solace queue
+     */
+    public void handleTransformationRequest(Message message) throws JMSException, InterruptedException {
+        if (transformationPipeline != null) {
+            transformationPipeline.submit(message, this);
+            return;
+        }
+        if (keyOrderedDispatcher != null) {
+            keyOrderedDispatcher.dispatch(message, this::transformMessage, this::deadLetter);
+            return;
+        }
+        try {
+            transformMessage(message);
+        } catch (RuntimeException e) {
+            // The container acknowledges the message whether the listener returns or throws
+            log.error("Unexpected error during transformation", e);
+            deadLetter(message, e);
+        }
+    }
+
+    /**
+     * Transform a message and publish/store the result. Transformation errors are handled here
+     * (stored, retried or logged); a payload that cannot be read, such as a failed claim-check
+     * download, is thrown so that the caller dead-letters the message.
+     *
      * @param message JMS message from Solace queue
      */
-    @JmsListener(destination = "${transformation.input-queue:swift/mt103/inbound}")
-    public void handleTransformationRequest(Message message) {
-        String inputMessageId = null;
-        String correlationId = null;
-        TransformationRecord record = null;
+    void transformMessage(Message message) {
+        CompletableFuture<TransformationInput> input;
+        try {
+            input = readInput(message);
+        } catch (JMSException e) {
+            log.error("Failed to process JMS message", e);
+            return;
+        }
+        transform(input.join());
+    }
+
+    /**
+     * Transform a message received through the messaging transport. A payload that cannot be
+     * read is dead-lettered, as the transport does not redeliver.
+     *
+     * @param message Message from the input queue
+     * @param queue   Queue the message was consumed from
+     */
+    void transformMessage(TransportMessage message, String queue) {
+        TransformationInput input;
+        try {
+            input = readTransportInput(message, queue).join();
+        } catch (RuntimeException e) {
+            log.error("Unexpected error during transformation", e);
+            deadLetter(message, e);
+            return;
+        }
+        transform(input);
+    }
 
+    private void transform(TransformationInput input) {
         try {
-            // Extract message details
-            if (!(message instanceof TextMessage)) {
-                log.warn("Received non-text message: {}", message.getClass().getSimpleName());
+            Transformation transformation = process(input);
+            if (transformation == null) {
                 return;
             }
 
-            TextMessage textMessage = (TextMessage) message;
-            String inputContent = textMessage.getText();
-            inputMessageId = textMessage.getJMSMessageID();
-            correlationId = textMessage.getJMSCorrelationID();
-
-            log.info("Received transformation request - MessageID: {}, CorrelationID: {}",
-                inputMessageId, correlationId);
+            // If transformation successful, publish to output queue
+            if (transformation.isPublishable()) {
+                if (messageTransport == null) {
+                    return;
+                }
+                publishToOutputQueue(transformation.record(),
+                    transformation.result().getTransformedMessage(), transformation.input().binary());
+            }
+            complete(transformation);
 
-            // Detect input message type
-            String inputMessageType = transformerService.detectMessageType(inputContent);
-            log.debug("Detected message type: {}", inputMessageType);
+        } catch (Exception e) {
+            log.error("Unexpected error during transformation", e);
+        }
+    }
 
-            // Parse transformation type
-            TransformationType transformationType;
-            try {
-                transformationType = TransformationType.valueOf(transformationTypeStr);
-            } catch (IllegalArgumentException e) {
-                log.error("Invalid transformation type configured: {}", transformationTypeStr);
-                return;
+    /**
+     * Send a consumed message whose processing threw to the dead-letter queue, so that it can be
+     * acknowledged. With client acknowledgement Solace does not redeliver an unacknowledged message
+     * while its flow is open; it would hold a slot of the flow's unacknowledged window.
+     *
+     * @return true if the message is on the dead-letter queue and can be acknowledged
+     */
+    boolean deadLetter(Message message, Exception error) {
+        if (messageTransport == null) {
+            return false;
+        }
+        TransportMessage deadLetter;
+        try {
+            if (message instanceof BytesMessage bytesMessage) {
+                bytesMessage.reset();
             }
+            deadLetter = JmsMessageTransport.fromJms(message);
+        } catch (JMSException e) {
+            log.error("Failed to read message for dead-letter queue {}, leaving it unacknowledged", deadLetterQueue, e);
+            return false;
+        }
+        return deadLetter(deadLetter, error);
+    }
 
-            // Create transformation record
-            record = TransformationRecord.createNew(
-                inputMessageId,
-                inputContent,
-                inputMessageType,
-                transformationType,
-                correlationId
-            );
+    /**
+     * Send a consumed transport message whose processing threw to the dead-letter queue.
+     *
+     * @return true if the message is on the dead-letter queue
+     */
+    boolean deadLetter(TransportMessage message, Exception error) {
+        if (messageTransport == null) {
+            return false;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        message.setProperty("failureReason", "Unexpected error: " + cause.getMessage());
+        message.setProperty("originalStatus", TransformationStatus.FAILED.name());
+        message.setProperty("retryAttempts", "0");
+        try {
+            messageTransport.send(deadLetterQueue, message);
+        } catch (RuntimeException e) {
+            log.error("Failed to send message to dead-letter queue {}, leaving it unacknowledged", deadLetterQueue, e);
+            return false;
+        }
+        log.warn("Message {} sent to dead-letter queue {} after an unexpected error",
+            message.getMessageId(), deadLetterQueue);
+        return true;
+    }
 
-            // Perform transformation
-            log.info("Starting transformation: {} for message {}", transformationType, inputMessageId);
-            long transformStart = System.currentTimeMillis();
+    /**
+     * Read the payload of a consumed message. Message properties are read on the calling thread;
+     * a claim-checked payload is downloaded on the prefetch pool.
+     *
+     * @param message JMS message from Solace queue
+     * @return Future of the input, completed with null for unsupported message types
+     */
+    CompletableFuture<TransformationInput> readInput(Message message) throws JMSException {
+        long parseStart = System.nanoTime();
+        Headers headers = new Headers(message.getJMSMessageID(), message.getJMSCorrelationID(),
+            message.getStringProperty(MessageTypeSelectorProperties.MESSAGE_TYPE_PROPERTY), sourceQueue(message));
+
+        if (claimCheckService != null && ClaimCheckService.isClaimCheck(message)) {
+            return readClaimCheck(claimCheckService.prefetch(message), headers);
+        }
+        if (message instanceof TextMessage textMessage) {
+            return CompletableFuture.completedFuture(textInput(headers, textMessage.getText(), parseStart));
+        }
+        if (message instanceof BytesMessage bytesMessage) {
+            byte[] payload = new byte[(int) bytesMessage.getBodyLength()];
+            bytesMessage.readBytes(payload);
+            return CompletableFuture.completedFuture(binaryInput(headers, payload, parseStart));
+        }
+        log.warn("Received unsupported message type: {}", message.getClass().getSimpleName());
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Read the payload of a message received through the messaging transport.
+     *
+     * @param queue Queue the message was consumed from
+     * @return Future of the input, completed with null for messages without a body
+     */
+    CompletableFuture<TransformationInput> readTransportInput(TransportMessage message, String queue) {
+        long parseStart = System.nanoTime();
+        Headers headers = new Headers(message.getMessageId(), message.getCorrelationId(),
+            message.getStringProperty(MessageTypeSelectorProperties.MESSAGE_TYPE_PROPERTY), queue);
+
+        if (claimCheckService != null && ClaimCheckService.isClaimCheck(message)) {
+            return readClaimCheck(claimCheckService.prefetch(message), headers);
+        }
+        if (message.isBinary()) {
+            return CompletableFuture.completedFuture(binaryInput(headers, message.getBytes(), parseStart));
+        }
+        if (message.getText() != null) {
+            return CompletableFuture.completedFuture(textInput(headers, message.getText(), parseStart));
+        }
+        log.warn("Received message without a body: {}", message.getMessageId());
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Queue a JMS message was consumed from; the input queue if the destination is not set.
+     */
+    private String sourceQueue(Message message) throws JMSException {
+        return message.getJMSDestination() instanceof Queue queue ? queue.getQueueName() : inputQueue;
+    }
+
+    /**
+     * Payload is in blob storage; the download has started on the prefetch pool. The parse time
+     * covers decoding and type detection, not the download.
+     */
+    private CompletableFuture<TransformationInput> readClaimCheck(CompletableFuture<ClaimCheckService.Payload> payload,
+                                                                  Headers headers) {
+        return payload.thenApply(resolved -> resolved.binary()
+            ? binaryInput(headers, resolved.bytes(), System.nanoTime())
+            : textInput(headers, resolved.text(), System.nanoTime()));
+    }
 
-            TransformationResult result = transformerService.transform(inputContent, transformationType);
+    private TransformationInput textInput(Headers headers, String content, long parseStart) {
+        String inputMessageType = headers.messageType(transformerService.detectMessageType(content));
+        return new TransformationInput(headers.messageId(), headers.correlationId(), content, inputMessageType, false,
+            System.nanoTime() - parseStart, headers.queue());
+    }
+
+    private TransformationInput binaryInput(Headers headers, byte[] payload, long parseStart) {
+        String inputMessageType = headers.messageType(transformerService.detectMessageTypeFromBytes(payload));
+        // SWIFT FIN is ASCII: ISO-8859-1 maps bytes 1:1 and keeps the String in compact
+        // (one byte per char) form, so the payload is copied once and never widened
+        String inputContent = new String(payload, StandardCharsets.ISO_8859_1);
+        return new TransformationInput(headers.messageId(), headers.correlationId(), inputContent, inputMessageType, true,
+            System.nanoTime() - parseStart, headers.queue());
+    }
 
-            long transformDuration = System.currentTimeMillis() - transformStart;
+    /**
+     * Transform an input. Does not publish or store anything, so it is safe to run on any thread.
+     *
+     * @param input Input read by {@link #readInput(Message)}, may be null
+     * @return Transformation (with a null result if the transformer threw or the message type has
+     *         no route), or null if the input cannot be transformed
+     */
+    Transformation process(TransformationInput input) {
+        if (input == null) {
+            return null;
+        }
+
+        log.info("Received transformation request - MessageID: {}, CorrelationID: {}, Binary: {}",
+            input.messageId(), input.correlationId(), input.binary());
+        log.debug("Detected message type: {}", input.messageType());
+
+        TransformationType[] chain = routes.route(input.messageType());
+        if (chain == null) {
+            // Stored as failed (with the input) rather than dropped, so it can be replayed
+            log.warn("No transformation route for message type {} - message {} stored as failed",
+                input.messageType(), input.messageId());
+            TransformationRecord record = TransformationRecord.createNew(
+                input.messageId(), input.content(), input.messageType(), null, input.correlationId());
+            record.setInputQueue(input.queue());
+            record.setStatus(TransformationStatus.FAILED);
+            record.setErrorMessage("No transformation route for message type " + input.messageType());
+            return new Transformation(input, record, null);
+        }
+
+        // Create transformation record
+        TransformationRecord record = TransformationRecord.createNew(
+            input.messageId(),
+            input.content(),
+            input.messageType(),
+            chain[0],
+            input.correlationId()
+        );
+        record.setInputQueue(input.queue());
+        record.getTimings().record(ProcessingTimings.Stage.PARSE, input.parseNanos());
+
+        try {
+            // Perform transformation
+            log.info("Starting transformation: {} for message {}",
+                chain.length == 1 ? chain[0] : Arrays.toString(chain), input.messageId());
+            long transformStart = System.nanoTime();
+
+            // Each step transforms the previous output; the first failing step ends the chain
+            TransformationResult result = null;
+            String stepInput = input.content();
+            List<String> warnings = new ArrayList<>();
+            long validateNanos = -1;
+            for (TransformationType step : chain) {
+                record.setTransformationType(step);
+                result = transformerService.transform(stepInput, step);
+                if (result.getWarnings() != null) {
+                    warnings.addAll(result.getWarnings());
+                }
+                // The transformer reports the validation part of its time, if it validated
+                long stepValidateNanos = result.getTimings() != null
+                    ? result.getTimings().nanos(ProcessingTimings.Stage.VALIDATE) : -1;
+                if (stepValidateNanos >= 0) {
+                    validateNanos = Math.max(0, validateNanos) + stepValidateNanos;
+                }
+                if (!result.isSuccessful()) {
+                    break;
+                }
+                stepInput = result.getTransformedMessage();
+            }
+
+            long transformNanos = System.nanoTime() - transformStart;
+            long transformDuration = TimeUnit.NANOSECONDS.toMillis(transformNanos);
             log.info("Transformation completed in {}ms with status: {}", transformDuration, result.getStatus());
 
+            if (validateNanos >= 0) {
+                record.getTimings().record(ProcessingTimings.Stage.VALIDATE, validateNanos);
+                transformNanos = Math.max(0, transformNanos - validateNanos);
+            }
+            record.getTimings().record(ProcessingTimings.Stage.TRANSFORM, transformNanos);
+
             // Update record with transformation result
             record.setOutputMessage(result.getTransformedMessage());
             record.setOutputMessageType(result.getOutputMessageType());
             record.setStatus(result.getStatus());
             record.setErrorMessage(result.getErrorMessage());
             record.setErrorStackTrace(result.getErrorStackTrace());
-            record.setValidationWarnings(result.getWarnings() != null ? String.join("; ", result.getWarnings()) : null);
+            record.setValidationWarnings(result.getWarnings() != null ? String.join("; ", warnings) : null);
             record.setProcessingTimeMs(transformDuration);
             record.setConfidenceScore(result.getConfidenceScore());
 
-            // If transformation successful, publish to output queue
-            if (result.isSuccessful() && jmsTemplate != null) {
-                publishToOutputQueue(record, result.getTransformedMessage());
-                // Store successful transformation
-                if (storeResults && azureStorageService != null) {
-                    storeTransformationRecord(record);
-                }
-                // Record metrics
-                if (metricsService != null) {
-                    metricsService.recordTransformation(transformationType, result.getStatus(), transformDuration);
-                }
-            } else if (result.isFailed()) {
-                log.error("Transformation failed for message {}: {}", inputMessageId, result.getErrorMessage());
+            return new Transformation(input, record, result);
 
-                // Record metrics
-                if (metricsService != null) {
-                    metricsService.recordTransformation(transformationType, result.getStatus(), transformDuration);
-                }
+        } catch (Exception e) {
+            log.error("Unexpected error during transformation", e);
+            record.setStatus(TransformationStatus.FAILED);
+            record.setErrorMessage("Unexpected error: " + e.getMessage());
+            return new Transformation(input, record, null);
+        }
+    }
 
-                // Check if retry should be attempted
-                if (retryService != null && retryService.shouldRetry(record)) {
-                    log.info("Scheduling retry for failed transformation: {}", inputMessageId);
-                    retryService.scheduleRetry(
-                        inputContent,
-                        transformationType,
-                        inputQueue,
-                        outputQueue,
-                        correlationId,
-                        inputMessageId
-                    );
-                } else {
-                    // No retry - store the failure
-                    if (storeResults && azureStorageService != null) {
-                        storeTransformationRecord(record);
-                    }
-                }
+    /**
+     * Store the record, record metrics and schedule retries once the output is published
+     * (or was not publishable).
+     *
+     * @param transformation Transformation returned by {@link #process(TransformationInput)}
+     */
+    void complete(Transformation transformation) {
+        TransformationRecord record = transformation.record();
+        TransformationResult result = transformation.result();
+
+        if (result == null) {
+            // Still try to store the failed transformation
+            if (storeResults && azureStorageService != null) {
+                storeTransformationRecord(record);
             }
+            recordStageTimes(record);
+            return;
+        }
 
-        } catch (JMSException e) {
-            log.error("Failed to process JMS message", e);
-            if (record != null) {
-                record.setStatus(TransformationStatus.FAILED);
-                record.setErrorMessage("JMS processing error: " + e.getMessage());
+        if (result.isSuccessful()) {
+            // Store successful transformation
+            if (storeResults && azureStorageService != null) {
+                storeTransformationRecord(record);
+            }
+            // Record metrics
+            if (metricsService != null) {
+                metricsService.recordTransformation(record.getTransformationType(), result.getStatus(),
+                    record.getTotalProcessingTime());
             }
+        } else if (result.isFailed()) {
+            log.error("Transformation failed for message {}: {}", record.getInputMessageId(), result.getErrorMessage());
 
-        } catch (Exception e) {
-            log.error("Unexpected error during transformation", e);
-            if (record != null) {
-                record.setStatus(TransformationStatus.FAILED);
-                record.setErrorMessage("Unexpected error: " + e.getMessage());
+            // Record metrics
+            if (metricsService != null) {
+                metricsService.recordTransformation(record.getTransformationType(), result.getStatus(),
+                    record.getTotalProcessingTime());
+            }
 
-                // Still try to store the failed transformation
+            // Check if retry should be attempted (retries start from the input, so single steps only)
+            if (retryService != null && retryService.shouldRetry(record)
+                    && routes.route(transformation.input().messageType()).length == 1) {
+                log.info("Scheduling retry for failed transformation: {}", record.getInputMessageId());
+                retryService.scheduleRetry(
+                    transformation.input().content(),
+                    record.getTransformationType(),
+                    transformation.input().queue(),
+                    outputQueue,
+                    record.getCorrelationId(),
+                    record.getInputMessageId()
+                );
+            } else {
+                // No retry - store the failure
                 if (storeResults && azureStorageService != null) {
-                    try {
-                        storeTransformationRecord(record);
-                    } catch (Exception storageException) {
-                        log.error("Failed to store failed transformation record", storageException);
-                    }
+                    storeTransformationRecord(record);
                 }
             }
         }
+        recordStageTimes(record);
+    }
+
+    /**
+     * Feed the stage timings of a completed transformation to the per-stage histograms.
+     */
+    private void recordStageTimes(TransformationRecord record) {
+        // Inputs without a route have no transformation type and are not timed
+        if (metricsService != null && record.getTransformationType() != null) {
+            metricsService.recordStageTimes(record.getTransformationType(), record.getTimings(),
+                ProcessingTimings.Stage.values());
+        }
     }
 
     /**
@@ -214,45 +625,94 @@ public class MessageTransformationListener {
      *
      * @param record             Transformation record
      * @param transformedMessage Transformed message content
+     * @param binary             Publish as BytesMessage (input arrived as bytes)
      */
-    private void publishToOutputQueue(TransformationRecord record, String transformedMessage) {
+    private void publishToOutputQueue(TransformationRecord record, String transformedMessage, boolean binary) {
         try {
             log.info("Publishing transformed message to queue: {}", outputQueue);
+            long publishStart = System.nanoTime();
 
-            jmsTemplate.send(outputQueue, session -> {
-                TextMessage message = session.createTextMessage(transformedMessage);
-                message.setJMSMessageID(record.getOutputMessageId());
-
-                if (record.getCorrelationId() != null) {
-                    message.setJMSCorrelationID(record.getCorrelationId());
-                }
-
-                // Add transformation metadata as properties
-                message.setStringProperty("transformationType", record.getTransformationType().name());
-                message.setStringProperty("transformationId", record.getTransformationId());
-                message.setStringProperty("inputMessageId", record.getInputMessageId());
-                message.setStringProperty("inputMessageType", record.getInputMessageType());
-                message.setStringProperty("outputMessageType", record.getOutputMessageType());
-                message.setStringProperty("timestamp", String.valueOf(System.currentTimeMillis()));
-
-                return message;
-            });
+            String claimCheck = checkInOutput(record, transformedMessage, binary);
+            messageTransport.send(outputQueue, createOutputMessage(record, transformedMessage, claimCheck, binary));
+            record.getTimings().record(ProcessingTimings.Stage.PUBLISH, System.nanoTime() - publishStart);
 
             record.setOutputQueue(outputQueue);
             log.info("Successfully published transformed message {} to queue: {}",
                 record.getOutputMessageId(), outputQueue);
 
         } catch (Exception e) {
-            log.error("Failed to publish transformed message to queue: {}", outputQueue, e);
-            record.setStatus(TransformationStatus.PARTIAL_SUCCESS);
-            String existingError = record.getErrorMessage();
-            record.setErrorMessage(
-                (existingError != null ? existingError + "; " : "") +
-                "Failed to publish to output queue: " + e.getMessage()
-            );
+            publishFailed(record, e);
         }
     }
 
+    /**
+     * Record a failed publish: the transformation is stored as partially successful.
+     */
+    void publishFailed(TransformationRecord record, Exception e) {
+        log.error("Failed to publish transformed message to queue: {}", outputQueue, e);
+        record.setStatus(TransformationStatus.PARTIAL_SUCCESS);
+        String existingError = record.getErrorMessage();
+        record.setErrorMessage(
+            (existingError != null ? existingError + "; " : "") +
+            "Failed to publish to output queue: " + e.getMessage()
+        );
+    }
+
+    /**
+     * Upload a large output to blob storage (claim-check).
+     *
+     * @return Claim-check reference, or null to publish the output inline
+     */
+    String checkInOutput(TransformationRecord record, String transformedMessage, boolean binary) {
+        // Large outputs (e.g. statements) go to blob storage as well
+        return claimCheckService != null
+            ? claimCheckService.checkIn(record.getOutputMessageId(), transformedMessage, binary) : null;
+    }
+
+    /**
+     * Create the output message of a transformation.
+     *
+     * @param claimCheck Reference returned by {@link #checkInOutput}, or null
+     */
+    TransportMessage createOutputMessage(TransformationRecord record, String transformedMessage,
+                                         String claimCheck, boolean binary) {
+        TransportMessage message;
+        if (claimCheck != null) {
+            message = claimCheckService.createReference(claimCheck, binary);
+        } else if (binary) {
+            message = TransportMessage.bytes(transformedMessage.getBytes(StandardCharsets.ISO_8859_1));
+        } else {
+            message = TransportMessage.text(transformedMessage);
+        }
+        message.setMessageId(record.getOutputMessageId());
+        message.setCorrelationId(record.getCorrelationId());
+
+        // Add transformation metadata as properties
+        message.setProperty("transformationType", record.getTransformationType().name());
+        message.setProperty("transformationId", record.getTransformationId());
+        message.setProperty("inputMessageId", record.getInputMessageId());
+        message.setProperty("inputMessageType", record.getInputMessageType());
+        message.setProperty("outputMessageType", record.getOutputMessageType());
+        // Routes the output to the per-type listeners of a downstream transformation
+        message.setProperty(MessageTypeSelectorProperties.MESSAGE_TYPE_PROPERTY, record.getOutputMessageType());
+        message.setProperty("timestamp", String.valueOf(System.currentTimeMillis()));
+
+        if (partitionKeyResolver != null) {
+            // Keyed from the input message, so the output keeps the partition of its payment chain
+            partitionKeyResolver.apply(message, record.getCorrelationId(), record.getInputMessage());
+        }
+
+        return message;
+    }
+
+    /**
+     * Create the output message of a transformation in the given session.
+     */
+    Message createOutputMessage(Session session, TransformationRecord record, String transformedMessage,
+                                String claimCheck, boolean binary) throws JMSException {
+        return JmsMessageTransport.toJms(session, createOutputMessage(record, transformedMessage, claimCheck, binary));
+    }
+
     /**
      * Store transformation record to Azure Blob Storage.
      *
@@ -274,4 +734,37 @@ public class MessageTransformationListener {
             // In production, you might want to queue this for retry
         }
     }
+
+    /**
+     * IDs, publisher-stamped message type and source queue of a consumed message.
+     */
+    private record Headers(String messageId, String correlationId, String stampedType, String queue) {
+
+        /**
+         * The detected type, or the stamped type for payloads without a SWIFT header (ISO 20022).
+         */
+        String messageType(String detectedType) {
+            return "UNKNOWN".equals(detectedType) && stampedType != null ? stampedType : detectedType;
+        }
+    }
+
+    /**
+     * Payload and headers of a consumed transformation request.
+     *
+     * @param parseNanos Time spent reading the body and detecting the message type
+     * @param queue      Queue the message was consumed from (retries go back to it)
+     */
+    record TransformationInput(String messageId, String correlationId, String content,
+                               String messageType, boolean binary, long parseNanos, String queue) {
+    }
+
+    /**
+     * Transformed input: the record and the transformer result (null if the transformer threw).
+     */
+    record Transformation(TransformationInput input, TransformationRecord record, TransformationResult result) {
+
+        boolean isPublishable() {
+            return result != null && result.isSuccessful();
+        }
+    }
 }
@@ -0,0 +1,393 @@
+package com.example.solaceservice.listener;
+
+import com.example.solaceservice.config.PipelineProperties;
+import com.example.solaceservice.listener.MessageTransformationListener.Transformation;
+import com.example.solaceservice.listener.MessageTransformationListener.TransformationInput;
+import com.example.solaceservice.model.TransformationRecord.ProcessingTimings;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs transformation requests through four stages connected by bounded buffers:
+ * parse, transform, publish and store (see {@link PipelineProperties}).
+ *
+ * <p>Each stage has its own threads and buffer, so a slow stage only fills its own buffer. A
+ * message is acknowledged by the publish stage once its output is published (or by an earlier
+ * stage if there is nothing to publish); the store stage runs after the acknowledgement. A message
+ * whose parsing or transformation throws is sent to the dead-letter queue and acknowledged, as
+ * Solace does not redeliver an unacknowledged message while the flow is open. Messages that have
+ * not been acknowledged when the pod stops are redelivered.</p>
+ *
+ * <h3>Metrics (tagged by stage):</h3>
+ * <ul>
+ *   <li>{@code transformation.pipeline.queue.depth} - items waiting in front of the stage</li>
+ *   <li>{@code transformation.pipeline.occupancy} - queue depth / capacity</li>
+ *   <li>{@code transformation.pipeline.batch.size} - items taken per batch</li>
+ *   <li>{@code transformation.pipeline.processed} - items processed</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "transformation.pipeline.enabled", havingValue = "true")
+public class TransformationPipeline {
+
+    private static final long POLL_INTERVAL_MS = 200;
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    @Autowired
+    private PipelineProperties properties;
+
+    @Autowired(required = false)
+    private JmsTemplate jmsTemplate;
+
+    @Autowired(required = false)
+    private Environment environment;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${transformation.output-queue:swift/mt202/outbound}")
+    private String outputQueue;
+
+    private Stage parseStage;
+    private Stage transformStage;
+    private Stage publishStage;
+    private Stage storeStage;
+
+    @PostConstruct
+    public void start() {
+        if (jmsTemplate == null) {
+            throw new IllegalStateException(
+                "Transformation pipeline is enabled but JmsTemplate is not available. " +
+                "Check spring.jms.solace.enabled configuration."
+            );
+        }
+
+        parseStage = new Stage("parse", properties.getParse(), this::parse);
+        transformStage = new Stage("transform", properties.getTransform(), this::transform);
+        publishStage = new Stage("publish", properties.getPublish(), this::publish);
+        storeStage = new Stage("store", properties.getStore(), this::store);
+
+        boolean virtual = environment != null && Threading.VIRTUAL.isActive(environment);
+        for (Stage stage : stages()) {
+            stage.start(virtual);
+        }
+
+        log.info("Transformation pipeline started - Threads (parse/transform/publish/store): {}/{}/{}/{}",
+                parseStage.threadCount(), transformStage.threadCount(), publishStage.threadCount(),
+                storeStage.threadCount());
+    }
+
+    /**
+     * Queue a consumed message at the parse stage. Blocks while the parse buffer is full.
+     *
+     * @param message Consumed message, acknowledged once its output is published
+     * @param steps   Listener providing the transformation steps
+     */
+    public void submit(Message message, MessageTransformationListener steps) throws InterruptedException {
+        parseStage.put(new Item(message, steps, null, null));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Upstream first, so every stage drains into a downstream stage that is still running
+        for (Stage stage : stages()) {
+            if (stage != null) {
+                stage.stop();
+            }
+        }
+    }
+
+    private List<Stage> stages() {
+        return Arrays.asList(parseStage, transformStage, publishStage, storeStage);
+    }
+
+    // =========================================================================
+    // Stages
+    // =========================================================================
+
+    private void parse(List<Item> batch) throws InterruptedException {
+        for (Item item : batch) {
+            TransformationInput input = null;
+            try {
+                // Claim-checked payloads are downloaded here
+                input = item.steps().readInput(item.message()).join();
+            } catch (JMSException e) {
+                log.error("Failed to process JMS message", e);
+            } catch (RuntimeException e) {
+                log.error("Unexpected error during transformation", e);
+                deadLetter(item, e);
+                continue;
+            }
+
+            if (input == null) {
+                acknowledge(item);
+                continue;
+            }
+            transformStage.put(new Item(item.message(), item.steps(), input, null));
+        }
+    }
+
+    private void transform(List<Item> batch) throws InterruptedException {
+        for (Item item : batch) {
+            Transformation transformation = null;
+            try {
+                transformation = item.steps().process(item.input());
+            } catch (RuntimeException e) {
+                log.error("Unexpected error during transformation", e);
+                deadLetter(item, e);
+                continue;
+            }
+
+            if (transformation == null) {
+                acknowledge(item);
+                continue;
+            }
+            Item transformed = new Item(item.message(), item.steps(), item.input(), transformation);
+            if (transformation.isPublishable()) {
+                publishStage.put(transformed);
+            } else {
+                // Failures are stored or retried, nothing to publish
+                acknowledge(transformed);
+                storeStage.put(transformed);
+            }
+        }
+    }
+
+    private void publish(List<Item> batch) throws InterruptedException {
+        AtomicInteger published = new AtomicInteger();
+        try {
+            // One session and producer for the whole batch
+            jmsTemplate.execute(session -> {
+                MessageProducer producer = session.createProducer(
+                        jmsTemplate.getDestinationResolver().resolveDestinationName(session, outputQueue, false));
+                try {
+                    for (Item item : batch) {
+                        send(session, producer, item);
+                        published.incrementAndGet();
+                    }
+                } finally {
+                    JmsUtils.closeMessageProducer(producer);
+                }
+                return null;
+            }, true);
+        } catch (Exception e) {
+            // No session: the remaining outputs are recorded as not published
+            for (Item item : batch.subList(published.get(), batch.size())) {
+                item.steps().publishFailed(item.transformation().record(), e);
+            }
+        }
+
+        for (Item item : batch) {
+            acknowledge(item);
+            storeStage.put(item);
+        }
+    }
+
+    private void send(Session session, MessageProducer producer, Item item) {
+        Transformation transformation = item.transformation();
+        long publishStart = System.nanoTime();
+        try {
+            String transformedMessage = transformation.result().getTransformedMessage();
+            boolean binary = transformation.input().binary();
+            String claimCheck = item.steps().checkInOutput(transformation.record(), transformedMessage, binary);
+
+            Message message = item.steps().createOutputMessage(
+                    session, transformation.record(), transformedMessage, claimCheck, binary);
+            if (jmsTemplate.isExplicitQosEnabled()) {
+                producer.send(message, jmsTemplate.getDeliveryMode(), jmsTemplate.getPriority(), jmsTemplate.getTimeToLive());
+            } else {
+                producer.send(message);
+            }
+            transformation.record().setOutputQueue(outputQueue);
+            transformation.record().getTimings().record(ProcessingTimings.Stage.PUBLISH, System.nanoTime() - publishStart);
+        } catch (Exception e) {
+            item.steps().publishFailed(transformation.record(), e);
+        }
+    }
+
+    private void store(List<Item> batch) {
+        for (Item item : batch) {
+            try {
+                item.steps().complete(item.transformation());
+            } catch (RuntimeException e) {
+                log.error("Failed to complete transformation {}",
+                        item.transformation().record().getTransformationId(), e);
+            }
+        }
+    }
+
+    /**
+     * Acknowledge a message whose processing threw once it is on the dead-letter queue; if that
+     * fails it stays unacknowledged until the consumer's flow is closed.
+     */
+    private void deadLetter(Item item, Exception error) {
+        if (item.steps().deadLetter(item.message(), error)) {
+            acknowledge(item);
+        }
+    }
+
+    private void acknowledge(Item item) {
+        try {
+            item.message().acknowledge();
+        } catch (JMSException e) {
+            log.warn("Failed to acknowledge message: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A message on its way through the pipeline; input and transformation are filled in by the
+     * parse and transform stages.
+     */
+    private record Item(Message message, MessageTransformationListener steps,
+                        TransformationInput input, Transformation transformation) {
+    }
+
+    @FunctionalInterface
+    private interface StageHandler {
+        void handle(List<Item> batch) throws InterruptedException;
+    }
+
+    /**
+     * Bounded buffer with its own worker threads, each taking up to batch-size items at a time.
+     */
+    private final class Stage {
+
+        private final String name;
+        private final PipelineProperties.Stage config;
+        private final StageHandler handler;
+        private final BlockingQueue<Item> buffer;
+        private final List<Thread> threads = new ArrayList<>();
+        private final LongAdder processed = new LongAdder();
+        private DistributionSummary batchSizeSummary;
+        private volatile boolean running = false;
+
+        Stage(String name, PipelineProperties.Stage config, StageHandler handler) {
+            this.name = name;
+            this.config = config;
+            this.handler = handler;
+            this.buffer = new ArrayBlockingQueue<>(config.getCapacity());
+        }
+
+        int threadCount() {
+            return config.resolveThreads();
+        }
+
+        void start(boolean virtual) {
+            registerMetrics();
+
+            running = true;
+            ThreadFactory threadFactory = virtual
+                    ? Thread.ofVirtual().name("pipeline-" + name + "-", 0).factory()
+                    : Thread.ofPlatform().name("pipeline-" + name + "-", 0).factory();
+            for (int i = 0; i < config.resolveThreads(); i++) {
+                Thread thread = threadFactory.newThread(this::run);
+                threads.add(thread);
+                thread.start();
+            }
+        }
+
+        void put(Item item) throws InterruptedException {
+            if (!running) {
+                // Not acknowledged: the broker redelivers it
+                throw new IllegalStateException("Transformation pipeline stage " + name + " is shut down");
+            }
+            buffer.put(item);
+        }
+
+        void stop() {
+            running = false;
+
+            long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MS;
+            for (Thread thread : threads) {
+                try {
+                    thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            threads.forEach(Thread::interrupt);
+        }
+
+        private void run() {
+            List<Item> batch = new ArrayList<>(config.getBatchSize());
+
+            while (running || !buffer.isEmpty()) {
+                try {
+                    Item first = buffer.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+
+                    batch.add(first);
+                    buffer.drainTo(batch, config.getBatchSize() - 1);
+                    if (batchSizeSummary != null) {
+                        batchSizeSummary.record(batch.size());
+                    }
+
+                    handler.handle(batch);
+                    processed.add(batch.size());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    log.error("Unexpected error in pipeline stage {}", name, e);
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        private void registerMetrics() {
+            if (meterRegistry == null) {
+                return;
+            }
+
+            Gauge.builder("transformation.pipeline.queue.depth", buffer, BlockingQueue::size)
+                    .description("Items waiting in front of a pipeline stage")
+                    .tag("stage", name)
+                    .register(meterRegistry);
+            Gauge.builder("transformation.pipeline.occupancy", buffer,
+                            queue -> (double) queue.size() / config.getCapacity())
+                    .description("Share of a pipeline stage buffer in use")
+                    .tag("stage", name)
+                    .register(meterRegistry);
+            batchSizeSummary = DistributionSummary.builder("transformation.pipeline.batch.size")
+                    .description("Items taken per batch by a pipeline stage thread")
+                    .tag("stage", name)
+                    .register(meterRegistry);
+            FunctionCounter.builder("transformation.pipeline.processed", processed, LongAdder::sum)
+                    .description("Items processed by a pipeline stage")
+                    .tag("stage", name)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.solaceservice.listener;
+
+import com.example.solaceservice.model.TransformationType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable lookup from input message type to the transformations applied to it, validated and
+ * built once at startup so a message costs one hash lookup.
+ */
+final class TransformationRoutes {
+
+    static final String ANY_TYPE = "*";
+
+    private final Map<String, TransformationType[]> chains;
+    private final TransformationType[] fallback;
+
+    private TransformationRoutes(Map<String, TransformationType[]> chains, TransformationType[] fallback) {
+        this.chains = chains;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Every input type is transformed with the same transformation.
+     */
+    static TransformationRoutes single(TransformationType type) {
+        return new TransformationRoutes(Map.of(), new TransformationType[]{type});
+    }
+
+    /**
+     * Build the routes of a routing table.
+     *
+     * @throws IllegalStateException if a chain is empty or a step cannot take the previous output
+     */
+    static TransformationRoutes of(Map<String, List<TransformationType>> routes) {
+        Map<String, TransformationType[]> chains = new HashMap<>();
+        TransformationType[] fallback = null;
+
+        for (Map.Entry<String, List<TransformationType>> route : routes.entrySet()) {
+            String inputType = route.getKey();
+            TransformationType[] chain = validate(inputType, route.getValue());
+            if (ANY_TYPE.equals(inputType)) {
+                fallback = chain;
+            } else {
+                chains.put(inputType, chain);
+            }
+        }
+        return new TransformationRoutes(Map.copyOf(chains), fallback);
+    }
+
+    /**
+     * @return Transformations to apply in order, or null if the type has no route
+     */
+    TransformationType[] route(String inputType) {
+        TransformationType[] chain = inputType != null ? chains.get(inputType) : null;
+        return chain != null ? chain : fallback;
+    }
+
+    private static TransformationType[] validate(String inputType, List<TransformationType> chain) {
+        if (chain == null || chain.isEmpty()) {
+            throw new IllegalStateException("Transformation route for " + inputType + " has no transformations");
+        }
+
+        String format = inputType;
+        for (TransformationType step : chain) {
+            if (!accepts(step.getSourceFormat(), format)) {
+                throw new IllegalStateException("Transformation route for " + inputType + ": " + step +
+                        " does not take " + format + " input");
+            }
+            format = ANY_TYPE.equals(step.getTargetFormat()) ? format : step.getTargetFormat();
+        }
+        return chain.toArray(TransformationType[]::new);
+    }
+
+    private static boolean accepts(String sourceFormat, String format) {
+        return ANY_TYPE.equals(sourceFormat) || ANY_TYPE.equals(format) || sourceFormat.equals(format);
+    }
+}
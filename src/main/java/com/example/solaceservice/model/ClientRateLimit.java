@@ -0,0 +1,43 @@
+package com.example.solaceservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Rate limit and request counters of one ingest client
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientRateLimit {
+    /**
+     * Client ID (value of the client header)
+     */
+    private String clientId;
+
+    /**
+     * Sustained requests per second
+     */
+    private double ratePerSecond;
+
+    /**
+     * Requests allowed at once after an idle period
+     */
+    private int burst;
+
+    /**
+     * Whether the client has its own limit (false = default limit)
+     */
+    private boolean custom;
+
+    /**
+     * Requests admitted since startup
+     */
+    private long admitted;
+
+    /**
+     * Requests rejected with 429 since startup
+     */
+    private long rejected;
+}
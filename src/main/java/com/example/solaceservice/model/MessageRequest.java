@@ -1,6 +1,8 @@
 package com.example.solaceservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.ToString;
 
 import jakarta.validation.constraints.NotBlank;
 
@@ -12,4 +14,39 @@ public class MessageRequest {
     private String destination;
 
     private String correlationId;
+
+    /**
+     * DIRECT or GUARANTEED. Defaults to solace.guaranteed.default-qos when not set.
+     */
+    private PublishQos qos;
+
+    /**
+     * Optional message type (e.g. MT103), used as a topic level in topic publishing mode.
+     */
+    private String messageType;
+
+    /**
+     * Optional region, used as a topic level in topic publishing mode.
+     */
+    private String region;
+
+    /**
+     * Raw payload of binary (application/octet-stream) requests, published as a BytesMessage.
+     * Not part of the JSON representation; {@code content} is unset for binary requests.
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    private byte[] binaryContent;
+
+    /**
+     * Claim-check reference once the payload has been stored in blob storage
+     * (see ClaimCheckService); the message then carries only the reference.
+     */
+    @JsonIgnore
+    private String claimCheck;
+
+    @JsonIgnore
+    public boolean isBinary() {
+        return binaryContent != null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.example.solaceservice.model;
+
+/**
+ * Quality of service for publishing a message to Solace.
+ */
+public enum PublishQos {
+
+    /**
+     * Direct messaging: non-persistent, fire-and-forget. Fastest, but messages can be
+     * lost if the broker or network fails.
+     */
+    DIRECT,
+
+    /**
+     * Guaranteed messaging: persistent, acknowledged by the broker. Acknowledgements are
+     * correlated asynchronously so many messages can be in flight at once.
+     */
+    GUARANTEED
+}
@@ -6,16 +6,22 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Base64;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class StoredMessage {
+    public static final String CONTENT_ENCODING_BASE64 = "base64";
+
     private String messageId;
 
     // Plaintext content (for backward compatibility and unencrypted mode)
     private String content;
 
+    // "base64" when content holds a binary payload, null for text
+    private String contentEncoding;
+
     // Encrypted content fields (for encrypted mode)
     private String encryptedContent;      // Base64-encoded encrypted message content
     private String encryptedDataKey;      // Base64-encoded encrypted DEK
@@ -39,7 +45,12 @@ public class StoredMessage {
     public static StoredMessage fromRequest(MessageRequest request, String messageId, String status) {
         StoredMessage message = new StoredMessage();
         message.setMessageId(messageId);
-        message.setContent(request.getContent());
+        if (request.isBinary()) {
+            message.setContent(Base64.getEncoder().encodeToString(request.getBinaryContent()));
+            message.setContentEncoding(CONTENT_ENCODING_BASE64);
+        } else {
+            message.setContent(request.getContent());
+        }
         message.setDestination(request.getDestination());
         message.setCorrelationId(request.getCorrelationId());
         message.setTimestamp(LocalDateTime.now());
@@ -47,4 +58,19 @@ public class StoredMessage {
         message.setEncrypted(false);
         return message;
     }
-}
\ No newline at end of file
+
+    /**
+     * Rebuild the original request (e.g. for republishing), restoring binary payloads.
+     */
+    public MessageRequest toRequest() {
+        MessageRequest request = new MessageRequest();
+        if (CONTENT_ENCODING_BASE64.equals(contentEncoding)) {
+            request.setBinaryContent(Base64.getDecoder().decode(content));
+        } else {
+            request.setContent(content);
+        }
+        request.setDestination(destination);
+        request.setCorrelationId(correlationId);
+        return request;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.solaceservice.model;
 
+import com.example.solaceservice.util.MessageIds;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
@@ -8,6 +9,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Record of a message transformation operation.
@@ -257,7 +259,12 @@ public class TransformationRecord {
     // =========================================================================
 
     /**
-     * Detailed breakdown of processing times.
+     * Detailed breakdown of processing times, measured with {@link System#nanoTime()}. Each stage
+     * has its time in whole milliseconds and, for stages well under a millisecond, in nanoseconds.
+     * A stage that did not run is null.
+     *
+     * <p>Encrypt and store times are measured while the record is being stored: the encrypt time is
+     * part of the stored blob, the store time only of the in-memory record and the metrics.</p>
      */
     @Data
     @Builder
@@ -270,6 +277,71 @@ public class TransformationRecord {
         private Long encryptTimeMs;
         private Long publishTimeMs;
         private Long storeTimeMs;
+
+        private Long parseTimeNanos;
+        private Long transformTimeNanos;
+        private Long validateTimeNanos;
+        private Long encryptTimeNanos;
+        private Long publishTimeNanos;
+        private Long storeTimeNanos;
+
+        /**
+         * Processing stages with a timing.
+         */
+        public enum Stage {
+            PARSE, TRANSFORM, VALIDATE, ENCRYPT, PUBLISH, STORE
+        }
+
+        /**
+         * Set the time of a stage.
+         *
+         * @param stage Stage
+         * @param nanos Elapsed time in nanoseconds
+         */
+        public void record(Stage stage, long nanos) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            switch (stage) {
+                case PARSE -> {
+                    parseTimeMs = millis;
+                    parseTimeNanos = nanos;
+                }
+                case TRANSFORM -> {
+                    transformTimeMs = millis;
+                    transformTimeNanos = nanos;
+                }
+                case VALIDATE -> {
+                    validateTimeMs = millis;
+                    validateTimeNanos = nanos;
+                }
+                case ENCRYPT -> {
+                    encryptTimeMs = millis;
+                    encryptTimeNanos = nanos;
+                }
+                case PUBLISH -> {
+                    publishTimeMs = millis;
+                    publishTimeNanos = nanos;
+                }
+                case STORE -> {
+                    storeTimeMs = millis;
+                    storeTimeNanos = nanos;
+                }
+            }
+        }
+
+        /**
+         * @return Time of a stage in nanoseconds, or -1 if the stage did not run
+         */
+        public long nanos(Stage stage) {
+            Long nanos = switch (stage) {
+                case PARSE -> parseTimeNanos;
+                case TRANSFORM -> transformTimeNanos;
+                case VALIDATE -> validateTimeNanos;
+                case ENCRYPT -> encryptTimeNanos;
+                case PUBLISH -> publishTimeNanos;
+                case STORE -> storeTimeNanos;
+            };
+            return nanos != null ? nanos : -1;
+        }
     }
 
     // =========================================================================
@@ -340,14 +412,15 @@ public class TransformationRecord {
         String correlationId
     ) {
         return TransformationRecord.builder()
-            .transformationId(java.util.UUID.randomUUID().toString())
+            .transformationId(MessageIds.next())
             .inputMessageId(inputMessageId)
-            .outputMessageId(java.util.UUID.randomUUID().toString())
+            .outputMessageId(MessageIds.next())
             .inputMessage(inputMessage)
             .inputMessageType(inputMessageType)
             .transformationType(transformationType)
             .correlationId(correlationId)
             .transformationTimestamp(LocalDateTime.now())
+            .timings(new ProcessingTimings())
             .status(TransformationStatus.RETRY)  // Initial status
             .encrypted(false)  // Will be set to true after encryption
             .retryCount(0)
@@ -0,0 +1,179 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive limit on the number of ingest requests processed concurrently.
+ *
+ * <p>Callers {@link #tryAcquire()} a slot before processing and {@link #release(long, boolean)}
+ * it with the observed latency afterwards. When all slots are taken the caller is rejected at
+ * once instead of queueing, so latency for admitted requests stays close to the broker's
+ * latency under overload.</p>
+ *
+ * <h3>Limit:</h3>
+ * <p>The limit is re-estimated from every completed request with the configured
+ * {@link ConcurrencyLimitProperties.Algorithm} and stays within {@code min-limit..max-limit}.
+ * It only grows while at least half of the slots are in use, so an idle service does not
+ * drift to the maximum.</p>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>{@code solace.ingest.limit} - current concurrency limit</li>
+ *   <li>{@code solace.ingest.in_flight} - requests being processed</li>
+ *   <li>{@code solace.ingest.rejected} - requests rejected with 429</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "solace.ingest.concurrency-limit.enabled", havingValue = "true")
+public class AdaptiveConcurrencyLimiter {
+
+    // Long-term latency average weight (samples)
+    private static final int LONG_WINDOW = 100;
+
+    @Autowired
+    private ConcurrencyLimitProperties properties;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    // Guarded by this
+    private double estimatedLimit;
+    private double longLatencyNanos;
+
+    private volatile int limit;
+
+    @PostConstruct
+    public void initialize() {
+        estimatedLimit = clamp(properties.getInitialLimit());
+        limit = (int) estimatedLimit;
+
+        if (meterRegistry != null) {
+            Gauge.builder("solace.ingest.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .register(meterRegistry);
+            Gauge.builder("solace.ingest.in_flight", inFlight, AtomicInteger::get)
+                    .description("Ingest requests being processed")
+                    .register(meterRegistry);
+            FunctionCounter.builder("solace.ingest.rejected", rejected, LongAdder::sum)
+                    .description("Ingest requests rejected by the concurrency limit")
+                    .register(meterRegistry);
+        }
+
+        log.info("Adaptive concurrency limit enabled - Algorithm: {}, Initial limit: {}, Range: {}-{}",
+                properties.getAlgorithm(), limit, properties.getMinLimit(), properties.getMaxLimit());
+    }
+
+    /**
+     * Take a slot if fewer than {@link #getLimit()} requests are in flight.
+     *
+     * @return true if the request may proceed (and must be released), false if it is rejected
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release a slot and feed the request outcome into the limit.
+     *
+     * @param latencyNanos Time the request held the slot
+     * @param failed       Whether the request failed (overload signal)
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        update(latencyNanos, inFlightAtCompletion, failed);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public int getRetryAfterSeconds() {
+        return properties.getRetryAfterSeconds();
+    }
+
+    private synchronized void update(long latencyNanos, int inFlightAtCompletion, boolean failed) {
+        if (failed) {
+            estimatedLimit = clamp(estimatedLimit * properties.getBackoffRatio());
+        } else if (properties.getAlgorithm() == ConcurrencyLimitProperties.Algorithm.AIMD) {
+            updateAimd(latencyNanos, inFlightAtCompletion);
+        } else {
+            updateGradient(latencyNanos, inFlightAtCompletion);
+        }
+
+        int newLimit = (int) estimatedLimit;
+        if (newLimit != limit) {
+            log.debug("Concurrency limit changed {} -> {} (latency {}ms, in flight {})", limit, newLimit,
+                    TimeUnit.NANOSECONDS.toMillis(latencyNanos), inFlightAtCompletion);
+            limit = newLimit;
+        }
+    }
+
+    private void updateAimd(long latencyNanos, int inFlightAtCompletion) {
+        if (latencyNanos > TimeUnit.MILLISECONDS.toNanos(properties.getLatencyThresholdMs())) {
+            estimatedLimit = clamp(estimatedLimit * properties.getBackoffRatio());
+        } else if (inFlightAtCompletion * 2 >= estimatedLimit) {
+            estimatedLimit = clamp(estimatedLimit + 1);
+        }
+    }
+
+    private void updateGradient(long latencyNanos, int inFlightAtCompletion) {
+        double latency = Math.max(1, latencyNanos);
+        if (longLatencyNanos == 0) {
+            longLatencyNanos = latency;
+        } else {
+            longLatencyNanos += (latency - longLatencyNanos) / LONG_WINDOW;
+        }
+
+        // After a sustained latency increase let the baseline recover faster once latency drops
+        if (longLatencyNanos / latency > 2) {
+            longLatencyNanos *= 0.95;
+        }
+
+        // Application-limited: latency says nothing about the limit
+        if (inFlightAtCompletion * 2 < estimatedLimit) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getTolerance() * longLatencyNanos / latency));
+        double queueAllowance = Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + queueAllowance;
+        estimatedLimit = clamp(estimatedLimit * (1 - properties.getSmoothing()) + newLimit * properties.getSmoothing());
+    }
+
+    private double clamp(double value) {
+        return Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), value));
+    }
+}
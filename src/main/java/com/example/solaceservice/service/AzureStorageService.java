@@ -1,11 +1,15 @@
 package com.example.solaceservice.service;
 
+import com.azure.core.util.BinaryData;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.models.BlobDownloadContentResponse;
 import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.options.BlobParallelUploadOptions;
 import com.example.solaceservice.model.StoredMessage;
+import com.example.solaceservice.model.TransformationRecord.ProcessingTimings;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -18,8 +22,10 @@ import org.springframework.stereotype.Service;
 import jakarta.annotation.PostConstruct;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Slf4j
@@ -79,33 +85,7 @@ public class AzureStorageService {
 
     public void storeMessage(StoredMessage message) {
         try {
-            StoredMessage messageToStore = message;
-
-            // Apply client-side encryption if enabled
-            if (encryptionEnabled && message.getContent() != null && !message.isEncrypted()) {
-                log.debug("Encrypting message {} before storage", message.getMessageId());
-
-                // Encrypt the message content
-                EncryptionService.EncryptedData encrypted = encryptionService.encrypt(message.getContent());
-
-                // Create new StoredMessage with encrypted data
-                messageToStore = new StoredMessage();
-                messageToStore.setMessageId(message.getMessageId());
-                messageToStore.setEncryptedContent(encrypted.getEncryptedContent());
-                messageToStore.setEncryptedDataKey(encrypted.getEncryptedDataKey());
-                messageToStore.setEncryptionIv(encrypted.getIv());
-                messageToStore.setEncryptionAlgorithm(encrypted.getAlgorithm());
-                messageToStore.setKeyVaultKeyId(encrypted.getKeyId());
-                messageToStore.setDestination(message.getDestination());
-                messageToStore.setCorrelationId(message.getCorrelationId());
-                messageToStore.setTimestamp(message.getTimestamp());
-                messageToStore.setOriginalStatus(message.getOriginalStatus());
-                messageToStore.setEncrypted(true);
-                messageToStore.setContent(null); // Clear plaintext
-
-                log.debug("Message {} encrypted successfully (key: {})",
-                    message.getMessageId(), encrypted.getKeyId());
-            }
+            StoredMessage messageToStore = encryptForStorage(message);
 
             String blobName = generateBlobName(messageToStore);
             String jsonContent = objectMapper.writeValueAsString(messageToStore);
@@ -124,6 +104,46 @@ public class AzureStorageService {
         }
     }
 
+    /**
+     * Apply client-side encryption to a message if encryption is enabled.
+     * Messages that are already encrypted (or when encryption is disabled) are returned unchanged.
+     *
+     * @param message Message to encrypt
+     * @return Message safe to persist outside the JVM
+     */
+    public StoredMessage encryptForStorage(StoredMessage message) {
+        StoredMessage messageToStore = message;
+
+        // Apply client-side encryption if enabled
+        if (encryptionEnabled && message.getContent() != null && !message.isEncrypted()) {
+            log.debug("Encrypting message {} before storage", message.getMessageId());
+
+            // Encrypt the message content
+            EncryptionService.EncryptedData encrypted = encryptionService.encrypt(message.getContent());
+
+            // Create new StoredMessage with encrypted data
+            messageToStore = new StoredMessage();
+            messageToStore.setMessageId(message.getMessageId());
+            messageToStore.setEncryptedContent(encrypted.getEncryptedContent());
+            messageToStore.setEncryptedDataKey(encrypted.getEncryptedDataKey());
+            messageToStore.setEncryptionIv(encrypted.getIv());
+            messageToStore.setEncryptionAlgorithm(encrypted.getAlgorithm());
+            messageToStore.setKeyVaultKeyId(encrypted.getKeyId());
+            messageToStore.setContentEncoding(message.getContentEncoding());
+            messageToStore.setDestination(message.getDestination());
+            messageToStore.setCorrelationId(message.getCorrelationId());
+            messageToStore.setTimestamp(message.getTimestamp());
+            messageToStore.setOriginalStatus(message.getOriginalStatus());
+            messageToStore.setEncrypted(true);
+            messageToStore.setContent(null); // Clear plaintext
+
+            log.debug("Message {} encrypted successfully (key: {})",
+                message.getMessageId(), encrypted.getKeyId());
+        }
+
+        return messageToStore;
+    }
+
     public StoredMessage retrieveMessage(String messageId) {
         try {
             String blobName = "message-" + messageId + ".json";
@@ -237,6 +257,80 @@ public class AzureStorageService {
         return "message-" + message.getMessageId() + ".json";
     }
 
+    // =========================================================================
+    // Claim-Check Payload Storage
+    // =========================================================================
+
+    /**
+     * Store the payload of a claim-checked message.
+     *
+     * <p>The payload is stored as a raw blob (no JSON envelope). With encryption enabled the
+     * blob holds the ciphertext and the key material is kept in the blob metadata, so the
+     * payload is fetched in a single download.</p>
+     *
+     * @param messageId Message ID
+     * @param payload   Message payload
+     * @return Claim-check reference (blob name)
+     */
+    public String storeClaimCheck(String messageId, byte[] payload) {
+        String blobName = "claim-" + messageId + ".bin";
+        try {
+            BinaryData data = BinaryData.fromBytes(payload);
+            Map<String, String> metadata = null;
+
+            if (encryptionEnabled) {
+                // ISO-8859-1 maps every byte to one char, so binary payloads survive the String API
+                EncryptionService.EncryptedData encrypted =
+                    encryptionService.encrypt(new String(payload, StandardCharsets.ISO_8859_1));
+                data = BinaryData.fromString(encrypted.getEncryptedContent());
+                metadata = Map.of(
+                    "encrypteddatakey", encrypted.getEncryptedDataKey(),
+                    "encryptioniv", encrypted.getIv(),
+                    "encryptionalgorithm", encrypted.getAlgorithm(),
+                    "keyvaultkeyid", encrypted.getKeyId() != null ? encrypted.getKeyId() : "");
+            }
+
+            BlobClient blobClient = containerClient.getBlobClient(blobName);
+            blobClient.uploadWithResponse(new BlobParallelUploadOptions(data).setMetadata(metadata), null, null);
+
+            log.debug("Stored claim-check payload {} ({} bytes, encrypted: {})", blobName, payload.length, encryptionEnabled);
+            return blobName;
+        } catch (Exception e) {
+            log.error("Failed to store claim-check payload {} to Azure Blob Storage", blobName, e);
+            throw new RuntimeException("Failed to store claim-check payload to Azure", e);
+        }
+    }
+
+    /**
+     * Retrieve the payload of a claim-checked message.
+     *
+     * @param reference Claim-check reference returned by {@link #storeClaimCheck(String, byte[])}
+     * @return Message payload
+     */
+    public byte[] retrieveClaimCheck(String reference) {
+        try {
+            BlobDownloadContentResponse response = containerClient.getBlobClient(reference)
+                .downloadContentWithResponse(null, null, null, null);
+            Map<String, String> metadata = response.getDeserializedHeaders().getMetadata();
+
+            if (metadata == null || !metadata.containsKey("encrypteddatakey")) {
+                return response.getValue().toBytes();
+            }
+
+            EncryptionService.EncryptedData encryptedData = EncryptionService.EncryptedData.builder()
+                .encryptedContent(response.getValue().toString())
+                .encryptedDataKey(metadata.get("encrypteddatakey"))
+                .iv(metadata.get("encryptioniv"))
+                .algorithm(metadata.get("encryptionalgorithm"))
+                .keyId(metadata.get("keyvaultkeyid"))
+                .build();
+            return encryptionService.decrypt(encryptedData).getBytes(StandardCharsets.ISO_8859_1);
+        } catch (Exception e) {
+            log.error("Failed to retrieve claim-check payload {} from Azure Blob Storage", reference, e);
+            throw new RuntimeException("Failed to retrieve claim-check payload from Azure", e);
+        }
+    }
+
     // =========================================================================
     // Transformation Record Storage
     // =========================================================================
@@ -254,6 +348,8 @@ public class AzureStorageService {
 
             // Apply client-side encryption if enabled
             if (encryptionEnabled && encryptionService != null) {
+                long encryptStart = System.nanoTime();
+
                 // Encrypt input message if present and not already encrypted
                 if (record.getInputMessage() != null && !record.isEncrypted()) {
                     log.debug("Encrypting input message for transformation {}", record.getTransformationId());
@@ -281,8 +377,13 @@ public class AzureStorageService {
                 }
 
                 record.setEncrypted(true);
+                if (record.getTimings() != null) {
+                    // Before serialization, so the stored record includes it
+                    record.getTimings().record(ProcessingTimings.Stage.ENCRYPT, System.nanoTime() - encryptStart);
+                }
             }
 
+            long storeStart = System.nanoTime();
             String blobName = generateTransformationBlobName(record);
             String jsonContent = objectMapper.writeValueAsString(record);
 
@@ -290,6 +391,9 @@ public class AzureStorageService {
             byte[] jsonBytes = jsonContent.getBytes(java.nio.charset.StandardCharsets.UTF_8);
             ByteArrayInputStream inputStream = new ByteArrayInputStream(jsonBytes);
             blobClient.upload(inputStream, jsonBytes.length, true);
+            if (record.getTimings() != null) {
+                record.getTimings().record(ProcessingTimings.Stage.STORE, System.nanoTime() - storeStart);
+            }
 
             log.info("Stored transformation {} to Azure Blob: {} (encrypted: {})",
                 record.getTransformationId(), blobName, encryptionEnabled);
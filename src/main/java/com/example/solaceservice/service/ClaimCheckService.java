@@ -0,0 +1,226 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.ClaimCheckProperties;
+import com.example.solaceservice.model.MessageRequest;
+import com.example.solaceservice.transport.JmsMessageTransport;
+import com.example.solaceservice.transport.TransportMessage;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Claim-check for large payloads: the payload is stored in Azure Blob Storage and the broker
+ * only carries a small reference message.
+ *
+ * <h3>Publishing:</h3>
+ * <pre>
+ * String reference = claimCheckService.checkIn(messageId, content, binary);  // null below the threshold
+ * messageTransport.send(queue, reference != null
+ *         ? claimCheckService.createReference(reference, binary)
+ *         : ... regular message ...);
+ * </pre>
+ *
+ * <h3>Consuming:</h3>
+ * <p>{@link #prefetch(Message)} starts the download on the prefetch pool as soon as a reference
+ * message is received, so the download overlaps with the remaining work on the message (and with
+ * other messages when the consumer has several in hand); {@link Payload} is the original payload
+ * as text or bytes.</p>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>{@code solace.claim_check.stored|resolved} - payloads uploaded / downloaded</li>
+ *   <li>{@code solace.claim_check.stored.bytes} - payload bytes kept off the broker</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "solace.claim-check.enabled", havingValue = "true")
+public class ClaimCheckService {
+
+    /** Reference (blob name) of a claim-checked payload */
+    public static final String CLAIM_CHECK_PROPERTY = "claimCheck";
+    /** Whether the claim-checked payload is binary (published as a BytesMessage otherwise) */
+    public static final String CLAIM_CHECK_BINARY_PROPERTY = "claimCheckBinary";
+
+    @Autowired
+    private ClaimCheckProperties properties;
+
+    @Autowired(required = false)
+    private AzureStorageService azureStorageService;
+
+    @Autowired(required = false)
+    private Environment environment;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private ExecutorService prefetchExecutor;
+
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder storedBytes = new LongAdder();
+    private final LongAdder resolved = new LongAdder();
+
+    @PostConstruct
+    public void initialize() {
+        if (azureStorageService == null) {
+            throw new IllegalStateException(
+                "Claim-check is enabled but AzureStorageService is not available. " +
+                "Check azure.storage.enabled configuration."
+            );
+        }
+
+        prefetchExecutor = environment != null && Threading.VIRTUAL.isActive(environment)
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("claim-check-", 0).factory())
+                : Executors.newFixedThreadPool(properties.getPrefetchThreads(),
+                        Thread.ofPlatform().name("claim-check-", 0).daemon().factory());
+
+        if (meterRegistry != null) {
+            FunctionCounter.builder("solace.claim_check.stored", stored, LongAdder::sum)
+                    .description("Payloads stored in blob storage instead of the message")
+                    .register(meterRegistry);
+            FunctionCounter.builder("solace.claim_check.stored.bytes", storedBytes, LongAdder::sum)
+                    .description("Payload bytes stored in blob storage instead of the message")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            FunctionCounter.builder("solace.claim_check.resolved", resolved, LongAdder::sum)
+                    .description("Claim-checked payloads downloaded by consumers")
+                    .register(meterRegistry);
+        }
+
+        log.info("Claim-check enabled - Threshold: {} bytes, Prefetch threads: {}",
+                properties.getThresholdBytes(), properties.getPrefetchThreads());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (prefetchExecutor != null) {
+            prefetchExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Store the payload of a request if it exceeds the threshold and remember the reference on the
+     * request ({@link MessageRequest#getClaimCheck()}). A request that is already checked in is
+     * left as it is.
+     */
+    public void checkIn(MessageRequest request, String messageId) {
+        if (request.getClaimCheck() == null && exceedsThreshold(request)) {
+            byte[] payload = request.isBinary() ? request.getBinaryContent()
+                    : request.getContent().getBytes(StandardCharsets.UTF_8);
+            request.setClaimCheck(store(messageId, payload));
+        }
+    }
+
+    /**
+     * @return Whether the payload of a request is large enough to be claim-checked
+     */
+    public boolean exceedsThreshold(MessageRequest request) {
+        // Characters are a lower bound of the UTF-8 size; close enough for a threshold
+        int size = request.isBinary() ? request.getBinaryContent().length
+                : request.getContent() != null ? request.getContent().length() : 0;
+        return size > properties.getThresholdBytes();
+    }
+
+    /**
+     * Store a payload if it exceeds the threshold.
+     *
+     * @param binary Payload is published as bytes (ISO-8859-1 String, see the transformation listener)
+     * @return Claim-check reference, or null if the payload is small enough to be sent as is
+     */
+    public String checkIn(String messageId, String content, boolean binary) {
+        if (content.length() <= properties.getThresholdBytes()) {
+            return null;
+        }
+        return store(messageId, content.getBytes(binary ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Create the reference message sent in place of a claim-checked payload.
+     */
+    public TransportMessage createReference(String reference, boolean binary) {
+        return TransportMessage.text(reference)
+                .setProperty(CLAIM_CHECK_PROPERTY, reference)
+                .setProperty(CLAIM_CHECK_BINARY_PROPERTY, binary);
+    }
+
+    public Message createReference(Session session, String reference, boolean binary) throws JMSException {
+        return JmsMessageTransport.toJms(session, createReference(reference, binary));
+    }
+
+    public static boolean isClaimCheck(Message message) throws JMSException {
+        return message.propertyExists(CLAIM_CHECK_PROPERTY);
+    }
+
+    public static boolean isClaimCheck(TransportMessage message) {
+        return message.hasProperty(CLAIM_CHECK_PROPERTY);
+    }
+
+    /**
+     * Start downloading the payload of a reference message.
+     *
+     * @return Future of the original payload
+     */
+    public CompletableFuture<Payload> prefetch(Message message) throws JMSException {
+        return prefetch(message.getStringProperty(CLAIM_CHECK_PROPERTY),
+                message.getBooleanProperty(CLAIM_CHECK_BINARY_PROPERTY));
+    }
+
+    public CompletableFuture<Payload> prefetch(TransportMessage message) {
+        return prefetch(message.getStringProperty(CLAIM_CHECK_PROPERTY),
+                message.getBooleanProperty(CLAIM_CHECK_BINARY_PROPERTY));
+    }
+
+    public long getStored() {
+        return stored.sum();
+    }
+
+    public long getResolved() {
+        return resolved.sum();
+    }
+
+    private CompletableFuture<Payload> prefetch(String reference, boolean binary) {
+        return CompletableFuture.supplyAsync(() -> {
+            byte[] payload = azureStorageService.retrieveClaimCheck(reference);
+            resolved.increment();
+            log.debug("Resolved claim-check {} ({} bytes)", reference, payload.length);
+            return new Payload(payload, binary);
+        }, prefetchExecutor);
+    }
+
+    private String store(String messageId, byte[] payload) {
+        String reference = azureStorageService.storeClaimCheck(messageId, payload);
+        stored.increment();
+        storedBytes.add(payload.length);
+        log.debug("Claim-checked message {} ({} bytes) as {}", messageId, payload.length, reference);
+        return reference;
+    }
+
+    /**
+     * Payload of a claim-checked message.
+     *
+     * @param bytes  Payload bytes (UTF-8 for text payloads)
+     * @param binary Whether the payload was published as binary
+     */
+    public record Payload(byte[] bytes, boolean binary) {
+
+        public String text() {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
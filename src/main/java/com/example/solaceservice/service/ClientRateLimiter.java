@@ -0,0 +1,278 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.RateLimitProperties;
+import com.example.solaceservice.model.ClientRateLimit;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-client token-bucket rate limiter for the message ingest endpoints.
+ *
+ * <p>Every client has its own bucket in a {@link ConcurrentHashMap}, so clients never contend
+ * with each other. A bucket is a single {@link AtomicLong} holding the theoretical arrival time
+ * of the next request (GCRA, the token bucket expressed as a timestamp): admitting a request is
+ * one compare-and-set, without locks or a refill thread. Counters are {@link LongAdder}s.</p>
+ *
+ * <p>Limits come from {@link RateLimitProperties} and can be replaced at runtime; the change
+ * applies to the next request of the client, which starts with a full burst.</p>
+ *
+ * <p>At most {@code max-tracked-clients} clients have their own bucket. When a new client arrives
+ * and all slots are taken, clients idle for {@code idle-timeout-ms} whose bucket is full again are
+ * dropped to make room (at most one scan per second); if none is idle, the new client shares the
+ * {@code other} bucket.</p>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>{@code solace.ingest.rate_limit.admitted} - admitted requests, tagged by client</li>
+ *   <li>{@code solace.ingest.rate_limit.rejected} - rejected requests, tagged by client</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "solace.ingest.rate-limit.enabled", havingValue = "true")
+public class ClientRateLimiter {
+
+    public static final String ANONYMOUS_CLIENT = "anonymous";
+    public static final String OTHER_CLIENTS = "other";
+
+    private static final long EVICTION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RateLimitProperties.Limit> clientLimits = new ConcurrentHashMap<>();
+    private volatile RateLimitProperties.Limit defaultLimit;
+    private final AtomicLong nextEviction = new AtomicLong(System.nanoTime());
+
+    @PostConstruct
+    public void initialize() {
+        defaultLimit = validate(properties.getDefaultLimit());
+        properties.getClients().forEach((clientId, limit) -> clientLimits.put(clientId, validate(limit)));
+
+        log.info("Per-client rate limiting enabled - Header: {}, Default: {}/s (burst {}), Clients: {}",
+                properties.getClientHeader(), defaultLimit.getRatePerSecond(), defaultLimit.getBurst(),
+                clientLimits.keySet());
+    }
+
+    /**
+     * Take one token from the client's bucket.
+     *
+     * @param clientId Client ID, or null for anonymous requests
+     * @return 0 if the request is admitted, otherwise the time in nanoseconds until the client
+     *         may send again
+     */
+    public long tryAcquire(String clientId) {
+        long now = System.nanoTime();
+        return bucketFor(clientId, now).tryAcquire(now);
+    }
+
+    public String getClientHeader() {
+        return properties.getClientHeader();
+    }
+
+    public RateLimitProperties.Limit getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    /**
+     * Replace the limit of clients without their own limit.
+     *
+     * @throws IllegalArgumentException if the limit is invalid
+     */
+    public void setDefaultLimit(RateLimitProperties.Limit limit) {
+        defaultLimit = validate(limit);
+        buckets.forEach((clientId, bucket) -> {
+            if (!clientLimits.containsKey(clientId)) {
+                bucket.setLimit(limit);
+            }
+        });
+        log.info("Default rate limit set to {}/s (burst {})", limit.getRatePerSecond(), limit.getBurst());
+    }
+
+    /**
+     * Set the limit of one client.
+     *
+     * @throws IllegalArgumentException if the limit is invalid
+     */
+    public void setClientLimit(String clientId, RateLimitProperties.Limit limit) {
+        clientLimits.put(clientId, validate(limit));
+        Bucket bucket = buckets.get(clientId);
+        if (bucket != null) {
+            bucket.setLimit(limit);
+        }
+        log.info("Rate limit of client {} set to {}/s (burst {})", clientId, limit.getRatePerSecond(), limit.getBurst());
+    }
+
+    /**
+     * Remove the limit of one client; it falls back to the default limit.
+     *
+     * @return true if the client had its own limit
+     */
+    public boolean removeClientLimit(String clientId) {
+        boolean removed = clientLimits.remove(clientId) != null;
+        Bucket bucket = buckets.get(clientId);
+        if (bucket != null) {
+            bucket.setLimit(defaultLimit);
+        }
+        return removed;
+    }
+
+    /**
+     * Limits and counters of all known clients, ordered by client ID.
+     */
+    public List<ClientRateLimit> getClients() {
+        List<ClientRateLimit> clients = new ArrayList<>();
+        buckets.forEach((clientId, bucket) -> clients.add(describe(clientId, bucket)));
+        clientLimits.keySet().stream()
+                .filter(clientId -> !buckets.containsKey(clientId))
+                .forEach(clientId -> clients.add(describe(clientId, null)));
+        clients.sort(Comparator.comparing(ClientRateLimit::getClientId));
+        return clients;
+    }
+
+    private ClientRateLimit describe(String clientId, Bucket bucket) {
+        RateLimitProperties.Limit limit = clientLimits.getOrDefault(clientId, defaultLimit);
+        return new ClientRateLimit(clientId, limit.getRatePerSecond(), limit.getBurst(),
+                clientLimits.containsKey(clientId),
+                bucket != null ? bucket.admitted.sum() : 0,
+                bucket != null ? bucket.rejected.sum() : 0);
+    }
+
+    private Bucket bucketFor(String clientId, long now) {
+        String key = clientId == null || clientId.isBlank() ? ANONYMOUS_CLIENT : clientId;
+
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        if (!clientLimits.containsKey(key) && buckets.size() >= properties.getMaxTrackedClients()) {
+            evictIdleBuckets(now);
+            if (buckets.size() >= properties.getMaxTrackedClients()) {
+                key = OTHER_CLIENTS;
+            }
+        }
+        return buckets.computeIfAbsent(key, this::createBucket);
+    }
+
+    /**
+     * Drop the buckets of idle clients. Only full buckets are dropped, so no client gains tokens
+     * from it. Scans at most once per second: requests of untracked clients land here every time.
+     */
+    private void evictIdleBuckets(long now) {
+        long next = nextEviction.get();
+        if (now - next < 0 || !nextEviction.compareAndSet(next, now + EVICTION_INTERVAL_NANOS)) {
+            return;
+        }
+
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(properties.getIdleTimeoutMs());
+        buckets.forEach((clientId, bucket) -> {
+            if (bucket.isIdle(now, idleNanos) && buckets.remove(clientId, bucket)) {
+                if (meterRegistry != null) {
+                    bucket.meters.forEach(meterRegistry::remove);
+                }
+                log.debug("Stopped tracking rate limit of idle client {}", clientId);
+            }
+        });
+    }
+
+    private Bucket createBucket(String clientId) {
+        Bucket bucket = new Bucket(clientLimits.getOrDefault(clientId, defaultLimit));
+
+        if (meterRegistry != null) {
+            bucket.meters.add(FunctionCounter.builder("solace.ingest.rate_limit.admitted", bucket.admitted, LongAdder::sum)
+                    .description("Ingest requests admitted by the client rate limit")
+                    .tag("client", clientId)
+                    .register(meterRegistry));
+            bucket.meters.add(FunctionCounter.builder("solace.ingest.rate_limit.rejected", bucket.rejected, LongAdder::sum)
+                    .description("Ingest requests rejected by the client rate limit")
+                    .tag("client", clientId)
+                    .register(meterRegistry));
+        }
+
+        log.debug("Tracking rate limit of client {}", clientId);
+        return bucket;
+    }
+
+    private static RateLimitProperties.Limit validate(RateLimitProperties.Limit limit) {
+        if (limit == null || !(limit.getRatePerSecond() > 0) || limit.getBurst() < 1) {
+            throw new IllegalArgumentException("Rate limit requires rate-per-second > 0 and burst >= 1");
+        }
+        return limit;
+    }
+
+    /**
+     * Token bucket of one client as a generic cell rate algorithm (GCRA).
+     *
+     * <p>{@code theoreticalArrival} is the time at which the bucket would be full again if no
+     * further request arrived. A request is admitted when that time, advanced by one emission
+     * interval, lies less than {@code burst} intervals in the future.</p>
+     */
+    private static class Bucket {
+
+        private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+        private final LongAdder admitted = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final List<Meter> meters = new ArrayList<>(2);
+        private volatile Rate rate;
+        private volatile long lastAccess = System.nanoTime();
+
+        Bucket(RateLimitProperties.Limit limit) {
+            setLimit(limit);
+        }
+
+        void setLimit(RateLimitProperties.Limit limit) {
+            long emissionInterval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / limit.getRatePerSecond()));
+            rate = new Rate(emissionInterval, emissionInterval * limit.getBurst());
+            // Debt accumulated at the old rate does not carry over; the client starts with a full burst
+            theoreticalArrival.set(System.nanoTime());
+        }
+
+        /**
+         * No request for idleNanos, and the bucket is full again.
+         */
+        boolean isIdle(long now, long idleNanos) {
+            return now - lastAccess >= idleNanos && theoreticalArrival.get() - now <= 0;
+        }
+
+        long tryAcquire(long now) {
+            lastAccess = now;
+            Rate current = rate;
+            while (true) {
+                long arrival = theoreticalArrival.get();
+                long newArrival = Math.max(arrival, now) + current.emissionInterval();
+                long wait = newArrival - current.burstTolerance() - now;
+                if (wait > 0) {
+                    rejected.increment();
+                    return wait;
+                }
+                if (theoreticalArrival.compareAndSet(arrival, newArrival)) {
+                    admitted.increment();
+                    return 0;
+                }
+            }
+        }
+    }
+
+    private record Rate(long emissionInterval, long burstTolerance) {
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.CachingSolaceDestinationResolver;
+import com.example.solaceservice.config.GuaranteedPublishingProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.jms.CompletionListener;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jms.core.MessageCreator;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.jms.support.destination.DestinationResolver;
+import org.springframework.jms.support.destination.DynamicDestinationResolver;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publisher for guaranteed (persistent) messages with asynchronous broker acknowledgements.
+ *
+ * <p>Instead of blocking on a synchronous round trip per message, each message is sent with a
+ * JMS {@link CompletionListener}. The broker acknowledgement completes the returned future, so
+ * many messages can be in flight at once. The number of unacknowledged messages is bounded by
+ * the ack window ({@code solace.guaranteed.ack-window-size}); when the window is full, callers
+ * wait for a free slot.</p>
+ *
+ * <h3>Threading:</h3>
+ * <p>A JMS session must not be used by several threads at once, so the send itself is serialized.
+ * The send returns as soon as the message is handed to the API; waiting for the acknowledgement
+ * happens outside the lock.</p>
+ *
+ * <h3>Usage:</h3>
+ * <pre>
+ * guaranteedPublisher.publish(destination, session -> session.createTextMessage(content))
+ *     .join(); // completes when the broker has acknowledged the message
+ * </pre>
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = {"spring.jms.solace.enabled", "solace.guaranteed.enabled"}, havingValue = "true")
+public class GuaranteedPublisher {
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private GuaranteedPublishingProperties properties;
+
+    @Autowired(required = false)
+    private CachingSolaceDestinationResolver cachingDestinationResolver;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final ReentrantLock sendLock = new ReentrantLock();
+
+    private Semaphore ackWindow;
+    private DestinationResolver destinationResolver;
+
+    // Guarded by sendLock
+    private Connection connection;
+    private Session session;
+    private MessageProducer producer;
+
+    // Set by the connection's exception listener; the session is rebuilt on the next send
+    private volatile boolean connectionBroken = false;
+
+    private final AtomicLong inFlight = new AtomicLong(0);
+    private final AtomicLong acknowledged = new AtomicLong(0);
+    private final AtomicLong failed = new AtomicLong(0);
+    private Timer ackLatencyTimer;
+
+    @PostConstruct
+    public void initialize() {
+        ackWindow = new Semaphore(properties.getAckWindowSize());
+        destinationResolver = cachingDestinationResolver != null
+                ? cachingDestinationResolver : new DynamicDestinationResolver();
+
+        if (meterRegistry != null) {
+            meterRegistry.gauge("solace.guaranteed.in_flight", inFlight);
+            FunctionCounter.builder("solace.guaranteed.acknowledged", acknowledged, AtomicLong::get)
+                    .register(meterRegistry);
+            FunctionCounter.builder("solace.guaranteed.failed", failed, AtomicLong::get)
+                    .register(meterRegistry);
+            ackLatencyTimer = meterRegistry.timer("solace.guaranteed.ack_latency");
+        }
+
+        log.info("Guaranteed publisher initialized - Ack window: {}, Ack timeout: {}ms",
+                properties.getAckWindowSize(), properties.getAckTimeoutMs());
+    }
+
+    /**
+     * Publish a persistent message and return a future completed by the broker acknowledgement.
+     *
+     * @param destinationName Queue name
+     * @param messageCreator  Creates the message from the publisher session
+     * @return Future completed when the broker acknowledges the message, or completed
+     *         exceptionally when the send fails, is rejected or times out
+     */
+    public CompletableFuture<Void> publish(String destinationName, MessageCreator messageCreator) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        try {
+            if (!ackWindow.tryAcquire(properties.getAckTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                failed.incrementAndGet();
+                future.completeExceptionally(new TimeoutException(
+                        "No free slot in guaranteed ack window (" + properties.getAckWindowSize() + ")"));
+                return future;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        PendingAck pendingAck = new PendingAck(future);
+        inFlight.incrementAndGet();
+
+        sendLock.lock();
+        try {
+            ensureSession();
+            Destination destination = destinationResolver.resolveDestinationName(session, destinationName, false);
+            Message message = messageCreator.createMessage(session);
+            producer.send(destination, message, DeliveryMode.PERSISTENT,
+                    Message.DEFAULT_PRIORITY, Message.DEFAULT_TIME_TO_LIVE, pendingAck);
+        } catch (Exception e) {
+            log.error("Failed to send guaranteed message to queue: {}", destinationName, e);
+            closeSession();
+            pendingAck.settle(e);
+            return future;
+        } finally {
+            sendLock.unlock();
+        }
+
+        future.orTimeout(properties.getAckTimeoutMs(), TimeUnit.MILLISECONDS)
+                .whenComplete((result, error) -> pendingAck.settle(error));
+        return future;
+    }
+
+    public long getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAcknowledged() {
+        return acknowledged.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendLock.lock();
+        try {
+            closeSession();
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    /**
+     * Lazily (re)connect. Must be called while holding sendLock.
+     */
+    private void ensureSession() throws JMSException {
+        if (connectionBroken) {
+            closeSession();
+            connectionBroken = false;
+        }
+        if (session != null) {
+            return;
+        }
+
+        connection = connectionFactory.createConnection();
+        connection.setExceptionListener(exception -> {
+            log.warn("Guaranteed publisher connection failed, reconnecting on next send: {}", exception.getMessage());
+            connectionBroken = true;
+        });
+        session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        producer = session.createProducer(null);
+        connection.start();
+
+        log.info("Guaranteed publisher connected");
+    }
+
+    /**
+     * Close the publisher session and connection. Must be called while holding sendLock.
+     */
+    private void closeSession() {
+        JmsUtils.closeMessageProducer(producer);
+        JmsUtils.closeSession(session);
+        JmsUtils.closeConnection(connection);
+        producer = null;
+        session = null;
+        connection = null;
+    }
+
+    /**
+     * Correlates the broker acknowledgement of one message with its future.
+     * Releases the ack window slot exactly once (ack, error or timeout).
+     */
+    private class PendingAck implements CompletionListener {
+
+        private final CompletableFuture<Void> future;
+        private final long sendStartNanos = System.nanoTime();
+        private final AtomicBoolean settled = new AtomicBoolean(false);
+
+        PendingAck(CompletableFuture<Void> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void onCompletion(Message message) {
+            settle(null);
+        }
+
+        @Override
+        public void onException(Message message, Exception exception) {
+            settle(exception);
+        }
+
+        void settle(Throwable error) {
+            if (!settled.compareAndSet(false, true)) {
+                return;
+            }
+
+            ackWindow.release();
+            inFlight.decrementAndGet();
+
+            if (error == null) {
+                acknowledged.incrementAndGet();
+                if (ackLatencyTimer != null) {
+                    ackLatencyTimer.record(System.nanoTime() - sendStartNanos, TimeUnit.NANOSECONDS);
+                }
+                future.complete(null);
+            } else {
+                failed.incrementAndGet();
+                future.completeExceptionally(error);
+            }
+        }
+    }
+}
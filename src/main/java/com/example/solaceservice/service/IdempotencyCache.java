@@ -0,0 +1,281 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.IdempotencyProperties;
+import com.example.solaceservice.model.MessageResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache of ingest responses by idempotency key, used to answer client retries without
+ * publishing the message again.
+ *
+ * <h3>Usage:</h3>
+ * <pre>
+ * MessageResponse previous = idempotencyCache.reserve(key);
+ * if (previous != null) {
+ *     return previous;                         // duplicate (status IN_PROGRESS while the original is running)
+ * }
+ * try {
+ *     ... publish ...
+ *     idempotencyCache.complete(key, response); // remembered for ttl-ms
+ * } catch (Exception e) {
+ *     idempotencyCache.release(key);          // failures are not remembered, the retry publishes
+ * }
+ * </pre>
+ *
+ * <h3>Memory:</h3>
+ * <p>Keys are stored as 64-bit hashes, never as the client's key string, and responses in a
+ * compact form (message ID as a {@link UUID}, timestamp as epoch millis). The cache is split into
+ * {@code segments} access-ordered maps with their own lock; each segment evicts its least
+ * recently used entry beyond {@code max-entries / segments}, and entries older than
+ * {@code ttl-ms} are treated as absent.</p>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>{@code solace.idempotency.hits|misses} - lookups answered from / not found in the cache</li>
+ *   <li>{@code solace.idempotency.hit_ratio} - hits / lookups since startup</li>
+ *   <li>{@code solace.idempotency.evictions} - entries evicted by size</li>
+ *   <li>{@code solace.idempotency.size} - remembered responses</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "solace.idempotency.enabled", havingValue = "true")
+public class IdempotencyCache {
+
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+
+    @Autowired
+    private IdempotencyProperties properties;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private Segment[] segments;
+    private long ttlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @PostConstruct
+    public void initialize() {
+        int segmentCount = Math.max(1, properties.getSegments());
+        int segmentCapacity = Math.max(1, properties.getMaxEntries() / segmentCount);
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+        ttlNanos = TimeUnit.MILLISECONDS.toNanos(properties.getTtlMs());
+
+        if (meterRegistry != null) {
+            FunctionCounter.builder("solace.idempotency.hits", hits, LongAdder::sum)
+                    .description("Ingest requests answered from the idempotency cache")
+                    .register(meterRegistry);
+            FunctionCounter.builder("solace.idempotency.misses", misses, LongAdder::sum)
+                    .description("Ingest requests not found in the idempotency cache")
+                    .register(meterRegistry);
+            FunctionCounter.builder("solace.idempotency.evictions", evictions, LongAdder::sum)
+                    .description("Idempotency entries evicted by size")
+                    .register(meterRegistry);
+            Gauge.builder("solace.idempotency.hit_ratio", this, IdempotencyCache::getHitRatio)
+                    .description("Share of keyed ingest requests that were duplicates")
+                    .register(meterRegistry);
+            Gauge.builder("solace.idempotency.size", this, IdempotencyCache::size)
+                    .description("Remembered ingest responses")
+                    .register(meterRegistry);
+        }
+
+        log.info("Idempotency cache initialized - Max entries: {}, Segments: {}, TTL: {}ms",
+                properties.getMaxEntries(), segmentCount, properties.getTtlMs());
+    }
+
+    public String getKeyHeader() {
+        return properties.getKeyHeader();
+    }
+
+    /**
+     * Resolve the idempotency key of a request: the header value, else the correlationId if enabled.
+     *
+     * @return Key, or null if the request is not idempotent
+     */
+    public String resolveKey(String headerValue, String correlationId) {
+        if (headerValue != null && !headerValue.isBlank()) {
+            return "key:" + headerValue;
+        }
+        if (properties.isUseCorrelationId() && correlationId != null && !correlationId.isBlank()) {
+            return "correlation:" + correlationId;
+        }
+        return null;
+    }
+
+    /**
+     * Look up a key and reserve it if it is unknown.
+     *
+     * @return null if the key was reserved for the caller, otherwise the response of the original
+     *         request (status {@link #IN_PROGRESS} while that request is still being processed)
+     */
+    public MessageResponse reserve(String key) {
+        long hash = hash(key);
+        long now = System.nanoTime();
+        Segment segment = segmentFor(hash);
+
+        segment.lock.lock();
+        try {
+            Entry existing = segment.entries.get(hash);
+            if (existing != null && now - existing.createdNanos() < ttlNanos) {
+                hits.increment();
+                return existing.toResponse();
+            }
+            misses.increment();
+            segment.entries.put(hash, Entry.pending(now));
+            return null;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Remember the response of a reserved key.
+     */
+    public void complete(String key, MessageResponse response) {
+        long hash = hash(key);
+        Segment segment = segmentFor(hash);
+
+        segment.lock.lock();
+        try {
+            segment.entries.put(hash, Entry.of(response, System.nanoTime()));
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Forget a reserved key (the request failed and may be retried).
+     */
+    public void release(String key) {
+        long hash = hash(key);
+        Segment segment = segmentFor(hash);
+
+        segment.lock.lock();
+        try {
+            segment.entries.remove(hash);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(long hash) {
+        // High bits pick the segment; the map itself hashes the full key
+        return segments[(int) ((hash >>> 32) % segments.length)];
+    }
+
+    /**
+     * 64-bit FNV-1a of the UTF-8 key, finalized with the MurmurHash3 mixer.
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash & Long.MAX_VALUE;
+    }
+
+    /**
+     * Access-ordered map evicting its least recently used entry beyond the capacity.
+     */
+    private class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Long, Entry> entries;
+
+        Segment(int capacity) {
+            entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    /**
+     * Compact response: a pending entry has no status.
+     */
+    private record Entry(long createdNanos, UUID messageId, String status, String destination, long timestampMillis) {
+
+        static Entry pending(long createdNanos) {
+            return new Entry(createdNanos, null, null, null, 0);
+        }
+
+        static Entry of(MessageResponse response, long createdNanos) {
+            long timestampMillis = response.getTimestamp() != null
+                    ? response.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                    : System.currentTimeMillis();
+            return new Entry(createdNanos, UUID.fromString(response.getMessageId()), response.getStatus(),
+                    response.getDestination(), timestampMillis);
+        }
+
+        MessageResponse toResponse() {
+            if (status == null) {
+                return new MessageResponse(null, IN_PROGRESS, null, LocalDateTime.now());
+            }
+            return new MessageResponse(messageId.toString(), status, destination,
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), ZoneId.systemDefault()));
+        }
+    }
+}
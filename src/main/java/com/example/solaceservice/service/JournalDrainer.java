@@ -0,0 +1,146 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.JournalProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Background forwarder of the {@link PublishJournal} to Solace.
+ *
+ * <p>A single thread reads the journal in append order and forwards batches of up to
+ * {@code drain-batch-size} messages through one JMS session, so a backlog is drained at the
+ * broker's full rate once it is reachable. Forwarding stops at the first failed message and is
+ * retried from that message after an exponential backoff, which keeps the order of messages
+ * per destination.</p>
+ *
+ * <p>A message that is rejected for a reason other than the broker (e.g. guaranteed QoS while
+ * guaranteed publishing is disabled), or that fails {@code max-forward-attempts} times in a row
+ * while the broker is reachable, is moved to the journal's dead-letter file so that forwarding
+ * continues with the next message. While the broker is unreachable nothing is dead-lettered.</p>
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = {"spring.jms.solace.enabled", "solace.journal.enabled"}, havingValue = "true")
+public class JournalDrainer {
+
+    private static final long IDLE_WAIT_MS = 500;
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    @Autowired
+    private PublishJournal journal;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private JournalProperties properties;
+
+    private Thread drainerThread;
+    private volatile boolean running = false;
+
+    @PostConstruct
+    public void start() {
+        if (properties.getMaxForwardAttempts() < 1) {
+            throw new IllegalStateException("solace.journal.max-forward-attempts must be at least 1, was "
+                    + properties.getMaxForwardAttempts());
+        }
+        running = true;
+        drainerThread = Thread.ofPlatform().name("journal-drainer").start(this::drain);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (drainerThread == null) {
+            return;
+        }
+        drainerThread.interrupt();
+        try {
+            drainerThread.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        int consecutiveFailures = 0;
+        // Failed forward attempts of the entry at the drain position, with the broker reachable
+        String failedMessageId = null;
+        int failedAttempts = 0;
+
+        while (running) {
+            try {
+                List<PublishJournal.Entry> entries = journal.peek(properties.getDrainBatchSize());
+                if (entries.isEmpty()) {
+                    journal.awaitAppend(IDLE_WAIT_MS);
+                    continue;
+                }
+
+                MessageService.JournalForward result = forward(entries);
+                int forwarded = result != null ? result.forwarded() : 0;
+                journal.commit(entries.subList(0, forwarded));
+
+                if (forwarded < entries.size()) {
+                    PublishJournal.Entry head = entries.get(forwarded);
+                    if (result != null) {
+                        failedAttempts = head.messageId().equals(failedMessageId) ? failedAttempts + 1 : 1;
+                        failedMessageId = head.messageId();
+                        if (result.rejected() || failedAttempts >= properties.getMaxForwardAttempts()) {
+                            log.error("Journaled message {} to {} cannot be forwarded ({}), moving it to the dead-letter file",
+                                    head.messageId(), head.request().getDestination(),
+                                    result.rejected() ? "rejected" : failedAttempts + " failed attempts");
+                            journal.deadLetter(head);
+                            failedMessageId = null;
+                            failedAttempts = 0;
+                            continue;
+                        }
+                    }
+                    log.warn("Journal forwarding stopped at message {} - Backlog: {}",
+                            head.messageId(), journal.getBacklog());
+                    backoff(consecutiveFailures++);
+                } else {
+                    if (consecutiveFailures > 0) {
+                        log.info("Journal forwarding resumed - Backlog: {}", journal.getBacklog());
+                    }
+                    consecutiveFailures = 0;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error in journal drainer", e);
+                try {
+                    backoff(consecutiveFailures++);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void backoff(int consecutiveFailures) throws InterruptedException {
+        long backoffMs = Math.min(properties.getRetryBackoffMs() << Math.min(consecutiveFailures, 16), MAX_BACKOFF_MS);
+        log.debug("Retrying journal forwarding in {}ms", backoffMs);
+        Thread.sleep(backoffMs);
+    }
+
+    /**
+     * @return Result of the forward, or null if the broker is unreachable
+     */
+    private MessageService.JournalForward forward(List<PublishJournal.Entry> entries) {
+        try {
+            return messageService.forwardJournaled(entries);
+        } catch (Exception e) {
+            // Session could not be created - broker unreachable
+            log.debug("Failed to forward journaled messages: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.ArchivalProperties;
+import com.example.solaceservice.model.StoredMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind pipeline archiving published messages to Azure Blob Storage.
+ *
+ * <p>Publishers hand a {@link StoredMessage} to {@link #archive(StoredMessage)}, which only
+ * enqueues it; a fixed number of workers drain the bounded queue and perform the blob upload.
+ * Archival load is therefore bounded by {@code workers} and never competes with the request
+ * threads or the common fork-join pool.</p>
+ *
+ * <h3>Overflow:</h3>
+ * <p>When the queue is full the configured {@link ArchivalProperties.OverflowPolicy} applies:
+ * drop, block the publisher for a bounded time, or spill the message to a local NDJSON file.
+ * Spilled messages are encrypted first when encryption is enabled, and are replayed into the
+ * queue once it has drained below half its capacity (including files left from a previous run).</p>
+ *
+ * <h3>Shutdown:</h3>
+ * <p>On shutdown the workers keep draining the queue for up to {@code shutdownTimeoutMs};
+ * whatever is left is spilled to disk and archived after the next start.</p>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>{@code archival.queue.depth} - messages waiting in the queue</li>
+ *   <li>{@code archival.queue.oldest_age} - age of the oldest queued message (seconds)</li>
+ *   <li>{@code archival.lag} - time from enqueue to stored blob</li>
+ *   <li>{@code archival.enqueued|stored|failed|dropped|spilled|replayed} - message counters</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "azure.storage.enabled", havingValue = "true", matchIfMissing = false)
+public class MessageArchiver {
+
+    static final String SPILL_FILE = "archival-spill.ndjson";
+    static final String REPLAY_SUFFIX = ".replay";
+
+    private static final long POLL_INTERVAL_MS = 200;
+    private static final long REPLAY_INTERVAL_MS = 1000;
+
+    @Autowired
+    private AzureStorageService azureStorageService;
+
+    @Autowired
+    private ArchivalProperties properties;
+
+    @Autowired(required = false)
+    private Environment environment;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private BlockingQueue<ArchivalTask> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private ScheduledExecutorService spillReplayer;
+    private Path spillDirectory;
+    private final Object spillLock = new Object();
+
+    private volatile boolean running = false;
+    private volatile boolean stopping = false;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private Timer lagTimer;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        spillDirectory = Paths.get(properties.getSpillDirectory());
+        registerMetrics();
+
+        running = true;
+        ThreadFactory workerFactory = environment != null && Threading.VIRTUAL.isActive(environment)
+                ? Thread.ofVirtual().name("archival-worker-", 0).factory()
+                : Thread.ofPlatform().name("archival-worker-", 0).factory();
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            Thread worker = workerFactory.newThread(this::runWorker);
+            workers.add(worker);
+            worker.start();
+        }
+
+        spillReplayer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("archival-spill-replayer").daemon(true).factory());
+        spillReplayer.scheduleWithFixedDelay(this::replaySpilled,
+                REPLAY_INTERVAL_MS, REPLAY_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        log.info("Message archival pipeline started - Workers: {}, Queue capacity: {}, Overflow policy: {}",
+                properties.getWorkers(), properties.getQueueCapacity(), properties.getOverflowPolicy());
+    }
+
+    /**
+     * Queue a message for archival. Never throws; failures are logged and counted.
+     *
+     * @param message Message to archive
+     * @return true if the message was queued or spilled, false if it was dropped
+     */
+    public boolean archive(StoredMessage message) {
+        ArchivalTask task = new ArchivalTask(message, System.nanoTime());
+
+        if (!running) {
+            // Shutting down - keep the message for the next start
+            return spill(message);
+        }
+
+        if (queue.offer(task)) {
+            enqueued.increment();
+            return true;
+        }
+
+        switch (properties.getOverflowPolicy()) {
+            case BLOCK -> {
+                try {
+                    if (queue.offer(task, properties.getBlockTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                        enqueued.increment();
+                        return true;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return drop(message);
+            }
+            case SPILL -> {
+                return spill(message);
+            }
+            default -> {
+                return drop(message);
+            }
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getStored() {
+        return stored.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getSpilled() {
+        return spilled.sum();
+    }
+
+    public long getReplayed() {
+        return replayed.sum();
+    }
+
+    /**
+     * Flush the queue and stop the workers. Messages that cannot be archived within
+     * {@code shutdownTimeoutMs} are spilled to disk.
+     */
+    @PreDestroy
+    public void shutdown() {
+        log.info("Flushing message archival queue ({} pending)", queue.size());
+
+        stopping = true;
+        spillReplayer.shutdown();
+        try {
+            spillReplayer.awaitTermination(properties.getShutdownTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Workers exit once the queue is empty
+        running = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getShutdownTimeoutMs());
+        for (Thread worker : workers) {
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            try {
+                worker.join(Math.max(remainingMs, 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        List<ArchivalTask> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(task -> spill(task.message()));
+        workers.forEach(Thread::interrupt);
+
+        log.info("Message archival pipeline stopped - Stored: {}, Failed: {}, Dropped: {}, Spilled at shutdown: {}",
+                stored.sum(), failed.sum(), dropped.sum(), remaining.size());
+    }
+
+    private void runWorker() {
+        while (running || !queue.isEmpty()) {
+            ArchivalTask task;
+            try {
+                task = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (task != null) {
+                store(task);
+            }
+        }
+    }
+
+    private void store(ArchivalTask task) {
+        StoredMessage message = task.message();
+        try {
+            azureStorageService.storeMessage(message);
+            stored.increment();
+            if (lagTimer != null) {
+                lagTimer.record(System.nanoTime() - task.enqueuedNanos(), TimeUnit.NANOSECONDS);
+            }
+            log.info("Message {} stored to Azure Blob Storage with status: {}",
+                    message.getMessageId(), message.getOriginalStatus());
+        } catch (Exception e) {
+            // Don't fail the entire operation if storage fails
+            failed.increment();
+            log.error("Failed to store message {} to Azure Blob Storage", message.getMessageId(), e);
+        }
+    }
+
+    private boolean drop(StoredMessage message) {
+        dropped.increment();
+        log.warn("Archival queue full ({}), dropping message {}", properties.getQueueCapacity(), message.getMessageId());
+        return false;
+    }
+
+    private boolean spill(StoredMessage message) {
+        try {
+            String line = objectMapper.writeValueAsString(azureStorageService.encryptForStorage(message));
+            synchronized (spillLock) {
+                Files.createDirectories(spillDirectory);
+                try (BufferedWriter writer = Files.newBufferedWriter(spillDirectory.resolve(SPILL_FILE),
+                        StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+            spilled.increment();
+            log.debug("Spilled message {} to {}", message.getMessageId(), spillDirectory);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to spill message {} to {}", message.getMessageId(), spillDirectory, e);
+            return drop(message);
+        }
+    }
+
+    /**
+     * Move spilled messages back into the queue once it has drained below half its capacity.
+     */
+    private void replaySpilled() {
+        try {
+            if (queue.size() > properties.getQueueCapacity() / 2 || !Files.isDirectory(spillDirectory)) {
+                return;
+            }
+
+            synchronized (spillLock) {
+                Path spillFile = spillDirectory.resolve(SPILL_FILE);
+                if (Files.exists(spillFile) && Files.size(spillFile) > 0) {
+                    Files.move(spillFile, spillDirectory.resolve(SPILL_FILE + "." + System.nanoTime() + REPLAY_SUFFIX),
+                            StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+
+            try (DirectoryStream<Path> replayFiles = Files.newDirectoryStream(spillDirectory, "*" + REPLAY_SUFFIX)) {
+                for (Path replayFile : replayFiles) {
+                    if (!replayFile(replayFile)) {
+                        return;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to replay spilled archival messages from {}", spillDirectory, e);
+        }
+    }
+
+    /**
+     * Re-queue all messages of a replay file, waiting for queue space.
+     *
+     * @return true if the whole file was replayed and deleted
+     */
+    private boolean replayFile(Path replayFile) throws IOException {
+        long count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                StoredMessage message = objectMapper.readValue(line, StoredMessage.class);
+                ArchivalTask task = new ArchivalTask(message, System.nanoTime());
+                while (!queue.offer(task, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                    if (stopping) {
+                        // Keep the unreplayed rest for the next start
+                        spill(message);
+                        while ((line = reader.readLine()) != null) {
+                            if (!line.isBlank()) {
+                                spill(objectMapper.readValue(line, StoredMessage.class));
+                            }
+                        }
+                        Files.delete(replayFile);
+                        return false;
+                    }
+                }
+                enqueued.increment();
+                replayed.increment();
+                count++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        Files.delete(replayFile);
+        log.info("Replayed {} spilled messages from {}", count, replayFile.getFileName());
+        return true;
+    }
+
+    private void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+
+        Gauge.builder("archival.queue.depth", this, MessageArchiver::getQueueDepth)
+                .description("Messages waiting to be archived")
+                .register(meterRegistry);
+        Gauge.builder("archival.queue.oldest_age", this, MessageArchiver::oldestQueuedAgeSeconds)
+                .description("Age of the oldest queued message in seconds")
+                .register(meterRegistry);
+        lagTimer = Timer.builder("archival.lag")
+                .description("Time from enqueue to stored blob")
+                .register(meterRegistry);
+
+        registerCounter("archival.enqueued", enqueued);
+        registerCounter("archival.stored", stored);
+        registerCounter("archival.failed", failed);
+        registerCounter("archival.dropped", dropped);
+        registerCounter("archival.spilled", spilled);
+        registerCounter("archival.replayed", replayed);
+    }
+
+    private void registerCounter(String name, LongAdder adder) {
+        FunctionCounter.builder(name, adder, LongAdder::doubleValue).register(meterRegistry);
+    }
+
+    private double oldestQueuedAgeSeconds() {
+        ArchivalTask oldest = queue.peek();
+        return oldest == null ? 0 : (System.nanoTime() - oldest.enqueuedNanos()) / 1_000_000_000.0;
+    }
+
+    private record ArchivalTask(StoredMessage message, long enqueuedNanos) {
+    }
+}
@@ -46,6 +46,14 @@ public class MessageExclusionService {
         log.info("Loaded {} exclusion rules", rules.size());
     }
     
+    /**
+     * Check whether any active rule exists, i.e. whether {@link #shouldExclude} needs the content at all.
+     * Lets binary ingestion skip decoding payloads into Strings while no rules are configured.
+     */
+    public boolean hasActiveRules() {
+        return rules.values().stream().anyMatch(ExclusionRule::isActive);
+    }
+
     /**
      * Check if a message should be excluded
      * @param content Message content
@@ -1,92 +1,666 @@
 package com.example.solaceservice.service;
 
+import com.example.solaceservice.config.GuaranteedPublishingProperties;
+import com.example.solaceservice.config.MessageTypeSelectorProperties;
 import com.example.solaceservice.model.MessageRequest;
+import com.example.solaceservice.model.PublishQos;
 import com.example.solaceservice.model.StoredMessage;
+import com.example.solaceservice.transport.JmsMessageTransport;
+import com.example.solaceservice.transport.MessageTransport;
+import com.example.solaceservice.transport.TransportMessage;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jms.JmsException;
 import org.springframework.jms.core.JmsTemplate;
 import org.springframework.jms.core.MessageCreator;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.jms.support.JmsUtils;
 import org.springframework.stereotype.Service;
 
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.Destination;
 import jakarta.jms.JMSException;
 import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
 import jakarta.jms.Session;
-import jakarta.jms.TextMessage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @Slf4j
 public class MessageService {
 
+    static final String JOURNALED = "JOURNALED";
+    // Not sent because of the broker or the connection to it; journaled when the journal is enabled
+    private static final String UNDELIVERED = "UNDELIVERED";
+
     @Autowired(required = false)
     private JmsTemplate jmsTemplate;
 
     @Autowired(required = false)
-    private AzureStorageService azureStorageService;
+    private MessageTransport messageTransport;
+
+    @Autowired(required = false)
+    private MessageArchiver messageArchiver;
+
+    @Autowired(required = false)
+    private GuaranteedPublisher guaranteedPublisher;
+
+    @Autowired(required = false)
+    private PublishJournal publishJournal;
+
+    @Autowired(required = false)
+    private PublishCoalescer publishCoalescer;
+
+    @Autowired(required = false)
+    private PartitionKeyResolver partitionKeyResolver;
+
+    @Autowired(required = false)
+    private TopicPublisher topicPublisher;
+
+    @Autowired(required = false)
+    private ClaimCheckService claimCheckService;
+
+    @Autowired(required = false)
+    private SwiftTransformerService transformerService;
+
+    @Autowired
+    private GuaranteedPublishingProperties guaranteedProperties;
+
+    @Autowired
+    @Qualifier("publishTaskExecutor")
+    private Executor publishTaskExecutor;
 
     @Value("${solace.queue.name}")
     private String defaultQueue;
 
-    public void sendMessage(MessageRequest request, String messageId) {
+    /**
+     * Guaranteed, coalesced and topic publishing and the publish journal send to Solace directly,
+     * so on another transport they would bypass it.
+     */
+    @PostConstruct
+    public void checkTransport() {
+        if (messageTransport == null || messageTransport instanceof JmsMessageTransport) {
+            return;
+        }
+        List<String> solaceOnly = new ArrayList<>();
+        if (guaranteedPublisher != null) {
+            solaceOnly.add("solace.guaranteed");
+        }
+        if (publishCoalescer != null) {
+            solaceOnly.add("solace.coalescing");
+        }
+        if (topicPublisher != null) {
+            solaceOnly.add("solace.topic-publishing");
+        }
+        if (publishJournal != null) {
+            solaceOnly.add("solace.journal");
+        }
+        if (!solaceOnly.isEmpty()) {
+            throw new IllegalStateException(solaceOnly + " publish to Solace directly and need messaging.transport.type=JMS");
+        }
+    }
+
+    /**
+     * Publish a message, waiting for the send (or, for guaranteed QoS, the broker acknowledgement).
+     *
+     * @param request   Message to publish
+     * @param messageId Message ID
+     * @return SENT, JOURNALED (accepted by the publish journal, forwarded later) or LOGGED_ONLY
+     *         (Solace is not configured)
+     */
+    public String sendMessage(MessageRequest request, String messageId) {
         String status = "SENT";
 
-        if (jmsTemplate == null) {
-            log.warn("JMS Template not available - Solace is not configured. Message would be sent to: {} with content: {}",
+        if (messageTransport == null) {
+            log.warn("Messaging transport not available - Solace is not configured. Message would be sent to: {} with content: {}",
                     request.getDestination() != null ? request.getDestination() : defaultQueue,
-                    request.getContent());
+                    contentForLog(request));
             status = "LOGGED_ONLY";
+        } else if (publishJournal != null && publishJournal.shouldJournal()) {
+            // Accepted durably; archived when the drainer forwards it
+            publishJournal.append(request, messageId);
+            return JOURNALED;
         } else {
-            String destination = request.getDestination() != null ? request.getDestination() : defaultQueue;
+            PublishQos qos = resolveQos(request);
+            boolean topic = publishesToTopic(qos);
+            String destination = topic ? topicPublisher.topicFor(request) : resolveDestination(request);
 
-            log.info("Sending message to queue: {}", destination);
+            log.info("Sending {} message to {}: {}", qos, topic ? "topic" : "queue", destination);
 
             try {
-                jmsTemplate.send(destination, new MessageCreator() {
-                    @Override
-                    public Message createMessage(Session session) throws JMSException {
-                        TextMessage message = session.createTextMessage(request.getContent());
-                        message.setJMSMessageID(messageId);
-
-                        if (request.getCorrelationId() != null) {
-                            message.setJMSCorrelationID(request.getCorrelationId());
-                        }
-
-                        message.setStringProperty("timestamp", String.valueOf(System.currentTimeMillis()));
-                        message.setStringProperty("source", "solace-service");
+                checkIn(request, messageId);
+                MessageCreator messageCreator = session -> createMessage(session, request, messageId, destination);
+                if (qos == PublishQos.GUARANTEED) {
+                    // Waits for the broker acknowledgement; concurrent callers are pipelined
+                    requireGuaranteedPublisher().publish(destination, messageCreator).join();
+                } else if (publishCoalescer != null) {
+                    // Published together with concurrent sends through one session
+                    (topic ? publishCoalescer.publishToTopic(destination, messageCreator)
+                            : publishCoalescer.publish(destination, messageCreator)).join();
+                } else if (topic) {
+                    topicPublisher.send(destination, messageCreator);
+                } else {
+                    messageTransport.send(destination, transportMessage(request, messageId));
+                }
 
-                        log.debug("Created message with ID: {} for destination: {}", messageId, destination);
-                        return message;
-                    }
-                });
-
-                log.info("Message sent successfully to queue: {} with ID: {}", destination, messageId);
+                log.info("Message sent successfully to {}: {} with ID: {}", topic ? "topic" : "queue", destination, messageId);
             } catch (Exception e) {
+                if (publishJournal != null && isBrokerFailure(e)) {
+                    log.warn("Failed to send message {} to Solace, journaling for later delivery: {}",
+                            messageId, e.getMessage());
+                    publishJournal.append(request, messageId);
+                    return JOURNALED;
+                }
                 log.error("Failed to send message to Solace", e);
-                status = "FAILED";
                 throw e;
             }
         }
 
-        // Store message to Azure asynchronously (fire-and-forget)
-        if (azureStorageService != null) {
-            storeMessageAsync(request, messageId, status);
+        // Queue message for Azure archival (write-behind)
+        archive(request, messageId, status);
+        return status;
+    }
+
+    /**
+     * Publish a message without blocking the calling thread.
+     *
+     * <p>Direct sends run on the {@code publishTaskExecutor}, or are queued on the
+     * {@link PublishCoalescer} when coalescing is enabled. Guaranteed sends are handed to
+     * the {@link GuaranteedPublisher} from that executor as well (waiting for an ack window slot
+     * may block) and complete when the broker acknowledgement arrives.</p>
+     *
+     * @param request   Message to publish
+     * @param messageId Message ID
+     * @return Future of SENT, JOURNALED or LOGGED_ONLY, completed exceptionally when the send fails
+     */
+    public CompletableFuture<String> sendMessageAsync(MessageRequest request, String messageId) {
+        if (messageTransport == null) {
+            log.warn("Messaging transport not available - Solace is not configured. Message would be sent to: {} with content: {}",
+                    resolveDestination(request), contentForLog(request));
+            archive(request, messageId, "LOGGED_ONLY");
+            return CompletableFuture.completedFuture("LOGGED_ONLY");
+        }
+
+        if (publishJournal != null && publishJournal.shouldJournal()) {
+            publishJournal.append(request, messageId);
+            return CompletableFuture.completedFuture(JOURNALED);
+        }
+
+        PublishQos qos = resolveQos(request);
+        boolean topic = publishesToTopic(qos);
+        String destination = topic ? topicPublisher.topicFor(request) : resolveDestination(request);
+
+        log.info("Sending {} message asynchronously to {}: {}", qos, topic ? "topic" : "queue", destination);
+
+        CompletableFuture<Void> publish;
+        if (claimCheckService != null && claimCheckService.exceedsThreshold(request)) {
+            // The blob upload runs on the executor as well, never on the calling thread
+            publish = CompletableFuture.runAsync(() -> claimCheckService.checkIn(request, messageId), publishTaskExecutor)
+                    .thenCompose(ignored -> startPublish(qos, topic, destination, request, messageId));
+        } else {
+            publish = startPublish(qos, topic, destination, request, messageId);
         }
+
+        return publish.handle((ignored, error) -> {
+            if (error == null) {
+                log.info("Message sent successfully to {}: {} with ID: {}", topic ? "topic" : "queue", destination, messageId);
+                // Queue message for Azure archival (write-behind)
+                archive(request, messageId, "SENT");
+                return "SENT";
+            }
+
+            if (publishJournal != null && isBrokerFailure(error)) {
+                log.warn("Failed to send message {} to Solace, journaling for later delivery: {}",
+                        messageId, error.getMessage());
+                publishJournal.append(request, messageId);
+                return JOURNALED;
+            }
+
+            log.error("Failed to send message {} to Solace", messageId, error);
+            archive(request, messageId, "FAILED");
+            throw error instanceof CompletionException completionException
+                    ? completionException : new CompletionException(error);
+        });
     }
 
-    @Async("messageTaskExecutor")
-    public CompletableFuture<Void> storeMessageAsync(MessageRequest request, String messageId, String status) {
-        return CompletableFuture.runAsync(() -> {
+    private CompletableFuture<Void> startPublish(PublishQos qos, boolean topic, String destination,
+                                                 MessageRequest request, String messageId) {
+        MessageCreator messageCreator = session -> createMessage(session, request, messageId, destination);
+        if (qos == PublishQos.GUARANTEED) {
+            GuaranteedPublisher publisher = requireGuaranteedPublisher();
+            return CompletableFuture.supplyAsync(() -> publisher.publish(destination, messageCreator), publishTaskExecutor)
+                    .thenCompose(acknowledgement -> acknowledgement);
+        } else if (publishCoalescer != null) {
+            return topic ? publishCoalescer.publishToTopic(destination, messageCreator)
+                    : publishCoalescer.publish(destination, messageCreator);
+        } else if (topic) {
+            return CompletableFuture.runAsync(() -> topicPublisher.send(destination, messageCreator), publishTaskExecutor);
+        }
+        return CompletableFuture.runAsync(
+                () -> messageTransport.send(destination, transportMessage(request, messageId)), publishTaskExecutor);
+    }
+
+    /**
+     * Forward messages from the {@link PublishJournal} in journal order through one session.
+     * Stops at the first message that cannot be sent so that the order per destination is kept.
+     *
+     * @param entries Journaled messages, in journal order
+     * @return Number of leading entries that were forwarded, and whether the entry after them was
+     *         rejected
+     */
+    public JournalForward forwardJournaled(List<PublishJournal.Entry> entries) {
+        JournalForward forwarded = jmsTemplate.execute(session -> {
+            JmsSessionPublisher publisher = new JmsSessionPublisher(session, true);
             try {
-                StoredMessage storedMessage = StoredMessage.fromRequest(request, messageId, status);
-                azureStorageService.storeMessage(storedMessage);
-                log.info("Message {} stored to Azure Blob Storage with status: {}", messageId, status);
-            } catch (Exception e) {
-                log.error("Failed to store message {} to Azure Blob Storage", messageId, e);
-                // Don't fail the entire operation if storage fails
+                List<CompletableFuture<String>> results = new ArrayList<>(entries.size());
+                for (PublishJournal.Entry entry : entries) {
+                    CompletableFuture<String> result = publisher.send(entry.request(), entry.messageId());
+                    results.add(result);
+                    if (result.isDone() && !"SENT".equals(result.join())) {
+                        break;
+                    }
+                }
+
+                // Guaranteed entries complete on their acknowledgements
+                int count = 0;
+                while (count < results.size() && "SENT".equals(results.get(count).join())) {
+                    count++;
+                }
+                return new JournalForward(count, count < results.size() && "FAILED".equals(results.get(count).join()));
+            } finally {
+                publisher.close();
             }
-        });
+        }, true);
+        return forwarded != null ? forwarded : new JournalForward(0, false);
+    }
+
+    /**
+     * Publish a batch of messages through a single JMS session.
+     *
+     * <p>All items share one session and one producer per destination instead of the
+     * connection/session/producer cycle that {@code JmsTemplate.send} performs per message.
+     * On the in-process transport each item is sent through the transport. A failing item is
+     * reported as FAILED and does not abort the rest of the batch.</p>
+     *
+     * @param requests   Messages to publish
+     * @param messageIds Message IDs, one per request (same order)
+     * @return Status per item in request order (SENT, FAILED or LOGGED_ONLY)
+     */
+    public List<String> sendBatch(List<MessageRequest> requests, List<String> messageIds) {
+        List<String> statuses = new ArrayList<>(requests.size());
+
+        log.info("Sending batch of {} messages", requests.size());
+
+        try {
+            List<CompletableFuture<String>> results = new ArrayList<>(requests.size());
+            streamMessages(publisher -> {
+                for (int i = 0; i < requests.size(); i++) {
+                    results.add(publisher.send(requests.get(i), messageIds.get(i)));
+                }
+            });
+
+            // Guaranteed items complete when their acknowledgements arrive
+            for (CompletableFuture<String> result : results) {
+                statuses.add(result.join());
+            }
+
+            log.info("Batch sent: {} of {} messages succeeded",
+                    statuses.stream().filter("SENT"::equals).count(), requests.size());
+        } catch (Exception e) {
+            // Session could not be created - every item not yet sent is FAILED
+            log.error("Failed to send batch to Solace", e);
+        }
+
+        while (statuses.size() < requests.size()) {
+            int i = statuses.size();
+            statuses.add("FAILED");
+            archive(requests.get(i), messageIds.get(i), "FAILED");
+        }
+
+        return statuses;
+    }
+
+    /**
+     * Publish messages one at a time through a single JMS session that stays open
+     * until the callback returns.
+     *
+     * <p>Used for batch and streaming ingestion: the callback pulls messages from its
+     * source and hands each one to the {@link SessionPublisher}. Direct sends complete
+     * before the callback reads the next message, and guaranteed sends wait for a free
+     * slot in the ack window, so a slow broker naturally slows down the reader. On the
+     * in-process transport there is no session; each message is sent through the transport.</p>
+     *
+     * @param callback Callback that publishes messages through the session
+     * @throws IOException if the callback fails reading its source
+     */
+    public void streamMessages(StreamCallback callback) throws IOException {
+        if (messageTransport == null) {
+            log.warn("Messaging transport not available - Solace is not configured. Streamed messages will only be logged");
+            callback.doInStream(new JmsSessionPublisher(null));
+            return;
+        }
+        if (!(messageTransport instanceof JmsMessageTransport)) {
+            callback.doInStream(new JmsSessionPublisher(null));
+            return;
+        }
+
+        try {
+            jmsTemplate.execute(session -> {
+                JmsSessionPublisher publisher = new JmsSessionPublisher(session);
+                try {
+                    callback.doInStream(publisher);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    publisher.close();
+                }
+                return null;
+            }, false);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Hand a message to the write-behind archival pipeline (no-op when Azure Storage is disabled).
+     */
+    private void archive(MessageRequest request, String messageId, String status) {
+        if (messageArchiver != null) {
+            messageArchiver.archive(StoredMessage.fromRequest(request, messageId, status));
+        }
+    }
+
+    /**
+     * Store a large payload in blob storage (claim-check) before it is published.
+     */
+    private void checkIn(MessageRequest request, String messageId) {
+        if (claimCheckService != null) {
+            claimCheckService.checkIn(request, messageId);
+        }
+    }
+
+    /**
+     * Create the JMS message for a request.
+     */
+    private Message createMessage(Session session, MessageRequest request, String messageId,
+                                  String destination) throws JMSException {
+        Message message = JmsMessageTransport.toJms(session, transportMessage(request, messageId));
+        log.debug("Created message with ID: {} for destination: {}", messageId, destination);
+        return message;
+    }
+
+    /**
+     * Create the transport message for a request.
+     */
+    private TransportMessage transportMessage(MessageRequest request, String messageId) {
+        TransportMessage message;
+        if (request.getClaimCheck() != null) {
+            // Payload is in blob storage, the broker only carries the reference
+            message = claimCheckService.createReference(request.getClaimCheck(), request.isBinary());
+        } else if (request.isBinary()) {
+            // Raw bytes go straight into the message body, without a String round trip
+            message = TransportMessage.bytes(request.getBinaryContent());
+        } else {
+            message = TransportMessage.text(request.getContent());
+        }
+        message.setMessageId(messageId);
+        message.setCorrelationId(request.getCorrelationId());
+
+        message.setProperty("timestamp", String.valueOf(System.currentTimeMillis()));
+        message.setProperty("source", "solace-service");
+        message.setProperty(MessageTypeSelectorProperties.MESSAGE_TYPE_PROPERTY, messageType(request));
+
+        if (partitionKeyResolver != null) {
+            if (request.isBinary()) {
+                partitionKeyResolver.apply(message, request.getCorrelationId(), request.getBinaryContent());
+            } else {
+                partitionKeyResolver.apply(message, request.getCorrelationId(), request.getContent());
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Message type stamped on published messages for per-type consumers: the request's type, or
+     * the type in the SWIFT header.
+     *
+     * @return Type, or null if the request has none and the payload is not a SWIFT message
+     */
+    private String messageType(MessageRequest request) {
+        if (request.getMessageType() != null || transformerService == null) {
+            return request.getMessageType();
+        }
+        String detected = request.isBinary()
+                ? transformerService.detectMessageTypeFromBytes(request.getBinaryContent())
+                : transformerService.detectMessageType(request.getContent());
+        return "UNKNOWN".equals(detected) ? null : detected;
+    }
+
+    private static String contentForLog(MessageRequest request) {
+        return request.isBinary() ? "<" + request.getBinaryContent().length + " bytes>" : request.getContent();
+    }
+
+    private String resolveDestination(MessageRequest request) {
+        return request.getDestination() != null ? request.getDestination() : defaultQueue;
+    }
+
+    /**
+     * Direct messages go to a topic when topic publishing is enabled; guaranteed messages keep using queues.
+     */
+    private boolean publishesToTopic(PublishQos qos) {
+        return topicPublisher != null && qos != PublishQos.GUARANTEED;
+    }
+
+    private PublishQos resolveQos(MessageRequest request) {
+        return request.getQos() != null ? request.getQos() : guaranteedProperties.getDefaultQos();
+    }
+
+    /**
+     * Whether a send failed at the broker or on the connection to it (including an acknowledgement
+     * that timed out), so it can be journaled and sent again later. Configuration and validation
+     * errors are not: journaling them would hold back the journal for a message that is never sent.
+     */
+    static boolean isBrokerFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JMSException || cause instanceof JmsException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private GuaranteedPublisher requireGuaranteedPublisher() {
+        if (guaranteedPublisher == null) {
+            throw new IllegalStateException(
+                    "Guaranteed QoS requested but guaranteed publishing is disabled (solace.guaranteed.enabled)");
+        }
+        return guaranteedPublisher;
+    }
+
+    /**
+     * Result of {@link #forwardJournaled(List)}.
+     *
+     * @param forwarded Number of leading entries that were forwarded
+     * @param rejected  The entry after them failed for a reason other than the broker (e.g. its QoS
+     *                  is disabled) and will never be sent
+     */
+    public record JournalForward(int forwarded, boolean rejected) {
+    }
+
+    /**
+     * Callback for {@link #streamMessages(StreamCallback)}.
+     */
+    @FunctionalInterface
+    public interface StreamCallback {
+        void doInStream(SessionPublisher publisher) throws IOException;
+    }
+
+    /**
+     * Publishes messages through a session owned by {@link #streamMessages(StreamCallback)}.
+     */
+    public interface SessionPublisher {
+        /**
+         * Publish a single message. Failures are reported through the returned status.
+         *
+         * <p>Direct messages are sent before this method returns. Guaranteed messages
+         * complete when the broker acknowledgement arrives.</p>
+         *
+         * @return Future of SENT, FAILED, JOURNALED or LOGGED_ONLY
+         */
+        CompletableFuture<String> send(MessageRequest request, String messageId);
+    }
+
+    /**
+     * Session publisher caching one producer per destination for the lifetime of the session.
+     * Without a session, messages are sent through the messaging transport (or only logged).
+     */
+    private class JmsSessionPublisher implements SessionPublisher {
+
+        private final Session session;
+        // Forwarding from the journal: failures are retried by the drainer, not journaled or archived
+        private final boolean forwarding;
+        private final Map<String, MessageProducer> producers = new HashMap<>();
+
+        JmsSessionPublisher(Session session) {
+            this(session, false);
+        }
+
+        JmsSessionPublisher(Session session, boolean forwarding) {
+            this.session = session;
+            this.forwarding = forwarding;
+        }
+
+        @Override
+        public CompletableFuture<String> send(MessageRequest request, String messageId) {
+            PublishQos qos = resolveQos(request);
+            boolean topic = publishesToTopic(qos);
+            String destination = topic ? topicPublisher.topicFor(request) : resolveDestination(request);
+            CompletableFuture<String> result;
+            boolean journaling = !forwarding && publishJournal != null;
+
+            if (session != null && journaling && publishJournal.shouldJournal()) {
+                publishJournal.append(request, messageId);
+                return CompletableFuture.completedFuture(JOURNALED);
+            } else if (messageTransport == null) {
+                log.warn("Message would be sent to: {} with content: {}", destination, contentForLog(request));
+                result = CompletableFuture.completedFuture("LOGGED_ONLY");
+            } else if (!checkedIn(request, messageId)) {
+                result = CompletableFuture.completedFuture("FAILED");
+            } else if (qos == PublishQos.GUARANTEED) {
+                result = sendGuaranteed(request, messageId, destination);
+            } else if (session == null) {
+                result = CompletableFuture.completedFuture(sendThroughTransport(request, messageId, destination));
+            } else {
+                result = CompletableFuture.completedFuture(sendDirect(request, messageId, destination, topic));
+            }
+
+            if (journaling) {
+                result = result.thenApply(status -> {
+                    if (!UNDELIVERED.equals(status)) {
+                        return status;
+                    }
+                    log.warn("Journaling message {} for later delivery to queue: {}", messageId, destination);
+                    publishJournal.append(request, messageId);
+                    return JOURNALED;
+                });
+            } else if (!forwarding) {
+                result = result.thenApply(status -> UNDELIVERED.equals(status) ? "FAILED" : status);
+            }
+
+            // Queue message for Azure archival (write-behind); journaled messages are archived when
+            // forwarded, undelivered forwards when retried
+            if (messageArchiver != null) {
+                result = result.thenApply(status -> {
+                    if (!JOURNALED.equals(status) && !UNDELIVERED.equals(status)) {
+                        archive(request, messageId, status);
+                    }
+                    return status;
+                });
+            }
+
+            return result;
+        }
+
+        private boolean checkedIn(MessageRequest request, String messageId) {
+            try {
+                checkIn(request, messageId);
+                return true;
+            } catch (RuntimeException e) {
+                log.error("Failed to store claim-check payload of message {}", messageId, e);
+                return false;
+            }
+        }
+
+        private String sendDirect(MessageRequest request, String messageId, String destination, boolean topic) {
+            try {
+                // A queue and a topic may share a name
+                String producerKey = topic ? "topic:" + destination : destination;
+                MessageProducer producer = producers.get(producerKey);
+                if (producer == null) {
+                    Destination jmsDestination = jmsTemplate.getDestinationResolver()
+                            .resolveDestinationName(session, destination, topic || jmsTemplate.isPubSubDomain());
+                    producer = session.createProducer(jmsDestination);
+                    producers.put(producerKey, producer);
+                }
+
+                Message message = createMessage(session, request, messageId, destination);
+                if (topic) {
+                    producer.send(message, DeliveryMode.NON_PERSISTENT, jmsTemplate.getPriority(), jmsTemplate.getTimeToLive());
+                } else if (jmsTemplate.isExplicitQosEnabled()) {
+                    producer.send(message, jmsTemplate.getDeliveryMode(),
+                            jmsTemplate.getPriority(), jmsTemplate.getTimeToLive());
+                } else {
+                    producer.send(message);
+                }
+                return "SENT";
+            } catch (JMSException e) {
+                log.error("Failed to send message {} to queue: {}", messageId, destination, e);
+                return UNDELIVERED;
+            }
+        }
+
+        private String sendThroughTransport(MessageRequest request, String messageId, String destination) {
+            try {
+                messageTransport.send(destination, transportMessage(request, messageId));
+                return "SENT";
+            } catch (RuntimeException e) {
+                log.error("Failed to send message {} to queue: {}", messageId, destination, e);
+                return "FAILED";
+            }
+        }
+
+        private CompletableFuture<String> sendGuaranteed(MessageRequest request, String messageId, String destination) {
+            if (guaranteedPublisher == null) {
+                log.error("Guaranteed QoS requested for message {} but guaranteed publishing is disabled", messageId);
+                return CompletableFuture.completedFuture("FAILED");
+            }
+
+            return guaranteedPublisher
+                    .publish(destination, guaranteedSession -> createMessage(guaranteedSession, request, messageId, destination))
+                    .handle((ignored, error) -> {
+                        if (error != null) {
+                            log.error("Guaranteed message {} to queue {} was not acknowledged", messageId, destination, error);
+                            return isBrokerFailure(error) ? UNDELIVERED : "FAILED";
+                        }
+                        return "SENT";
+                    });
+        }
+
+        void close() {
+            producers.values().forEach(JmsUtils::closeMessageProducer);
+            producers.clear();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,181 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.PartitionKeyProperties;
+import com.example.solaceservice.config.PartitionKeyProperties.Source;
+import com.example.solaceservice.transport.TransportMessage;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Derives the partition key of a message and sets it as a message property.
+ *
+ * <p>Used by every publish path (REST ingest, transformation output and transformation retry), so
+ * a payment keeps the same key from input queue to output queue. For SWIFT payloads the search is
+ * limited to the first {@code max-scan-length} characters; binary payloads are only decoded when
+ * a payload source is configured.</p>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>{@code solace.partition_key.keyed} - messages published with a partition key</li>
+ *   <li>{@code solace.partition_key.unkeyed} - messages for which no source yielded a key</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "solace.partition-key.enabled", havingValue = "true")
+public class PartitionKeyResolver {
+
+    private static final Pattern SWIFT_REFERENCE = Pattern.compile(":20:([^\\r\\n]+)");
+    private static final Pattern UETR = Pattern.compile("\\{121:([0-9a-fA-F-]{36})}");
+
+    @Autowired
+    private PartitionKeyProperties properties;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private List<Source> sources;
+    private boolean needsPayload;
+
+    private final LongAdder keyed = new LongAdder();
+    private final LongAdder unkeyed = new LongAdder();
+
+    @PostConstruct
+    public void initialize() {
+        sources = List.copyOf(properties.getSources());
+        needsPayload = sources.contains(Source.SWIFT_REFERENCE) || sources.contains(Source.UETR);
+
+        if (meterRegistry != null) {
+            FunctionCounter.builder("solace.partition_key.keyed", keyed, LongAdder::sum)
+                    .description("Messages published with a partition key")
+                    .register(meterRegistry);
+            FunctionCounter.builder("solace.partition_key.unkeyed", unkeyed, LongAdder::sum)
+                    .description("Messages published without a partition key")
+                    .register(meterRegistry);
+        }
+
+        log.info("Partition keys enabled - Sources: {}, Property: {}", sources, properties.getPropertyName());
+    }
+
+    /**
+     * Resolve the partition key from the first source that yields a value.
+     *
+     * @return Key, or null if no source applies
+     */
+    public String resolve(String correlationId, String content) {
+        return resolve(sources, correlationId, content, properties.getMaxScanLength());
+    }
+
+    /**
+     * Resolve a key from the first of the given sources that yields a value. Also used to key
+     * messages on the consumer side (see KeyOrderedDispatcher).
+     *
+     * @param maxScanLength Maximum number of payload characters searched for SWIFT fields
+     * @return Key, or null if no source applies
+     */
+    public static String resolve(List<Source> sources, String correlationId, String content, int maxScanLength) {
+        for (Source source : sources) {
+            String key = switch (source) {
+                case CORRELATION_ID -> correlationId;
+                case SWIFT_REFERENCE -> find(SWIFT_REFERENCE, content, maxScanLength);
+                case UETR -> find(UETR, content, maxScanLength);
+            };
+            if (key != null && !key.isBlank()) {
+                return key.strip();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolve the partition key of a binary payload.
+     */
+    public String resolve(String correlationId, byte[] content) {
+        String text = null;
+        if (needsPayload && content != null) {
+            // ISO-8859-1 maps every byte to one char; the SWIFT fields searched for are ASCII
+            text = new String(content, 0, Math.min(content.length, properties.getMaxScanLength()),
+                    StandardCharsets.ISO_8859_1);
+        }
+        return resolve(correlationId, text);
+    }
+
+    /**
+     * Resolve the key of a text payload and set it on the message.
+     */
+    public void apply(Message message, String correlationId, String content) throws JMSException {
+        set(message, resolve(correlationId, needsPayload ? content : null));
+    }
+
+    /**
+     * Resolve the key of a binary payload and set it on the message.
+     */
+    public void apply(Message message, String correlationId, byte[] content) throws JMSException {
+        set(message, resolve(correlationId, content));
+    }
+
+    /**
+     * Resolve the key of a text payload and set it on the message.
+     */
+    public void apply(TransportMessage message, String correlationId, String content) {
+        set(message, resolve(correlationId, needsPayload ? content : null));
+    }
+
+    /**
+     * Resolve the key of a binary payload and set it on the message.
+     */
+    public void apply(TransportMessage message, String correlationId, byte[] content) {
+        set(message, resolve(correlationId, content));
+    }
+
+    public long getKeyed() {
+        return keyed.sum();
+    }
+
+    public long getUnkeyed() {
+        return unkeyed.sum();
+    }
+
+    private void set(Message message, String key) throws JMSException {
+        if (count(key)) {
+            message.setStringProperty(properties.getPropertyName(), key);
+        }
+    }
+
+    private void set(TransportMessage message, String key) {
+        if (count(key)) {
+            message.setProperty(properties.getPropertyName(), key);
+        }
+    }
+
+    private boolean count(String key) {
+        if (key == null) {
+            unkeyed.increment();
+            return false;
+        }
+        keyed.increment();
+        return true;
+    }
+
+    private static String find(Pattern pattern, String content, int maxScanLength) {
+        if (content == null) {
+            return null;
+        }
+        Matcher matcher = pattern.matcher(content);
+        matcher.region(0, Math.min(content.length(), maxScanLength));
+        return matcher.find() ? matcher.group(1) : null;
+    }
+}
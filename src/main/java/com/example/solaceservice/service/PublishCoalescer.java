@@ -0,0 +1,352 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.CoalescingProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessageCreator;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces concurrent direct publishes into batches sent through one JMS session (group commit).
+ *
+ * <p>Each caller enqueues its message on a lane chosen by destination and receives a future that
+ * completes when its own message has been sent. A single worker per lane takes the first waiting
+ * message together with everything queued behind it and publishes them through one session,
+ * reusing one producer per destination. Because all messages for a destination share a lane and
+ * a lane publishes in queue order, the order per destination is kept.</p>
+ *
+ * <h3>Linger:</h3>
+ * <p>A message that arrives at an idle lane is published at once. Only when other messages were
+ * already waiting (i.e. callers are concurrent) does the lane wait up to {@code linger-micros}
+ * for the batch to fill, so low-load latency is unaffected while throughput rises under load.</p>
+ *
+ * <h3>Transactions:</h3>
+ * <p>With {@code transacted: true} a batch is committed once and all of its callers succeed or
+ * fail together. Otherwise each message is reported individually.</p>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>{@code solace.coalescing.batch.size} - messages per published batch</li>
+ *   <li>{@code solace.coalescing.queue.depth} - messages waiting, tagged by lane</li>
+ *   <li>{@code solace.coalescing.sent|failed} - message counters</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = {"spring.jms.solace.enabled", "solace.coalescing.enabled"}, havingValue = "true")
+public class PublishCoalescer {
+
+    private static final long POLL_INTERVAL_MS = 200;
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+    @Autowired
+    private JmsTemplate jmsTemplate;
+
+    @Autowired
+    private CoalescingProperties properties;
+
+    @Autowired(required = false)
+    private Environment environment;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private JmsTemplate batchTemplate;
+    private final List<BlockingQueue<PendingSend>> lanes = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = false;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private DistributionSummary batchSizeSummary;
+
+    @PostConstruct
+    public void start() {
+        batchTemplate = jmsTemplate;
+        if (properties.isTransacted()) {
+            // Same connection factory and QoS settings, but sessions are transacted and committed per batch
+            batchTemplate = new JmsTemplate(jmsTemplate.getConnectionFactory());
+            batchTemplate.setDestinationResolver(jmsTemplate.getDestinationResolver());
+            batchTemplate.setPubSubDomain(jmsTemplate.isPubSubDomain());
+            batchTemplate.setExplicitQosEnabled(jmsTemplate.isExplicitQosEnabled());
+            batchTemplate.setDeliveryMode(jmsTemplate.getDeliveryMode());
+            batchTemplate.setPriority(jmsTemplate.getPriority());
+            batchTemplate.setTimeToLive(jmsTemplate.getTimeToLive());
+            batchTemplate.setSessionTransacted(true);
+        }
+
+        running = true;
+        ThreadFactory workerFactory = environment != null && Threading.VIRTUAL.isActive(environment)
+                ? Thread.ofVirtual().name("publish-lane-", 0).factory()
+                : Thread.ofPlatform().name("publish-lane-", 0).factory();
+        for (int i = 0; i < properties.getLanes(); i++) {
+            BlockingQueue<PendingSend> lane = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+            lanes.add(lane);
+            Thread worker = workerFactory.newThread(() -> runLane(lane));
+            workers.add(worker);
+            worker.start();
+        }
+
+        registerMetrics();
+
+        log.info("Publish coalescing started - Lanes: {}, Max batch size: {}, Linger: {}us, Transacted: {}",
+                properties.getLanes(), properties.getMaxBatchSize(), properties.getLingerMicros(),
+                properties.isTransacted());
+    }
+
+    /**
+     * Queue a direct message for publishing with the next batch of its lane.
+     * Blocks while the lane queue is full.
+     *
+     * @param destinationName Queue name
+     * @param messageCreator  Creates the message from the batch session
+     * @return Future completed when the message has been sent (or its batch committed),
+     *         or completed exceptionally when the send fails
+     */
+    public CompletableFuture<Void> publish(String destinationName, MessageCreator messageCreator) {
+        return enqueue(new PendingSend(destinationName, false, messageCreator, new CompletableFuture<>()));
+    }
+
+    /**
+     * Queue a direct message to a topic (see {@link TopicPublisher}) for publishing with the next
+     * batch of its lane.
+     *
+     * @param topicName      Topic name
+     * @param messageCreator Creates the message from the batch session
+     * @return Future completed when the message has been sent (or its batch committed)
+     */
+    public CompletableFuture<Void> publishToTopic(String topicName, MessageCreator messageCreator) {
+        return enqueue(new PendingSend(topicName, true, messageCreator, new CompletableFuture<>()));
+    }
+
+    private CompletableFuture<Void> enqueue(PendingSend pending) {
+        if (!running) {
+            pending.future().completeExceptionally(new IllegalStateException("Publish coalescer is shut down"));
+            return pending.future();
+        }
+
+        try {
+            laneFor(pending.destination()).put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.future().completeExceptionally(e);
+        }
+        return pending.future();
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+
+        // Workers publish what is still queued before they exit
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MS;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.forEach(Thread::interrupt);
+
+        for (BlockingQueue<PendingSend> lane : lanes) {
+            List<PendingSend> remaining = new ArrayList<>();
+            lane.drainTo(remaining);
+            fail(remaining, new IllegalStateException("Publish coalescer shut down before the message was sent"));
+        }
+    }
+
+    private BlockingQueue<PendingSend> laneFor(String destinationName) {
+        return lanes.get(Math.floorMod(destinationName.hashCode(), lanes.size()));
+    }
+
+    private void runLane(BlockingQueue<PendingSend> lane) {
+        List<PendingSend> batch = new ArrayList<>(properties.getMaxBatchSize());
+
+        while (running || !lane.isEmpty()) {
+            try {
+                PendingSend first = lane.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                lane.drainTo(batch, properties.getMaxBatchSize() - 1);
+                if (batch.size() > 1) {
+                    // Concurrent callers - give the batch a short time to fill
+                    linger(lane, batch);
+                }
+
+                publishBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(batch, e);
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error in publish lane", e);
+                fail(batch, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void linger(BlockingQueue<PendingSend> lane, List<PendingSend> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(properties.getLingerMicros());
+
+        while (batch.size() < properties.getMaxBatchSize()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingSend next = lane.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            lane.drainTo(batch, properties.getMaxBatchSize() - batch.size());
+        }
+    }
+
+    private void publishBatch(List<PendingSend> batch) {
+        if (batchSizeSummary != null) {
+            batchSizeSummary.record(batch.size());
+        }
+
+        try {
+            batchTemplate.execute(session -> {
+                Map<String, MessageProducer> producers = new HashMap<>();
+                try {
+                    sendAll(session, producers, batch);
+                } finally {
+                    producers.values().forEach(JmsUtils::closeMessageProducer);
+                }
+                return null;
+            }, false);
+        } catch (Exception e) {
+            // Session could not be created or the commit failed
+            log.error("Failed to publish batch of {} messages", batch.size(), e);
+            fail(batch, e);
+        }
+    }
+
+    private void sendAll(Session session, Map<String, MessageProducer> producers,
+                         List<PendingSend> batch) throws JMSException {
+        if (!properties.isTransacted()) {
+            for (PendingSend pending : batch) {
+                try {
+                    send(session, producers, pending);
+                    sent.increment();
+                    pending.future().complete(null);
+                } catch (Exception e) {
+                    log.error("Failed to send message to queue: {}", pending.destination(), e);
+                    failed.increment();
+                    pending.future().completeExceptionally(e);
+                }
+            }
+            return;
+        }
+
+        try {
+            for (PendingSend pending : batch) {
+                send(session, producers, pending);
+            }
+            session.commit();
+        } catch (JMSException | RuntimeException e) {
+            JmsUtils.rollbackIfNecessary(session);
+            throw e;
+        }
+        sent.add(batch.size());
+        batch.forEach(pending -> pending.future().complete(null));
+    }
+
+    private void send(Session session, Map<String, MessageProducer> producers, PendingSend pending) throws JMSException {
+        // A queue and a topic may share a name
+        String producerKey = pending.topic() ? "topic:" + pending.destination() : pending.destination();
+        MessageProducer producer = producers.get(producerKey);
+        if (producer == null) {
+            Destination destination = batchTemplate.getDestinationResolver().resolveDestinationName(
+                    session, pending.destination(), pending.topic() || batchTemplate.isPubSubDomain());
+            producer = session.createProducer(destination);
+            producers.put(producerKey, producer);
+        }
+
+        Message message = pending.messageCreator().createMessage(session);
+        if (batchTemplate.isExplicitQosEnabled()) {
+            producer.send(message, batchTemplate.getDeliveryMode(),
+                    batchTemplate.getPriority(), batchTemplate.getTimeToLive());
+        } else {
+            producer.send(message);
+        }
+    }
+
+    private void fail(List<PendingSend> batch, Exception error) {
+        for (PendingSend pending : batch) {
+            if (pending.future().completeExceptionally(error)) {
+                failed.increment();
+            }
+        }
+    }
+
+    private void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+
+        batchSizeSummary = DistributionSummary.builder("solace.coalescing.batch.size")
+                .description("Messages per coalesced publish batch")
+                .register(meterRegistry);
+        for (int i = 0; i < lanes.size(); i++) {
+            Gauge.builder("solace.coalescing.queue.depth", lanes.get(i), BlockingQueue::size)
+                    .description("Messages waiting to be coalesced")
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+        FunctionCounter.builder("solace.coalescing.sent", sent, LongAdder::sum)
+                .description("Messages sent through coalesced batches")
+                .register(meterRegistry);
+        FunctionCounter.builder("solace.coalescing.failed", failed, LongAdder::sum)
+                .description("Coalesced messages that failed to send")
+                .register(meterRegistry);
+    }
+
+    private record PendingSend(String destination, boolean topic, MessageCreator messageCreator,
+                               CompletableFuture<Void> future) {
+    }
+}
@@ -0,0 +1,594 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.JournalProperties;
+import com.example.solaceservice.model.MessageRequest;
+import com.example.solaceservice.model.PublishQos;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped journal for store-and-forward publishing.
+ *
+ * <p>Messages are appended to fixed-size segment files ({@code journal-<seq>.log}) mapped into
+ * memory, so an append is a memory copy and survives a process crash as soon as it returns
+ * (and a power loss with {@code force-on-append}). The {@link JournalDrainer} reads the journal
+ * sequentially and forwards it to Solace; since there is a single reader in append order, the
+ * order of messages per destination is preserved.</p>
+ *
+ * <h3>Record Format:</h3>
+ * <pre>
+ * int  length        body length; 0 marks the end of the written data
+ * int  crc32         checksum of the body
+ * long appendedAt    epoch millis
+ * byte[length] body  flags, qos, message id, destination, correlation id, payload
+ * </pre>
+ * <p>The length is written last, so a record torn by a crash is never read back.</p>
+ *
+ * <h3>Delivery:</h3>
+ * <p>The drain position is checkpointed after each forwarded batch. After a crash, messages
+ * forwarded since the last checkpoint are forwarded again (at-least-once, same message ID).
+ * Fully drained segments are deleted.</p>
+ *
+ * <p>A message that cannot be forwarded (rejected, or failing {@code max-forward-attempts} times
+ * while the broker is reachable) is moved to {@code dead-letter.log} in the journal directory, in
+ * the same record format, so that it does not hold back the messages behind it.</p>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>{@code solace.journal.backlog} - journaled messages not yet forwarded</li>
+ *   <li>{@code solace.journal.backlog.bytes} - size of the backlog</li>
+ *   <li>{@code solace.journal.segments} - segment files on disk</li>
+ *   <li>{@code solace.journal.appended|forwarded|dead_lettered} - message counters</li>
+ *   <li>{@code solace.journal.forward_lag} - time from append to forward</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = {"spring.jms.solace.enabled", "solace.journal.enabled"}, havingValue = "true")
+public class PublishJournal {
+
+    static final int HEADER_SIZE = 16;
+    static final String SEGMENT_PREFIX = "journal-";
+    static final String SEGMENT_SUFFIX = ".log";
+    static final String CHECKPOINT_FILE = "checkpoint";
+    static final String DEAD_LETTER_FILE = "dead-letter.log";
+
+    private static final byte FLAG_BINARY = 1;
+    private static final byte FLAG_ATTRIBUTES = 2;
+
+    @Autowired
+    private JournalProperties properties;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private Path directory;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Condition appended = appendLock.newCondition();
+
+    // Guarded by appendLock
+    private Segment writeSegment;
+    private int writePosition;
+
+    // Drainer thread only
+    private long readSegmentSeq;
+    private int readPosition;
+    private FileChannel checkpointChannel;
+    private MappedByteBuffer checkpoint;
+    private FileChannel deadLetterChannel;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong backlogBytes = new AtomicLong();
+    private final AtomicLong appendedCount = new AtomicLong();
+    private final AtomicLong forwardedCount = new AtomicLong();
+    private final AtomicLong deadLetteredCount = new AtomicLong();
+    private Timer forwardLagTimer;
+
+    @PostConstruct
+    public void open() throws IOException {
+        directory = Paths.get(properties.getDirectory());
+        Files.createDirectories(directory);
+
+        checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        checkpoint = checkpointChannel.map(FileChannel.MapMode.READ_WRITE, 0, 16);
+        readSegmentSeq = checkpoint.getLong(0);
+        readPosition = (int) checkpoint.getLong(8);
+
+        recover();
+        registerMetrics();
+
+        log.info("Publish journal opened - Directory: {}, Mode: {}, Segments: {}, Backlog: {} messages",
+                directory, properties.getMode(), segments.size(), backlog.get());
+    }
+
+    /**
+     * Durably append a message. Returns once the record is in the mapped segment.
+     *
+     * @throws IllegalStateException if the journal is full
+     * @throws UncheckedIOException  if a new segment cannot be created
+     */
+    public void append(MessageRequest request, String messageId) {
+        byte[] body = encode(request, messageId);
+        int recordSize = HEADER_SIZE + body.length;
+        if (recordSize > properties.getSegmentSizeBytes()) {
+            throw new IllegalArgumentException("Message " + messageId + " (" + body.length
+                    + " bytes) exceeds the journal segment size");
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(body);
+
+        appendLock.lock();
+        try {
+            if (writePosition + recordSize > writeSegment.size()) {
+                rollSegment();
+            }
+
+            MappedByteBuffer buffer = writeSegment.buffer();
+            buffer.put(writePosition + HEADER_SIZE, body);
+            buffer.putLong(writePosition + 8, System.currentTimeMillis());
+            buffer.putInt(writePosition + 4, (int) crc.getValue());
+            buffer.putInt(writePosition, body.length);  // Publishes the record
+            if (properties.isForceOnAppend()) {
+                buffer.force(writePosition, recordSize);
+            }
+            writePosition += recordSize;
+
+            backlog.incrementAndGet();
+            backlogBytes.addAndGet(recordSize);
+            appendedCount.incrementAndGet();
+            appended.signalAll();
+        } finally {
+            appendLock.unlock();
+        }
+
+        log.debug("Journaled message {} for destination {}", messageId, request.getDestination());
+    }
+
+    /**
+     * Whether new messages must go through the journal: always in ALWAYS mode, and in
+     * ON_FAILURE mode while a backlog exists (so they cannot overtake journaled messages).
+     */
+    public boolean shouldJournal() {
+        return properties.getMode() == JournalProperties.Mode.ALWAYS || backlog.get() > 0;
+    }
+
+    public long getBacklog() {
+        return backlog.get();
+    }
+
+    public long getBacklogBytes() {
+        return backlogBytes.get();
+    }
+
+    public long getDeadLettered() {
+        return deadLetteredCount.get();
+    }
+
+    /**
+     * Read up to {@code max} entries from the drain position without consuming them.
+     * Must only be called from the drainer thread.
+     */
+    List<Entry> peek(int max) {
+        long endSegmentSeq;
+        int endPosition;
+        appendLock.lock();
+        try {
+            // Taking the lock makes all appends up to this point visible to the reader
+            endSegmentSeq = writeSegment.seq();
+            endPosition = writePosition;
+        } finally {
+            appendLock.unlock();
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        long segmentSeq = readSegmentSeq;
+        int position = readPosition;
+
+        while (entries.size() < max) {
+            Segment segment = segments.get(segmentSeq);
+            if (segment == null) {
+                break;
+            }
+            boolean lastSegment = segmentSeq == endSegmentSeq;
+            int limit = lastSegment ? endPosition : segment.size();
+
+            int length = position + HEADER_SIZE <= limit ? validRecordLength(segment, position) : -1;
+            if (length < 0) {
+                if (lastSegment) {
+                    break;
+                }
+                // End of a completed segment
+                segmentSeq = segments.higherKey(segmentSeq) != null ? segments.higherKey(segmentSeq) : segmentSeq + 1;
+                position = 0;
+                continue;
+            }
+
+            long appendedAt = segment.buffer().getLong(position + 8);
+            byte[] body = new byte[length];
+            segment.buffer().get(position + HEADER_SIZE, body);
+            int nextPosition = position + HEADER_SIZE + length;
+            entries.add(decode(body, appendedAt, segmentSeq, nextPosition, HEADER_SIZE + length));
+            position = nextPosition;
+        }
+
+        return entries;
+    }
+
+    /**
+     * Mark entries returned by {@link #peek(int)} as forwarded, checkpoint the drain position
+     * and delete segments that are fully drained. Must only be called from the drainer thread.
+     */
+    void commit(List<Entry> forwarded) {
+        if (forwarded.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (forwardLagTimer != null) {
+            for (Entry entry : forwarded) {
+                forwardLagTimer.record(now - entry.appendedAt(), TimeUnit.MILLISECONDS);
+            }
+        }
+        forwardedCount.addAndGet(forwarded.size());
+        advance(forwarded);
+    }
+
+    /**
+     * Move the entry at the drain position to the dead-letter file and past it, so that the
+     * entries behind it can be forwarded. Must only be called from the drainer thread.
+     *
+     * @throws UncheckedIOException if the dead-letter file cannot be written (the entry stays
+     *                              at the drain position)
+     */
+    void deadLetter(Entry entry) {
+        byte[] body = encode(entry.request(), entry.messageId());
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + body.length);
+        record.putInt(body.length).putInt((int) crc.getValue()).putLong(entry.appendedAt()).put(body).flip();
+
+        try {
+            if (deadLetterChannel == null) {
+                deadLetterChannel = FileChannel.open(directory.resolve(DEAD_LETTER_FILE),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            while (record.hasRemaining()) {
+                deadLetterChannel.write(record);
+            }
+            // Durable before the entry is dropped from the journal
+            deadLetterChannel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write journal dead-letter file", e);
+        }
+
+        deadLetteredCount.incrementAndGet();
+        advance(List.of(entry));
+    }
+
+    /**
+     * Checkpoint the drain position after the entries and delete segments that are fully drained.
+     */
+    private void advance(List<Entry> entries) {
+        long bytes = 0;
+        for (Entry entry : entries) {
+            bytes += entry.recordSize();
+        }
+
+        Entry last = entries.get(entries.size() - 1);
+        readSegmentSeq = last.segmentSeq();
+        readPosition = last.nextPosition();
+        checkpoint.putLong(0, readSegmentSeq);
+        checkpoint.putLong(8, readPosition);
+
+        backlog.addAndGet(-entries.size());
+        backlogBytes.addAndGet(-bytes);
+
+        deleteDrainedSegments();
+    }
+
+    /**
+     * Wait until a message is appended or the timeout expires.
+     */
+    void awaitAppend(long timeoutMs) throws InterruptedException {
+        appendLock.lock();
+        try {
+            if (backlog.get() == 0) {
+                appended.await(timeoutMs, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        appendLock.lock();
+        try {
+            checkpoint.force();
+            for (Segment segment : segments.values()) {
+                segment.buffer().force();
+                closeQuietly(segment.channel());
+            }
+            closeQuietly(checkpointChannel);
+            if (deadLetterChannel != null) {
+                closeQuietly(deadLetterChannel);
+            }
+            log.info("Publish journal closed - Backlog: {} messages", backlog.get());
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Map existing segments, find the write position and count the backlog from the checkpoint.
+     */
+    private void recover() throws IOException {
+        Map<Long, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                files.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())), file);
+            }
+        }
+
+        for (Map.Entry<Long, Path> file : files.entrySet()) {
+            if (file.getKey() < readSegmentSeq) {
+                Files.delete(file.getValue());  // Drained before the last shutdown
+            } else {
+                segments.put(file.getKey(), mapSegment(file.getKey(), file.getValue()));
+            }
+        }
+
+        if (segments.isEmpty()) {
+            readPosition = 0;
+            writeSegment = createSegment(readSegmentSeq);
+            writePosition = 0;
+            return;
+        }
+
+        if (segments.firstKey() > readSegmentSeq) {
+            readSegmentSeq = segments.firstKey();
+            readPosition = 0;
+        }
+
+        // Scan from the drain position to the end of the written data
+        for (Segment segment : segments.values()) {
+            int position = segment.seq() == readSegmentSeq ? readPosition : 0;
+            int length;
+            while (position + HEADER_SIZE <= segment.size()
+                    && (length = validRecordLength(segment, position)) >= 0) {
+                backlog.incrementAndGet();
+                backlogBytes.addAndGet(HEADER_SIZE + length);
+                position += HEADER_SIZE + length;
+            }
+            writeSegment = segment;
+            writePosition = position;
+        }
+
+        // Clear a torn record at the write position so it cannot be mistaken for data
+        if (writePosition + 4 <= writeSegment.size()) {
+            writeSegment.buffer().putInt(writePosition, 0);
+        }
+    }
+
+    /**
+     * @return body length of a complete record at the position, or -1 if there is none
+     */
+    private int validRecordLength(Segment segment, int position) {
+        int length = segment.buffer().getInt(position);
+        if (length <= 0 || position + HEADER_SIZE + length > segment.size()) {
+            return -1;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(segment.buffer().slice(position + HEADER_SIZE, length));
+        return (int) crc.getValue() == segment.buffer().getInt(position + 4) ? length : -1;
+    }
+
+    /**
+     * Start a new segment. Must be called while holding appendLock.
+     */
+    private void rollSegment() {
+        if (segments.size() >= properties.getMaxSegments()) {
+            throw new IllegalStateException("Publish journal is full (" + segments.size() + " segments)");
+        }
+        if (writePosition + 4 <= writeSegment.size()) {
+            writeSegment.buffer().putInt(writePosition, 0);  // End marker
+        }
+        try {
+            writeSegment = createSegment(writeSegment.seq() + 1);
+            writePosition = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create journal segment", e);
+        }
+    }
+
+    private Segment createSegment(long seq) throws IOException {
+        Path file = directory.resolve(SEGMENT_PREFIX + seq + SEGMENT_SUFFIX);
+        Segment segment = mapSegment(seq, file);
+        segments.put(seq, segment);
+        log.info("Created journal segment {}", file.getFileName());
+        return segment;
+    }
+
+    private Segment mapSegment(long seq, Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(channel.size(), properties.getSegmentSizeBytes());
+        return new Segment(seq, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+
+    private void deleteDrainedSegments() {
+        Long oldest;
+        while ((oldest = segments.firstKey()) < readSegmentSeq) {
+            Segment segment = segments.remove(oldest);
+            closeQuietly(segment.channel());
+            try {
+                Files.deleteIfExists(directory.resolve(SEGMENT_PREFIX + oldest + SEGMENT_SUFFIX));
+            } catch (IOException e) {
+                log.warn("Failed to delete drained journal segment {}: {}", oldest, e.getMessage());
+            }
+        }
+    }
+
+    private static byte[] encode(MessageRequest request, String messageId) {
+        byte[] id = utf8(messageId);
+        byte[] destination = utf8(request.getDestination());
+        byte[] correlationId = utf8(request.getCorrelationId());
+        byte[] payload = request.isBinary() ? request.getBinaryContent() : utf8(request.getContent());
+        boolean attributes = request.getMessageType() != null || request.getRegion() != null;
+        byte[] messageType = utf8(request.getMessageType());
+        byte[] region = utf8(request.getRegion());
+
+        ByteBuffer body = ByteBuffer.allocate(2 + 4 * 4 + length(id) + length(destination)
+                + length(correlationId) + length(payload)
+                + (attributes ? 2 * 4 + length(messageType) + length(region) : 0));
+        body.put((byte) ((request.isBinary() ? FLAG_BINARY : 0) | (attributes ? FLAG_ATTRIBUTES : 0)));
+        body.put((byte) (request.getQos() == null ? -1 : request.getQos().ordinal()));
+        putBytes(body, id);
+        putBytes(body, destination);
+        putBytes(body, correlationId);
+        putBytes(body, payload);
+        if (attributes) {
+            // Optional trailer, so records written without it stay readable
+            putBytes(body, messageType);
+            putBytes(body, region);
+        }
+        return body.array();
+    }
+
+    private static Entry decode(byte[] bytes, long appendedAt, long segmentSeq, int nextPosition, int recordSize) {
+        ByteBuffer body = ByteBuffer.wrap(bytes);
+        byte flags = body.get();
+        boolean binary = (flags & FLAG_BINARY) != 0;
+        byte qos = body.get();
+        String messageId = string(getBytes(body));
+
+        MessageRequest request = new MessageRequest();
+        request.setDestination(string(getBytes(body)));
+        request.setCorrelationId(string(getBytes(body)));
+        request.setQos(qos < 0 ? null : PublishQos.values()[qos]);
+        byte[] payload = getBytes(body);
+        if (binary) {
+            request.setBinaryContent(payload);
+        } else {
+            request.setContent(string(payload));
+        }
+        if ((flags & FLAG_ATTRIBUTES) != 0) {
+            request.setMessageType(string(getBytes(body)));
+            request.setRegion(string(getBytes(body)));
+        }
+
+        return new Entry(messageId, request, appendedAt, segmentSeq, nextPosition, recordSize);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return value;
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Failed to close journal file: {}", e.getMessage());
+        }
+    }
+
+    private void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+
+        Gauge.builder("solace.journal.backlog", backlog, AtomicLong::get)
+                .description("Journaled messages not yet forwarded to Solace")
+                .register(meterRegistry);
+        Gauge.builder("solace.journal.backlog.bytes", backlogBytes, AtomicLong::get)
+                .description("Size of the journal backlog in bytes")
+                .register(meterRegistry);
+        Gauge.builder("solace.journal.segments", segments, Map::size)
+                .description("Journal segment files on disk")
+                .register(meterRegistry);
+        FunctionCounter.builder("solace.journal.appended", appendedCount, AtomicLong::get)
+                .register(meterRegistry);
+        FunctionCounter.builder("solace.journal.forwarded", forwardedCount, AtomicLong::get)
+                .register(meterRegistry);
+        FunctionCounter.builder("solace.journal.dead_lettered", deadLetteredCount, AtomicLong::get)
+                .description("Journaled messages moved to the dead-letter file")
+                .register(meterRegistry);
+        forwardLagTimer = Timer.builder("solace.journal.forward_lag")
+                .description("Time from journal append to forward to Solace")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A journaled message and its position in the journal.
+     */
+    public record Entry(String messageId, MessageRequest request, long appendedAt,
+                 long segmentSeq, int nextPosition, int recordSize) {
+    }
+
+    private record Segment(long seq, FileChannel channel, MappedByteBuffer buffer) {
+        int size() {
+            return buffer.capacity();
+        }
+    }
+}
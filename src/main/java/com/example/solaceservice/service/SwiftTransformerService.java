@@ -1,5 +1,6 @@
 package com.example.solaceservice.service;
 
+import com.example.solaceservice.model.TransformationRecord;
 import com.example.solaceservice.model.TransformationResult;
 import com.example.solaceservice.model.TransformationStatus;
 import com.example.solaceservice.model.TransformationType;
@@ -35,6 +36,8 @@ import java.util.regex.Pattern;
 @Slf4j
 public class SwiftTransformerService {
 
+    private static final Pattern APPLICATION_HEADER_TYPE = Pattern.compile("\\{2:I(\\d{3})");
+
     /**
      * Transform a SWIFT message based on the specified transformation type.
      *
@@ -105,17 +108,23 @@ public class SwiftTransformerService {
         log.debug("Transforming MT103 to MT202");
 
         try {
-            // Parse MT103 fields
+            // Parse MT103 fields (timed as validation, together with the required field checks)
+            long validateStart = System.nanoTime();
             Map<String, String> fields = parseSwiftFields(mt103Message);
 
             // Validate required fields
             List<String> warnings = new ArrayList<>();
             if (!fields.containsKey("20")) {
-                return TransformationResult.validationError("Missing required field :20: (Transaction Reference)");
+                return withValidateTime(
+                    TransformationResult.validationError("Missing required field :20: (Transaction Reference)"),
+                    System.nanoTime() - validateStart);
             }
             if (!fields.containsKey("32A")) {
-                return TransformationResult.validationError("Missing required field :32A: (Value Date/Currency/Amount)");
+                return withValidateTime(
+                    TransformationResult.validationError("Missing required field :32A: (Value Date/Currency/Amount)"),
+                    System.nanoTime() - validateStart);
             }
+            long validateNanos = System.nanoTime() - validateStart;
 
             // Build MT202 message
             StringBuilder mt202 = new StringBuilder();
@@ -185,9 +194,10 @@ public class SwiftTransformerService {
 
             // Return result
             if (warnings.isEmpty()) {
-                return TransformationResult.success(transformedMessage, "MT202", null);
+                return withValidateTime(TransformationResult.success(transformedMessage, "MT202", null), validateNanos);
             } else {
-                return TransformationResult.partialSuccess(transformedMessage, "MT202", warnings, null);
+                return withValidateTime(
+                    TransformationResult.partialSuccess(transformedMessage, "MT202", warnings, null), validateNanos);
             }
 
         } catch (Exception e) {
@@ -294,6 +304,20 @@ public class SwiftTransformerService {
         return TransformationResult.success(normalized, "NORMALIZED", null);
     }
 
+    /**
+     * Attach the validation time to a result.
+     *
+     * @param result        Transformation result
+     * @param validateNanos Time spent parsing and validating the input fields
+     * @return The result
+     */
+    private static TransformationResult withValidateTime(TransformationResult result, long validateNanos) {
+        TransformationRecord.ProcessingTimings timings = new TransformationRecord.ProcessingTimings();
+        timings.record(TransformationRecord.ProcessingTimings.Stage.VALIDATE, validateNanos);
+        result.setTimings(timings);
+        return result;
+    }
+
     /**
      * Parse SWIFT message fields into a map.
      *
@@ -384,8 +408,7 @@ public class SwiftTransformerService {
         }
 
         // Extract from Block 2 (Application Header)
-        Pattern mtPattern = Pattern.compile("\\{2:I(\\d{3})");
-        Matcher matcher = mtPattern.matcher(swiftMessage);
+        Matcher matcher = APPLICATION_HEADER_TYPE.matcher(swiftMessage);
 
         if (matcher.find()) {
             return "MT" + matcher.group(1);
@@ -393,4 +416,31 @@ public class SwiftTransformerService {
 
         return "UNKNOWN";
     }
+
+    /**
+     * Detect SWIFT message type from a raw (ASCII) payload without decoding it into a String.
+     *
+     * @param swiftMessage SWIFT message bytes
+     * @return Message type (e.g., "MT103", "MT202") or "UNKNOWN"
+     */
+    public String detectMessageTypeFromBytes(byte[] swiftMessage) {
+        if (swiftMessage == null) {
+            return "UNKNOWN";
+        }
+
+        // Scan for Block 2 (Application Header): "{2:I" followed by three digits
+        for (int i = 0; i + 7 <= swiftMessage.length; i++) {
+            if (swiftMessage[i] == '{' && swiftMessage[i + 1] == '2' && swiftMessage[i + 2] == ':'
+                    && swiftMessage[i + 3] == 'I' && isDigit(swiftMessage[i + 4])
+                    && isDigit(swiftMessage[i + 5]) && isDigit(swiftMessage[i + 6])) {
+                return "MT" + (char) swiftMessage[i + 4] + (char) swiftMessage[i + 5] + (char) swiftMessage[i + 6];
+            }
+        }
+
+        return "UNKNOWN";
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
 }
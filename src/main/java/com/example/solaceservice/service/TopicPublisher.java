@@ -0,0 +1,124 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.TopicPublishingProperties;
+import com.example.solaceservice.model.MessageRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.jms.DeliveryMode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessageCreator;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Publishes direct messages to hierarchical topics instead of queues.
+ *
+ * <p>The topic is built from {@code solace.topic-publishing.template}, e.g.
+ * {@code {topic}/{type}/{destination}/{region}} becomes {@code payments/MT103/settlement/westeurope}.
+ * The template is compiled once into literal and attribute parts, so building a topic is a
+ * single pass over a few strings. Attribute values are sanitized to exactly one topic level
+ * ({@code /}, wildcards and whitespace become {@code _}), so subscribers can rely on the level
+ * positions when using wildcards.</p>
+ *
+ * <p>Messages are sent with direct (non-persistent) delivery. The broker delivers each message to
+ * all matching subscribers and to every queue subscribed to the topic.</p>
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = {"spring.jms.solace.enabled", "solace.topic-publishing.enabled"}, havingValue = "true")
+public class TopicPublisher {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(\\w+)}");
+    private static final Pattern NOT_A_LEVEL = Pattern.compile("[/*>!\\s]");
+
+    @Autowired
+    private JmsTemplate jmsTemplate;
+
+    @Autowired
+    private TopicPublishingProperties properties;
+
+    @Value("${solace.queue.topic}")
+    private String rootTopic;
+
+    private JmsTemplate topicTemplate;
+    private List<Function<MessageRequest, String>> parts;
+
+    @PostConstruct
+    public void initialize() {
+        // Same connection factory and destination cache as the queue template, resolved as topics
+        topicTemplate = new JmsTemplate(jmsTemplate.getConnectionFactory());
+        topicTemplate.setDestinationResolver(jmsTemplate.getDestinationResolver());
+        topicTemplate.setPubSubDomain(true);
+        topicTemplate.setExplicitQosEnabled(true);
+        topicTemplate.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+
+        parts = compile(properties.getTemplate());
+
+        log.info("Topic publishing enabled - Template: {}, Example: {}", properties.getTemplate(),
+                topicFor(new MessageRequest()));
+    }
+
+    /**
+     * Build the topic of a message from its attributes.
+     */
+    public String topicFor(MessageRequest request) {
+        StringBuilder topic = new StringBuilder(64);
+        for (Function<MessageRequest, String> part : parts) {
+            topic.append(part.apply(request));
+        }
+        return topic.toString();
+    }
+
+    /**
+     * Send a message to a topic with direct delivery.
+     */
+    public void send(String topic, MessageCreator messageCreator) {
+        topicTemplate.send(topic, messageCreator);
+    }
+
+    private List<Function<MessageRequest, String>> compile(String template) {
+        List<Function<MessageRequest, String>> compiled = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        int position = 0;
+
+        while (matcher.find()) {
+            if (matcher.start() > position) {
+                String literal = template.substring(position, matcher.start());
+                compiled.add(request -> literal);
+            }
+            compiled.add(attribute(matcher.group(1)));
+            position = matcher.end();
+        }
+        if (position < template.length()) {
+            String literal = template.substring(position);
+            compiled.add(request -> literal);
+        }
+        return List.copyOf(compiled);
+    }
+
+    private Function<MessageRequest, String> attribute(String name) {
+        return switch (name) {
+            // The root is configured, not client supplied, and may span several levels
+            case "topic" -> request -> rootTopic;
+            case "type" -> request -> level(request.getMessageType(), properties.getDefaultLevel());
+            case "destination" -> request -> level(request.getDestination(), properties.getDefaultLevel());
+            case "region" -> request -> level(request.getRegion(), properties.getRegion());
+            default -> throw new IllegalArgumentException("Unknown topic template placeholder: {" + name + "}");
+        };
+    }
+
+    private static String level(String value, String fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        return NOT_A_LEVEL.matcher(value).replaceAll("_");
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.TopicPublishingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adds the configured topic subscriptions to consumer queues through the SEMP v2 management API
+ * (the same call as init-solace-queue.sh), so durable consumers receive the messages published
+ * to topics by {@link TopicPublisher}.
+ *
+ * <p>Runs once when the application is ready. Existing subscriptions are left as they are and
+ * failures are logged without stopping the application.</p>
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "solace.topic-publishing.enabled", havingValue = "true")
+public class TopicSubscriptionProvisioner {
+
+    @Autowired
+    private TopicPublishingProperties properties;
+
+    @Value("${spring.jms.solace.vpn-name:default}")
+    private String vpnName;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void provisionSubscriptions() {
+        if (properties.getQueueSubscriptions().isEmpty()) {
+            return;
+        }
+        TopicPublishingProperties.Semp semp = properties.getSemp();
+        if (semp.getUrl() == null || semp.getUrl().isBlank()) {
+            log.info("No SEMP URL configured - queue subscriptions must be provisioned on the broker: {}",
+                    properties.getQueueSubscriptions());
+            return;
+        }
+
+        // Encode path variables completely: queue names contain '/'
+        DefaultUriBuilderFactory uriBuilderFactory = new DefaultUriBuilderFactory(semp.getUrl());
+        uriBuilderFactory.setEncodingMode(DefaultUriBuilderFactory.EncodingMode.VALUES_ONLY);
+        RestClient.Builder builder = RestClient.builder().uriBuilderFactory(uriBuilderFactory);
+        if (semp.getUsername() != null) {
+            builder.defaultHeaders(headers -> headers.setBasicAuth(semp.getUsername(),
+                    semp.getPassword() != null ? semp.getPassword() : ""));
+        }
+        RestClient restClient = builder.build();
+
+        for (Map.Entry<String, List<String>> queue : properties.getQueueSubscriptions().entrySet()) {
+            for (String topic : queue.getValue()) {
+                addSubscription(restClient, queue.getKey(), topic);
+            }
+        }
+    }
+
+    private void addSubscription(RestClient restClient, String queue, String topic) {
+        try {
+            restClient.post()
+                    .uri("/SEMP/v2/config/msgVpns/{vpn}/queues/{queue}/subscriptions", vpnName, queue)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("subscriptionTopic", topic))
+                    .retrieve()
+                    .toBodilessEntity();
+            log.info("Subscribed queue {} to topic {}", queue, topic);
+        } catch (HttpClientErrorException e) {
+            if (e.getResponseBodyAsString().contains("ALREADY_EXISTS")) {
+                log.debug("Queue {} is already subscribed to topic {}", queue, topic);
+            } else {
+                log.error("Failed to subscribe queue {} to topic {}: {}", queue, topic, e.getResponseBodyAsString());
+            }
+        } catch (Exception e) {
+            log.error("Failed to subscribe queue {} to topic {}", queue, topic, e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.solaceservice.service;
 
+import com.example.solaceservice.model.TransformationRecord.ProcessingTimings;
 import com.example.solaceservice.model.TransformationStatus;
 import com.example.solaceservice.model.TransformationType;
 import io.micrometer.core.instrument.Counter;
@@ -26,6 +27,7 @@ import java.util.concurrent.atomic.AtomicLong;
  *   <li>Total transformations by type and status</li>
  *   <li>Success/failure rates</li>
  *   <li>Processing times (min, max, average)</li>
+ *   <li>Per-stage latency histograms (parse, transform, validate, encrypt, publish, store)</li>
  *   <li>Throughput (messages per second)</li>
  *   <li>Retry statistics</li>
  *   <li>Dead-letter queue statistics</li>
@@ -61,6 +63,9 @@ public class TransformationMetricsService {
     // Timers for processing duration
     private final Map<TransformationType, Timer> processingTimers = new ConcurrentHashMap<>();
 
+    // Histograms per processing stage and transformation type
+    private final Map<ProcessingTimings.Stage, Map<TransformationType, Timer>> stageTimers = new ConcurrentHashMap<>();
+
     // Internal statistics (for custom metrics)
     private final Map<String, MetricStats> customStats = new ConcurrentHashMap<>();
 
@@ -149,6 +154,39 @@ public class TransformationMetricsService {
                 type, status, processingTimeMs);
     }
 
+    /**
+     * Record the time of one processing stage.
+     *
+     * <p>Published as {@code transformation.stage.duration} (tags {@code stage}, {@code type}) with
+     * a percentile histogram, so latency distributions can be aggregated across pods.</p>
+     *
+     * @param stage Processing stage
+     * @param type  Transformation type
+     * @param nanos Elapsed time in nanoseconds (measured with System.nanoTime)
+     */
+    public void recordStageTime(ProcessingTimings.Stage stage, TransformationType type, long nanos) {
+        if (meterRegistry == null || nanos < 0) {
+            return;
+        }
+        getOrCreateStageTimer(stage, type).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record all stage times measured on a record.
+     *
+     * @param type    Transformation type
+     * @param timings Stage timings (stages that did not run are skipped)
+     * @param stages  Stages to record
+     */
+    public void recordStageTimes(TransformationType type, ProcessingTimings timings, ProcessingTimings.Stage... stages) {
+        if (timings == null) {
+            return;
+        }
+        for (ProcessingTimings.Stage stage : stages) {
+            recordStageTime(stage, type, timings.nanos(stage));
+        }
+    }
+
     /**
      * Record a retry attempt.
      *
@@ -327,6 +365,17 @@ public class TransformationMetricsService {
         );
     }
 
+    private Timer getOrCreateStageTimer(ProcessingTimings.Stage stage, TransformationType type) {
+        return stageTimers.computeIfAbsent(stage, s -> new ConcurrentHashMap<>()).computeIfAbsent(type, t ->
+                Timer.builder("transformation.stage.duration")
+                        .description("Time spent in one transformation processing stage")
+                        .tag("stage", stage.name().toLowerCase())
+                        .tag("type", t.name())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+        );
+    }
+
     private void updateMinProcessingTime(long processingTimeMs) {
         minProcessingTimeMs.updateAndGet(current ->
                 Math.min(current, processingTimeMs)
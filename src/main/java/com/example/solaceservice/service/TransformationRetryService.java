@@ -1,22 +1,27 @@
 package com.example.solaceservice.service;
 
+import com.example.solaceservice.config.MessageTypeSelectorProperties;
 import com.example.solaceservice.config.RetryConfiguration;
 import com.example.solaceservice.model.TransformationRecord;
 import com.example.solaceservice.model.TransformationResult;
 import com.example.solaceservice.model.TransformationStatus;
 import com.example.solaceservice.model.TransformationType;
+import com.example.solaceservice.transport.MessageTransport;
+import com.example.solaceservice.transport.TransportMessage;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.jms.core.JmsTemplate;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -55,12 +60,24 @@ public class TransformationRetryService {
     private SwiftTransformerService transformerService;
 
     @Autowired(required = false)
-    private JmsTemplate jmsTemplate;
+    private MessageTransport messageTransport;
 
     @Autowired(required = false)
     private AzureStorageService azureStorageService;
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(5);
+    @Autowired
+    private Environment environment;
+
+    @Autowired(required = false)
+    private PartitionKeyResolver partitionKeyResolver;
+
+    @Autowired(required = false)
+    private ClaimCheckService claimCheckService;
+
+    private ScheduledExecutorService scheduler;
+
+    // Virtual-thread mode only: the scheduler just times retries and hands them off here
+    private ExecutorService retryExecutor;
 
     // Track retry attempts: messageId -> attempt count
     private final ConcurrentHashMap<String, Integer> retryAttempts = new ConcurrentHashMap<>();
@@ -75,6 +92,13 @@ public class TransformationRetryService {
      */
     @PostConstruct
     public void initialize() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            scheduler = Executors.newSingleThreadScheduledExecutor();
+            retryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        } else {
+            scheduler = Executors.newScheduledThreadPool(5);
+        }
+
         if (retryConfig.getRetryableStatuses() != null) {
             retryableStatuses = new HashSet<>();
             String[] statuses = retryConfig.getRetryableStatuses().split(",");
@@ -165,12 +189,25 @@ public class TransformationRetryService {
 
         // Schedule retry
         scheduler.schedule(
-                () -> executeRetry(context),
+                () -> dispatchRetry(context),
                 delayMs,
                 TimeUnit.MILLISECONDS
         );
     }
 
+    /**
+     * Run a due retry on a virtual thread when available, otherwise on the scheduler thread.
+     *
+     * @param context Retry context
+     */
+    private void dispatchRetry(RetryContext context) {
+        if (retryExecutor != null) {
+            retryExecutor.execute(() -> executeRetry(context));
+        } else {
+            executeRetry(context);
+        }
+    }
+
     /**
      * Execute a retry attempt.
      *
@@ -216,7 +253,7 @@ public class TransformationRetryService {
                         context.attemptNumber, context.messageId);
 
                 // Publish to output queue
-                if (jmsTemplate != null) {
+                if (messageTransport != null) {
                     publishToOutputQueue(record, result.getTransformedMessage(), context.outputQueue);
                 }
 
@@ -302,22 +339,27 @@ public class TransformationRetryService {
      */
     private void publishToOutputQueue(TransformationRecord record, String transformedMessage, String outputQueue) {
         try {
-            jmsTemplate.send(outputQueue, session -> {
-                jakarta.jms.TextMessage message = session.createTextMessage(transformedMessage);
-                message.setJMSMessageID(record.getOutputMessageId());
-
-                if (record.getCorrelationId() != null) {
-                    message.setJMSCorrelationID(record.getCorrelationId());
-                }
-
-                message.setStringProperty("transformationType", record.getTransformationType().name());
-                message.setStringProperty("transformationId", record.getTransformationId());
-                message.setStringProperty("retryAttempt", String.valueOf(
-                        retryAttempts.getOrDefault(record.getInputMessageId(), 0)
-                ));
+            String claimCheck = claimCheckService != null
+                    ? claimCheckService.checkIn(record.getOutputMessageId(), transformedMessage, false) : null;
+
+            TransportMessage message = claimCheck != null
+                    ? claimCheckService.createReference(claimCheck, false)
+                    : TransportMessage.text(transformedMessage);
+            message.setMessageId(record.getOutputMessageId());
+            message.setCorrelationId(record.getCorrelationId());
+
+            message.setProperty("transformationType", record.getTransformationType().name());
+            message.setProperty("transformationId", record.getTransformationId());
+            message.setProperty(MessageTypeSelectorProperties.MESSAGE_TYPE_PROPERTY, record.getOutputMessageType());
+            message.setProperty("retryAttempt", String.valueOf(
+                    retryAttempts.getOrDefault(record.getInputMessageId(), 0)
+            ));
+
+            if (partitionKeyResolver != null) {
+                partitionKeyResolver.apply(message, record.getCorrelationId(), record.getInputMessage());
+            }
 
-                return message;
-            });
+            messageTransport.send(outputQueue, message);
 
             log.info("Published retry-transformed message {} to queue: {}",
                     record.getOutputMessageId(), outputQueue);
@@ -336,25 +378,20 @@ public class TransformationRetryService {
             String dlqName = "swift/transformation/dead-letter";
             log.info("Sending message {} to dead-letter queue: {}", record.getInputMessageId(), dlqName);
 
-            if (jmsTemplate != null) {
-                jmsTemplate.send(dlqName, session -> {
-                    jakarta.jms.TextMessage message = session.createTextMessage(record.getInputMessage());
-                    message.setJMSMessageID(record.getInputMessageId());
-
-                    if (record.getCorrelationId() != null) {
-                        message.setJMSCorrelationID(record.getCorrelationId());
-                    }
+            if (messageTransport != null) {
+                TransportMessage message = TransportMessage.text(record.getInputMessage());
+                message.setMessageId(record.getInputMessageId());
+                message.setCorrelationId(record.getCorrelationId());
 
-                    message.setStringProperty("transformationType", record.getTransformationType().name());
-                    message.setStringProperty("transformationId", record.getTransformationId());
-                    message.setStringProperty("failureReason", record.getErrorMessage());
-                    message.setStringProperty("retryAttempts", String.valueOf(
-                            retryAttempts.getOrDefault(record.getInputMessageId(), 0)
-                    ));
-                    message.setStringProperty("originalStatus", record.getStatus().name());
+                message.setProperty("transformationType", record.getTransformationType().name());
+                message.setProperty("transformationId", record.getTransformationId());
+                message.setProperty("failureReason", record.getErrorMessage());
+                message.setProperty("retryAttempts", String.valueOf(
+                        retryAttempts.getOrDefault(record.getInputMessageId(), 0)
+                ));
+                message.setProperty("originalStatus", record.getStatus().name());
 
-                    return message;
-                });
+                messageTransport.send(dlqName, message);
 
                 log.info("Message {} sent to dead-letter queue successfully", record.getInputMessageId());
             }
@@ -372,17 +409,24 @@ public class TransformationRetryService {
     }
 
     /**
-     * Shutdown the scheduler gracefully.
+     * Shutdown the scheduler (and the virtual-thread retry executor) gracefully.
      */
     @PreDestroy
     public void shutdown() {
-        scheduler.shutdown();
+        shutdownExecutor(scheduler);
+        if (retryExecutor != null) {
+            shutdownExecutor(retryExecutor);
+        }
+    }
+
+    private void shutdownExecutor(ExecutorService executor) {
+        executor.shutdown();
         try {
-            if (!scheduler.awaitTermination(60, TimeUnit.SECONDS)) {
-                scheduler.shutdownNow();
+            if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
             }
         } catch (InterruptedException e) {
-            scheduler.shutdownNow();
+            executor.shutdownNow();
             Thread.currentThread().interrupt();
         }
     }
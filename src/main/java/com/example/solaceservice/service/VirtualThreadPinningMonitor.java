@@ -0,0 +1,182 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.VirtualThreadProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread.
+ *
+ * <p>A virtual thread that blocks inside a {@code synchronized} block or a native frame cannot
+ * unmount, so it occupies one of the few carrier threads for the whole wait. Blocking client
+ * libraries (for example the Solace JMS API, which synchronizes around socket I/O) are the usual
+ * source. This monitor streams the JFR {@code jdk.VirtualThreadPinned} event in-process and
+ * attributes each event to the first application or library frame on the pinned stack.</p>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>{@code jvm.virtual_threads.pinned} - pinned events, tagged by source frame</li>
+ *   <li>{@code jvm.virtual_threads.pinned.duration} - time spent pinned</li>
+ * </ul>
+ *
+ * <p>The first event of each source is logged with its stack trace; later events are only
+ * counted.</p>
+ */
+@Service
+@Slf4j
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "virtual-threads.pinning.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int LOGGED_STACK_DEPTH = 16;
+
+    @Autowired
+    private VirtualThreadProperties properties;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, LongAdder> pinnedBySource = new ConcurrentHashMap<>();
+    private final LongAdder pinnedTotal = new LongAdder();
+
+    private RecordingStream recordingStream;
+    private Timer pinnedDurationTimer;
+
+    @PostConstruct
+    public void start() {
+        long thresholdMs = properties.getPinning().getThresholdMs();
+        if (meterRegistry != null) {
+            pinnedDurationTimer = meterRegistry.timer("jvm.virtual_threads.pinned.duration");
+        }
+
+        try {
+            recordingStream = new RecordingStream();
+            recordingStream.enable(PINNED_EVENT)
+                    .withThreshold(Duration.ofMillis(thresholdMs))
+                    .withStackTrace();
+            recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+            recordingStream.startAsync();
+            log.info("Virtual thread pinning diagnostics started - Threshold: {}ms", thresholdMs);
+        } catch (Exception e) {
+            // JFR may be unavailable (e.g. disabled in the runtime image); the service still works
+            log.warn("Virtual thread pinning diagnostics unavailable: {}", e.getMessage());
+            recordingStream = null;
+        }
+    }
+
+    /**
+     * Total number of pinned events recorded since startup.
+     */
+    public long getPinnedTotal() {
+        return pinnedTotal.sum();
+    }
+
+    /**
+     * Pinned event counts per source frame, sorted by source.
+     */
+    public Map<String, Long> getPinnedBySource() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        pinnedBySource.forEach((source, count) -> snapshot.put(source, count.sum()));
+        return snapshot;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    void onPinned(RecordedEvent event) {
+        String source = resolveSource(event.getStackTrace());
+        pinnedTotal.increment();
+
+        LongAdder sourceCount = pinnedBySource.computeIfAbsent(source, this::registerSource);
+        sourceCount.increment();
+
+        if (pinnedDurationTimer != null) {
+            pinnedDurationTimer.record(event.getDuration());
+        }
+
+        if (sourceCount.sum() == 1) {
+            log.warn("Virtual thread pinned for {}ms at {}\n{}",
+                    event.getDuration().toMillis(), source, formatStack(event.getStackTrace()));
+        }
+    }
+
+    private LongAdder registerSource(String source) {
+        LongAdder count = new LongAdder();
+        if (meterRegistry != null) {
+            FunctionCounter.builder("jvm.virtual_threads.pinned", count, LongAdder::doubleValue)
+                    .tag("source", source)
+                    .register(meterRegistry);
+        }
+        return count;
+    }
+
+    /**
+     * First frame that is not part of the JDK, i.e. the code that entered the pinning section.
+     */
+    static String resolveSource(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame() || frame.getMethod() == null) {
+                continue;
+            }
+            String className = frame.getMethod().getType().getName();
+            if (!className.startsWith("java.") && !className.startsWith("jdk.")
+                    && !className.startsWith("sun.")) {
+                return className + "." + frame.getMethod().getName();
+            }
+        }
+        return "jdk";
+    }
+
+    private static String formatStack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "    (no stack trace)";
+        }
+        StringBuilder builder = new StringBuilder();
+        int depth = 0;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (depth++ == LOGGED_STACK_DEPTH) {
+                builder.append("    ...\n");
+                break;
+            }
+            if (frame.getMethod() == null) {
+                continue;
+            }
+            builder.append("    at ")
+                    .append(frame.getMethod().getType().getName())
+                    .append('.')
+                    .append(frame.getMethod().getName())
+                    .append(':')
+                    .append(frame.getLineNumber())
+                    .append('\n');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.solaceservice.transport;
+
+import com.example.solaceservice.config.TransportProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link MessageTransport} with in-process queues, for measuring the throughput and latency of the
+ * service itself without a broker (see {@link TransportProperties}).
+ *
+ * <p>Each destination is a bounded lock-free ring buffer; subscribers compete for its messages
+ * with consumer threads of their own. A send into a full queue waits up to send-timeout-ms and
+ * then fails, which applies the same back-pressure as a full broker queue. Messages are not
+ * persisted, and a message whose listener throws is counted as failed and dropped.</p>
+ *
+ * <h3>Metrics (tagged by destination):</h3>
+ * <ul>
+ *   <li>{@code messaging.transport.in_memory.depth} - messages waiting in the queue</li>
+ *   <li>{@code messaging.transport.in_memory.delivered} - messages handled by a listener</li>
+ *   <li>{@code messaging.transport.in_memory.failed} - messages whose listener threw</li>
+ *   <li>{@code messaging.transport.in_memory.latency} - time from send until the listener finished</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "messaging.transport.type", havingValue = "IN_MEMORY")
+public class InMemoryMessageTransport implements MessageTransport {
+
+    private static final long POLL_INTERVAL_MS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    @Autowired
+    private TransportProperties properties;
+
+    @Autowired(required = false)
+    private Environment environment;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Destination> destinations = new ConcurrentHashMap<>();
+    private final List<Thread> consumers = new CopyOnWriteArrayList<>();
+    private volatile boolean running = true;
+
+    @PostConstruct
+    public void start() {
+        for (String sink : properties.getInMemory().getSinkDestinations()) {
+            subscribe(sink, message -> { });
+        }
+
+        log.info("In-memory messaging transport enabled - Capacity: {}, Consumers per subscription: {}, Sinks: {}",
+                properties.getInMemory().getCapacity(), properties.getInMemory().resolveConsumers(),
+                properties.getInMemory().getSinkDestinations());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MS;
+        for (Thread consumer : consumers) {
+            try {
+                consumer.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        consumers.forEach(Thread::interrupt);
+    }
+
+    @Override
+    public void send(String destination, TransportMessage message) {
+        if (!running) {
+            throw new IllegalStateException("In-memory transport is shut down");
+        }
+
+        Envelope envelope = new Envelope(message, System.nanoTime());
+        try {
+            if (!destination(destination).queue.offer(envelope, properties.getInMemory().getSendTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("In-memory queue " + destination + " is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending to in-memory queue " + destination, e);
+        }
+    }
+
+    @Override
+    public void subscribe(String destination, TransportListener listener) {
+        Destination queue = destination(destination);
+        boolean virtual = environment != null && Threading.VIRTUAL.isActive(environment);
+        ThreadFactory threadFactory = virtual
+                ? Thread.ofVirtual().name("transport-" + destination + "-", 0).factory()
+                : Thread.ofPlatform().name("transport-" + destination + "-", 0).daemon(true).factory();
+
+        for (int i = 0; i < properties.getInMemory().resolveConsumers(); i++) {
+            Thread consumer = threadFactory.newThread(() -> consume(queue, listener));
+            consumers.add(consumer);
+            consumer.start();
+        }
+        log.info("Subscribed to in-memory queue {} with {} consumers", destination, properties.getInMemory().resolveConsumers());
+    }
+
+    /**
+     * Messages waiting in a queue.
+     */
+    public int getDepth(String destination) {
+        Destination queue = destinations.get(destination);
+        return queue != null ? queue.queue.size() : 0;
+    }
+
+    /**
+     * Messages handled by a listener of a queue, including failed ones.
+     */
+    public long getDelivered(String destination) {
+        Destination queue = destinations.get(destination);
+        return queue != null ? queue.delivered.sum() : 0;
+    }
+
+    private void consume(Destination destination, TransportListener listener) {
+        // Drain what was sent before shutdown
+        while (running || destination.queue.size() > 0) {
+            Envelope envelope;
+            try {
+                envelope = destination.queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (envelope == null) {
+                continue;
+            }
+
+            try {
+                listener.onMessage(envelope.message());
+            } catch (InterruptedException e) {
+                destination.failed.increment();
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                destination.failed.increment();
+                log.error("Listener on in-memory queue {} failed, message {} dropped",
+                        destination.name, envelope.message().getMessageId(), e);
+            } finally {
+                if (destination.latency != null) {
+                    destination.latency.record(System.nanoTime() - envelope.sentNanos(), TimeUnit.NANOSECONDS);
+                }
+                destination.delivered.increment();
+            }
+        }
+    }
+
+    private Destination destination(String name) {
+        return destinations.computeIfAbsent(name, this::createDestination);
+    }
+
+    private Destination createDestination(String name) {
+        Destination destination = new Destination(name, new RingBufferQueue<>(properties.getInMemory().getCapacity()));
+        if (meterRegistry != null) {
+            Gauge.builder("messaging.transport.in_memory.depth", destination.queue, RingBufferQueue::size)
+                    .description("Messages waiting in an in-memory queue")
+                    .tag("destination", name)
+                    .register(meterRegistry);
+            FunctionCounter.builder("messaging.transport.in_memory.delivered", destination.delivered, LongAdder::sum)
+                    .description("Messages handled by a listener of an in-memory queue")
+                    .tag("destination", name)
+                    .register(meterRegistry);
+            FunctionCounter.builder("messaging.transport.in_memory.failed", destination.failed, LongAdder::sum)
+                    .description("Messages of an in-memory queue whose listener failed")
+                    .tag("destination", name)
+                    .register(meterRegistry);
+            destination.latency = Timer.builder("messaging.transport.in_memory.latency")
+                    .description("Time from send until the listener of an in-memory queue finished")
+                    .tag("destination", name)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+        return destination;
+    }
+
+    private record Envelope(TransportMessage message, long sentNanos) {
+    }
+
+    private static final class Destination {
+
+        private final String name;
+        private final RingBufferQueue<Envelope> queue;
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private Timer latency;
+
+        Destination(String name, RingBufferQueue<Envelope> queue) {
+            this.name = name;
+            this.queue = queue;
+        }
+    }
+}
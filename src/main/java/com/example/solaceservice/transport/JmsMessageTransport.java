@@ -0,0 +1,162 @@
+package com.example.solaceservice.transport;
+
+import jakarta.jms.BytesMessage;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jms.config.JmsListenerContainerFactory;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.config.SimpleJmsListenerEndpoint;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.listener.adapter.ListenerExecutionFailedException;
+
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link MessageTransport} over Solace JMS: sends through the {@link JmsTemplate} and consumes
+ * through listener containers registered with the {@link JmsListenerEndpointRegistry}, so they are
+ * started, stopped and scaled like the {@code @JmsListener} containers.
+ */
+@Slf4j
+public class JmsMessageTransport implements MessageTransport {
+
+    private final JmsTemplate jmsTemplate;
+    private final JmsListenerEndpointRegistry listenerRegistry;
+    private final JmsListenerContainerFactory<?> containerFactory;
+    private final AtomicInteger subscriptions = new AtomicInteger();
+
+    public JmsMessageTransport(JmsTemplate jmsTemplate, JmsListenerEndpointRegistry listenerRegistry,
+                               JmsListenerContainerFactory<?> containerFactory) {
+        this.jmsTemplate = jmsTemplate;
+        this.listenerRegistry = listenerRegistry;
+        this.containerFactory = containerFactory;
+    }
+
+    @Override
+    public void send(String destination, TransportMessage message) {
+        jmsTemplate.send(destination, session -> toJms(session, message));
+    }
+
+    @Override
+    public void subscribe(String destination, TransportListener listener) {
+        subscribe(destination, containerFactory, message -> listener.onMessage(fromJms(message)));
+    }
+
+    /**
+     * Consume a queue with JMS messages, for listeners that acknowledge messages themselves or hand
+     * them to JMS-specific processing.
+     *
+     * @param containerFactory Factory of the listener container (acknowledge mode, concurrency)
+     */
+    public void subscribe(String destination, JmsListenerContainerFactory<?> containerFactory, JmsMessageHandler handler) {
+        subscribe(destination, null, null, null, containerFactory, handler);
+    }
+
+    /**
+     * Consume the messages of a queue that match a selector, with consumers of their own.
+     *
+     * @param selector     JMS message selector, or null for all messages
+     * @param concurrency  Consumers as "min-max" or a fixed count, or null for the factory setting
+     * @param taskExecutor Executor running the consumers, or null for the factory setting
+     */
+    public void subscribe(String destination, String selector, String concurrency, TaskExecutor taskExecutor,
+                          JmsListenerContainerFactory<?> containerFactory, JmsMessageHandler handler) {
+        String id = "transport-" + subscriptions.incrementAndGet() + "-" + destination;
+        SimpleJmsListenerEndpoint endpoint = new SimpleJmsListenerEndpoint();
+        endpoint.setId(id);
+        endpoint.setDestination(destination);
+        endpoint.setSelector(selector);
+        endpoint.setConcurrency(concurrency);
+        endpoint.setMessageListener(message -> {
+            try {
+                handler.onMessage(message);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new ListenerExecutionFailedException("Listener on " + destination + " failed", e);
+            }
+        });
+
+        // Started with the other listener containers when the context is refreshed
+        listenerRegistry.registerListenerContainer(endpoint, containerFactory, false);
+        if (taskExecutor != null
+                && listenerRegistry.getListenerContainer(id) instanceof DefaultMessageListenerContainer container) {
+            container.setTaskExecutor(taskExecutor);
+        }
+        log.info("Subscribed to queue {} through JMS{}", destination, selector != null ? " - Selector: " + selector : "");
+    }
+
+    /**
+     * Create the JMS message of a transport message in the given session.
+     */
+    public static Message toJms(Session session, TransportMessage message) throws JMSException {
+        Message jmsMessage;
+        if (message.isBinary()) {
+            BytesMessage bytesMessage = session.createBytesMessage();
+            bytesMessage.writeBytes(message.getBytes());
+            jmsMessage = bytesMessage;
+        } else {
+            jmsMessage = session.createTextMessage(message.getText());
+        }
+
+        if (message.getMessageId() != null) {
+            jmsMessage.setJMSMessageID(message.getMessageId());
+        }
+        if (message.getCorrelationId() != null) {
+            jmsMessage.setJMSCorrelationID(message.getCorrelationId());
+        }
+
+        for (Map.Entry<String, Object> property : message.getProperties().entrySet()) {
+            String name = property.getKey();
+            switch (property.getValue()) {
+                case String value -> jmsMessage.setStringProperty(name, value);
+                case Boolean value -> jmsMessage.setBooleanProperty(name, value);
+                case Integer value -> jmsMessage.setIntProperty(name, value);
+                case Long value -> jmsMessage.setLongProperty(name, value);
+                case null -> { }
+                default -> jmsMessage.setObjectProperty(name, property.getValue());
+            }
+        }
+        return jmsMessage;
+    }
+
+    /**
+     * Read a consumed JMS message. Message types other than text and bytes have neither body.
+     */
+    public static TransportMessage fromJms(Message message) throws JMSException {
+        TransportMessage transportMessage = new TransportMessage();
+        if (message instanceof TextMessage textMessage) {
+            transportMessage.setText(textMessage.getText());
+        } else if (message instanceof BytesMessage bytesMessage) {
+            byte[] payload = new byte[(int) bytesMessage.getBodyLength()];
+            bytesMessage.readBytes(payload);
+            transportMessage.setBytes(payload);
+        }
+        transportMessage.setMessageId(message.getJMSMessageID());
+        transportMessage.setCorrelationId(message.getJMSCorrelationID());
+
+        Enumeration<?> names = message.getPropertyNames();
+        while (names.hasMoreElements()) {
+            String name = (String) names.nextElement();
+            transportMessage.setProperty(name, message.getObjectProperty(name));
+        }
+        return transportMessage;
+    }
+
+    /**
+     * Receives the JMS messages of a subscription.
+     */
+    @FunctionalInterface
+    public interface JmsMessageHandler {
+        void onMessage(Message message) throws Exception;
+    }
+}
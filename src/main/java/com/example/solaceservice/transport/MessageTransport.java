@@ -0,0 +1,32 @@
+package com.example.solaceservice.transport;
+
+/**
+ * Point-to-point messaging used by the publishing, transformation, retry and dead-letter paths.
+ *
+ * <p>Selected with {@code messaging.transport.type}:</p>
+ * <ul>
+ *   <li>JMS - Solace through JmsTemplate and listener containers ({@link JmsMessageTransport})</li>
+ *   <li>IN_MEMORY - in-process ring-buffer queues, for benchmarking the service without a
+ *       broker ({@link InMemoryMessageTransport})</li>
+ * </ul>
+ *
+ * <p>Batch and stream publishing send each message through the transport when it is not JMS.
+ * Solace-specific features (guaranteed and coalesced publishing, topics, the publish journal,
+ * batched, pipelined and key-ordered consumption) use JMS directly and need the JMS transport;
+ * the publishing ones fail the startup on another transport.</p>
+ */
+public interface MessageTransport {
+
+    /**
+     * Send a message to a queue.
+     *
+     * @throws RuntimeException if the message could not be sent
+     */
+    void send(String destination, TransportMessage message);
+
+    /**
+     * Consume a queue. Subscribe during application startup; JMS listener containers are started
+     * with the application context.
+     */
+    void subscribe(String destination, TransportListener listener);
+}
@@ -0,0 +1,173 @@
+package com.example.solaceservice.transport;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded multi-producer, multi-consumer ring buffer without locks.
+ *
+ * <p>Each slot carries a sequence number that tells producers and consumers whose turn it is, so
+ * a send or receive is one compare-and-set on the tail or head counter. Waiting callers spin
+ * briefly, then yield, then park for short intervals instead of blocking on a lock.</p>
+ *
+ * @param <E> Element type
+ */
+final class RingBufferQueue<E> {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final int SHORT_PARK_TRIES = 1_000;
+    private static final long SHORT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long LONG_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final int capacity;
+    private final int mask;
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * @param capacity Requested capacity, rounded up to a power of two
+     */
+    RingBufferQueue(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Ring buffer capacity must be between 1 and 2^30: " + capacity);
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.elements = new Object[this.capacity];
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Add an element if there is room.
+     *
+     * @return false if the buffer is full
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    // Publishes the element to the consumer of this position
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Take the oldest element if there is one.
+     *
+     * @return Element, or null if the buffer is empty
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = (E) elements[index];
+                    elements[index] = null;
+                    // Frees the slot for the producer one lap later
+                    sequences.set(index, position + capacity);
+                    return element;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Add an element, waiting up to the timeout for room.
+     *
+     * @return false if the buffer stayed full
+     */
+    boolean offer(E element, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; ; attempt++) {
+            if (offer(element)) {
+                return true;
+            }
+            if (!idle(attempt, deadline)) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Take the oldest element, waiting up to the timeout for one.
+     *
+     * @return Element, or null if the buffer stayed empty
+     */
+    E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; ; attempt++) {
+            E element = poll();
+            if (element != null) {
+                return element;
+            }
+            if (!idle(attempt, deadline)) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Elements in the buffer (a snapshot while producers and consumers are active).
+     */
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(capacity, size));
+    }
+
+    /**
+     * Back off between attempts: spin, then yield, then park (longer once the wait drags on, so
+     * idle consumers cost little CPU).
+     *
+     * @return false once the deadline has passed
+     */
+    private static boolean idle(int attempt, long deadline) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (System.nanoTime() - deadline >= 0) {
+            return false;
+        }
+        if (attempt < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (attempt < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else if (attempt < SPIN_TRIES + YIELD_TRIES + SHORT_PARK_TRIES) {
+            LockSupport.parkNanos(SHORT_PARK_NANOS);
+        } else {
+            LockSupport.parkNanos(LONG_PARK_NANOS);
+        }
+        return true;
+    }
+}
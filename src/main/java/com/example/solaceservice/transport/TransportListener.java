@@ -0,0 +1,14 @@
+package com.example.solaceservice.transport;
+
+/**
+ * Receives the messages of a {@link MessageTransport} subscription.
+ */
+@FunctionalInterface
+public interface TransportListener {
+
+    /**
+     * Handle a message. A message whose listener throws is not processed again by the in-process
+     * transport; the JMS transport treats the exception like any listener failure.
+     */
+    void onMessage(TransportMessage message) throws Exception;
+}
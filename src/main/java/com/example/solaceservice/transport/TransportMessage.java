@@ -0,0 +1,68 @@
+package com.example.solaceservice.transport;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Transport-neutral message: a text or binary body, IDs and typed properties.
+ *
+ * <p>Property values are Strings, Booleans or numbers, mapped to the JMS property of the same
+ * type by {@link JmsMessageTransport}.</p>
+ */
+@Data
+@NoArgsConstructor
+public class TransportMessage {
+
+    private String messageId;
+    private String correlationId;
+
+    /**
+     * Text body (null for binary messages).
+     */
+    private String text;
+
+    /**
+     * Binary body (null for text messages).
+     */
+    private byte[] bytes;
+
+    private final Map<String, Object> properties = new LinkedHashMap<>();
+
+    public static TransportMessage text(String text) {
+        TransportMessage message = new TransportMessage();
+        message.setText(text);
+        return message;
+    }
+
+    public static TransportMessage bytes(byte[] bytes) {
+        TransportMessage message = new TransportMessage();
+        message.setBytes(bytes);
+        return message;
+    }
+
+    public boolean isBinary() {
+        return bytes != null;
+    }
+
+    public TransportMessage setProperty(String name, Object value) {
+        properties.put(name, value);
+        return this;
+    }
+
+    public boolean hasProperty(String name) {
+        return properties.containsKey(name);
+    }
+
+    public String getStringProperty(String name) {
+        Object value = properties.get(name);
+        return value != null ? value.toString() : null;
+    }
+
+    public boolean getBooleanProperty(String name) {
+        Object value = properties.get(name);
+        return value instanceof Boolean bool ? bool : Boolean.parseBoolean(getStringProperty(name));
+    }
+}
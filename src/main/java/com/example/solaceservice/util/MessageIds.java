@@ -0,0 +1,89 @@
+package com.example.solaceservice.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generator of time-ordered message IDs (UUID version 7, RFC 9562).
+ *
+ * <p>{@link UUID#randomUUID()} draws 122 bits from a shared {@code SecureRandom}, which contends
+ * under high request concurrency. These IDs use per-thread state only: the millisecond timestamp,
+ * a per-thread sequence within the millisecond and 62 bits from {@link ThreadLocalRandom}. No
+ * locks, no shared counters and no blocking entropy source are involved.</p>
+ *
+ * <h3>Layout:</h3>
+ * <pre>
+ *  48 bits  Unix epoch milliseconds
+ *   4 bits  version (7)
+ *  12 bits  sequence within the millisecond (random start, incremented per ID on the same thread)
+ *   2 bits  variant (10)
+ *  62 bits  random
+ * </pre>
+ *
+ * <p>The string form keeps the standard UUID format, and its lexicographic order is creation
+ * order at millisecond granularity, so blob names such as {@code message-<id>.json} list in time
+ * order. IDs from one thread are strictly increasing, even if the clock steps back.</p>
+ *
+ * <p>The IDs are unique identifiers, not secrets: they reveal their creation time and must not
+ * be used as security tokens.</p>
+ */
+public final class MessageIds {
+
+    private static final int SEQUENCE_MASK = 0xFFF;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_BITS = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private MessageIds() {
+    }
+
+    /**
+     * @return New time-ordered ID in standard UUID string form
+     */
+    public static String next() {
+        return nextUuid().toString();
+    }
+
+    /**
+     * @return New time-ordered version 7 UUID
+     */
+    public static UUID nextUuid() {
+        State state = STATE.get();
+        long now = System.currentTimeMillis();
+
+        if (now > state.millis) {
+            state.millis = now;
+            // Random start in the lower half leaves room for IDs created in the same millisecond
+            state.sequence = ThreadLocalRandom.current().nextInt(SEQUENCE_MASK / 2);
+        } else if (++state.sequence > SEQUENCE_MASK) {
+            // Sequence exhausted (or clock stepped back): borrow the next millisecond
+            state.millis++;
+            state.sequence = 0;
+        }
+
+        long mostSigBits = (state.millis << 16) | VERSION_7 | state.sequence;
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & RANDOM_MASK) | VARIANT_BITS;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Creation time of an ID produced by this generator.
+     *
+     * @return Unix epoch milliseconds, or -1 if the ID is not a version 7 UUID
+     */
+    public static long timestampOf(String id) {
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.version() == 7 ? uuid.getMostSignificantBits() >>> 16 : -1;
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static final class State {
+        private long millis = -1;
+        private int sequence;
+    }
+}
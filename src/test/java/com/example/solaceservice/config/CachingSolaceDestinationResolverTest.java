@@ -0,0 +1,54 @@
+package com.example.solaceservice.config;
+
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.support.destination.DestinationResolver;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CachingSolaceDestinationResolver caching and its size bound.
+ */
+class CachingSolaceDestinationResolverTest {
+
+    private final DestinationResolver target = mock(DestinationResolver.class);
+
+    CachingSolaceDestinationResolverTest() throws JMSException {
+        when(target.resolveDestinationName(any(), anyString(), anyBoolean()))
+                .thenAnswer(invocation -> mock(Destination.class));
+    }
+
+    @Test
+    void shouldResolveEachNameOnce() throws JMSException {
+        CachingSolaceDestinationResolver resolver = new CachingSolaceDestinationResolver(target, 10);
+
+        Destination first = resolver.resolveDestinationName(null, "payments/MT103/US", true);
+        Destination second = resolver.resolveDestinationName(null, "payments/MT103/US", true);
+
+        assertSame(first, second);
+        verify(target, times(1)).resolveDestinationName(null, "payments/MT103/US", true);
+        assertEquals(1, resolver.getHits());
+        assertEquals(1, resolver.getMisses());
+    }
+
+    @Test
+    void shouldNotGrowBeyondMaxEntries() throws JMSException {
+        CachingSolaceDestinationResolver resolver = new CachingSolaceDestinationResolver(target, 10);
+
+        for (int i = 0; i < 1000; i++) {
+            resolver.resolveDestinationName(null, "payments/MT103/region-" + i, true);
+            resolver.resolveDestinationName(null, "queue-" + i, false);
+        }
+
+        assertEquals(20, resolver.getCacheSize());
+        assertEquals(1980, resolver.getEvictions());
+    }
+
+    @Test
+    void shouldRejectCacheSizeBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingSolaceDestinationResolver(target, 0));
+    }
+}
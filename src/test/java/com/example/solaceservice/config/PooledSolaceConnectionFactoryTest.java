@@ -0,0 +1,89 @@
+package com.example.solaceservice.config;
+
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.ExceptionListener;
+import jakarta.jms.JMSException;
+import jakarta.jms.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PooledSolaceConnectionFactory session caching, statistics and reconnects.
+ */
+class PooledSolaceConnectionFactoryTest {
+
+    private final ConnectionFactory target = mock(ConnectionFactory.class);
+    private Connection physicalConnection;
+    private PooledSolaceConnectionFactory factory;
+
+    @BeforeEach
+    void setUp() throws JMSException {
+        when(target.createConnection()).thenAnswer(invocation -> {
+            physicalConnection = mock(Connection.class);
+            when(physicalConnection.createSession(anyBoolean(), anyInt())).thenAnswer(i -> mock(Session.class));
+            when(physicalConnection.createSession(anyInt())).thenAnswer(i -> mock(Session.class));
+            return physicalConnection;
+        });
+
+        factory = new PooledSolaceConnectionFactory(target);
+        factory.setSessionCacheSize(2);
+        factory.setReconnectOnException(true);
+    }
+
+    private void useSession() throws JMSException {
+        Connection connection = factory.createConnection();
+        Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        // Returned to the cache, not closed
+        session.close();
+    }
+
+    @Test
+    void shouldServeRepeatedSessionRequestsFromCache() throws JMSException {
+        useSession();
+        useSession();
+        useSession();
+
+        verify(target, times(1)).createConnection();
+        assertEquals(3, factory.getSessionRequests());
+        assertEquals(1, factory.getSessionMisses());
+        assertEquals(2, factory.getSessionHits());
+        assertEquals(1, factory.getConnectionsCreated());
+    }
+
+    @Test
+    void shouldOpenNewSessionsForConcurrentBorrowers() throws JMSException {
+        Connection connection = factory.createConnection();
+        Session first = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        Session second = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+
+        assertEquals(2, factory.getSessionMisses());
+        assertEquals(0, factory.getSessionHits());
+        first.close();
+        second.close();
+    }
+
+    @Test
+    void shouldResetAndReconnectAfterConnectionException() throws JMSException {
+        useSession();
+        Connection broken = physicalConnection;
+        ArgumentCaptor<ExceptionListener> listener = ArgumentCaptor.forClass(ExceptionListener.class);
+        verify(broken).setExceptionListener(listener.capture());
+
+        // When - the broker connection is lost
+        listener.getValue().onException(new JMSException("connection lost"));
+
+        // Then - the cached sessions are dropped and the next borrower reconnects
+        assertEquals(1, factory.getConnectionResets());
+        verify(broken).close();
+        useSession();
+        assertNotSame(broken, physicalConnection);
+        assertEquals(2, factory.getConnectionsCreated());
+        assertEquals(2, factory.getSessionMisses());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.solaceservice.config;
+
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SolaceConnectionHealthIndicator with and without the publisher pool.
+ */
+class SolaceConnectionHealthIndicatorTest {
+
+    private final ConnectionFactory target = mock(ConnectionFactory.class);
+
+    private Connection connectionSucceeds() throws JMSException {
+        Connection connection = mock(Connection.class);
+        when(connection.createSession(anyBoolean(), anyInt())).thenAnswer(invocation -> mock(Session.class));
+        when(connection.createSession(anyInt())).thenAnswer(invocation -> mock(Session.class));
+        when(target.createConnection()).thenReturn(connection);
+        return connection;
+    }
+
+    @Test
+    void shouldReportUpWithPoolStatistics() throws JMSException {
+        connectionSucceeds();
+        PooledSolaceConnectionFactory pool = new PooledSolaceConnectionFactory(target);
+        SolaceConnectionHealthIndicator indicator = new SolaceConnectionHealthIndicator(pool, target);
+
+        indicator.health();
+        Health health = indicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(true, health.getDetails().get("pooled"));
+        assertEquals(2L, health.getDetails().get("sessionRequests"));
+        assertEquals(1L, health.getDetails().get("sessionHits"));
+        assertEquals(1L, health.getDetails().get("connectionsCreated"));
+    }
+
+    @Test
+    void shouldReportDownAndResetPoolWhenBrokerIsUnreachable() throws JMSException {
+        when(target.createConnection()).thenThrow(new JMSException("connection refused"));
+        PooledSolaceConnectionFactory pool = new PooledSolaceConnectionFactory(target);
+        SolaceConnectionHealthIndicator indicator = new SolaceConnectionHealthIndicator(pool, target);
+
+        Health health = indicator.health();
+
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals(true, health.getDetails().get("pooled"));
+        assertEquals(1, pool.getConnectionResets());
+    }
+
+    @Test
+    void shouldCheckPlainConnectionWithoutPool() throws JMSException {
+        Connection connection = connectionSucceeds();
+        SolaceConnectionHealthIndicator indicator = new SolaceConnectionHealthIndicator(null, target);
+
+        Health health = indicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(false, health.getDetails().get("pooled"));
+        assertFalse(health.getDetails().containsKey("sessionRequests"));
+        verify(connection).close();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.solaceservice.controller;
+
+import com.example.solaceservice.service.AdaptiveConcurrencyLimiter;
+import com.example.solaceservice.service.MessageExclusionService;
+import com.example.solaceservice.service.MessageService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(MessageController.class)
+@TestPropertySource(properties = "solace.ingest.concurrency-limit.enabled=true")
+class ConcurrencyLimitFilterTest {
+
+    private static final String BODY = "{\"content\":\"hello\",\"destination\":\"queue/a\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @MockitoBean
+    private MessageService messageService;
+
+    @MockitoBean
+    private MessageExclusionService exclusionService;
+
+    @Test
+    void shouldRejectWithRetryAfterWhenLimitReached() throws Exception {
+        // Given
+        when(limiter.tryAcquire()).thenReturn(false);
+        when(limiter.getRetryAfterSeconds()).thenReturn(2);
+
+        // When/Then
+        mockMvc.perform(post("/api/messages")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BODY))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "2"))
+            .andExpect(jsonPath("$.status").value("REJECTED"));
+
+        verify(messageService, never()).sendMessage(any(), anyString());
+        verify(limiter, never()).release(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void shouldReleaseSlotAfterAdmittedRequest() throws Exception {
+        // Given
+        when(limiter.tryAcquire()).thenReturn(true);
+
+        // When/Then
+        mockMvc.perform(post("/api/messages")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BODY))
+            .andExpect(status().isOk());
+
+        verify(messageService).sendMessage(any(), anyString());
+        verify(limiter).release(anyLong(), eq(false));
+    }
+
+    @Test
+    void shouldReportFailedRequestToLimiter() throws Exception {
+        // Given
+        when(limiter.tryAcquire()).thenReturn(true);
+        doThrow(new RuntimeException("broker down")).when(messageService).sendMessage(any(), anyString());
+
+        // When/Then
+        mockMvc.perform(post("/api/messages")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BODY))
+            .andExpect(status().isInternalServerError());
+
+        verify(limiter).release(anyLong(), eq(true));
+    }
+
+    @Test
+    void shouldNotLimitReadEndpoints() throws Exception {
+        mockMvc.perform(get("/api/messages/health"))
+            .andExpect(status().isOk());
+
+        verify(limiter, never()).tryAcquire();
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.solaceservice.controller;
+
+import com.example.solaceservice.service.MessageExclusionService;
+import com.example.solaceservice.service.MessageService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(MessageController.class)
+@TestPropertySource(properties = "solace.async.max-in-flight=1")
+class MessageControllerAsyncTest {
+
+    private static final String BODY = "{\"content\":\"hello\",\"destination\":\"queue/a\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MessageService messageService;
+
+    @MockitoBean
+    private MessageExclusionService exclusionService;
+
+    @Test
+    void shouldCompleteResponseWhenPublishCompletes() throws Exception {
+        // Given
+        CompletableFuture<String> publish = new CompletableFuture<>();
+        when(exclusionService.shouldExclude(anyString(), any())).thenReturn(false);
+        when(messageService.sendMessageAsync(any(), anyString())).thenReturn(publish);
+
+        // When - the request thread returns before the publish completes
+        MvcResult result = mockMvc.perform(post("/api/messages/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BODY))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        publish.complete("SENT");
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("SENT"))
+            .andExpect(jsonPath("$.destination").value("queue/a"));
+
+        verify(messageService, never()).sendMessage(any(), anyString());
+    }
+
+    @Test
+    void shouldReturnStatusThePublishCompletesWith() throws Exception {
+        // Given - Solace is down and the message is held in the publish journal
+        when(exclusionService.shouldExclude(anyString(), any())).thenReturn(false);
+        when(messageService.sendMessageAsync(any(), anyString()))
+            .thenReturn(CompletableFuture.completedFuture("JOURNALED"));
+
+        // When/Then
+        MvcResult result = mockMvc.perform(post("/api/messages/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BODY))
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("JOURNALED"));
+    }
+
+    @Test
+    void shouldReturnServerErrorWhenPublishFails() throws Exception {
+        // Given
+        when(exclusionService.shouldExclude(anyString(), any())).thenReturn(false);
+        when(messageService.sendMessageAsync(any(), anyString()))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        // When/Then
+        MvcResult result = mockMvc.perform(post("/api/messages/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BODY))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isInternalServerError())
+            .andExpect(jsonPath("$.status").value("FAILED"));
+    }
+
+    @Test
+    void shouldRejectWhenTooManyPublishesInFlight() throws Exception {
+        // Given - the first publish never completes and holds the only in-flight slot
+        CompletableFuture<String> first = new CompletableFuture<>();
+        when(exclusionService.shouldExclude(anyString(), any())).thenReturn(false);
+        when(messageService.sendMessageAsync(any(), anyString())).thenReturn(first);
+
+        mockMvc.perform(post("/api/messages/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BODY))
+            .andExpect(request().asyncStarted());
+
+        // When/Then
+        MvcResult rejected = mockMvc.perform(post("/api/messages/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BODY))
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(rejected))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(jsonPath("$.status").value("REJECTED"));
+
+        verify(messageService, times(1)).sendMessageAsync(any(), anyString());
+
+        // Completing the first publish frees the slot for the next test
+        first.complete("SENT");
+    }
+
+    @Test
+    void shouldNotPublishExcludedMessage() throws Exception {
+        // Given
+        when(exclusionService.shouldExclude(anyString(), any())).thenReturn(true);
+
+        // When/Then
+        MvcResult result = mockMvc.perform(post("/api/messages/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BODY))
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.status").value("EXCLUDED"));
+
+        verify(messageService, never()).sendMessageAsync(any(), anyString());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.solaceservice.controller;
+
+import com.example.solaceservice.model.MessageRequest;
+import com.example.solaceservice.service.MessageExclusionService;
+import com.example.solaceservice.service.MessageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(MessageController.class)
+class MessageControllerBatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private MessageService messageService;
+
+    @MockitoBean
+    private MessageExclusionService exclusionService;
+
+    @Test
+    void shouldPublishBatchAndReturnPerItemStatuses() throws Exception {
+        // Given
+        List<MessageRequest> batch = List.of(
+            request("first", "queue/a"),
+            request("second", "queue/b"),
+            request("third", "queue/a")
+        );
+
+        when(exclusionService.shouldExclude(anyString(), any())).thenReturn(false);
+        when(messageService.sendBatch(anyList(), anyList())).thenReturn(List.of("SENT", "FAILED", "SENT"));
+
+        // When/Then
+        mockMvc.perform(post("/api/messages/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[0].status").value("SENT"))
+            .andExpect(jsonPath("$[1].status").value("FAILED"))
+            .andExpect(jsonPath("$[1].destination").value("queue/b"))
+            .andExpect(jsonPath("$[2].status").value("SENT"))
+            .andExpect(jsonPath("$[2].messageId").exists());
+
+        // All items are published through a single service call
+        verify(messageService, times(1)).sendBatch(anyList(), anyList());
+        verify(messageService, never()).sendMessage(any(), anyString());
+    }
+
+    @Test
+    void shouldSkipExcludedAndInvalidItems() throws Exception {
+        // Given
+        List<MessageRequest> batch = List.of(
+            request("{\"orderId\":\"BLOCKED-1\"}", "queue/a"),
+            request("", "queue/a"),
+            request("{\"orderId\":\"ALLOWED-1\"}", "queue/a")
+        );
+
+        when(exclusionService.shouldExclude(eq("{\"orderId\":\"BLOCKED-1\"}"), any())).thenReturn(true);
+        when(exclusionService.shouldExclude(eq("{\"orderId\":\"ALLOWED-1\"}"), any())).thenReturn(false);
+        when(messageService.sendBatch(anyList(), anyList())).thenReturn(List.of("SENT"));
+
+        // When/Then
+        mockMvc.perform(post("/api/messages/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value("EXCLUDED"))
+            .andExpect(jsonPath("$[1].status").value("INVALID"))
+            .andExpect(jsonPath("$[2].status").value("SENT"));
+
+        // Only the allowed message reaches the service
+        verify(messageService, times(1)).sendBatch(argThat(list -> list.size() == 1), anyList());
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/messages/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+            .andExpect(status().isBadRequest());
+
+        verify(messageService, never()).sendBatch(anyList(), anyList());
+    }
+
+    private MessageRequest request(String content, String destination) {
+        MessageRequest request = new MessageRequest();
+        request.setContent(content);
+        request.setDestination(destination);
+        return request;
+    }
+}
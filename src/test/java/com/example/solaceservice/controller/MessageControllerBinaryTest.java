@@ -0,0 +1,90 @@
+package com.example.solaceservice.controller;
+
+import com.example.solaceservice.model.PublishQos;
+import com.example.solaceservice.service.MessageExclusionService;
+import com.example.solaceservice.service.MessageService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(MessageController.class)
+class MessageControllerBinaryTest {
+
+    private static final byte[] PAYLOAD =
+        "{1:F01BANKUS33AXXX0000000000}{2:I103BANKDE55XXXXN}{4:\n:20:REF1\n-}".getBytes(StandardCharsets.US_ASCII);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MessageService messageService;
+
+    @MockitoBean
+    private MessageExclusionService exclusionService;
+
+    @Test
+    void shouldPublishOctetStreamBodyAsBinaryMessage() throws Exception {
+        when(messageService.sendMessage(any(), anyString())).thenReturn("SENT");
+
+        // When/Then
+        mockMvc.perform(post("/api/messages")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header("X-Destination", "swift/mt103/inbound")
+                .header("X-Correlation-Id", "corr-1")
+                .header("X-Qos", "GUARANTEED")
+                .content(PAYLOAD))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("SENT"))
+            .andExpect(jsonPath("$.destination").value("swift/mt103/inbound"));
+
+        verify(messageService).sendMessage(argThat(request ->
+            request.isBinary()
+                && request.getContent() == null
+                && Arrays.equals(PAYLOAD, request.getBinaryContent())
+                && "corr-1".equals(request.getCorrelationId())
+                && request.getQos() == PublishQos.GUARANTEED), anyString());
+
+        // Without active exclusion rules the payload is never decoded
+        verify(exclusionService).shouldExclude(isNull(), any());
+    }
+
+    @Test
+    void shouldApplyExclusionRulesToBinaryPayload() throws Exception {
+        // Given
+        when(exclusionService.hasActiveRules()).thenReturn(true);
+        when(exclusionService.shouldExclude(argThat(content -> content != null && content.contains(":20:REF1")), any()))
+            .thenReturn(true);
+
+        // When/Then
+        mockMvc.perform(post("/api/messages")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(PAYLOAD))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.status").value("EXCLUDED"));
+
+        verify(messageService, never()).sendMessage(any(), anyString());
+    }
+
+    @Test
+    void shouldRejectEmptyBinaryPayload() throws Exception {
+        mockMvc.perform(post("/api/messages")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(new byte[0]))
+            .andExpect(status().isBadRequest());
+
+        verify(messageService, never()).sendMessage(any(), anyString());
+    }
+}
@@ -65,7 +65,7 @@ class MessageControllerExclusionTest {
         request.setCorrelationId("test-002");
         
         when(exclusionService.shouldExclude(anyString(), any())).thenReturn(false);
-        doNothing().when(messageService).sendMessage(any(), anyString());
+        when(messageService.sendMessage(any(), anyString())).thenReturn("SENT");
 
         // When/Then
         mockMvc.perform(post("/api/messages")
@@ -81,6 +81,24 @@ class MessageControllerExclusionTest {
         verify(exclusionService, times(1)).shouldExclude(anyString(), any());
     }
 
+    @Test
+    void shouldReturnPublishStatusOfMessageService() throws Exception {
+        // Given - Solace is down and the message is held in the publish journal
+        MessageRequest request = new MessageRequest();
+        request.setContent("test message");
+        request.setDestination("test/topic");
+
+        when(exclusionService.shouldExclude(anyString(), any())).thenReturn(false);
+        when(messageService.sendMessage(any(), anyString())).thenReturn("JOURNALED");
+
+        // When/Then
+        mockMvc.perform(post("/api/messages")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("JOURNALED"));
+    }
+
     @Test
     void shouldReturnFailedStatusWhenMessageServiceThrowsException() throws Exception {
         // Given
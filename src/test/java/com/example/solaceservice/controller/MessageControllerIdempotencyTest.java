@@ -0,0 +1,253 @@
+package com.example.solaceservice.controller;
+
+import com.example.solaceservice.config.IdempotencyProperties;
+import com.example.solaceservice.service.IdempotencyCache;
+import com.example.solaceservice.service.MessageExclusionService;
+import com.example.solaceservice.service.MessageService;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(MessageController.class)
+@Import({IdempotencyCache.class, IdempotencyProperties.class})
+@TestPropertySource(properties = "solace.idempotency.enabled=true")
+class MessageControllerIdempotencyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MessageService messageService;
+
+    @MockitoBean
+    private MessageExclusionService exclusionService;
+
+    @BeforeEach
+    void setUp() {
+        when(messageService.sendMessage(any(), anyString())).thenReturn("SENT");
+    }
+
+    @Test
+    void shouldReturnOriginalResponseForRetriedRequest() throws Exception {
+        String body = "{\"content\":\"hello\",\"destination\":\"queue/a\"}";
+
+        MvcResult first = mockMvc.perform(post("/api/messages")
+                .header("Idempotency-Key", "order-42")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("SENT"))
+            .andReturn();
+        String messageId = JsonPath.read(first.getResponse().getContentAsString(), "$.messageId");
+
+        // When - the client retries
+        mockMvc.perform(post("/api/messages")
+                .header("Idempotency-Key", "order-42")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Idempotent-Replayed", "true"))
+            .andExpect(jsonPath("$.messageId", equalTo(messageId)))
+            .andExpect(jsonPath("$.status").value("SENT"));
+
+        // Then - published once
+        verify(messageService, times(1)).sendMessage(any(), anyString());
+    }
+
+    @Test
+    void shouldUseCorrelationIdAsKey() throws Exception {
+        String body = "{\"content\":\"hello\",\"destination\":\"queue/a\",\"correlationId\":\"corr-7\"}";
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/messages")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                .andExpect(status().isOk());
+        }
+
+        verify(messageService, times(1)).sendMessage(any(), anyString());
+    }
+
+    @Test
+    void shouldPublishRetryOfFailedRequest() throws Exception {
+        String body = "{\"content\":\"hello\",\"destination\":\"queue/a\"}";
+        doThrow(new RuntimeException("broker down"))
+            .doReturn("SENT")
+            .when(messageService).sendMessage(any(), anyString());
+
+        mockMvc.perform(post("/api/messages")
+                .header("Idempotency-Key", "order-43")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isInternalServerError());
+
+        mockMvc.perform(post("/api/messages")
+                .header("Idempotency-Key", "order-43")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Idempotent-Replayed"));
+
+        verify(messageService, times(2)).sendMessage(any(), anyString());
+    }
+
+    @Test
+    void shouldPublishRequestsWithoutKeyEveryTime() throws Exception {
+        String body = "{\"content\":\"hello\",\"destination\":\"queue/a\"}";
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/messages")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                .andExpect(status().isOk());
+        }
+
+        verify(messageService, times(2)).sendMessage(any(), anyString());
+    }
+
+    @Test
+    void shouldReturnOriginalResponseForRetriedAsyncRequest() throws Exception {
+        String body = "{\"content\":\"hello\",\"destination\":\"queue/a\"}";
+        when(messageService.sendMessageAsync(any(), anyString())).thenReturn(CompletableFuture.completedFuture("SENT"));
+
+        MvcResult first = mockMvc.perform(post("/api/messages/async")
+                .header("Idempotency-Key", "order-44")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andReturn();
+        mockMvc.perform(asyncDispatch(first))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("SENT"));
+
+        MvcResult retry = mockMvc.perform(post("/api/messages/async")
+                .header("Idempotency-Key", "order-44")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andReturn();
+        mockMvc.perform(asyncDispatch(retry))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Idempotent-Replayed", "true"));
+
+        verify(messageService, times(1)).sendMessageAsync(any(), anyString());
+    }
+
+    @Test
+    void shouldPublishBatchItemWithKnownCorrelationIdOnce() throws Exception {
+        when(messageService.sendBatch(anyList(), anyList()))
+            .thenAnswer(invocation -> Collections.nCopies(((List<?>) invocation.getArgument(0)).size(), "SENT"));
+        String body = "[{\"content\":\"a\",\"correlationId\":\"order-50\"}," +
+            "{\"content\":\"b\",\"correlationId\":\"order-51\"}]";
+
+        MvcResult first = mockMvc.perform(post("/api/messages/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isOk())
+            .andReturn();
+        String messageId = JsonPath.read(first.getResponse().getContentAsString(), "$[0].messageId");
+
+        // When - the client retries the whole batch
+        mockMvc.perform(post("/api/messages/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].messageId", equalTo(messageId)))
+            .andExpect(jsonPath("$[1].status").value("SENT"));
+
+        // Then - the retried items are not published again
+        verify(messageService, times(1)).sendBatch(anyList(), anyList());
+    }
+
+    @Test
+    void shouldReleaseBatchReservationsWhenExclusionCheckFails() throws Exception {
+        when(messageService.sendBatch(anyList(), anyList()))
+            .thenAnswer(invocation -> Collections.nCopies(((List<?>) invocation.getArgument(0)).size(), "SENT"));
+        when(exclusionService.shouldExclude(eq("b"), any()))
+            .thenThrow(new IllegalStateException("exclusion rules unavailable"))
+            .thenReturn(false);
+        String body = "[{\"content\":\"a\",\"correlationId\":\"order-55\"}," +
+            "{\"content\":\"b\",\"correlationId\":\"order-56\"}]";
+
+        assertThrows(ServletException.class, () -> mockMvc.perform(post("/api/messages/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body)));
+
+        // When - the client retries: both items are published, not answered as IN_PROGRESS
+        mockMvc.perform(post("/api/messages/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value("SENT"))
+            .andExpect(jsonPath("$[1].status").value("SENT"));
+
+        verify(messageService, times(1)).sendBatch(anyList(), anyList());
+    }
+
+    @Test
+    void shouldRejectIdempotencyKeyHeaderOnBatchAndStream() throws Exception {
+        mockMvc.perform(post("/api/messages/batch")
+                .header("Idempotency-Key", "order-60")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"content\":\"a\"}]"))
+            .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/messages/stream")
+                .header("Idempotency-Key", "order-60")
+                .contentType("application/x-ndjson")
+                .content("{\"content\":\"a\"}\n"))
+            .andExpect(status().isBadRequest());
+
+        verify(messageService, never()).sendBatch(anyList(), anyList());
+        verify(messageService, never()).streamMessages(any());
+    }
+
+    @Test
+    void shouldPublishStreamedLineWithKnownCorrelationIdOnce() throws Exception {
+        List<String> published = new ArrayList<>();
+        doAnswer(invocation -> {
+            MessageService.StreamCallback callback = invocation.getArgument(0);
+            callback.doInStream((request, messageId) -> {
+                published.add(request.getContent());
+                return CompletableFuture.completedFuture("SENT");
+            });
+            return null;
+        }).when(messageService).streamMessages(any());
+
+        String body = "{\"content\":\"first\",\"correlationId\":\"order-70\"}\n"
+            + "{\"content\":\"first again\",\"correlationId\":\"order-70\"}\n";
+
+        MvcResult result = mockMvc.perform(post("/api/messages/stream")
+                .contentType("application/x-ndjson")
+                .content(body))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(JsonPath.<String>read(lines[0], "$.messageId"), JsonPath.<String>read(lines[1], "$.messageId"));
+        assertEquals(List.of("first"), published);
+    }
+}
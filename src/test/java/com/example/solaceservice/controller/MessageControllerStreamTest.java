@@ -0,0 +1,80 @@
+package com.example.solaceservice.controller;
+
+import com.example.solaceservice.service.MessageExclusionService;
+import com.example.solaceservice.service.MessageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(MessageController.class)
+class MessageControllerStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MessageService messageService;
+
+    @MockitoBean
+    private MessageExclusionService exclusionService;
+
+    @Test
+    void shouldPublishEachLineAndStreamBackResults() throws Exception {
+        // Given - publisher records what it receives
+        List<String> published = new ArrayList<>();
+        doAnswer(invocation -> {
+            MessageService.StreamCallback callback = invocation.getArgument(0);
+            callback.doInStream((request, messageId) -> {
+                published.add(request.getContent());
+                return CompletableFuture.completedFuture("SENT");
+            });
+            return null;
+        }).when(messageService).streamMessages(any());
+
+        when(exclusionService.shouldExclude(anyString(), any())).thenReturn(false);
+
+        String body = "{\"content\":\"first\",\"destination\":\"queue/a\"}\n"
+            + "\n"
+            + "not-json\n"
+            + "{\"content\":\"second\"}\n";
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/messages/stream")
+                .contentType("application/x-ndjson")
+                .content(body))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        // Then - one result line per non-blank input line, in order
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).contains("\"status\":\"SENT\"").contains("queue/a");
+        assertThat(lines[1]).contains("\"status\":\"INVALID\"");
+        assertThat(lines[2]).contains("\"status\":\"SENT\"");
+        assertThat(published).containsExactly("first", "second");
+    }
+
+    @Test
+    void shouldRejectFlushIntervalBelowOne() {
+        MessageController controller = new MessageController(messageService, exclusionService, new ObjectMapper());
+        ReflectionTestUtils.setField(controller, "streamFlushInterval", 0);
+
+        assertThatThrownBy(controller::initialize).isInstanceOf(IllegalStateException.class);
+    }
+}
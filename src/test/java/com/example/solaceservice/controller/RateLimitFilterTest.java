@@ -0,0 +1,76 @@
+package com.example.solaceservice.controller;
+
+import com.example.solaceservice.service.ClientRateLimiter;
+import com.example.solaceservice.service.MessageExclusionService;
+import com.example.solaceservice.service.MessageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(MessageController.class)
+@TestPropertySource(properties = "solace.ingest.rate-limit.enabled=true")
+class RateLimitFilterTest {
+
+    private static final String BODY = "{\"content\":\"hello\",\"destination\":\"queue/a\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ClientRateLimiter rateLimiter;
+
+    @MockitoBean
+    private MessageService messageService;
+
+    @MockitoBean
+    private MessageExclusionService exclusionService;
+
+    @BeforeEach
+    void setUp() {
+        when(rateLimiter.getClientHeader()).thenReturn("X-Client-Id");
+    }
+
+    @Test
+    void shouldAdmitClientWithinLimit() throws Exception {
+        // Given
+        when(rateLimiter.tryAcquire("erp")).thenReturn(0L);
+
+        // When/Then
+        mockMvc.perform(post("/api/messages")
+                .header("X-Client-Id", "erp")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BODY))
+            .andExpect(status().isOk());
+
+        verify(messageService).sendMessage(any(), anyString());
+    }
+
+    @Test
+    void shouldRejectClientOverLimitWithRetryAfter() throws Exception {
+        // Given - next token in 1.5s
+        when(rateLimiter.tryAcquire("noisy")).thenReturn(TimeUnit.MILLISECONDS.toNanos(1500));
+
+        // When/Then
+        mockMvc.perform(post("/api/messages")
+                .header("X-Client-Id", "noisy")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BODY))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "2"))
+            .andExpect(jsonPath("$.status").value("RATE_LIMITED"));
+
+        verify(messageService, never()).sendMessage(any(), anyString());
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.solaceservice.listener;
+
+import com.example.solaceservice.config.BatchConsumerProperties;
+import com.example.solaceservice.listener.MessageTransformationListener.Transformation;
+import com.example.solaceservice.listener.MessageTransformationListener.TransformationInput;
+import com.example.solaceservice.model.TransformationRecord;
+import com.example.solaceservice.model.TransformationResult;
+import com.example.solaceservice.model.TransformationType;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BatchTransformationConsumer batching, commit and rollback.
+ */
+class BatchTransformationConsumerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final BatchConsumerProperties properties = new BatchConsumerProperties();
+
+    private MessageTransformationListener listener;
+    private BatchTransformationConsumer consumer;
+    private Session session;
+    private MessageProducer producer;
+
+    @BeforeEach
+    void setUp() throws JMSException {
+        properties.setMaxMessages(3);
+        properties.setMaxWaitMs(50);
+        properties.setReceiveTimeoutMs(10);
+
+        listener = mock(MessageTransformationListener.class);
+        when(listener.readInput(any())).thenAnswer(invocation -> {
+            TextMessage message = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(
+                new TransformationInput(message.getJMSMessageID(), null, message.getText(), "MT103", false, 0L, null));
+        });
+        when(listener.process(any())).thenAnswer(invocation -> transformation(invocation.getArgument(0)));
+
+        consumer = new BatchTransformationConsumer();
+        ReflectionTestUtils.setField(consumer, "transformationListener", listener);
+        ReflectionTestUtils.setField(consumer, "properties", properties);
+        ReflectionTestUtils.setField(consumer, "transformExecutor", executor);
+        ReflectionTestUtils.setField(consumer, "outputQueue", "queue/out");
+
+        session = mock(Session.class);
+        producer = mock(MessageProducer.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static Transformation transformation(TransformationInput input) {
+        TransformationRecord record = TransformationRecord.createNew(input.messageId(), input.content(),
+            input.messageType(), TransformationType.MT103_TO_MT202, null);
+        return new Transformation(input, record, TransformationResult.success("out-" + input.content(), "MT202", 1L));
+    }
+
+    private static TextMessage message(String id) throws JMSException {
+        TextMessage message = mock(TextMessage.class);
+        when(message.getJMSMessageID()).thenReturn(id);
+        when(message.getText()).thenReturn(id);
+        return message;
+    }
+
+    @Test
+    void shouldPublishBatchAndCommitOnce() throws Exception {
+        List<Message> batch = List.of(message("m1"), message("m2"), message("m3"));
+
+        consumer.processBatch(session, producer, batch);
+
+        InOrder inOrder = inOrder(producer, session, listener);
+        inOrder.verify(producer, times(3)).send(any());
+        inOrder.verify(session).commit();
+        inOrder.verify(listener, times(3)).complete(any());
+        verify(session, never()).rollback();
+        assertEquals(3, consumer.getCommitted());
+    }
+
+    @Test
+    void shouldRollBackWholeBatchWhenPublishFails() throws Exception {
+        List<Message> batch = List.of(message("m1"), message("m2"), message("m3"));
+        doNothing().doThrow(new JMSException("broker down")).when(producer).send(any());
+
+        assertThrows(JMSException.class, () -> consumer.processBatch(session, producer, batch));
+
+        // Nothing committed, nothing stored or retried: the broker redelivers all three
+        verify(session, never()).commit();
+        verify(session).rollback();
+        verify(listener, never()).complete(any());
+        assertEquals(0, consumer.getCommitted());
+        assertEquals(1, consumer.getRolledBack());
+    }
+
+    @Test
+    void shouldRollBackWholeBatchWhenClaimCheckDownloadFails() throws Exception {
+        Message claimChecked = message("m2");
+        doReturn(CompletableFuture.failedFuture(new IllegalStateException("blob not found")))
+            .when(listener).readInput(claimChecked);
+
+        consumer.processBatch(session, producer, List.of(message("m1"), claimChecked, message("m3")));
+
+        // The download failure is not consumed with the batch: all three are redelivered
+        verify(session, never()).commit();
+        verify(session).rollback();
+        verify(listener, never()).complete(any());
+        assertEquals(0, consumer.getCommitted());
+        assertEquals(1, consumer.getRolledBack());
+    }
+
+    @Test
+    void shouldNotPublishFailedTransformations() throws Exception {
+        doAnswer(invocation -> {
+            Transformation transformation = transformation(invocation.getArgument(0));
+            return new Transformation(transformation.input(), transformation.record(),
+                TransformationResult.validationError("bad field 32A"));
+        }).when(listener).process(argThat(input -> input != null && input.messageId().equals("m2")));
+
+        consumer.processBatch(session, producer, List.of(message("m1"), message("m2")));
+
+        verify(producer, times(1)).send(any());
+        verify(session).commit();
+        // The failure is still stored or retried after the commit
+        verify(listener, times(2)).complete(any());
+    }
+
+    @Test
+    void shouldCollectMessagesUntilBatchIsFull() throws Exception {
+        MessageConsumer messageConsumer = mock(MessageConsumer.class);
+        Message m1 = message("m1");
+        Message m2 = message("m2");
+        Message m3 = message("m3");
+        Message m4 = message("m4");
+        when(messageConsumer.receive(anyLong())).thenReturn(m1, m2, m3, m4);
+
+        assertEquals(List.of(m1, m2, m3), consumer.receiveBatch(messageConsumer));
+    }
+
+    @Test
+    void shouldCloseBatchWhenNoFurtherMessageArrives() throws Exception {
+        MessageConsumer messageConsumer = mock(MessageConsumer.class);
+        Message m1 = message("m1");
+        when(messageConsumer.receive(anyLong())).thenReturn(m1, (Message) null);
+        when(messageConsumer.receiveNoWait()).thenReturn(null);
+
+        assertEquals(List.of(m1), consumer.receiveBatch(messageConsumer));
+
+        when(messageConsumer.receive(anyLong())).thenReturn(null);
+        assertTrue(consumer.receiveBatch(messageConsumer).isEmpty());
+    }
+}
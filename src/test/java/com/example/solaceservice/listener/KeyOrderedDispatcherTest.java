@@ -0,0 +1,160 @@
+package com.example.solaceservice.listener;
+
+import com.example.solaceservice.config.ParallelConsumerProperties;
+import com.example.solaceservice.config.PartitionKeyProperties.Source;
+import jakarta.jms.JMSException;
+import jakarta.jms.TextMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for KeyOrderedDispatcher ordering, parallelism, acknowledgement and key resolution.
+ */
+class KeyOrderedDispatcherTest {
+
+    private static final int WORKERS = 4;
+    private static final KeyOrderedDispatcher.FailureHandler NOT_HANDLED = (message, error) -> false;
+
+    private KeyOrderedDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    private KeyOrderedDispatcher createDispatcher(List<Source> keySources) {
+        ParallelConsumerProperties properties = new ParallelConsumerProperties();
+        properties.setEnabled(true);
+        properties.setWorkers(WORKERS);
+        properties.setQueueCapacity(1000);
+        properties.setKeySources(keySources);
+
+        KeyOrderedDispatcher keyOrderedDispatcher = new KeyOrderedDispatcher();
+        ReflectionTestUtils.setField(keyOrderedDispatcher, "properties", properties);
+        keyOrderedDispatcher.start();
+        return keyOrderedDispatcher;
+    }
+
+    private static TextMessage message(String groupId, String text) throws JMSException {
+        TextMessage message = mock(TextMessage.class);
+        when(message.getStringProperty(KeyOrderedDispatcher.GROUP_ID_PROPERTY)).thenReturn(groupId);
+        when(message.getText()).thenReturn(text);
+        return message;
+    }
+
+    private static void await(CountDownLatch latch) throws InterruptedException {
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "timed out");
+    }
+
+    @Test
+    void shouldProcessSameKeyInArrivalOrder() throws Exception {
+        dispatcher = createDispatcher(List.of(Source.CORRELATION_ID));
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(200);
+
+        for (int i = 0; i < 100; i++) {
+            for (String key : List.of("chain-a", "chain-b")) {
+                dispatcher.dispatch(message(key, key + "-" + i), m -> {
+                    processed.add(((TextMessage) m).getText());
+                    done.countDown();
+                }, NOT_HANDLED);
+            }
+        }
+        await(done);
+
+        for (String key : List.of("chain-a", "chain-b")) {
+            List<String> ofKey = processed.stream().filter(text -> text.startsWith(key)).toList();
+            for (int i = 0; i < 100; i++) {
+                assertEquals(key + "-" + i, ofKey.get(i));
+            }
+        }
+    }
+
+    @Test
+    void shouldProcessDifferentKeysInParallel() throws Exception {
+        dispatcher = createDispatcher(List.of(Source.CORRELATION_ID));
+        // Pick a second key that lands on another worker
+        String first = "key-0";
+        String second = null;
+        for (int i = 1; second == null; i++) {
+            if (Math.floorMod(("key-" + i).hashCode(), WORKERS) != Math.floorMod(first.hashCode(), WORKERS)) {
+                second = "key-" + i;
+            }
+        }
+
+        CountDownLatch secondProcessed = new CountDownLatch(1);
+        CountDownLatch firstProcessed = new CountDownLatch(1);
+        // The first message waits for the second, which only completes if both run concurrently
+        dispatcher.dispatch(message(first, "first"), m -> {
+            await(secondProcessed);
+            firstProcessed.countDown();
+        }, NOT_HANDLED);
+        dispatcher.dispatch(message(second, "second"), m -> secondProcessed.countDown(), NOT_HANDLED);
+
+        await(firstProcessed);
+    }
+
+    @Test
+    void shouldAcknowledgeFailedMessagesOnceTheFailureHandlerTookThem() throws Exception {
+        dispatcher = createDispatcher(List.of(Source.CORRELATION_ID));
+        TextMessage failing = message("key-1", "boom");
+        TextMessage succeeding = message("key-1", "ok");
+        List<Exception> handled = Collections.synchronizedList(new ArrayList<>());
+
+        // Same key: the failing message is handled before the succeeding one
+        dispatcher.dispatch(failing, m -> {
+            throw new IllegalStateException("boom");
+        }, (m, error) -> handled.add(error));
+        dispatcher.dispatch(succeeding, m -> { }, NOT_HANDLED);
+
+        verify(succeeding, timeout(5000)).acknowledge();
+        verify(failing).acknowledge();
+        assertEquals("boom", handled.get(0).getMessage());
+        assertEquals(1, dispatcher.getProcessed());
+        assertEquals(1, dispatcher.getFailed());
+    }
+
+    @Test
+    void shouldLeaveFailedMessageUnacknowledgedWhenTheFailureHandlerFails() throws Exception {
+        dispatcher = createDispatcher(List.of(Source.CORRELATION_ID));
+        TextMessage failing = message("key-1", "boom");
+        TextMessage succeeding = message("key-1", "ok");
+
+        dispatcher.dispatch(failing, m -> {
+            throw new IllegalStateException("boom");
+        }, NOT_HANDLED);
+        dispatcher.dispatch(succeeding, m -> { }, NOT_HANDLED);
+
+        verify(succeeding, timeout(5000)).acknowledge();
+        verify(failing, never()).acknowledge();
+        assertEquals(1, dispatcher.getFailed());
+    }
+
+    @Test
+    void shouldResolveKeyFromPartitionKeyThenSourcesThenMessageId() throws Exception {
+        dispatcher = createDispatcher(List.of(Source.SWIFT_REFERENCE, Source.CORRELATION_ID));
+
+        assertEquals("group-1", dispatcher.keyOf(message("group-1", ":20:REF-1\n")));
+        assertEquals("REF-1", dispatcher.keyOf(message(null, "{4:\n:20:REF-1\n-}")));
+
+        TextMessage correlated = message(null, "no reference");
+        when(correlated.getJMSCorrelationID()).thenReturn("corr-1");
+        assertEquals("corr-1", dispatcher.keyOf(correlated));
+
+        TextMessage unkeyed = message(null, "no reference");
+        when(unkeyed.getJMSMessageID()).thenReturn("id-1");
+        assertEquals("id-1", dispatcher.keyOf(unkeyed));
+    }
+}
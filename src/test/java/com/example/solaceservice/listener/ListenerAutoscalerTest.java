@@ -0,0 +1,157 @@
+package com.example.solaceservice.listener;
+
+import com.example.solaceservice.config.ListenerAutoscalingProperties;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Queue;
+import jakarta.jms.QueueBrowser;
+import jakarta.jms.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.listener.SessionAwareMessageListener;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ListenerAutoscaler backlog counting and consumer scaling decisions.
+ */
+class ListenerAutoscalerTest {
+
+    private final ListenerAutoscalingProperties properties = new ListenerAutoscalingProperties();
+    private ListenerAutoscaler autoscaler;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMinConsumers(1);
+        properties.setMaxConsumers(16);
+        properties.setTargetDrainMs(10_000);
+        properties.setBacklogPerConsumer(100);
+        properties.setMaxLatencyMs(1_000);
+        properties.setScaleDownStep(1);
+        properties.setBrowseLimit(50);
+
+        autoscaler = new ListenerAutoscaler();
+        ReflectionTestUtils.setField(autoscaler, "properties", properties);
+        ReflectionTestUtils.setField(autoscaler, "transformationInputQueue", "swift/mt103/inbound");
+    }
+
+    private static Session browsingSession(int messages) throws JMSException {
+        Session session = mock(Session.class);
+        QueueBrowser browser = mock(QueueBrowser.class);
+        when(session.createQueue(anyString())).thenReturn(mock(Queue.class));
+        when(session.createBrowser(any(Queue.class))).thenReturn(browser);
+        when(browser.getEnumeration()).thenAnswer(invocation ->
+            Collections.enumeration(Collections.nCopies(messages, mock(Message.class))));
+        return session;
+    }
+
+    @Test
+    void shouldSizeConsumersToDrainBacklogWithinTarget() {
+        // 2000 messages at 50ms each take 100s on one consumer: 10 consumers drain them in 10s
+        assertEquals(10, autoscaler.desiredConsumers(2, 2000, 50.0));
+        // Bounded by max-consumers
+        assertEquals(16, autoscaler.desiredConsumers(2, 100_000, 50.0));
+        // Without latency samples, backlog-per-consumer decides
+        assertEquals(3, autoscaler.desiredConsumers(1, 250, 0));
+    }
+
+    @Test
+    void shouldShrinkGraduallyAndNotGrowWhenLatencyIsSaturated() {
+        // Idle queue: one consumer removed per interval
+        assertEquals(7, autoscaler.desiredConsumers(8, 0, 5.0));
+        assertEquals(1, autoscaler.desiredConsumers(1, 0, 0));
+
+        // Latency above max-latency-ms: the backlog alone does not add consumers
+        assertEquals(4, autoscaler.desiredConsumers(4, 50_000, 1_500.0));
+    }
+
+    @Test
+    void shouldCountBacklogUpToBrowseLimit() throws JMSException {
+        assertEquals(20, autoscaler.countBacklog(browsingSession(20), "queue/in"));
+        assertEquals(50, autoscaler.countBacklog(browsingSession(500), "queue/in"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldScaleRunningQueueContainersAndSkipKeyOrderedInput() throws Exception {
+        Session session = browsingSession(500);
+        Connection connection = mock(Connection.class);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        when(connectionFactory.createConnection()).thenReturn(connection);
+
+        SessionAwareMessageListener<Message> listener = mock(SessionAwareMessageListener.class);
+        DefaultMessageListenerContainer queueContainer = container("queue/in", listener);
+        DefaultMessageListenerContainer orderedContainer =
+            container("swift/mt103/inbound", mock(SessionAwareMessageListener.class));
+        JmsListenerEndpointRegistry registry = mock(JmsListenerEndpointRegistry.class);
+        when(registry.getListenerContainers()).thenReturn(List.of(queueContainer, orderedContainer));
+
+        ReflectionTestUtils.setField(autoscaler, "connectionFactory", connectionFactory);
+        ReflectionTestUtils.setField(autoscaler, "listenerRegistry", registry);
+        ReflectionTestUtils.setField(autoscaler, "keyOrderedConsumption", true);
+
+        autoscaler.scale();
+
+        // Browse limit 50, no latency samples yet: one consumer per 100 messages, at least min
+        assertEquals(50, autoscaler.getBacklog("queue/in"));
+        assertEquals(1, queueContainer.getConcurrentConsumers());
+
+        properties.setBacklogPerConsumer(10);
+        autoscaler.scale();
+        assertEquals(5, queueContainer.getConcurrentConsumers());
+        assertEquals(5, queueContainer.getMaxConcurrentConsumers());
+
+        // Key-ordered input keeps its single consumer but reports its backlog
+        assertEquals(1, orderedContainer.getConcurrentConsumers());
+        assertEquals(50, autoscaler.getBacklog("swift/mt103/inbound"));
+
+        // The listener is wrapped for timing, not replaced
+        Message message = mock(Message.class);
+        ((SessionAwareMessageListener<Message>) queueContainer.getMessageListener()).onMessage(message, session);
+        verify(listener).onMessage(message, session);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldNotScalePipelinedTransformationInput() throws Exception {
+        Session session = browsingSession(500);
+        Connection connection = mock(Connection.class);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        when(connectionFactory.createConnection()).thenReturn(connection);
+
+        DefaultMessageListenerContainer pipelinedContainer =
+            container("swift/mt103/inbound", mock(SessionAwareMessageListener.class));
+        JmsListenerEndpointRegistry registry = mock(JmsListenerEndpointRegistry.class);
+        when(registry.getListenerContainers()).thenReturn(List.of(pipelinedContainer));
+
+        ReflectionTestUtils.setField(autoscaler, "connectionFactory", connectionFactory);
+        ReflectionTestUtils.setField(autoscaler, "listenerRegistry", registry);
+        ReflectionTestUtils.setField(autoscaler, "pipelinedConsumption", true);
+        properties.setBacklogPerConsumer(10);
+
+        autoscaler.scale();
+
+        assertEquals(50, autoscaler.getBacklog("swift/mt103/inbound"));
+        assertEquals(1, pipelinedContainer.getConcurrentConsumers());
+    }
+
+    private static DefaultMessageListenerContainer container(String queue, SessionAwareMessageListener<Message> listener) {
+        DefaultMessageListenerContainer container = spy(new DefaultMessageListenerContainer());
+        container.setDestinationName(queue);
+        container.setMessageListener(listener);
+        doReturn(true).when(container).isRunning();
+        return container;
+    }
+}
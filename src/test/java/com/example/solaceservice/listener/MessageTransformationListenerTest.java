@@ -0,0 +1,258 @@
+package com.example.solaceservice.listener;
+
+import com.example.solaceservice.config.MessageTypeSelectorProperties;
+import com.example.solaceservice.config.TransformationRoutingProperties;
+import com.example.solaceservice.listener.MessageTransformationListener.Transformation;
+import com.example.solaceservice.listener.MessageTransformationListener.TransformationInput;
+import com.example.solaceservice.model.TransformationRecord;
+import com.example.solaceservice.model.TransformationResult;
+import com.example.solaceservice.model.TransformationStatus;
+import com.example.solaceservice.model.TransformationType;
+import com.example.solaceservice.service.AzureStorageService;
+import com.example.solaceservice.service.ClaimCheckService;
+import com.example.solaceservice.service.SwiftTransformerService;
+import com.example.solaceservice.service.TransformationRetryService;
+import com.example.solaceservice.transport.JmsMessageTransport;
+import com.example.solaceservice.transport.TransportMessage;
+import jakarta.jms.TextMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jms.config.JmsListenerContainerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the subscription of MessageTransformationListener to its input queues (with and
+ * without per-type listeners) and for routing inputs by message type.
+ */
+class MessageTransformationListenerTest {
+
+    private static final String INPUT_QUEUE = "swift/mt103/inbound";
+
+    private static final String MT103 = "{1:F01BANKUS33AXXX0000000000}{2:I103BANKDE55XXXXN}{4:\n" +
+            ":20:REF001\n" +
+            ":32A:250120USD1000,00\n" +
+            ":50K:/123\nCUSTOMER\n" +
+            ":59:/456\nBENEFICIARY\n" +
+            "-}";
+
+    private JmsMessageTransport jmsTransport;
+    private JmsListenerContainerFactory<?> containerFactory;
+    private MessageTypeSelectorProperties selectorProperties;
+    private TransformationRoutingProperties routingProperties;
+    private MessageTransformationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        jmsTransport = mock(JmsMessageTransport.class);
+        containerFactory = mock(JmsListenerContainerFactory.class);
+        selectorProperties = new MessageTypeSelectorProperties();
+        routingProperties = new TransformationRoutingProperties();
+
+        listener = new MessageTransformationListener();
+        ReflectionTestUtils.setField(listener, "transformerService", new SwiftTransformerService());
+        ReflectionTestUtils.setField(listener, "messageTransport", jmsTransport);
+        ReflectionTestUtils.setField(listener, "jmsTransport", jmsTransport);
+        ReflectionTestUtils.setField(listener, "transformationListenerContainerFactory", containerFactory);
+        ReflectionTestUtils.setField(listener, "selectorProperties", selectorProperties);
+        ReflectionTestUtils.setField(listener, "routingProperties", routingProperties);
+        ReflectionTestUtils.setField(listener, "inputQueue", INPUT_QUEUE);
+        ReflectionTestUtils.setField(listener, "transformationTypeStr", "MT103_TO_MT202");
+    }
+
+    private static TransformationInput input(String content, String messageType) {
+        return input(content, messageType, INPUT_QUEUE);
+    }
+
+    private static TransformationInput input(String content, String messageType, String queue) {
+        return new TransformationInput("msg-1", "corr-1", content, messageType, false, 0, queue);
+    }
+
+    private static MessageTypeSelectorProperties.Route route(String name, String concurrency, String... types) {
+        MessageTypeSelectorProperties.Route route = new MessageTypeSelectorProperties.Route();
+        route.setName(name);
+        route.setConcurrency(concurrency);
+        route.setMessageTypes(List.of(types));
+        return route;
+    }
+
+    @Test
+    void shouldSubscribeOnceWithoutSelectors() {
+        listener.subscribe();
+
+        verify(jmsTransport).subscribe(eq(INPUT_QUEUE), eq(containerFactory), any());
+        verify(jmsTransport, never()).subscribe(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldSubscribeOneListenerPerRouteAndDefaultForTheRest() {
+        selectorProperties.setEnabled(true);
+        selectorProperties.setDefaultConcurrency("1-2");
+        selectorProperties.setRoutes(List.of(
+                route("payments", "4-16", "MT103", "MT202"),
+                route("statements", "1", "MT940", "MT950")));
+
+        listener.subscribe();
+
+        verify(jmsTransport).subscribe(eq(INPUT_QUEUE), eq("messageType IN ('MT103', 'MT202')"), eq("4-16"),
+                any(), eq(containerFactory), any());
+        verify(jmsTransport).subscribe(eq(INPUT_QUEUE), eq("messageType IN ('MT940', 'MT950')"), eq("1"),
+                any(), eq(containerFactory), any());
+        verify(jmsTransport).subscribe(eq(INPUT_QUEUE),
+                eq("messageType IS NULL OR messageType NOT IN ('MT103', 'MT202', 'MT940', 'MT950')"), eq("1-2"),
+                any(), eq(containerFactory), any());
+        verify(jmsTransport, never()).subscribe(any(), any(JmsListenerContainerFactory.class), any());
+    }
+
+    @Test
+    void shouldConsumeEverythingOnDefaultListenerWithoutRoutes() {
+        selectorProperties.setEnabled(true);
+
+        listener.subscribe();
+
+        verify(jmsTransport).subscribe(eq(INPUT_QUEUE), isNull(), eq("1-4"), any(), eq(containerFactory), any());
+    }
+
+    @Test
+    void shouldRejectRouteWithoutMessageTypes() {
+        selectorProperties.setEnabled(true);
+        selectorProperties.setRoutes(List.of(route("empty", "1")));
+
+        assertThrows(IllegalStateException.class, () -> listener.subscribe());
+    }
+
+    @Test
+    void shouldRejectInvalidTransformationType() {
+        ReflectionTestUtils.setField(listener, "transformationTypeStr", "MT999_TO_NOWHERE");
+
+        assertThrows(IllegalStateException.class, () -> listener.subscribe());
+    }
+
+    @Test
+    void shouldSubscribeAdditionalInputQueuesWhenRouting() {
+        routingProperties.setEnabled(true);
+        routingProperties.setRoutes(Map.of("MT103", List.of(TransformationType.MT103_TO_MT202)));
+        routingProperties.setInputQueues(List.of("swift/mt940/inbound"));
+
+        listener.subscribe();
+
+        verify(jmsTransport).subscribe(eq(INPUT_QUEUE), eq(containerFactory), any());
+        verify(jmsTransport).subscribe(eq("swift/mt940/inbound"), eq(containerFactory), any());
+    }
+
+    @Test
+    void shouldTransformWithRouteOfDetectedType() {
+        routingProperties.setEnabled(true);
+        routingProperties.setRoutes(Map.of("MT103", List.of(TransformationType.MT103_TO_MT202)));
+        listener.subscribe();
+
+        Transformation transformation = listener.process(input(MT103, "MT103"));
+
+        assertNotNull(transformation);
+        assertEquals(TransformationType.MT103_TO_MT202, transformation.record().getTransformationType());
+        assertTrue(transformation.isPublishable());
+        assertEquals("MT202", transformation.record().getOutputMessageType());
+    }
+
+    @Test
+    void shouldStoreInputWithoutRouteAsFailed() {
+        AzureStorageService storageService = mock(AzureStorageService.class);
+        ReflectionTestUtils.setField(listener, "azureStorageService", storageService);
+        ReflectionTestUtils.setField(listener, "storeResults", true);
+        routingProperties.setEnabled(true);
+        routingProperties.setRoutes(Map.of("MT940", List.of(TransformationType.MT940_TO_MT950)));
+        listener.subscribe();
+
+        Transformation transformation = listener.process(input(MT103, "MT103"));
+        assertNotNull(transformation);
+        assertFalse(transformation.isPublishable());
+        listener.complete(transformation);
+
+        ArgumentCaptor<TransformationRecord> stored = ArgumentCaptor.forClass(TransformationRecord.class);
+        verify(storageService).storeTransformation(stored.capture());
+        assertEquals(TransformationStatus.FAILED, stored.getValue().getStatus());
+        assertEquals(MT103, stored.getValue().getInputMessage());
+        assertEquals(INPUT_QUEUE, stored.getValue().getInputQueue());
+        assertTrue(stored.getValue().getErrorMessage().contains("MT103"));
+    }
+
+    @Test
+    void shouldListAdditionalInputQueuesWhenRouting() {
+        routingProperties.setEnabled(true);
+        routingProperties.setInputQueues(List.of("swift/mt940/inbound"));
+
+        assertEquals(List.of(INPUT_QUEUE, "swift/mt940/inbound"), listener.inputQueues());
+    }
+
+    @Test
+    void shouldRetryOnQueueTheInputCameFrom() {
+        TransformationRetryService retryService = mock(TransformationRetryService.class);
+        when(retryService.shouldRetry(any())).thenReturn(true);
+        ReflectionTestUtils.setField(listener, "retryService", retryService);
+        ReflectionTestUtils.setField(listener, "outputQueue", "swift/mt950/outbound");
+        routingProperties.setEnabled(true);
+        routingProperties.setRoutes(Map.of("MT940", List.of(TransformationType.MT940_TO_MT950)));
+        listener.subscribe();
+
+        Transformation transformation = listener.process(input("not a statement", "MT940", "swift/mt940/inbound"));
+        Transformation failed = new Transformation(transformation.input(), transformation.record(),
+            TransformationResult.validationError("invalid"));
+        listener.complete(failed);
+
+        assertEquals("swift/mt940/inbound", transformation.record().getInputQueue());
+        verify(retryService).scheduleRetry(eq("not a statement"), eq(TransformationType.MT940_TO_MT950),
+            eq("swift/mt940/inbound"), eq("swift/mt950/outbound"), eq("corr-1"), eq("msg-1"));
+    }
+
+    @Test
+    void shouldDeadLetterMessageWhoseProcessingThrew() throws Exception {
+        ReflectionTestUtils.setField(listener, "deadLetterQueue", "swift/transformation/dead-letter");
+        TextMessage message = mock(TextMessage.class);
+        when(message.getText()).thenReturn(MT103);
+        when(message.getJMSMessageID()).thenReturn("msg-1");
+        when(message.getPropertyNames()).thenReturn(Collections.emptyEnumeration());
+
+        assertTrue(listener.deadLetter(message, new IllegalStateException("boom")));
+
+        ArgumentCaptor<TransportMessage> sent = ArgumentCaptor.forClass(TransportMessage.class);
+        verify(jmsTransport).send(eq("swift/transformation/dead-letter"), sent.capture());
+        assertEquals(MT103, sent.getValue().getText());
+        assertEquals("Unexpected error: boom", sent.getValue().getStringProperty("failureReason"));
+    }
+
+    @Test
+    void shouldReportDeadLetterFailureSoTheMessageStaysUnacknowledged() throws Exception {
+        TextMessage message = mock(TextMessage.class);
+        when(message.getPropertyNames()).thenReturn(Collections.emptyEnumeration());
+        doThrow(new IllegalStateException("broker down")).when(jmsTransport).send(any(), any());
+
+        assertFalse(listener.deadLetter(message, new IllegalStateException("boom")));
+    }
+
+    @Test
+    void shouldDeadLetterMessageWhoseClaimCheckCannotBeDownloaded() throws Exception {
+        ClaimCheckService claimCheckService = mock(ClaimCheckService.class);
+        when(claimCheckService.prefetch(any(TransportMessage.class)))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("blob not found")));
+        ReflectionTestUtils.setField(listener, "claimCheckService", claimCheckService);
+        ReflectionTestUtils.setField(listener, "deadLetterQueue", "swift/transformation/dead-letter");
+        TransportMessage message = TransportMessage.text("")
+            .setProperty(ClaimCheckService.CLAIM_CHECK_PROPERTY, "blob-1");
+
+        listener.transformMessage(message, INPUT_QUEUE);
+
+        verify(jmsTransport).send("swift/transformation/dead-letter", message);
+        assertEquals("Unexpected error: blob not found", message.getStringProperty("failureReason"));
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.solaceservice.listener;
+
+import com.example.solaceservice.config.PipelineProperties;
+import com.example.solaceservice.listener.MessageTransformationListener.Transformation;
+import com.example.solaceservice.listener.MessageTransformationListener.TransformationInput;
+import com.example.solaceservice.model.TransformationRecord;
+import com.example.solaceservice.model.TransformationResult;
+import com.example.solaceservice.model.TransformationType;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.UncategorizedJmsException;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.SessionCallback;
+import org.springframework.jms.support.destination.DestinationResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TransformationPipeline stage handoff, acknowledgement and storage decoupling.
+ */
+class TransformationPipelineTest {
+
+    private TransformationPipeline pipeline;
+    private MessageTransformationListener steps;
+    private JmsTemplate jmsTemplate;
+    private MessageProducer producer;
+
+    @BeforeEach
+    void setUp() throws JMSException {
+        PipelineProperties properties = new PipelineProperties();
+        properties.setEnabled(true);
+        properties.setParse(new PipelineProperties.Stage(1, 100, 8));
+        properties.setTransform(new PipelineProperties.Stage(2, 100, 8));
+        properties.setPublish(new PipelineProperties.Stage(1, 100, 8));
+        properties.setStore(new PipelineProperties.Stage(1, 100, 8));
+
+        Session session = mock(Session.class);
+        producer = mock(MessageProducer.class);
+        when(session.createProducer(any())).thenReturn(producer);
+        jmsTemplate = mock(JmsTemplate.class);
+        when(jmsTemplate.getDestinationResolver()).thenReturn(mock(DestinationResolver.class));
+        when(jmsTemplate.execute(any(SessionCallback.class), eq(true)))
+            .thenAnswer(invocation -> ((SessionCallback<?>) invocation.getArgument(0)).doInJms(session));
+
+        steps = mock(MessageTransformationListener.class);
+        when(steps.readInput(any())).thenAnswer(invocation -> {
+            TextMessage message = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(
+                new TransformationInput(message.getJMSMessageID(), null, message.getText(), "MT103", false, 0L, null));
+        });
+        when(steps.process(any())).thenAnswer(invocation -> transformation(invocation.getArgument(0),
+            TransformationResult.success("out", "MT202", 1L)));
+
+        pipeline = new TransformationPipeline();
+        ReflectionTestUtils.setField(pipeline, "properties", properties);
+        ReflectionTestUtils.setField(pipeline, "jmsTemplate", jmsTemplate);
+        ReflectionTestUtils.setField(pipeline, "outputQueue", "queue/out");
+        pipeline.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    private static Transformation transformation(TransformationInput input, TransformationResult result) {
+        TransformationRecord record = TransformationRecord.createNew(input.messageId(), input.content(),
+            input.messageType(), TransformationType.MT103_TO_MT202, null);
+        return new Transformation(input, record, result);
+    }
+
+    private List<TextMessage> submit(int count) throws Exception {
+        List<TextMessage> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TextMessage message = mock(TextMessage.class);
+            when(message.getJMSMessageID()).thenReturn("m" + i);
+            when(message.getText()).thenReturn("payload " + i);
+            messages.add(message);
+            pipeline.submit(message, steps);
+        }
+        return messages;
+    }
+
+    @Test
+    void shouldPublishAcknowledgeAndStoreEachMessage() throws Exception {
+        List<TextMessage> messages = submit(20);
+
+        verify(producer, timeout(5000).times(20)).send(any());
+        for (TextMessage message : messages) {
+            verify(message, timeout(5000)).acknowledge();
+        }
+        verify(steps, timeout(5000).times(20)).complete(any());
+    }
+
+    @Test
+    void shouldStoreFailedTransformationsWithoutPublishing() throws Exception {
+        doAnswer(invocation -> transformation(invocation.getArgument(0),
+            TransformationResult.validationError("bad field 32A"))).when(steps).process(any());
+
+        List<TextMessage> messages = submit(3);
+
+        verify(steps, timeout(5000).times(3)).complete(any());
+        for (TextMessage message : messages) {
+            verify(message, timeout(5000)).acknowledge();
+        }
+        verify(producer, never()).send(any());
+    }
+
+    @Test
+    void shouldKeepPublishingWhileStorageIsSlow() throws Exception {
+        CountDownLatch storageReleased = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            storageReleased.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(steps).complete(any());
+
+        List<TextMessage> messages = submit(20);
+
+        // All outputs are published and acknowledged while the store stage is stuck
+        verify(producer, timeout(5000).times(20)).send(any());
+        for (TextMessage message : messages) {
+            verify(message, timeout(5000)).acknowledge();
+        }
+        verify(steps, atMost(1)).complete(any());
+
+        storageReleased.countDown();
+        verify(steps, timeout(5000).times(20)).complete(any());
+    }
+
+    @Test
+    void shouldRecordPublishFailureAndStillStore() throws Exception {
+        when(jmsTemplate.execute(any(SessionCallback.class), eq(true)))
+            .thenThrow(new UncategorizedJmsException("broker down"));
+
+        List<TextMessage> messages = submit(2);
+
+        verify(steps, timeout(5000).times(2)).publishFailed(any(), any());
+        verify(steps, timeout(5000).times(2)).complete(any());
+        for (TextMessage message : messages) {
+            verify(message, timeout(5000)).acknowledge();
+        }
+    }
+
+    @Test
+    void shouldDeadLetterAndAcknowledgeMessageWhenTransformationThrows() throws Exception {
+        doThrow(new IllegalStateException("transformer bug")).when(steps).process(any());
+        when(steps.deadLetter(any(Message.class), any())).thenReturn(true);
+
+        List<TextMessage> messages = submit(1);
+
+        verify(messages.get(0), timeout(5000)).acknowledge();
+        verify(steps).deadLetter(eq(messages.get(0)), any(IllegalStateException.class));
+        verify(steps, never()).complete(any());
+    }
+
+    @Test
+    void shouldDeadLetterAndAcknowledgeMessageWhenParsingFails() throws Exception {
+        doReturn(CompletableFuture.failedFuture(new IllegalStateException("claim-check download failed")))
+            .when(steps).readInput(any());
+        when(steps.deadLetter(any(Message.class), any())).thenReturn(true);
+
+        List<TextMessage> messages = submit(1);
+
+        verify(messages.get(0), timeout(5000)).acknowledge();
+        verify(steps).deadLetter(eq(messages.get(0)), any());
+        verify(steps, never()).process(any());
+    }
+
+    @Test
+    void shouldLeaveMessageUnacknowledgedWhenDeadLetteringFails() throws Exception {
+        doThrow(new IllegalStateException("transformer bug")).when(steps).process(any());
+        when(steps.deadLetter(any(Message.class), any())).thenReturn(false);
+
+        List<TextMessage> messages = submit(1);
+
+        verify(steps, timeout(5000)).deadLetter(any(Message.class), any());
+        Thread.sleep(200);
+        verify(messages.get(0), never()).acknowledge();
+        verify(steps, never()).complete(any());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.solaceservice.listener;
+
+import com.example.solaceservice.model.TransformationType;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TransformationRoutes lookup and chain validation.
+ */
+class TransformationRoutesTest {
+
+    @Test
+    void shouldRouteEveryTypeToSingleTransformation() {
+        TransformationRoutes routes = TransformationRoutes.single(TransformationType.MT103_TO_MT202);
+
+        assertArrayEquals(new TransformationType[]{TransformationType.MT103_TO_MT202}, routes.route("MT103"));
+        assertArrayEquals(new TransformationType[]{TransformationType.MT103_TO_MT202}, routes.route(null));
+    }
+
+    @Test
+    void shouldRouteByTypeAndFallBackToWildcard() {
+        Map<String, List<TransformationType>> table = new LinkedHashMap<>();
+        table.put("MT940", List.of(TransformationType.MT940_TO_CAMT053));
+        table.put("pain.001", List.of(TransformationType.PAIN001_TO_MT103, TransformationType.MT103_TO_MT202));
+        table.put("*", List.of(TransformationType.NORMALIZE_FORMAT));
+
+        TransformationRoutes routes = TransformationRoutes.of(table);
+
+        assertArrayEquals(new TransformationType[]{TransformationType.MT940_TO_CAMT053}, routes.route("MT940"));
+        assertArrayEquals(new TransformationType[]{TransformationType.PAIN001_TO_MT103, TransformationType.MT103_TO_MT202},
+                routes.route("pain.001"));
+        assertArrayEquals(new TransformationType[]{TransformationType.NORMALIZE_FORMAT}, routes.route("MT103"));
+    }
+
+    @Test
+    void shouldReturnNullForUnroutedTypeWithoutWildcard() {
+        TransformationRoutes routes = TransformationRoutes.of(Map.of("MT940", List.of(TransformationType.MT940_TO_MT950)));
+
+        assertNull(routes.route("MT103"));
+        assertNull(routes.route(null));
+    }
+
+    @Test
+    void shouldRejectChainsThatDoNotFit() {
+        // MT103_TO_MT202 takes MT103, not MT940
+        assertThrows(IllegalStateException.class,
+                () -> TransformationRoutes.of(Map.of("MT940", List.of(TransformationType.MT103_TO_MT202))));
+        // The second step gets MT202 output, not pain.001
+        assertThrows(IllegalStateException.class, () -> TransformationRoutes.of(Map.of("MT103",
+                List.of(TransformationType.MT103_TO_MT202, TransformationType.PAIN001_TO_MT103))));
+        assertThrows(IllegalStateException.class, () -> TransformationRoutes.of(Map.of("MT103", List.of())));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.ConcurrencyLimitProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimiter admission and limit adaptation.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private AdaptiveConcurrencyLimiter createLimiter(ConcurrencyLimitProperties.Algorithm algorithm, int initialLimit) {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setEnabled(true);
+        properties.setAlgorithm(algorithm);
+        properties.setInitialLimit(initialLimit);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(100);
+
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter();
+        ReflectionTestUtils.setField(limiter, "properties", properties);
+        limiter.initialize();
+        return limiter;
+    }
+
+    /**
+     * Keep the limiter saturated: fill every slot, then complete them all with the given latency.
+     */
+    private void runSaturated(AdaptiveConcurrencyLimiter limiter, long latencyNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(latencyNanos, false);
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectWhenLimitReached() {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(ConcurrencyLimitProperties.Algorithm.AIMD, 2);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    void shouldIncreaseAimdLimitWhileLatencyIsLow() {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(ConcurrencyLimitProperties.Algorithm.AIMD, 10);
+
+        runSaturated(limiter, FAST, 5);
+
+        assertTrue(limiter.getLimit() > 10, "limit " + limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void shouldDecreaseAimdLimitWhenLatencyIsHigh() {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(ConcurrencyLimitProperties.Algorithm.AIMD, 50);
+
+        runSaturated(limiter, SLOW, 3);
+
+        assertTrue(limiter.getLimit() < 50, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void shouldNotGrowWhenMostlyIdle() {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(ConcurrencyLimitProperties.Algorithm.AIMD, 10);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST, false);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void shouldShrinkGradientLimitWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(ConcurrencyLimitProperties.Algorithm.GRADIENT, 20);
+        runSaturated(limiter, FAST, 20);
+        int stableLimit = limiter.getLimit();
+        assertTrue(stableLimit >= 20, "limit " + stableLimit);
+
+        // Latency grows far beyond the long-term average - requests are queueing
+        runSaturated(limiter, SLOW, 5);
+
+        assertTrue(limiter.getLimit() < stableLimit, "limit " + limiter.getLimit() + " >= " + stableLimit);
+    }
+
+    @Test
+    void shouldShrinkLimitOnFailures() {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(ConcurrencyLimitProperties.Algorithm.GRADIENT, 20);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST, true);
+        }
+
+        assertTrue(limiter.getLimit() < 20, "limit " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 2);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.ClaimCheckProperties;
+import com.example.solaceservice.model.MessageRequest;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ClaimCheckService threshold handling, reference messages and payload resolution.
+ */
+class ClaimCheckServiceTest {
+
+    private AzureStorageService azureStorageService;
+    private ClaimCheckService claimCheckService;
+
+    @BeforeEach
+    void setUp() {
+        ClaimCheckProperties properties = new ClaimCheckProperties();
+        properties.setEnabled(true);
+        properties.setThresholdBytes(16);
+        properties.setPrefetchThreads(2);
+
+        azureStorageService = mock(AzureStorageService.class);
+        when(azureStorageService.storeClaimCheck(anyString(), any()))
+            .thenAnswer(invocation -> "claim-" + invocation.getArgument(0) + ".bin");
+
+        claimCheckService = new ClaimCheckService();
+        ReflectionTestUtils.setField(claimCheckService, "properties", properties);
+        ReflectionTestUtils.setField(claimCheckService, "azureStorageService", azureStorageService);
+        claimCheckService.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        claimCheckService.shutdown();
+    }
+
+    @Test
+    void shouldKeepSmallPayloadsInTheMessage() {
+        MessageRequest request = new MessageRequest();
+        request.setContent("small");
+
+        claimCheckService.checkIn(request, "id-1");
+
+        assertNull(request.getClaimCheck());
+        verifyNoInteractions(azureStorageService);
+    }
+
+    @Test
+    void shouldStoreLargePayloadsOnce() {
+        MessageRequest request = new MessageRequest();
+        request.setBinaryContent(new byte[64]);
+
+        claimCheckService.checkIn(request, "id-1");
+        claimCheckService.checkIn(request, "id-1");
+
+        assertEquals("claim-id-1.bin", request.getClaimCheck());
+        verify(azureStorageService, times(1)).storeClaimCheck("id-1", request.getBinaryContent());
+        assertEquals(1, claimCheckService.getStored());
+    }
+
+    @Test
+    void shouldCreateReferenceMessage() throws Exception {
+        Session session = mock(Session.class);
+        TextMessage reference = mock(TextMessage.class);
+        when(session.createTextMessage("claim-id-1.bin")).thenReturn(reference);
+
+        Message message = claimCheckService.createReference(session, "claim-id-1.bin", true);
+
+        assertSame(reference, message);
+        verify(reference).setStringProperty(ClaimCheckService.CLAIM_CHECK_PROPERTY, "claim-id-1.bin");
+        verify(reference).setBooleanProperty(ClaimCheckService.CLAIM_CHECK_BINARY_PROPERTY, true);
+    }
+
+    @Test
+    void shouldResolvePayloadOfReferenceMessage() throws Exception {
+        String content = ":20:STATEMENT-0001 with a long body";
+        when(azureStorageService.retrieveClaimCheck("claim-id-1.bin"))
+            .thenReturn(content.getBytes(StandardCharsets.UTF_8));
+        Message message = mock(Message.class);
+        when(message.propertyExists(ClaimCheckService.CLAIM_CHECK_PROPERTY)).thenReturn(true);
+        when(message.getStringProperty(ClaimCheckService.CLAIM_CHECK_PROPERTY)).thenReturn("claim-id-1.bin");
+        when(message.getBooleanProperty(ClaimCheckService.CLAIM_CHECK_BINARY_PROPERTY)).thenReturn(false);
+
+        assertTrue(ClaimCheckService.isClaimCheck(message));
+        ClaimCheckService.Payload payload = claimCheckService.prefetch(message).get(2, TimeUnit.SECONDS);
+
+        assertFalse(payload.binary());
+        assertEquals(content, payload.text());
+        assertEquals(1, claimCheckService.getResolved());
+    }
+}
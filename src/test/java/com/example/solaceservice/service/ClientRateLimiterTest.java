@@ -0,0 +1,173 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.RateLimitProperties;
+import com.example.solaceservice.model.ClientRateLimit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ClientRateLimiter token buckets and runtime limit changes.
+ */
+class ClientRateLimiterTest {
+
+    private RateLimitProperties properties;
+    private ClientRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setEnabled(true);
+        // Slow refill so that tests are not affected by elapsed time
+        properties.setDefaultLimit(new RateLimitProperties.Limit(0.01, 5));
+        properties.getClients().put("vip", new RateLimitProperties.Limit(0.01, 20));
+        properties.setMaxTrackedClients(3);
+
+        limiter = new ClientRateLimiter();
+        ReflectionTestUtils.setField(limiter, "properties", properties);
+        limiter.initialize();
+    }
+
+    private int admitAll(String clientId, int attempts) {
+        int admitted = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (limiter.tryAcquire(clientId) == 0) {
+                admitted++;
+            }
+        }
+        return admitted;
+    }
+
+    @Test
+    void shouldAdmitBurstThenReject() {
+        assertEquals(5, admitAll("client-a", 10));
+
+        long waitNanos = limiter.tryAcquire("client-a");
+        assertTrue(waitNanos > TimeUnit.SECONDS.toNanos(1), "wait " + waitNanos);
+    }
+
+    @Test
+    void shouldKeepClientsIndependent() {
+        assertEquals(5, admitAll("client-a", 10));
+
+        // A noisy client does not consume the tokens of others
+        assertEquals(5, admitAll("client-b", 10));
+        assertEquals(20, admitAll("vip", 30));
+    }
+
+    @Test
+    void shouldShareAnonymousBucketForRequestsWithoutClientId() {
+        assertEquals(3, admitAll(null, 3));
+        assertEquals(2, admitAll("", 10));
+    }
+
+    @Test
+    void shouldApplyRuntimeLimitToExistingBucket() {
+        assertEquals(5, admitAll("client-a", 5));
+        assertNotEquals(0, limiter.tryAcquire("client-a"));
+
+        // When - a fast refill is configured for the client
+        limiter.setClientLimit("client-a", new RateLimitProperties.Limit(1_000_000, 5));
+
+        // Then
+        assertTrue(admitAll("client-a", 100) > 5);
+        ClientRateLimit status = limiter.getClients().stream()
+            .filter(client -> client.getClientId().equals("client-a"))
+            .findFirst()
+            .orElseThrow();
+        assertTrue(status.isCustom());
+        assertEquals(1_000_000, status.getRatePerSecond());
+        assertTrue(status.getRejected() >= 1);
+    }
+
+    @Test
+    void shouldRejectInvalidLimit() {
+        assertThrows(IllegalArgumentException.class,
+            () -> limiter.setClientLimit("client-a", new RateLimitProperties.Limit(0, 5)));
+        assertThrows(IllegalArgumentException.class,
+            () -> limiter.setDefaultLimit(new RateLimitProperties.Limit(10, 0)));
+    }
+
+    @Test
+    void shouldGroupClientsBeyondTrackingLimit() {
+        admitAll("client-a", 1);
+        admitAll("client-b", 1);
+        admitAll("client-c", 1);
+        admitAll("client-d", 1);
+        admitAll("client-e", 1);
+
+        List<String> clientIds = limiter.getClients().stream().map(ClientRateLimit::getClientId).toList();
+        assertTrue(clientIds.contains(ClientRateLimiter.OTHER_CLIENTS));
+        assertFalse(clientIds.contains("client-e"));
+        // Clients with their own limit are always tracked
+        assertTrue(clientIds.contains("vip"));
+    }
+
+    @Test
+    void shouldGiveSlotOfIdleClientToNewClient() throws Exception {
+        // Fast refill: the buckets are full again right after their requests
+        limiter.setDefaultLimit(new RateLimitProperties.Limit(1_000_000, 5));
+        properties.setIdleTimeoutMs(0);
+        admitAll("client-a", 1);
+        admitAll("client-b", 1);
+        admitAll("client-c", 1);
+        Thread.sleep(5);
+
+        admitAll("client-d", 1);
+
+        List<String> clientIds = limiter.getClients().stream().map(ClientRateLimit::getClientId).toList();
+        assertTrue(clientIds.contains("client-d"));
+        assertFalse(clientIds.contains(ClientRateLimiter.OTHER_CLIENTS));
+        assertFalse(clientIds.contains("client-a"));
+    }
+
+    @Test
+    void shouldKeepIdleClientWhoseBucketIsNotFullYet() {
+        properties.setIdleTimeoutMs(0);
+        admitAll("client-a", 5);
+        admitAll("client-b", 1);
+        admitAll("client-c", 1);
+
+        admitAll("client-d", 1);
+
+        // The slow refill leaves every bucket in debt: dropping one would hand out a new burst
+        List<String> clientIds = limiter.getClients().stream().map(ClientRateLimit::getClientId).toList();
+        assertTrue(clientIds.containsAll(List.of("client-a", "client-b", "client-c", ClientRateLimiter.OTHER_CLIENTS)));
+        assertFalse(clientIds.contains("client-d"));
+        assertNotEquals(0, limiter.tryAcquire("client-a"));
+    }
+
+    @Test
+    void shouldNotAdmitMoreThanBurstUnderContention() throws Exception {
+        limiter.setClientLimit("shared", new RateLimitProperties.Limit(0.01, 100));
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int thread = 0; thread < 8; thread++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    if (limiter.tryAcquire("shared") == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, admitted.get());
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.GuaranteedPublishingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.CompletionListener;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for GuaranteedPublisher ack correlation and ack window handling.
+ */
+class GuaranteedPublisherTest {
+
+    private GuaranteedPublisher publisher;
+    private ConnectionFactory connectionFactory;
+    private MessageProducer producer;
+    private Session session;
+
+    @BeforeEach
+    void setUp() throws JMSException {
+        connectionFactory = mock(ConnectionFactory.class);
+        Connection connection = mock(Connection.class);
+        session = mock(Session.class);
+        producer = mock(MessageProducer.class);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(false, Session.AUTO_ACKNOWLEDGE)).thenReturn(session);
+        when(session.createProducer(null)).thenReturn(producer);
+        when(session.createQueue(anyString())).thenReturn(mock(Queue.class));
+        when(session.createTextMessage(anyString())).thenReturn(mock(TextMessage.class));
+
+        publisher = createPublisher(200);
+    }
+
+    private GuaranteedPublisher createPublisher(long ackTimeoutMs) {
+        GuaranteedPublishingProperties properties = new GuaranteedPublishingProperties();
+        properties.setEnabled(true);
+        properties.setAckWindowSize(2);
+        properties.setAckTimeoutMs(ackTimeoutMs);
+
+        GuaranteedPublisher guaranteedPublisher = new GuaranteedPublisher();
+        ReflectionTestUtils.setField(guaranteedPublisher, "connectionFactory", connectionFactory);
+        ReflectionTestUtils.setField(guaranteedPublisher, "properties", properties);
+        guaranteedPublisher.initialize();
+        return guaranteedPublisher;
+    }
+
+    @Test
+    void shouldCompleteFutureWhenBrokerAcknowledges() throws JMSException {
+        // When
+        CompletableFuture<Void> future = publisher.publish("queue/a", s -> s.createTextMessage("payload"));
+
+        // Then - sent persistent with a completion listener, pending until acked
+        ArgumentCaptor<CompletionListener> listener = ArgumentCaptor.forClass(CompletionListener.class);
+        verify(producer).send(any(Destination.class), any(), eq(DeliveryMode.PERSISTENT), anyInt(), anyLong(),
+            listener.capture());
+        assertFalse(future.isDone());
+        assertEquals(1, publisher.getInFlight());
+
+        listener.getValue().onCompletion(null);
+
+        assertTrue(future.isDone());
+        assertFalse(future.isCompletedExceptionally());
+        assertEquals(0, publisher.getInFlight());
+        assertEquals(1, publisher.getAcknowledged());
+    }
+
+    @Test
+    void shouldFailFutureWhenBrokerRejects() throws JMSException {
+        // When
+        CompletableFuture<Void> future = publisher.publish("queue/a", s -> s.createTextMessage("payload"));
+
+        ArgumentCaptor<CompletionListener> listener = ArgumentCaptor.forClass(CompletionListener.class);
+        verify(producer).send(any(Destination.class), any(), anyInt(), anyInt(), anyLong(), listener.capture());
+        listener.getValue().onException(null, new JMSException("queue full"));
+
+        // Then
+        assertTrue(future.isCompletedExceptionally());
+        assertEquals(1, publisher.getFailed());
+        assertEquals(0, publisher.getInFlight());
+    }
+
+    @Test
+    void shouldWaitForFreeSlotWhenAckWindowIsFull() throws Exception {
+        // Given - two unacknowledged messages fill the window of 2
+        publisher = createPublisher(5000);
+        publisher.publish("queue/a", s -> s.createTextMessage("one"));
+        publisher.publish("queue/a", s -> s.createTextMessage("two"));
+
+        ArgumentCaptor<CompletionListener> listeners = ArgumentCaptor.forClass(CompletionListener.class);
+        verify(producer, times(2)).send(any(Destination.class), any(), anyInt(), anyInt(), anyLong(),
+            listeners.capture());
+
+        // When - a third publish has to wait for a slot
+        CompletableFuture<CompletableFuture<Void>> third = CompletableFuture.supplyAsync(
+            () -> publisher.publish("queue/a", s -> s.createTextMessage("three")));
+        Thread.sleep(100);
+        assertFalse(third.isDone());
+
+        // Then - acknowledging the first message lets it through
+        listeners.getAllValues().get(0).onCompletion(null);
+        third.get(2, TimeUnit.SECONDS);
+        verify(producer, times(3)).send(any(Destination.class), any(), anyInt(), anyInt(), anyLong(), any());
+    }
+
+    @Test
+    void shouldRejectWhenNoSlotFreesWithinTimeout() throws JMSException {
+        // Given - no free slot in the ack window
+        ReflectionTestUtils.setField(publisher, "ackWindow", new Semaphore(0));
+
+        // When
+        CompletableFuture<Void> future = publisher.publish("queue/a", s -> s.createTextMessage("payload"));
+
+        // Then - rejected without sending
+        CompletionException error = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        verify(producer, never()).send(any(Destination.class), any(), anyInt(), anyInt(), anyLong(), any());
+    }
+
+    @Test
+    void shouldReleaseSlotWhenAckTimesOut() {
+        // Given - broker never acknowledges
+        CompletableFuture<Void> future = publisher.publish("queue/a", s -> s.createTextMessage("payload"));
+
+        // Then
+        assertThrows(CompletionException.class, future::join);
+        assertEquals(0, publisher.getInFlight());
+    }
+
+    @Test
+    void shouldRegisterOutcomesAsCountersAndInFlightAsGauge() throws JMSException {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(publisher, "meterRegistry", registry);
+        publisher.initialize();
+
+        // When - one acknowledged, one still in flight
+        publisher.publish("queue/a", s -> s.createTextMessage("first"));
+        publisher.publish("queue/a", s -> s.createTextMessage("second"));
+        ArgumentCaptor<CompletionListener> listener = ArgumentCaptor.forClass(CompletionListener.class);
+        verify(producer, times(2)).send(any(Destination.class), any(), anyInt(), anyInt(), anyLong(),
+            listener.capture());
+        listener.getAllValues().get(0).onCompletion(null);
+
+        // Then
+        assertEquals(1.0, registry.get("solace.guaranteed.acknowledged").functionCounter().count());
+        assertEquals(0.0, registry.get("solace.guaranteed.failed").functionCounter().count());
+        assertEquals(1.0, registry.get("solace.guaranteed.in_flight").gauge().value());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.IdempotencyProperties;
+import com.example.solaceservice.model.MessageResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IdempotencyCache reservation, expiry and size bounds.
+ */
+class IdempotencyCacheTest {
+
+    private IdempotencyCache createCache(int maxEntries, int segments, long ttlMs) {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setEnabled(true);
+        properties.setMaxEntries(maxEntries);
+        properties.setSegments(segments);
+        properties.setTtlMs(ttlMs);
+
+        IdempotencyCache cache = new IdempotencyCache();
+        ReflectionTestUtils.setField(cache, "properties", properties);
+        cache.initialize();
+        return cache;
+    }
+
+    private MessageResponse response(String status) {
+        return new MessageResponse(UUID.randomUUID().toString(), status, "queue/a",
+            LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    @Test
+    void shouldReturnOriginalResponseForDuplicate() {
+        IdempotencyCache cache = createCache(1000, 4, 60_000);
+        MessageResponse original = response("SENT");
+
+        assertNull(cache.reserve("key:order-1"));
+        cache.complete("key:order-1", original);
+
+        MessageResponse duplicate = cache.reserve("key:order-1");
+        assertEquals(original, duplicate);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRatio());
+    }
+
+    @Test
+    void shouldReportInProgressWhileOriginalIsRunning() {
+        IdempotencyCache cache = createCache(1000, 4, 60_000);
+
+        assertNull(cache.reserve("key:order-1"));
+
+        assertEquals(IdempotencyCache.IN_PROGRESS, cache.reserve("key:order-1").getStatus());
+    }
+
+    @Test
+    void shouldForgetReleasedKey() {
+        IdempotencyCache cache = createCache(1000, 4, 60_000);
+
+        assertNull(cache.reserve("key:order-1"));
+        cache.release("key:order-1");
+
+        // The retry of a failed request is published
+        assertNull(cache.reserve("key:order-1"));
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTtl() throws InterruptedException {
+        IdempotencyCache cache = createCache(1000, 4, 20);
+        assertNull(cache.reserve("key:order-1"));
+        cache.complete("key:order-1", response("SENT"));
+
+        Thread.sleep(50);
+
+        assertNull(cache.reserve("key:order-1"));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedBeyondMaxEntries() {
+        IdempotencyCache cache = createCache(100, 1, 60_000);
+
+        for (int i = 0; i < 1000; i++) {
+            assertNull(cache.reserve("key:" + i));
+            cache.complete("key:" + i, response("SENT"));
+        }
+
+        assertEquals(100, cache.size());
+        // Most recent keys are still known, the oldest were evicted
+        assertNotNull(cache.reserve("key:999"));
+        assertNull(cache.reserve("key:0"));
+    }
+
+    @Test
+    void shouldPreferHeaderKeyOverCorrelationId() {
+        IdempotencyCache cache = createCache(1000, 4, 60_000);
+
+        assertEquals("key:abc", cache.resolveKey("abc", "corr-1"));
+        assertEquals("correlation:corr-1", cache.resolveKey(null, "corr-1"));
+        assertEquals("correlation:corr-1", cache.resolveKey(" ", "corr-1"));
+        assertNull(cache.resolveKey(null, null));
+    }
+}
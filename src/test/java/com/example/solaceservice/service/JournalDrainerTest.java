@@ -0,0 +1,138 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.JournalProperties;
+import com.example.solaceservice.model.MessageRequest;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JournalDrainer: messages that can never be forwarded are moved to the
+ * dead-letter file instead of blocking the journal.
+ */
+class JournalDrainerTest {
+
+    private static final String POISON = "poison";
+
+    @TempDir
+    Path directory;
+
+    private JournalProperties properties;
+    private PublishJournal journal;
+    private MessageService messageService;
+    private JournalDrainer drainer;
+    private final List<String> forwarded = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new JournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSizeBytes(4096);
+        properties.setRetryBackoffMs(1);
+        properties.setMaxForwardAttempts(3);
+
+        journal = new PublishJournal();
+        ReflectionTestUtils.setField(journal, "properties", properties);
+        journal.open();
+
+        messageService = mock(MessageService.class);
+        drainer = new JournalDrainer();
+        ReflectionTestUtils.setField(drainer, "journal", journal);
+        ReflectionTestUtils.setField(drainer, "messageService", messageService);
+        ReflectionTestUtils.setField(drainer, "properties", properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        drainer.stop();
+        journal.close();
+    }
+
+    /**
+     * Forwards entries up to the poison message, which fails as the given result.
+     */
+    private void forwardUpToPoison(boolean rejected) {
+        when(messageService.forwardJournaled(anyList())).thenAnswer(invocation -> {
+            List<PublishJournal.Entry> entries = invocation.getArgument(0);
+            int count = 0;
+            while (count < entries.size() && !POISON.equals(entries.get(count).messageId())) {
+                forwarded.add(entries.get(count).messageId());
+                count++;
+            }
+            return new MessageService.JournalForward(count, count < entries.size() && rejected);
+        });
+    }
+
+    private void append(String messageId) {
+        MessageRequest request = new MessageRequest();
+        request.setContent("content of " + messageId);
+        request.setDestination("queue/a");
+        journal.append(request, messageId);
+    }
+
+    @Test
+    void shouldDeadLetterRejectedHeadAndForwardTheRest() throws Exception {
+        forwardUpToPoison(true);
+        append(POISON);
+        append("id-2");
+
+        drainer.start();
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> journal.getBacklog() == 0);
+        assertEquals(List.of("id-2"), forwarded);
+        assertEquals(1, journal.getDeadLettered());
+        assertTrue(Files.size(directory.resolve(PublishJournal.DEAD_LETTER_FILE)) > 0);
+        assertFalse(journal.shouldJournal());
+        // Rejected at once, not retried
+        verify(messageService, times(2)).forwardJournaled(anyList());
+    }
+
+    @Test
+    void shouldDeadLetterHeadAfterMaxForwardAttempts() {
+        forwardUpToPoison(false);
+        append(POISON);
+        append("id-2");
+        append("id-3");
+
+        drainer.start();
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> journal.getBacklog() == 0);
+        assertEquals(List.of("id-2", "id-3"), forwarded);
+        assertEquals(1, journal.getDeadLettered());
+        verify(messageService, times(properties.getMaxForwardAttempts() + 1)).forwardJournaled(anyList());
+    }
+
+    @Test
+    void shouldNotDeadLetterWhileBrokerIsUnreachable() throws Exception {
+        when(messageService.forwardJournaled(anyList())).thenThrow(new IllegalStateException("connection refused"));
+        append("id-1");
+
+        drainer.start();
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                verify(messageService, atLeast(properties.getMaxForwardAttempts() + 1)).forwardJournaled(anyList()));
+        assertEquals(1, journal.getBacklog());
+        assertEquals(0, journal.getDeadLettered());
+    }
+
+    @Test
+    void shouldRejectMaxForwardAttemptsBelowOne() {
+        properties.setMaxForwardAttempts(0);
+
+        assertThrows(IllegalStateException.class, drainer::start);
+    }
+}
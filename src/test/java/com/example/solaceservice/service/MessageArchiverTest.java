@@ -0,0 +1,157 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.ArchivalProperties;
+import com.example.solaceservice.model.StoredMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the write-behind MessageArchiver (overflow policies, spill replay, shutdown flush).
+ */
+class MessageArchiverTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    private AzureStorageService azureStorageService;
+    private CountDownLatch storageBlocked;
+    private MessageArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        azureStorageService = mock(AzureStorageService.class);
+        when(azureStorageService.encryptForStorage(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        storageBlocked = new CountDownLatch(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (archiver != null) {
+            storageBlocked.countDown();
+            archiver.shutdown();
+        }
+    }
+
+    private MessageArchiver createArchiver(ArchivalProperties.OverflowPolicy policy) {
+        ArchivalProperties properties = new ArchivalProperties();
+        properties.setQueueCapacity(2);
+        properties.setWorkers(1);
+        properties.setOverflowPolicy(policy);
+        properties.setBlockTimeoutMs(50);
+        properties.setSpillDirectory(spillDirectory.toString());
+        properties.setShutdownTimeoutMs(2000);
+
+        MessageArchiver messageArchiver = new MessageArchiver();
+        ReflectionTestUtils.setField(messageArchiver, "azureStorageService", azureStorageService);
+        ReflectionTestUtils.setField(messageArchiver, "properties", properties);
+        messageArchiver.start();
+        return messageArchiver;
+    }
+
+    private void blockStorage() {
+        storageBlocked = new CountDownLatch(1);
+        CountDownLatch latch = storageBlocked;
+        doAnswer(invocation -> {
+            latch.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(azureStorageService).storeMessage(any());
+    }
+
+    private StoredMessage message(String id) {
+        StoredMessage message = new StoredMessage();
+        message.setMessageId(id);
+        message.setContent("content-" + id);
+        message.setOriginalStatus("SENT");
+        return message;
+    }
+
+    @Test
+    void shouldStoreQueuedMessagesInBackground() {
+        archiver = createArchiver(ArchivalProperties.OverflowPolicy.DROP);
+
+        assertTrue(archiver.archive(message("1")));
+        assertTrue(archiver.archive(message("2")));
+
+        verify(azureStorageService, timeout(2000).times(2)).storeMessage(any());
+        assertEquals(0, archiver.getDropped());
+    }
+
+    @Test
+    void shouldDropWhenQueueFullWithDropPolicy() {
+        blockStorage();
+        archiver = createArchiver(ArchivalProperties.OverflowPolicy.DROP);
+
+        // One message held by the blocked worker, two fill the queue
+        archiver.archive(message("1"));
+        verify(azureStorageService, timeout(2000)).storeMessage(any());
+        archiver.archive(message("2"));
+        archiver.archive(message("3"));
+
+        assertFalse(archiver.archive(message("4")));
+        assertEquals(1, archiver.getDropped());
+    }
+
+    @Test
+    void shouldDropAfterBlockTimeoutWithBlockPolicy() {
+        blockStorage();
+        archiver = createArchiver(ArchivalProperties.OverflowPolicy.BLOCK);
+
+        archiver.archive(message("1"));
+        verify(azureStorageService, timeout(2000)).storeMessage(any());
+        archiver.archive(message("2"));
+        archiver.archive(message("3"));
+
+        long start = System.nanoTime();
+        assertFalse(archiver.archive(message("4")));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 40);
+        assertEquals(1, archiver.getDropped());
+    }
+
+    @Test
+    void shouldSpillWhenQueueFullAndReplayLater() throws Exception {
+        blockStorage();
+        archiver = createArchiver(ArchivalProperties.OverflowPolicy.SPILL);
+
+        archiver.archive(message("1"));
+        verify(azureStorageService, timeout(2000)).storeMessage(any());
+        archiver.archive(message("2"));
+        archiver.archive(message("3"));
+
+        // When
+        assertTrue(archiver.archive(message("4")));
+
+        // Then - spilled to disk, nothing dropped
+        assertEquals(1, archiver.getSpilled());
+        assertEquals(0, archiver.getDropped());
+        assertTrue(Files.exists(spillDirectory.resolve(MessageArchiver.SPILL_FILE)));
+
+        // Once storage recovers, the spilled message is replayed and stored
+        storageBlocked.countDown();
+        verify(azureStorageService, timeout(5000).times(4)).storeMessage(any());
+        assertEquals(1, archiver.getReplayed());
+    }
+
+    @Test
+    void shouldFlushQueueOnShutdown() {
+        archiver = createArchiver(ArchivalProperties.OverflowPolicy.BLOCK);
+
+        archiver.archive(message("1"));
+        archiver.archive(message("2"));
+        archiver.shutdown();
+        archiver = null;
+
+        verify(azureStorageService, times(2)).storeMessage(any());
+    }
+}
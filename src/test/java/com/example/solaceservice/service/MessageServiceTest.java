@@ -0,0 +1,98 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.GuaranteedPublishingProperties;
+import com.example.solaceservice.model.MessageRequest;
+import com.example.solaceservice.model.PublishQos;
+import com.example.solaceservice.transport.MessageTransport;
+import com.example.solaceservice.transport.TransportMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jms.UncategorizedJmsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jakarta.jms.JMSException;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MessageService on a non-JMS transport and for the classification of send
+ * failures that are journaled.
+ */
+class MessageServiceTest {
+
+    private MessageTransport messageTransport;
+    private MessageService messageService;
+
+    @BeforeEach
+    void setUp() {
+        messageTransport = mock(MessageTransport.class);
+        messageService = new MessageService();
+        ReflectionTestUtils.setField(messageService, "messageTransport", messageTransport);
+        ReflectionTestUtils.setField(messageService, "guaranteedProperties", new GuaranteedPublishingProperties());
+        ReflectionTestUtils.setField(messageService, "defaultQueue", "test.queue");
+    }
+
+    private static MessageRequest request(String content, String destination) {
+        MessageRequest request = new MessageRequest();
+        request.setContent(content);
+        request.setDestination(destination);
+        return request;
+    }
+
+    @Test
+    void shouldSendBatchThroughInProcessTransport() {
+        doThrow(new IllegalStateException("In-memory queue queue/full is full"))
+                .when(messageTransport).send(eq("queue/full"), any());
+
+        List<String> statuses = messageService.sendBatch(
+                List.of(request("first", "queue/a"), request("second", "queue/full"), request("third", null)),
+                List.of("id-1", "id-2", "id-3"));
+
+        assertEquals(List.of("SENT", "FAILED", "SENT"), statuses);
+        ArgumentCaptor<TransportMessage> sent = ArgumentCaptor.forClass(TransportMessage.class);
+        verify(messageTransport).send(eq("queue/a"), sent.capture());
+        assertEquals("first", sent.getValue().getText());
+        assertEquals("id-1", sent.getValue().getMessageId());
+        verify(messageTransport).send(eq("test.queue"), any());
+    }
+
+    @Test
+    void shouldFailGuaranteedItemsWithoutGuaranteedPublisher() throws Exception {
+        MessageRequest guaranteed = request("first", "queue/a");
+        guaranteed.setQos(PublishQos.GUARANTEED);
+
+        messageService.streamMessages(publisher ->
+                assertEquals("FAILED", publisher.send(guaranteed, "id-1").join()));
+
+        verifyNoInteractions(messageTransport);
+    }
+
+    @Test
+    void shouldRejectSolacePublishingFeaturesOnInProcessTransport() {
+        ReflectionTestUtils.setField(messageService, "guaranteedPublisher", mock(GuaranteedPublisher.class));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, messageService::checkTransport);
+        assertTrue(error.getMessage().contains("solace.guaranteed"));
+    }
+
+    @Test
+    void shouldAcceptInProcessTransportWithoutSolacePublishingFeatures() {
+        assertDoesNotThrow(messageService::checkTransport);
+    }
+
+    @Test
+    void shouldJournalOnlyBrokerFailures() {
+        assertTrue(MessageService.isBrokerFailure(new JMSException("connection lost")));
+        assertTrue(MessageService.isBrokerFailure(new UncategorizedJmsException("send failed")));
+        assertTrue(MessageService.isBrokerFailure(new CompletionException(new TimeoutException("no ack"))));
+        assertFalse(MessageService.isBrokerFailure(new IllegalStateException("guaranteed publishing is disabled")));
+        assertFalse(MessageService.isBrokerFailure(new IllegalArgumentException("Unknown topic template placeholder")));
+    }
+}
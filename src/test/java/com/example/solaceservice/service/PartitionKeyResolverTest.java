@@ -0,0 +1,77 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.PartitionKeyProperties;
+import com.example.solaceservice.config.PartitionKeyProperties.Source;
+import jakarta.jms.Message;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PartitionKeyResolver key sources and fallback order.
+ */
+class PartitionKeyResolverTest {
+
+    private static final String MT103 = "{1:F01BANKBEBBAXXX0000000000}{2:I103BANKDEFFXXXXN}"
+            + "{3:{121:eb6305c9-1f7f-49de-aed0-16487c27b42d}}{4:\n"
+            + ":20:REF-2024-0001\n"
+            + ":23B:CRED\n"
+            + ":32A:240101EUR1000,00\n"
+            + "-}";
+
+    private PartitionKeyResolver createResolver(Source... sources) {
+        PartitionKeyProperties properties = new PartitionKeyProperties();
+        properties.setEnabled(true);
+        properties.setSources(List.of(sources));
+
+        PartitionKeyResolver resolver = new PartitionKeyResolver();
+        ReflectionTestUtils.setField(resolver, "properties", properties);
+        resolver.initialize();
+        return resolver;
+    }
+
+    @Test
+    void shouldExtractSwiftReference() {
+        PartitionKeyResolver resolver = createResolver(Source.SWIFT_REFERENCE);
+
+        assertEquals("REF-2024-0001", resolver.resolve("corr-1", MT103));
+    }
+
+    @Test
+    void shouldExtractUetr() {
+        PartitionKeyResolver resolver = createResolver(Source.UETR);
+
+        assertEquals("eb6305c9-1f7f-49de-aed0-16487c27b42d", resolver.resolve(null, MT103));
+        assertEquals("eb6305c9-1f7f-49de-aed0-16487c27b42d",
+                resolver.resolve(null, MT103.getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+    @Test
+    void shouldFallBackToNextSource() {
+        PartitionKeyResolver resolver = createResolver(Source.UETR, Source.CORRELATION_ID);
+
+        assertEquals("corr-1", resolver.resolve("corr-1", "{4:\n:20:REF\n-}"));
+        assertNull(resolver.resolve(null, "plain text"));
+    }
+
+    @Test
+    void shouldSetKeyOnMessage() throws Exception {
+        PartitionKeyResolver resolver = createResolver(Source.CORRELATION_ID);
+        Message keyed = mock(Message.class);
+        Message unkeyed = mock(Message.class);
+
+        resolver.apply(keyed, "corr-1", "payload");
+        resolver.apply(unkeyed, null, "payload");
+
+        verify(keyed).setStringProperty("JMSXGroupID", "corr-1");
+        verify(unkeyed, never()).setStringProperty(anyString(), anyString());
+        assertEquals(1, resolver.getKeyed());
+        assertEquals(1, resolver.getUnkeyed());
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.CoalescingProperties;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import jakarta.jms.Topic;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PublishCoalescer batching, per-caller completion and transacted batches.
+ */
+class PublishCoalescerTest {
+
+    private ConnectionFactory connectionFactory;
+    private Connection connection;
+    private Session session;
+    private MessageProducer producer;
+    private PublishCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() throws JMSException {
+        connectionFactory = mock(ConnectionFactory.class);
+        connection = mock(Connection.class);
+        session = mock(Session.class);
+        producer = mock(MessageProducer.class);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+        when(session.createQueue(anyString())).thenReturn(mock(Queue.class));
+        when(session.createProducer(any())).thenReturn(producer);
+        when(session.createTextMessage(anyString())).thenReturn(mock(TextMessage.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (coalescer != null) {
+            coalescer.shutdown();
+        }
+    }
+
+    private PublishCoalescer createCoalescer(boolean transacted) {
+        CoalescingProperties properties = new CoalescingProperties();
+        properties.setEnabled(true);
+        properties.setLanes(1);
+        properties.setMaxBatchSize(64);
+        properties.setLingerMicros(1000);
+        properties.setTransacted(transacted);
+
+        PublishCoalescer publishCoalescer = new PublishCoalescer();
+        ReflectionTestUtils.setField(publishCoalescer, "jmsTemplate", new JmsTemplate(connectionFactory));
+        ReflectionTestUtils.setField(publishCoalescer, "properties", properties);
+        publishCoalescer.start();
+        return publishCoalescer;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void shouldPublishSingleMessageImmediately() throws Exception {
+        coalescer = createCoalescer(false);
+
+        CompletableFuture<Void> future = coalescer.publish("queue/a", s -> s.createTextMessage("payload"));
+
+        future.get(2, TimeUnit.SECONDS);
+        verify(producer).send(any(TextMessage.class));
+        assertEquals(1, coalescer.getSent());
+    }
+
+    @Test
+    void shouldResolveTopicsSeparatelyFromQueues() throws Exception {
+        when(session.createTopic(anyString())).thenReturn(mock(Topic.class));
+        coalescer = createCoalescer(false);
+
+        coalescer.publishToTopic("payments/a", s -> s.createTextMessage("topic")).get(2, TimeUnit.SECONDS);
+        coalescer.publish("payments/a", s -> s.createTextMessage("queue")).get(2, TimeUnit.SECONDS);
+
+        verify(session).createTopic("payments/a");
+        verify(session).createQueue("payments/a");
+        assertEquals(2, coalescer.getSent());
+    }
+
+    @Test
+    void shouldCoalesceConcurrentSendsIntoOneSession() throws Exception {
+        coalescer = createCoalescer(false);
+
+        // Hold the first batch so that further sends queue up behind it
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        CompletableFuture<Void> first = coalescer.publish("queue/a", s -> {
+            firstBatchStarted.countDown();
+            await(releaseFirstBatch);
+            return s.createTextMessage("first");
+        });
+        assertTrue(firstBatchStarted.await(2, TimeUnit.SECONDS));
+
+        List<CompletableFuture<Void>> queued = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            String content = "message-" + i;
+            queued.add(coalescer.publish(i % 2 == 0 ? "queue/a" : "queue/b", s -> s.createTextMessage(content)));
+        }
+        releaseFirstBatch.countDown();
+
+        first.get(2, TimeUnit.SECONDS);
+        CompletableFuture.allOf(queued.toArray(CompletableFuture[]::new)).get(2, TimeUnit.SECONDS);
+
+        // Then - one session for the first message, one for the ten that queued behind it
+        verify(connection, times(2)).createSession(anyBoolean(), anyInt());
+        verify(producer, times(11)).send(any(TextMessage.class));
+        assertEquals(11, coalescer.getSent());
+    }
+
+    @Test
+    void shouldFailOnlyTheMessageThatCouldNotBeCreated() throws Exception {
+        coalescer = createCoalescer(false);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        CompletableFuture<Void> first = coalescer.publish("queue/a", s -> {
+            await(releaseFirstBatch);
+            return s.createTextMessage("first");
+        });
+
+        CompletableFuture<Void> broken = coalescer.publish("queue/a", s -> {
+            throw new JMSException("invalid message");
+        });
+        CompletableFuture<Void> good = coalescer.publish("queue/a", s -> s.createTextMessage("good"));
+        releaseFirstBatch.countDown();
+
+        first.get(2, TimeUnit.SECONDS);
+        good.get(2, TimeUnit.SECONDS);
+        CompletionException error = assertThrows(CompletionException.class, broken::join);
+        assertInstanceOf(JMSException.class, error.getCause());
+        assertEquals(1, coalescer.getFailed());
+    }
+
+    @Test
+    void shouldCommitTransactedBatchOnce() throws Exception {
+        coalescer = createCoalescer(true);
+
+        CompletableFuture<Void> future = coalescer.publish("queue/a", s -> s.createTextMessage("payload"));
+
+        future.get(2, TimeUnit.SECONDS);
+        verify(connection).createSession(true, Session.AUTO_ACKNOWLEDGE);
+        verify(session).commit();
+    }
+
+    @Test
+    void shouldFailEveryCallerWhenCommitFails() throws Exception {
+        doThrow(new JMSException("commit failed")).when(session).commit();
+        coalescer = createCoalescer(true);
+
+        CompletableFuture<Void> future = coalescer.publish("queue/a", s -> s.createTextMessage("payload"));
+
+        assertThrows(CompletionException.class, () -> future.orTimeout(2, TimeUnit.SECONDS).join());
+        verify(session).rollback();
+        assertEquals(0, coalescer.getSent());
+        assertEquals(1, coalescer.getFailed());
+    }
+}
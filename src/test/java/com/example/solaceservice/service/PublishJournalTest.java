@@ -0,0 +1,143 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.JournalProperties;
+import com.example.solaceservice.model.MessageRequest;
+import com.example.solaceservice.model.PublishQos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the memory-mapped PublishJournal (append order, checkpointing, recovery, segments).
+ */
+class PublishJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private PublishJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private PublishJournal openJournal(int segmentSize) throws Exception {
+        JournalProperties properties = new JournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSizeBytes(segmentSize);
+        properties.setMaxSegments(8);
+
+        PublishJournal publishJournal = new PublishJournal();
+        ReflectionTestUtils.setField(publishJournal, "properties", properties);
+        publishJournal.open();
+        return publishJournal;
+    }
+
+    private MessageRequest request(String content, String destination) {
+        MessageRequest request = new MessageRequest();
+        request.setContent(content);
+        request.setDestination(destination);
+        return request;
+    }
+
+    @Test
+    void shouldReturnEntriesInAppendOrder() throws Exception {
+        journal = openJournal(4096);
+
+        journal.append(request("first", "queue/a"), "id-1");
+        MessageRequest second = request("second", "queue/b");
+        second.setMessageType("MT103");
+        second.setRegion("eastus");
+        journal.append(second, "id-2");
+        MessageRequest binary = new MessageRequest();
+        binary.setBinaryContent(new byte[]{0, 1, 2, (byte) 0xFF});
+        binary.setCorrelationId("corr-3");
+        binary.setQos(PublishQos.GUARANTEED);
+        journal.append(binary, "id-3");
+
+        List<PublishJournal.Entry> entries = journal.peek(10);
+
+        assertEquals(3, entries.size());
+        assertEquals(3, journal.getBacklog());
+        assertEquals("id-1", entries.get(0).messageId());
+        assertEquals("first", entries.get(0).request().getContent());
+        assertEquals("queue/b", entries.get(1).request().getDestination());
+        assertEquals("MT103", entries.get(1).request().getMessageType());
+        assertEquals("eastus", entries.get(1).request().getRegion());
+        assertNull(entries.get(0).request().getMessageType());
+        assertArrayEquals(new byte[]{0, 1, 2, (byte) 0xFF}, entries.get(2).request().getBinaryContent());
+        assertEquals("corr-3", entries.get(2).request().getCorrelationId());
+        assertEquals(PublishQos.GUARANTEED, entries.get(2).request().getQos());
+        assertNull(entries.get(2).request().getDestination());
+    }
+
+    @Test
+    void shouldAdvanceOnlyPastCommittedEntries() throws Exception {
+        journal = openJournal(4096);
+        journal.append(request("first", "queue/a"), "id-1");
+        journal.append(request("second", "queue/a"), "id-2");
+
+        List<PublishJournal.Entry> entries = journal.peek(10);
+        journal.commit(entries.subList(0, 1));
+
+        List<PublishJournal.Entry> remaining = journal.peek(10);
+        assertEquals(1, remaining.size());
+        assertEquals("id-2", remaining.get(0).messageId());
+        assertEquals(1, journal.getBacklog());
+        assertTrue(journal.shouldJournal());
+
+        journal.commit(remaining);
+        assertTrue(journal.peek(10).isEmpty());
+        assertEquals(0, journal.getBacklog());
+        assertFalse(journal.shouldJournal());
+    }
+
+    @Test
+    void shouldRecoverBacklogAfterReopen() throws Exception {
+        journal = openJournal(4096);
+        journal.append(request("first", "queue/a"), "id-1");
+        journal.append(request("second", "queue/a"), "id-2");
+        journal.append(request("third", "queue/a"), "id-3");
+        journal.commit(journal.peek(1));
+        journal.close();
+
+        // When
+        journal = openJournal(4096);
+
+        // Then - only uncommitted messages are forwarded again, and appends continue after them
+        assertEquals(2, journal.getBacklog());
+        journal.append(request("fourth", "queue/a"), "id-4");
+        List<PublishJournal.Entry> entries = journal.peek(10);
+        assertEquals(List.of("id-2", "id-3", "id-4"), entries.stream().map(PublishJournal.Entry::messageId).toList());
+    }
+
+    @Test
+    void shouldRollSegmentsAndDeleteDrainedOnes() throws Exception {
+        journal = openJournal(256);
+        String content = "x".repeat(100);
+
+        for (int i = 0; i < 5; i++) {
+            journal.append(request(content, "queue/a"), "id-" + i);
+        }
+        assertTrue(Files.exists(directory.resolve("journal-1.log")));
+
+        List<PublishJournal.Entry> entries = journal.peek(10);
+        assertEquals(5, entries.size());
+        assertEquals("id-4", entries.get(4).messageId());
+
+        journal.commit(entries);
+        assertFalse(Files.exists(directory.resolve("journal-0.log")));
+        assertEquals(0, journal.getBacklog());
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.solaceservice.service;
 
+import com.example.solaceservice.model.TransformationRecord;
 import com.example.solaceservice.model.TransformationResult;
 import com.example.solaceservice.model.TransformationStatus;
 import com.example.solaceservice.model.TransformationType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -92,6 +95,19 @@ class SwiftTransformerServiceTest {
         assertEquals("UNKNOWN", messageType);
     }
 
+    @Test
+    void testDetectMessageTypeFromBytes() {
+        // Given
+        byte[] mt103Message = ("{1:F01BANKUS33AXXX0000000000}{2:I103BANKDE55XXXXN}{4:\n" +
+                              ":20:REF123456\n" +
+                              "-}").getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+
+        // When/Then
+        assertEquals("MT103", transformerService.detectMessageTypeFromBytes(mt103Message));
+        assertEquals("UNKNOWN", transformerService.detectMessageTypeFromBytes("{2:I10".getBytes()));
+        assertEquals("UNKNOWN", transformerService.detectMessageTypeFromBytes(null));
+    }
+
     @Test
     void testDetectMessageTypeWithNullInput() {
         // When
@@ -464,6 +480,35 @@ class SwiftTransformerServiceTest {
         assertTrue(result.getConfidenceScore() > 0.0, "Confidence score should still be positive");
     }
 
+    // ========== Timing Tests ==========
+
+    @Test
+    void testValidationTimeReportedForMT103() {
+        // Given
+        String mt103 = "{1:F01BANKUS33AXXX0000000000}{2:I103BANKDE55XXXXN}{4:\n" +
+                      ":20:REF123\n" +
+                      ":32A:250120USD1000,00\n" +
+                      "-}";
+        String missingAmount = "{1:F01BANKUS33AXXX0000000000}{2:I103BANKDE55XXXXN}{4:\n" +
+                      ":20:REF123\n" +
+                      "-}";
+
+        // When
+        TransformationResult result = transformerService.transform(mt103, TransformationType.MT103_TO_MT202);
+        TransformationResult invalid = transformerService.transform(missingAmount, TransformationType.MT103_TO_MT202);
+
+        // Then - the validation part is reported in milliseconds and nanoseconds
+        assertNotNull(result.getTimings());
+        assertTrue(result.getTimings().getValidateTimeMs() >= 0);
+        assertEquals(result.getTimings().getValidateTimeNanos().longValue(),
+            result.getTimings().nanos(TransformationRecord.ProcessingTimings.Stage.VALIDATE));
+        assertEquals(result.getTimings().getValidateTimeMs().longValue(),
+            TimeUnit.NANOSECONDS.toMillis(result.getTimings().getValidateTimeNanos()));
+        assertEquals(-1, result.getTimings().nanos(TransformationRecord.ProcessingTimings.Stage.STORE));
+        assertEquals(TransformationStatus.VALIDATION_ERROR, invalid.getStatus());
+        assertNotNull(invalid.getTimings().getValidateTimeMs());
+    }
+
     // ========== Edge Cases Tests ==========
 
     @Test
@@ -0,0 +1,76 @@
+package com.example.solaceservice.service;
+
+import com.example.solaceservice.config.TopicPublishingProperties;
+import com.example.solaceservice.model.MessageRequest;
+import jakarta.jms.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for TopicPublisher topic construction.
+ */
+class TopicPublisherTest {
+
+    private TopicPublisher createPublisher(String template) {
+        TopicPublishingProperties properties = new TopicPublishingProperties();
+        properties.setEnabled(true);
+        properties.setTemplate(template);
+        properties.setRegion("westeurope");
+
+        TopicPublisher publisher = new TopicPublisher();
+        ReflectionTestUtils.setField(publisher, "jmsTemplate", new JmsTemplate(mock(ConnectionFactory.class)));
+        ReflectionTestUtils.setField(publisher, "properties", properties);
+        ReflectionTestUtils.setField(publisher, "rootTopic", "payments/v1");
+        publisher.initialize();
+        return publisher;
+    }
+
+    private MessageRequest request(String messageType, String destination, String region) {
+        MessageRequest request = new MessageRequest();
+        request.setContent("payload");
+        request.setMessageType(messageType);
+        request.setDestination(destination);
+        request.setRegion(region);
+        return request;
+    }
+
+    @Test
+    void shouldBuildHierarchicalTopicFromAttributes() {
+        TopicPublisher publisher = createPublisher("{topic}/{type}/{destination}/{region}");
+
+        assertEquals("payments/v1/MT103/settlement/eastus",
+                publisher.topicFor(request("MT103", "settlement", "eastus")));
+    }
+
+    @Test
+    void shouldUseDefaultsForMissingAttributes() {
+        TopicPublisher publisher = createPublisher("{topic}/{type}/{destination}/{region}");
+
+        assertEquals("payments/v1/default/default/westeurope", publisher.topicFor(request(null, null, " ")));
+    }
+
+    @Test
+    void shouldKeepEachAttributeInOneLevel() {
+        TopicPublisher publisher = createPublisher("{topic}/{type}/{destination}");
+
+        // Separators and wildcards in client values must not add levels or widen subscriptions
+        assertEquals("payments/v1/MT_103/queue_a___x",
+                publisher.topicFor(request("MT 103", "queue/a/>*x", null)));
+    }
+
+    @Test
+    void shouldKeepTemplateLiterals() {
+        TopicPublisher publisher = createPublisher("acme/{region}/out/{type}");
+
+        assertEquals("acme/eastus/out/pacs.008", publisher.topicFor(request("pacs.008", null, "eastus")));
+    }
+
+    @Test
+    void shouldRejectUnknownPlaceholder() {
+        assertThrows(IllegalArgumentException.class, () -> createPublisher("{topic}/{tenant}"));
+    }
+}
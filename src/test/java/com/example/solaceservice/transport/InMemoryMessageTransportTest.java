@@ -0,0 +1,137 @@
+package com.example.solaceservice.transport;
+
+import com.example.solaceservice.config.TransportProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InMemoryMessageTransport delivery, back-pressure, failures and metrics.
+ */
+class InMemoryMessageTransportTest {
+
+    private TransportProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryMessageTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TransportProperties();
+        properties.setType(TransportProperties.Type.IN_MEMORY);
+        properties.getInMemory().setCapacity(16);
+        properties.getInMemory().setConsumers(2);
+        properties.getInMemory().setSendTimeoutMs(50);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (transport != null) {
+            transport.shutdown();
+        }
+    }
+
+    private InMemoryMessageTransport createTransport() {
+        InMemoryMessageTransport inMemoryTransport = new InMemoryMessageTransport();
+        ReflectionTestUtils.setField(inMemoryTransport, "properties", properties);
+        ReflectionTestUtils.setField(inMemoryTransport, "meterRegistry", meterRegistry);
+        inMemoryTransport.start();
+        return inMemoryTransport;
+    }
+
+    private static void await(CountDownLatch latch) throws InterruptedException {
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "timed out");
+    }
+
+    @Test
+    void shouldDeliverMessagesWithBodyIdsAndProperties() throws Exception {
+        transport = createTransport();
+        List<TransportMessage> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(2);
+        transport.subscribe("queue/a", message -> {
+            received.add(message);
+            done.countDown();
+        });
+
+        TransportMessage text = TransportMessage.text("hello").setProperty("source", "test");
+        text.setMessageId("id-1");
+        text.setCorrelationId("corr-1");
+        transport.send("queue/a", text);
+        transport.send("queue/a", TransportMessage.bytes(new byte[]{1, 2, 3}));
+        await(done);
+
+        TransportMessage first = received.stream().filter(m -> !m.isBinary()).findFirst().orElseThrow();
+        assertEquals("hello", first.getText());
+        assertEquals("id-1", first.getMessageId());
+        assertEquals("corr-1", first.getCorrelationId());
+        assertEquals("test", first.getStringProperty("source"));
+        assertTrue(received.stream().anyMatch(m -> m.isBinary() && m.getBytes().length == 3));
+    }
+
+    @Test
+    void shouldFailSendWhenQueueStaysFull() {
+        transport = createTransport();
+
+        // No subscriber: the queue fills up
+        for (int i = 0; i < 16; i++) {
+            transport.send("queue/full", TransportMessage.text("m" + i));
+        }
+
+        assertThrows(IllegalStateException.class, () -> transport.send("queue/full", TransportMessage.text("overflow")));
+        assertEquals(16, transport.getDepth("queue/full"));
+    }
+
+    @Test
+    void shouldCountFailedListenerAndKeepConsuming() throws Exception {
+        transport = createTransport();
+        CountDownLatch done = new CountDownLatch(2);
+        transport.subscribe("queue/b", message -> {
+            done.countDown();
+            if ("bad".equals(message.getText())) {
+                throw new IllegalArgumentException("rejected");
+            }
+        });
+
+        transport.send("queue/b", TransportMessage.text("bad"));
+        transport.send("queue/b", TransportMessage.text("good"));
+        await(done);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (transport.getDelivered("queue/b") < 2) {
+                Thread.sleep(10);
+            }
+        });
+        assertEquals(1.0, meterRegistry.get("messaging.transport.in_memory.failed")
+                .tag("destination", "queue/b").functionCounter().count());
+        assertEquals(2, meterRegistry.get("messaging.transport.in_memory.latency")
+                .tag("destination", "queue/b").timer().count());
+    }
+
+    @Test
+    void shouldDrainSinkDestinations() throws Exception {
+        properties.getInMemory().setSinkDestinations(List.of("queue/sink"));
+        transport = createTransport();
+
+        for (int i = 0; i < 100; i++) {
+            transport.send("queue/sink", TransportMessage.text("m" + i));
+        }
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (transport.getDelivered("queue/sink") < 100) {
+                Thread.sleep(10);
+            }
+        });
+        assertEquals(0, transport.getDepth("queue/sink"));
+    }
+}
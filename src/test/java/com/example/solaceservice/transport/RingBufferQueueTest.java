@@ -0,0 +1,89 @@
+package com.example.solaceservice.transport;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RingBufferQueue capacity, ordering and concurrent hand-off.
+ */
+class RingBufferQueueTest {
+
+    @Test
+    void shouldRoundCapacityUpToPowerOfTwo() {
+        assertEquals(1, new RingBufferQueue<>(1).capacity());
+        assertEquals(8, new RingBufferQueue<>(5).capacity());
+        assertEquals(8, new RingBufferQueue<>(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferQueue<>(0));
+    }
+
+    @Test
+    void shouldRejectOfferWhenFullAndKeepFifoOrder() throws Exception {
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+
+        assertFalse(queue.offer(4));
+        assertFalse(queue.offer(4, 10, TimeUnit.MILLISECONDS));
+        assertEquals(4, queue.size());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, queue.poll());
+        }
+        assertNull(queue.poll());
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void shouldHandEveryElementToExactlyOneConsumer() throws Exception {
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(64);
+        int producers = 4;
+        int perProducer = 10_000;
+        Set<Integer> received = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(producers * perProducer);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        assertTrue(queue.offer(base + i, 5, TimeUnit.SECONDS));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (int c = 0; c < 4; c++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    while (done.getCount() > 0) {
+                        Integer element = queue.poll(50, TimeUnit.MILLISECONDS);
+                        if (element != null) {
+                            assertTrue(received.add(element), "delivered twice: " + element);
+                            done.countDown();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS), "timed out");
+        for (Thread thread : threads) {
+            thread.join(1_000);
+        }
+        assertEquals(producers * perProducer, received.size());
+    }
+}
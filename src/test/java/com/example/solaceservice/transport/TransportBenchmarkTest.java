@@ -0,0 +1,174 @@
+package com.example.solaceservice.transport;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.example.solaceservice.config.TransportProperties;
+import com.example.solaceservice.listener.MessageTransformationListener;
+import com.example.solaceservice.service.SwiftTransformerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end throughput and latency of the transformation path on the in-process transport:
+ * MT103 messages are sent to the input queue, transformed by MessageTransformationListener and
+ * received from the output queue. Latency is measured per message from send to receipt of its
+ * output.
+ *
+ * <p>Not part of {@code ./gradlew test}; run with {@code ./gradlew benchmark}. Sizes are set with
+ * {@code -Dbenchmark.messages}, {@code -Dbenchmark.producers} and {@code -Dbenchmark.consumers}.</p>
+ */
+@Tag("benchmark")
+class TransportBenchmarkTest {
+
+    private static final String INPUT_QUEUE = "swift/mt103/inbound";
+    private static final String OUTPUT_QUEUE = "swift/mt202/outbound";
+
+    private static final String MT103 = "{1:F01BANKUS33AXXX0000000000}{2:I103BANKDE55XXXXN}{3:{108:MT103 001}}{4:\n" +
+            ":20:REF%010d\n" +
+            ":32A:250120USD100000,00\n" +
+            ":50K:/1234567890\nJOHN DOE\n123 MAIN ST\n" +
+            ":59:/0987654321\nJANE SMITH\n456 ELM ST\n" +
+            ":71A:SHA\n" +
+            "-}";
+
+    private final int messages = Integer.getInteger("benchmark.messages", 100_000);
+    private final int warmup = Integer.getInteger("benchmark.warmup", 10_000);
+    private final int producers = Integer.getInteger("benchmark.producers", 4);
+    private final int consumers = Integer.getInteger("benchmark.consumers", Runtime.getRuntime().availableProcessors());
+
+    private InMemoryMessageTransport transport;
+    private volatile Phase current;
+    private Logger serviceLogger;
+    private Level serviceLogLevel;
+
+    @BeforeEach
+    void setUp() {
+        // Per-message INFO logging would dominate the measurement
+        serviceLogger = (Logger) LoggerFactory.getLogger("com.example.solaceservice");
+        serviceLogLevel = serviceLogger.getLevel();
+        serviceLogger.setLevel(Level.WARN);
+
+        TransportProperties properties = new TransportProperties();
+        properties.setType(TransportProperties.Type.IN_MEMORY);
+        properties.getInMemory().setConsumers(consumers);
+        properties.getInMemory().setSendTimeoutMs(10_000);
+
+        transport = new InMemoryMessageTransport();
+        ReflectionTestUtils.setField(transport, "properties", properties);
+        transport.start();
+
+        MessageTransformationListener listener = new MessageTransformationListener();
+        ReflectionTestUtils.setField(listener, "transformerService", new SwiftTransformerService());
+        ReflectionTestUtils.setField(listener, "messageTransport", transport);
+        ReflectionTestUtils.setField(listener, "inputQueue", INPUT_QUEUE);
+        ReflectionTestUtils.setField(listener, "outputQueue", OUTPUT_QUEUE);
+        ReflectionTestUtils.setField(listener, "transformationTypeStr", "MT103_TO_MT202");
+        ReflectionTestUtils.setField(listener, "storeResults", false);
+        listener.subscribe();
+
+        transport.subscribe(OUTPUT_QUEUE, this::receive);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.shutdown();
+        serviceLogger.setLevel(serviceLogLevel);
+    }
+
+    @Test
+    void transformationThroughputAndLatency() throws Exception {
+        run("warmup", warmup);
+        Result result = run("measured", messages);
+
+        System.out.printf("%n=== In-memory transport benchmark ===%n" +
+                        "Messages: %d, Producers: %d, Consumers: %d%n" +
+                        "Throughput: %.0f msg/s%n" +
+                        "Latency (send to output received): p50 %.3f ms, p99 %.3f ms, p99.9 %.3f ms, max %.3f ms%n%n",
+                messages, producers, consumers, result.throughput(),
+                result.percentileMillis(50), result.percentileMillis(99), result.percentileMillis(99.9),
+                result.percentileMillis(100));
+    }
+
+    private Result run(String phase, int count) throws Exception {
+        Phase measured = new Phase(count);
+        current = measured;
+
+        long start = System.nanoTime();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads.add(Thread.ofPlatform().name("benchmark-producer-" + p).start(() -> {
+                for (int i = producer; i < count; i += producers) {
+                    String messageId = phase + "-" + i;
+                    TransportMessage message = TransportMessage.text(String.format(MT103, i));
+                    message.setMessageId(messageId);
+                    message.setCorrelationId("corr-" + i);
+                    measured.sentNanos.put(messageId, System.nanoTime());
+                    transport.send(INPUT_QUEUE, message);
+                }
+            }));
+        }
+
+        assertTrue(measured.done.await(5, TimeUnit.MINUTES), phase + " timed out");
+        long elapsed = System.nanoTime() - start;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Arrays.sort(measured.latencies);
+        return new Result(count * 1e9 / elapsed, measured.latencies);
+    }
+
+    /**
+     * Record the latency of an output of the current phase.
+     */
+    private void receive(TransportMessage output) {
+        Phase phase = current;
+        Long sent = phase.sentNanos.remove(output.getStringProperty("inputMessageId"));
+        if (sent == null) {
+            return;
+        }
+        int index = phase.received.getAndIncrement();
+        if (index < phase.latencies.length) {
+            phase.latencies[index] = System.nanoTime() - sent;
+        }
+        phase.done.countDown();
+    }
+
+    private static final class Phase {
+
+        private final Map<String, Long> sentNanos;
+        private final long[] latencies;
+        private final AtomicInteger received = new AtomicInteger();
+        private final CountDownLatch done;
+
+        Phase(int count) {
+            this.sentNanos = new ConcurrentHashMap<>(count * 2);
+            this.latencies = new long[count];
+            this.done = new CountDownLatch(count);
+        }
+    }
+
+    private record Result(double throughput, long[] latencies) {
+
+        double percentileMillis(double percentile) {
+            int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(latencies.length - 1, index))] / 1e6;
+        }
+    }
+}
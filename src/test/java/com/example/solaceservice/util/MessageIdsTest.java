@@ -0,0 +1,73 @@
+package com.example.solaceservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the time-ordered MessageIds generator.
+ */
+class MessageIdsTest {
+
+    @Test
+    void shouldGenerateVersion7Uuids() {
+        UUID id = MessageIds.nextUuid();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(36, MessageIds.next().length());
+    }
+
+    @Test
+    void shouldEmbedCreationTime() {
+        long before = System.currentTimeMillis();
+        String id = MessageIds.next();
+        long after = System.currentTimeMillis();
+
+        long timestamp = MessageIds.timestampOf(id);
+        assertTrue(timestamp >= before && timestamp <= after + 1, "timestamp " + timestamp);
+        assertEquals(-1, MessageIds.timestampOf(UUID.randomUUID().toString()));
+        assertEquals(-1, MessageIds.timestampOf("not-a-uuid"));
+    }
+
+    @Test
+    void shouldBeStrictlyIncreasingWithinThread() {
+        String previous = MessageIds.next();
+        for (int i = 0; i < 100_000; i++) {
+            String next = MessageIds.next();
+            // String order is creation order, so blob names list in time order
+            assertTrue(next.compareTo(previous) > 0, next + " <= " + previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void shouldBeUniqueAcrossThreads() throws Exception {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int thread = 0; thread < 8; thread++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    ids.add(MessageIds.next());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(8 * 50_000, ids.size());
+    }
+}